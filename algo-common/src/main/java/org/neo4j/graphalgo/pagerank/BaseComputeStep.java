@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.pagerank;
 
 import org.neo4j.graphalgo.api.Degrees;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
@@ -66,6 +67,10 @@ public abstract class BaseComputeStep implements ComputeStep {
     final long endNode;
     private final int partitionSize;
     double l2Norm;
+    double l1Change;
+
+    private NodeProperties seedScores;
+    private double[] warmStartCorrection;
 
     private boolean shouldBreak;
 
@@ -132,6 +137,11 @@ public abstract class BaseComputeStep implements ComputeStep {
         this.lengths = lengths;
     }
 
+    @Override
+    public void setSeedScores(NodeProperties seedScores) {
+        this.seedScores = seedScores;
+    }
+
     @Override
     public void run() {
         if (state == S_CALC) {
@@ -159,6 +169,10 @@ public abstract class BaseComputeStep implements ComputeStep {
             return new float[size];
         });
 
+        initializeScores();
+    }
+
+    void initializeScores() {
         tracker.add(sizeOfDoubleArray(partitionSize) << 1);
 
         double[] partitionRank = new double[partitionSize];
@@ -177,10 +191,49 @@ public abstract class BaseComputeStep implements ComputeStep {
             }
         }
 
+        if (seedScores != null) {
+            warmStart(partitionRank);
+        }
+
         this.pageRank = partitionRank;
         this.deltas = Arrays.copyOf(partitionRank, partitionSize);
     }
 
+    /**
+     * Replaces the initial scores with the seed scores.
+     * The first iteration then propagates the seed scores as a whole and corrects every node
+     * by the difference between its initial value and its seed score, so that the result after
+     * the first iteration only differs from a cold start by the propagated difference.
+     * All following iterations propagate the remaining (possibly negative) change as usual.
+     */
+    private void warmStart(double[] partitionRank) {
+        tracker.add(sizeOfDoubleArray(partitionSize));
+        double[] correction = new double[partitionSize];
+        for (int i = 0; i < partitionSize; i++) {
+            double seed = seedScores.nodeProperty(startNode + i, Double.NaN);
+            if (!Double.isNaN(seed)) {
+                correction[i] = partitionRank[i] - seed;
+                partitionRank[i] = seed;
+            }
+        }
+        this.warmStartCorrection = correction;
+    }
+
+    /**
+     * @return the score change of the node at the given index for the first iteration after a warm start,
+     *         in addition to the change propagated from its neighbours
+     */
+    double warmStartCorrection(int index) {
+        return warmStartCorrection == null ? 0.0 : warmStartCorrection[index];
+    }
+
+    void finishWarmStart() {
+        if (warmStartCorrection != null) {
+            tracker.remove(sizeOfDoubleArray(partitionSize));
+            warmStartCorrection = null;
+        }
+    }
+
     double initialValue() {
         return alpha;
     }
@@ -204,6 +257,7 @@ public abstract class BaseComputeStep implements ComputeStep {
         float[][] prevScores = this.prevScores;
 
         boolean shouldBreak = true;
+        double l1Change = 0.0;
 
         int length = prevScores[0].length;
         for (int i = 0; i < length; i++) {
@@ -213,14 +267,18 @@ public abstract class BaseComputeStep implements ComputeStep {
                 sum += scores[i];
                 scores[i] = 0F;
             }
-            double delta = dampingFactor * sum;
-            if (delta > tolerance) {
+            double delta = dampingFactor * sum + warmStartCorrection(i);
+            double change = Math.abs(delta);
+            if (change > tolerance) {
                 shouldBreak = false;
             }
+            l1Change += change;
             pageRank[i] += delta;
             deltas[i] = delta;
         }
+        finishWarmStart();
 
+        this.l1Change = l1Change;
         return shouldBreak;
     }
 
@@ -239,4 +297,9 @@ public abstract class BaseComputeStep implements ComputeStep {
     public boolean partitionIsStable() {
         return shouldBreak;
     }
+
+    @Override
+    public double l1Change() {
+        return l1Change;
+    }
 }
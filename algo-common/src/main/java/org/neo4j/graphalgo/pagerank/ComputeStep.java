@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.pagerank;
 
+import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 
 public interface ComputeStep extends Runnable {
@@ -35,5 +36,16 @@ public interface ComputeStep extends Runnable {
 
     boolean partitionIsStable();
 
+    /**
+     * @return the sum of the absolute score changes of all nodes in this partition during the last iteration
+     */
+    double l1Change();
+
+    /**
+     * Start from the given scores instead of the initial value.
+     * Nodes without a seed score start with the initial value.
+     */
+    void setSeedScores(NodeProperties seedScores);
+
     void getPageRankResult(HugeDoubleArray result);
 }
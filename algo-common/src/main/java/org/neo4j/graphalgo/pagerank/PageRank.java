@@ -24,7 +24,9 @@ import com.carrotsearch.hppc.LongArrayList;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.IdMapping;
+import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.IncomingRelationships;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
@@ -118,6 +120,12 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
     private final Graph graph;
     private final LongStream sourceNodeIds;
     private final PageRankVariant pageRankVariant;
+    private final boolean pullBased;
+    private final boolean l1Convergence;
+    private final NodeProperties seedScores;
+    private double l1Change;
+    private int estimatedIterationsSaved;
+    private int sourceNodeCount;
 
     private ComputeSteps computeSteps;
 
@@ -153,14 +161,46 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
         this.toleranceValue = algoConfig.tolerance();
         this.sourceNodeIds = sourceNodeIds;
         this.pageRankVariant = pageRankVariant;
+        this.pullBased = algoConfig.pullBased();
+        this.l1Convergence = algoConfig.l1Convergence();
+        this.seedScores = seedScores(graph, pageRankVariant, algoConfig.seedProperty());
         this.result = HugeDoubleArray.newArray(graph.nodeCount(), tracker);
         this.progressLogger = progressLogger;
     }
 
+    private static NodeProperties seedScores(Graph graph, PageRankVariant pageRankVariant, String seedProperty) {
+        if (seedProperty == null) {
+            return null;
+        }
+        if (!pageRankVariant.supportsWarmStart()) {
+            throw new IllegalArgumentException("This algorithm does not support a `seedProperty`.");
+        }
+        if (!graph.availableNodeProperties().contains(seedProperty)) {
+            throw new IllegalArgumentException(String.format(
+                "Seed property `%s` not found in graph with node properties: %s",
+                seedProperty,
+                graph.availableNodeProperties()
+            ));
+        }
+        return graph.nodeProperties(seedProperty);
+    }
+
     public int iterations() {
         return ranIterations;
     }
 
+    /**
+     * An estimate of how many iterations starting from the seed scores saved compared to starting from the
+     * initial values. The sum of all score changes shrinks at least by the damping factor in every iteration,
+     * so a cold start would have needed at most as many iterations as it takes to shrink the initial scores
+     * to the change of the last warm started iteration.
+     *
+     * @return the estimated number of saved iterations or {@code 0} if no seed property was given
+     */
+    public int estimatedIterationsSaved() {
+        return estimatedIterationsSaved;
+    }
+
     public boolean didConverge() {
         return didConverge;
     }
@@ -180,6 +220,14 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
         computeSteps.run(maxIterations);
         computeSteps.mergeResults();
 
+        if (seedScores != null) {
+            estimatedIterationsSaved = estimateIterationsSaved();
+            getProgressLogger().logMessage(String.format(
+                ":: Warm start saved an estimated %d iterations",
+                estimatedIterationsSaved
+            ));
+        }
+
         getProgressLogger().logMessage(":: Finished");
         return this;
     }
@@ -200,15 +248,29 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
         ExecutorService executor = ParallelUtil.canRunInParallel(this.executor)
                 ? this.executor : null;
 
+        long[] mappedSourceNodeIds = sourceNodeIds
+                .map(graph::toMappedNodeId)
+                .filter(mappedId -> mappedId != -1L)
+                .toArray();
+        sourceNodeCount = mappedSourceNodeIds.length;
+
         computeSteps = createComputeSteps(
                 concurrency,
                 idMapping.nodeCount(),
                 dampingFactor,
-                sourceNodeIds.map(graph::toMappedNodeId).filter(mappedId -> mappedId != -1L).toArray(),
+                mappedSourceNodeIds,
                 partitions,
                 executor);
     }
 
+    private int estimateIterationsSaved() {
+        double initialScores = (1.0 - dampingFactor) * (sourceNodeCount > 0 ? sourceNodeCount : graph.nodeCount());
+        int coldStartIterations = l1Change > 0 && dampingFactor > 0
+            ? (int) Math.min(maxIterations, Math.ceil(Math.log(l1Change / initialScores) / Math.log(dampingFactor)))
+            : maxIterations;
+        return Math.max(0, coldStartIterations - ranIterations);
+    }
+
     private int adjustBatchSize(int batchSize) {
         if (batchSize == 0) {
             return Partition.MAX_NODE_COUNT;
@@ -229,7 +291,12 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
             long[] sourceNodeIds,
             List<Partition> partitions,
             ExecutorService pool) {
-        concurrency = findIdealConcurrency(nodeCount, partitions, concurrency, progressLogger.getLog());
+        if (pullBased) {
+            // pulling scores does not require per-partition score buffers
+            concurrency = concurrency <= 0 ? partitions.size() : concurrency;
+        } else {
+            concurrency = findIdealConcurrency(nodeCount, partitions, concurrency, progressLogger.getLog());
+        }
         final int expectedParallelism = Math.min(
                 concurrency,
                 partitions.size());
@@ -245,6 +312,13 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
         DegreeComputer degreeComputer = pageRankVariant.degreeComputer(graph);
         DegreeCache degreeCache = degreeComputer.degree(pool, concurrency, tracker);
 
+        IncomingRelationships incomingRelationships = null;
+        HugeDoubleArray contributions = null;
+        if (pullBased) {
+            incomingRelationships = IncomingRelationships.of(graph, pool, concurrency, tracker);
+            contributions = HugeDoubleArray.newArray(nodeCount, tracker);
+        }
+
         while (parts.hasNext()) {
             Partition partition = parts.next();
             int partitionSize = (int) partition.nodeCount;
@@ -261,26 +335,46 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
             starts.add(start);
             lengths.add(partitionSize);
 
-            computeSteps.add(pageRankVariant.createComputeStep(
-                    dampingFactor,
-                    toleranceValue,
-                    sourceNodeIds,
-                    graph,
-                    tracker,
-                    partitionSize,
-                    start,
-                    degreeCache,
-                    nodeCount,
-                    progressLogger
-            ));
+            if (pullBased) {
+                computeSteps.add(pageRankVariant.createPullComputeStep(
+                        dampingFactor,
+                        toleranceValue,
+                        sourceNodeIds,
+                        graph,
+                        incomingRelationships,
+                        contributions,
+                        tracker,
+                        partitionSize,
+                        start,
+                        degreeCache,
+                        nodeCount,
+                        progressLogger
+                ));
+            } else {
+                computeSteps.add(pageRankVariant.createComputeStep(
+                        dampingFactor,
+                        toleranceValue,
+                        sourceNodeIds,
+                        graph,
+                        tracker,
+                        partitionSize,
+                        start,
+                        degreeCache,
+                        nodeCount,
+                        progressLogger
+                ));
+            }
         }
 
         long[] startArray = starts.toArray();
         int[] lengthArray = lengths.toArray();
         for (ComputeStep computeStep : computeSteps) {
             computeStep.setStarts(startArray, lengthArray);
+            if (seedScores != null) {
+                computeStep.setSeedScores(seedScores);
+            }
         }
-        return new ComputeSteps(tracker, computeSteps, concurrency, pool);
+        return new ComputeSteps(tracker, computeSteps, incomingRelationships, contributions, concurrency, pool);
     }
 
     private static int findIdealConcurrency(
@@ -410,21 +504,29 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
         private List<ComputeStep> steps;
         private final ExecutorService pool;
         private float[][][] scores;
+        private IncomingRelationships incomingRelationships;
+        private HugeDoubleArray contributions;
         private final int concurrency;
 
         private ComputeSteps(
                 AllocationTracker tracker,
                 List<ComputeStep> steps,
+                IncomingRelationships incomingRelationships,
+                HugeDoubleArray contributions,
                 int concurrency,
                 ExecutorService pool) {
             this.concurrency = concurrency;
             assert !steps.isEmpty();
             this.steps = steps;
+            this.incomingRelationships = incomingRelationships;
+            this.contributions = contributions;
             this.pool = pool;
             int stepSize = steps.size();
-            scores = new float[stepSize][stepSize][];
-            if (AllocationTracker.isTracking(tracker)) {
-                tracker.add((stepSize + 1) * sizeOfObjectArray(stepSize));
+            if (!pullBased) {
+                scores = new float[stepSize][stepSize][];
+                if (AllocationTracker.isTracking(tracker)) {
+                    tracker.add((stepSize + 1) * sizeOfObjectArray(stepSize));
+                }
             }
         }
 
@@ -442,9 +544,11 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
                 // calculate scores
                 ParallelUtil.runWithConcurrency(concurrency, steps, terminationFlag, pool);
 
-                // sync scores
-                synchronizeScores();
-                ParallelUtil.runWithConcurrency(concurrency, steps, terminationFlag, pool);
+                if (!pullBased) {
+                    // sync scores
+                    synchronizeScores();
+                    ParallelUtil.runWithConcurrency(concurrency, steps, terminationFlag, pool);
+                }
                 didConverge = checkTolerance();
 
                 // normalize deltas
@@ -460,6 +564,10 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
         }
 
         private boolean checkTolerance() {
+            l1Change = steps.stream().mapToDouble(ComputeStep::l1Change).sum();
+            if (l1Convergence) {
+                return l1Change <= toleranceValue;
+            }
             return steps.stream().allMatch(ComputeStep::partitionIsStable);
         }
 
@@ -503,9 +611,15 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
         }
 
         private void release() {
-            if (AllocationTracker.isTracking(tracker)) {
+            if (scores != null && AllocationTracker.isTracking(tracker)) {
                 tracker.remove((scores.length + 1) * sizeOfObjectArray(scores.length));
             }
+            if (incomingRelationships != null) {
+                incomingRelationships.release();
+                tracker.remove(contributions.release());
+                incomingRelationships = null;
+                contributions = null;
+            }
             steps.clear();
             steps = null;
             scores = null;
@@ -104,4 +104,12 @@ public interface PageRankAlgorithm extends Assessable {
             return BaseComputeStep.estimateMemory((int) nodesPerThread, computeStepClass());
         });
     }
+
+    default MemoryEstimation pullMemoryEstimation() {
+        return MemoryEstimations.setup("ComputeStep", (dimensions, concurrency) -> {
+            long nodeCount = dimensions.nodeCount();
+            long nodesPerThread = ceilDiv(nodeCount, concurrency);
+            return PullComputeStep.estimateMemory((int) nodesPerThread, computeStepClass());
+        });
+    }
 }
@@ -23,6 +23,7 @@ import org.immutables.value.Value;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
 import org.neo4j.graphalgo.config.IterationsConfig;
 import org.neo4j.graphalgo.config.RelationshipWeightConfig;
+import org.neo4j.graphalgo.config.SeedConfig;
 import org.neo4j.graphalgo.config.SourceNodesConfig;
 import org.neo4j.graphalgo.config.ToleranceConfig;
 
@@ -31,7 +32,8 @@ public interface PageRankBaseConfig extends
     RelationshipWeightConfig,
     ToleranceConfig,
     IterationsConfig,
-    SourceNodesConfig {
+    SourceNodesConfig,
+    SeedConfig {
 
     @Value.Default
     @Override
@@ -50,6 +52,29 @@ public interface PageRankBaseConfig extends
         return 0.85;
     }
 
+    /**
+     * If true, every node pulls the scores of its source nodes over its incoming relationships,
+     * instead of every partition pushing scores into buffers of all other partitions.
+     * <p>
+     * The engine is chosen by this option and not by the {@code PageRankAlgorithmType}.
+     * The procedures fix their algorithm type, so a type per engine could not be selected by users.
+     * Every variant (weighted and non-weighted PageRank, ArticleRank and eigenvector centrality)
+     * supports both engines.
+     */
+    @Value.Default
+    default boolean pullBased() {
+        return false;
+    }
+
+    /**
+     * If true, the computation converges once the sum of all score changes of an iteration
+     * is at most the tolerance, instead of once every single score change is at most the tolerance.
+     */
+    @Value.Default
+    default boolean l1Convergence() {
+        return false;
+    }
+
     // TODO: consider moving this to WeightConfig or create a sub interface of that
     @Value.Default
     default boolean cacheWeights() {
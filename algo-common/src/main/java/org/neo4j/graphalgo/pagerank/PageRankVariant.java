@@ -20,8 +20,10 @@
 package org.neo4j.graphalgo.pagerank;
 
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.IncomingRelationships;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 
 public interface PageRankVariant {
 
@@ -38,7 +40,29 @@ public interface PageRankVariant {
             ProgressLogger progressLogger
     );
 
+    ComputeStep createPullComputeStep(
+            double dampingFactor,
+            double toleranceValue,
+            long[] sourceNodeIds,
+            Graph graph,
+            IncomingRelationships incomingRelationships,
+            HugeDoubleArray contributions,
+            AllocationTracker tracker,
+            int partitionCount,
+            long start,
+            DegreeCache aggregatedDegrees,
+            long nodeCount,
+            ProgressLogger progressLogger
+    );
+
     DegreeComputer degreeComputer(Graph graph);
+
+    /**
+     * @return whether the scores of this variant can be computed starting from given seed scores
+     */
+    default boolean supportsWarmStart() {
+        return true;
+    }
 }
 
 
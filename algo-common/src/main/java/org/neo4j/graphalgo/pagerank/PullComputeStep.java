@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.utils.IncomingRelationships;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
+
+/**
+ * A compute step that pulls the scores of its nodes over their incoming relationships
+ * instead of pushing them into buffers of the partitions that own the target nodes.
+ * <p>
+ * After every iteration, each step publishes the share of its nodes' deltas that is passed on
+ * over a single outgoing relationship into an array that is shared by all steps.
+ * In the next iteration, every node sums up the shares of its source nodes into its own delta.
+ * Steps only ever write to their own slice of the shared array, so there are no per-partition
+ * score buffers and no synchronization phase between the steps.
+ */
+public abstract class PullComputeStep extends BaseComputeStep implements RelationshipWithPropertyConsumer {
+    private static final int S_INIT = 0;
+    private static final int S_CALC = 1;
+    private static final int S_NORM = 2;
+
+    private int state;
+
+    private final IncomingRelationships incomingRelationships;
+    private final HugeDoubleArray contributions;
+
+    private double sum;
+    private boolean partitionIsStable;
+
+    PullComputeStep(
+        double dampingFactor,
+        long[] sourceNodeIds,
+        Graph graph,
+        IncomingRelationships incomingRelationships,
+        HugeDoubleArray contributions,
+        AllocationTracker tracker,
+        int partitionSize,
+        long startNode,
+        ProgressLogger progressLogger
+    ) {
+        this(
+            dampingFactor,
+            PageRank.DEFAULT_TOLERANCE,
+            sourceNodeIds,
+            graph,
+            incomingRelationships,
+            contributions,
+            tracker,
+            partitionSize,
+            startNode,
+            progressLogger
+        );
+    }
+
+    PullComputeStep(
+        double dampingFactor,
+        double tolerance,
+        long[] sourceNodeIds,
+        Graph graph,
+        IncomingRelationships incomingRelationships,
+        HugeDoubleArray contributions,
+        AllocationTracker tracker,
+        int partitionSize,
+        long startNode,
+        ProgressLogger progressLogger
+    ) {
+        super(
+            dampingFactor,
+            tolerance,
+            sourceNodeIds,
+            graph,
+            tracker,
+            partitionSize,
+            startNode,
+            progressLogger
+        );
+        this.incomingRelationships = incomingRelationships.concurrentCopy();
+        this.contributions = contributions;
+        state = S_INIT;
+    }
+
+    static MemoryEstimation estimateMemory(
+        final int partitionSize,
+        final Class<?> computeStep
+    ) {
+        return MemoryEstimations.builder(computeStep)
+            .fixed("pageRank[]", sizeOfDoubleArray(partitionSize))
+            .fixed("deltas[]", sizeOfDoubleArray(partitionSize))
+            .build();
+    }
+
+    @Override
+    public void run() {
+        if (state == S_CALC) {
+            singleIteration();
+            state = S_NORM;
+        } else if (state == S_NORM) {
+            normalizeDeltas();
+            publishContributions();
+            state = S_CALC;
+        } else if (state == S_INIT) {
+            initializeScores();
+            publishContributions();
+            state = S_CALC;
+        }
+    }
+
+    @Override
+    void singleIteration() {
+        long startNode = this.startNode;
+        long endNode = this.endNode;
+        boolean partitionIsStable = true;
+        double l1Change = 0.0;
+        for (long nodeId = startNode; nodeId < endNode; ++nodeId) {
+            sum = 0.0;
+            incomingRelationships.forEachIncoming(nodeId, this);
+            int index = (int) (nodeId - startNode);
+            double delta = delta(sum) + warmStartCorrection(index);
+            double change = Math.abs(delta);
+            if (change > tolerance) {
+                partitionIsStable = false;
+            }
+            l1Change += change;
+            pageRank[index] += delta;
+            deltas[index] = delta;
+            progressLogger.logProgress(graph.degree(nodeId));
+        }
+        finishWarmStart();
+        this.l1Change = l1Change;
+        this.partitionIsStable = partitionIsStable;
+    }
+
+    @Override
+    public boolean accept(long nodeId, long sourceNodeId, double property) {
+        sum += contributions.get(sourceNodeId) * relationshipWeight(property);
+        return true;
+    }
+
+    private void publishContributions() {
+        for (long nodeId = startNode; nodeId < endNode; ++nodeId) {
+            double delta = deltas[(int) (nodeId - startNode)];
+            double contribution = delta != 0.0 && degrees.degree(nodeId) > 0
+                ? contribution(nodeId, delta)
+                : 0.0;
+            contributions.set(nodeId, contribution);
+        }
+    }
+
+    /**
+     * @return the share of the given delta that the node passes on over each of its outgoing relationships,
+     *         before it is multiplied with the {@link #relationshipWeight(double) relationship weight}.
+     */
+    abstract double contribution(long nodeId, double delta);
+
+    double relationshipWeight(double property) {
+        return 1.0;
+    }
+
+    double delta(double sum) {
+        return dampingFactor * sum;
+    }
+
+    @Override
+    public boolean partitionIsStable() {
+        return partitionIsStable;
+    }
+}
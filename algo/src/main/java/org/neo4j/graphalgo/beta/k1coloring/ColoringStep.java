@@ -20,22 +20,22 @@
 package org.neo4j.graphalgo.beta.k1coloring;
 
 import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 
-public final class ColoringStep implements Runnable {
+public final class ColoringStep implements Runnable, RelationshipConsumer {
 
     public static final int INITIAL_FORBIDDEN_COLORS = 1000;
     
     private final RelationshipIterator graph;
     private final HugeLongArray colors;
     private final BitSet nodesToColor;
-    private final BitSet forbiddenColors;
+    private final ForbiddenColors forbiddenColors;
     private final long offset;
     private final ProgressLogger progressLogger;
     private final long batchEnd;
-    private final long[] resetMask;
 
     public ColoringStep(
         RelationshipIterator graph,
@@ -51,8 +51,7 @@ public final class ColoringStep implements Runnable {
         this.nodesToColor = nodesToColor;
         this.offset = offset;
         this.batchEnd = Math.min(offset + batchSize, nodeCount);
-        this.forbiddenColors = new BitSet(INITIAL_FORBIDDEN_COLORS);
-        this.resetMask = new long[INITIAL_FORBIDDEN_COLORS];
+        this.forbiddenColors = new ForbiddenColors();
         this.progressLogger = progressLogger;
     }
 
@@ -60,31 +59,21 @@ public final class ColoringStep implements Runnable {
     public void run() {
         for (long nodeId = offset; nodeId < batchEnd; nodeId++) {
             if (nodesToColor.get(nodeId)) {
-                resetForbiddenColors();
+                graph.forEachRelationship(nodeId, this);
 
-                graph.forEachRelationship(nodeId, (s, target) -> {
-                    if (s != target) {
-                        forbiddenColors.set(colors.get(target));
-                    }
-                    return true;
-                });
-
-                long nextColor = 0;
-                while (forbiddenColors.get(nextColor)) {
-                    nextColor++;
-                }
-
-                colors.set(nodeId, nextColor);
+                colors.set(nodeId, forbiddenColors.nextAllowedColor());
+                forbiddenColors.reset();
 
                 progressLogger.logProgress();
             }
         }
     }
 
-    private void resetForbiddenColors() {
-        for (int i = 0; i <= forbiddenColors.bits.length; i += resetMask.length) {
-            System.arraycopy(resetMask, 0, forbiddenColors.bits, i, Math.min(forbiddenColors.bits.length -i, INITIAL_FORBIDDEN_COLORS));
-            forbiddenColors.wlen = 0;
+    @Override
+    public boolean accept(long sourceNodeId, long targetNodeId) {
+        if (sourceNodeId != targetNodeId) {
+            forbiddenColors.forbid(colors.get(targetNodeId));
         }
+        return true;
     }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.k1coloring;
+
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.Containers;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.cursors.LongCursor;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+
+/**
+ * The colors of the neighbours of a single node, owned by a single thread.
+ * Remembers which colors have been set, so that a reset only clears those
+ * instead of the whole bit set, which grows with the largest color ever seen.
+ */
+final class ForbiddenColors {
+
+    private final BitSet colors;
+    private final LongArrayList touchedColors;
+
+    /**
+     * Both structures grow with the number of colors, which is bounded by the largest degree plus one.
+     * The lower bound assumes no more than {@link ColoringStep#INITIAL_FORBIDDEN_COLORS} colors,
+     * the upper bound assumes as many colors as there are nodes.
+     */
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(ForbiddenColors.class)
+            .rangePerNode("colors", nodeCount -> MemoryRange.of(
+                MemoryUsage.sizeOfBitset(ColoringStep.INITIAL_FORBIDDEN_COLORS),
+                MemoryUsage.sizeOfBitset(Math.max(ColoringStep.INITIAL_FORBIDDEN_COLORS, nodeCount))
+            ))
+            .field("touchedColors", LongArrayList.class)
+            .rangePerNode("touchedColors buffer", nodeCount -> MemoryRange.of(
+                MemoryUsage.sizeOfLongArray(Containers.DEFAULT_EXPECTED_ELEMENTS),
+                MemoryUsage.sizeOfLongArray(Math.max(Containers.DEFAULT_EXPECTED_ELEMENTS, nodeCount))
+            ))
+            .build();
+    }
+
+    ForbiddenColors() {
+        this.colors = new BitSet(ColoringStep.INITIAL_FORBIDDEN_COLORS);
+        this.touchedColors = new LongArrayList();
+    }
+
+    void forbid(long color) {
+        if (!colors.get(color)) {
+            colors.set(color);
+            touchedColors.add(color);
+        }
+    }
+
+    /**
+     * The smallest color that has not been forbidden.
+     */
+    long nextAllowedColor() {
+        long color = 0;
+        while (colors.get(color)) {
+            color++;
+        }
+        return color;
+    }
+
+    void reset() {
+        for (LongCursor cursor : touchedColors) {
+            colors.clear(cursor.value);
+        }
+        touchedColors.clear();
+    }
+}
@@ -20,16 +20,21 @@
 package org.neo4j.graphalgo.beta.k1coloring;
 
 import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.cursors.LongCursor;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.SetBitsIterable;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.partition.Partition;
 import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
@@ -60,6 +65,13 @@ import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
  * The implementation is greedy, so it is not garantied to find an optimal solution, i.e. the coloring can be imperfect
  * and contain more colors as needed.
  * </p>
+ *
+ * <p>
+ * In the largest-degree-first mode, the nodes are colored in descending order of their degree, similar to
+ * Jones and Plassmann. On undirected graphs, a conflict between two nodes is resolved in favour of the node with
+ * the larger degree (or the smaller id for equal degrees). Only the nodes that lost a conflict are kept in a compact
+ * worklist for the next iteration.
+ * </p>
  */
 public class K1Coloring extends Algorithm<K1Coloring, HugeLongArray> {
 
@@ -71,10 +83,13 @@ public class K1Coloring extends Algorithm<K1Coloring, HugeLongArray> {
     private final int concurrency;
 
     private final long maxIterations;
+    private final boolean largestDegreeFirst;
 
     private BitSet nodesToColor;
+    private HugeLongArray worklist;
     private HugeLongArray colors;
     private long ranIterations;
+    private long skippedNodeVisits;
     private boolean didConverge;
 
     private BitSet usedColors;
@@ -87,6 +102,19 @@ public class K1Coloring extends Algorithm<K1Coloring, HugeLongArray> {
         ExecutorService executor,
         ProgressLogger progressLogger,
         AllocationTracker tracker
+    ) {
+        this(graph, maxIterations, minBatchSize, concurrency, executor, progressLogger, tracker, false);
+    }
+
+    public K1Coloring(
+        Graph graph,
+        long maxIterations,
+        int minBatchSize,
+        int concurrency,
+        ExecutorService executor,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker,
+        boolean largestDegreeFirst
     ) {
         this.graph = graph;
         this.minBatchSize = minBatchSize;
@@ -97,8 +125,11 @@ public class K1Coloring extends Algorithm<K1Coloring, HugeLongArray> {
 
         this.nodeCount = graph.nodeCount();
         this.maxIterations = maxIterations;
+        this.largestDegreeFirst = largestDegreeFirst;
 
-        this.nodesToColor = new BitSet(nodeCount);
+        if (!largestDegreeFirst) {
+            this.nodesToColor = new BitSet(nodeCount);
+        }
 
         if (maxIterations <= 0L) {
             throw new IllegalArgumentException("Must iterate at least 1 time");
@@ -114,12 +145,21 @@ public class K1Coloring extends Algorithm<K1Coloring, HugeLongArray> {
     public void release() {
         graph.release();
         nodesToColor = null;
+        worklist = null;
     }
 
     public long ranIterations() {
         return ranIterations;
     }
 
+    /**
+     * The number of node visits the largest-degree-first mode did not do because the nodes were not in the worklist,
+     * i.e. the sum of {@code nodeCount - worklistSize} over all iterations. Always {@code 0} in the default mode.
+     */
+    public long skippedNodeVisits() {
+        return skippedNodeVisits;
+    }
+
     public boolean didConverge() {
         return didConverge;
     }
@@ -148,6 +188,14 @@ public class K1Coloring extends Algorithm<K1Coloring, HugeLongArray> {
         colors.setAll((nodeId) -> ColoringStep.INITIAL_FORBIDDEN_COLORS);
 
         ranIterations = 0L;
+        skippedNodeVisits = 0L;
+
+        if (largestDegreeFirst) {
+            computeLargestDegreeFirst();
+            getProgressLogger().logMessage(":: Finished");
+            return colors();
+        }
+
         nodesToColor.set(0, nodeCount);
 
         while (ranIterations < maxIterations && !nodesToColor.isEmpty()) {
@@ -222,4 +270,168 @@ public class K1Coloring extends Algorithm<K1Coloring, HugeLongArray> {
         ParallelUtil.runWithConcurrency(concurrency, steps, executor);
         this.nodesToColor = nextNodesToColor;
     }
+
+    private void computeLargestDegreeFirst() {
+        worklist = degreeOrderedNodes();
+        long worklistSize = nodeCount;
+        HugeAtomicBitSet nextNodesToColor = HugeAtomicBitSet.create(nodeCount, tracker);
+
+        while (ranIterations < maxIterations && worklistSize > 0) {
+            getProgressLogger().logMessage(String.format(":: Iteration %d :: Start", ranIterations + 1));
+            skippedNodeVisits += nodeCount - worklistSize;
+            List<Partition> partitions = worklistPartitions(worklistSize);
+
+            assertRunning();
+            List<WorklistColoringStep> coloringSteps = new ArrayList<>(partitions.size());
+            for (Partition partition : partitions) {
+                coloringSteps.add(new WorklistColoringStep(
+                    graph.concurrentCopy(),
+                    colors,
+                    worklist,
+                    partition.startNode,
+                    partition.nodeCount,
+                    getProgressLogger()
+                ));
+            }
+            ParallelUtil.runWithConcurrency(concurrency, coloringSteps, executor);
+
+            assertRunning();
+            List<WorklistValidationStep> validationSteps = new ArrayList<>(partitions.size());
+            for (Partition partition : partitions) {
+                validationSteps.add(new WorklistValidationStep(
+                    graph.concurrentCopy(),
+                    graph,
+                    colors,
+                    worklist,
+                    nextNodesToColor,
+                    graph.isUndirected(),
+                    partition.startNode,
+                    partition.nodeCount,
+                    getProgressLogger()
+                ));
+            }
+            ParallelUtil.runWithConcurrency(concurrency, validationSteps, executor);
+
+            // the batches are visited in worklist order, which keeps the conflicting nodes ordered by degree
+            worklistSize = 0;
+            for (WorklistValidationStep step : validationSteps) {
+                LongArrayList conflicts = step.conflicts();
+                for (int i = 0; i < conflicts.size(); i++) {
+                    long nodeId = conflicts.get(i);
+                    nextNodesToColor.clear(nodeId);
+                    worklist.set(worklistSize++, nodeId);
+                }
+            }
+
+            ++ranIterations;
+
+            if (ranIterations < maxIterations && worklistSize > 0) {
+                getProgressLogger().reset(worklistSize * 2);
+            }
+
+            getProgressLogger().logMessage(String.format(":: Iteration %d :: Finished", ranIterations));
+        }
+
+        this.didConverge = worklistSize == 0;
+    }
+
+    /**
+     * Sorts the nodes by the magnitude of their degree in descending order, nodes of the same magnitude keep their id order.
+     *
+     * This is a counting sort over the degree buckets in two parallel passes: the first one counts the nodes
+     * per bucket and partition of node ids, the second one writes the nodes of each partition, starting
+     * after the nodes of the larger buckets and of the previous partitions.
+     */
+    private HugeLongArray degreeOrderedNodes() {
+        long partitionSize = ParallelUtil.threadCount(concurrency, nodeCount);
+        int partitionCount = Math.toIntExact(ParallelUtil.threadCount(partitionSize, nodeCount));
+        long[][] bucketOffsets = new long[partitionCount][Integer.SIZE + 1];
+
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            long[] bucketSizes = bucketOffsets[Math.toIntExact(start / partitionSize)];
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                bucketSizes[degreeBucket(nodeId)]++;
+            }
+        });
+
+        long offset = 0;
+        for (int bucket = Integer.SIZE; bucket >= 0; bucket--) {
+            for (long[] partitionOffsets : bucketOffsets) {
+                long bucketSize = partitionOffsets[bucket];
+                partitionOffsets[bucket] = offset;
+                offset += bucketSize;
+            }
+        }
+
+        HugeLongArray nodes = HugeLongArray.newArray(nodeCount, tracker);
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            long[] partitionOffsets = bucketOffsets[Math.toIntExact(start / partitionSize)];
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                nodes.set(partitionOffsets[degreeBucket(nodeId)]++, nodeId);
+            }
+        });
+        return nodes;
+    }
+
+    private int degreeBucket(long nodeId) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(graph.degree(nodeId));
+    }
+
+    /**
+     * Splits the first {@code worklistSize} entries of the worklist into ranges of roughly the same number of relationships.
+     *
+     * A range ends after the entry at which the running sum of the degrees crosses a multiple of the batch size.
+     * The running sum is computed in two parallel passes over partitions of the worklist: the first one sums up
+     * the degrees per partition, the second one finds the ends of the ranges, starting from the sum of the previous partitions.
+     */
+    private List<Partition> worklistPartitions(long worklistSize) {
+        long approximateRelationshipCount = ceilDiv(graph.relationshipCount(), nodeCount) * worklistSize;
+        long batchSize = Math.max(1L, ParallelUtil.adjustedBatchSize(
+            approximateRelationshipCount,
+            concurrency,
+            minBatchSize,
+            Integer.MAX_VALUE
+        ));
+
+        long partitionSize = ParallelUtil.threadCount(concurrency, worklistSize);
+        int partitionCount = Math.toIntExact(ParallelUtil.threadCount(partitionSize, worklistSize));
+        long[] partitionDegrees = new long[partitionCount + 1];
+
+        ParallelUtil.readParallel(concurrency, worklistSize, executor, (start, end) -> {
+            long degrees = 0L;
+            for (long index = start; index < end; index++) {
+                degrees += graph.degree(worklist.get(index));
+            }
+            partitionDegrees[Math.toIntExact(start / partitionSize) + 1] = degrees;
+        });
+        Arrays.parallelPrefix(partitionDegrees, Long::sum);
+
+        LongArrayList[] partitionEnds = new LongArrayList[partitionCount];
+        ParallelUtil.readParallel(concurrency, worklistSize, executor, (start, end) -> {
+            int partition = Math.toIntExact(start / partitionSize);
+            LongArrayList ends = new LongArrayList();
+            long degrees = partitionDegrees[partition];
+            for (long index = start; index < end; index++) {
+                long nextDegrees = degrees + graph.degree(worklist.get(index));
+                if (nextDegrees / batchSize > degrees / batchSize) {
+                    ends.add(index + 1);
+                }
+                degrees = nextDegrees;
+            }
+            partitionEnds[partition] = ends;
+        });
+
+        List<Partition> partitions = new ArrayList<>();
+        long start = 0;
+        for (LongArrayList ends : partitionEnds) {
+            for (LongCursor end : ends) {
+                partitions.add(new Partition(start, end.value - start));
+                start = end.value;
+            }
+        }
+        if (start < worklistSize) {
+            partitions.add(new Partition(start, worklistSize - start));
+        }
+        return partitions;
+    }
 }
@@ -38,4 +38,13 @@ public interface K1ColoringConfig extends AlgoBaseConfig, IterationsConfig {
     default int batchSize() {
         return ParallelUtil.DEFAULT_BATCH_SIZE;
     }
+
+    /**
+     * Colors the nodes in descending order of their degree and only revisits the nodes that lost a conflict
+     * against a neighbour of higher degree, instead of scanning all nodes in every iteration.
+     */
+    @Value.Default
+    default boolean largestDegreeFirst() {
+        return false;
+    }
 }
@@ -28,6 +28,7 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.logging.Log;
 
@@ -49,19 +50,34 @@ public class K1ColoringFactory<T extends K1ColoringConfig> extends AlgorithmFact
             configuration.concurrency(),
             Pools.DEFAULT,
             progressLogger,
-            tracker
+            tracker,
+            configuration.largestDegreeFirst()
         );
     }
 
     @Override
     public MemoryEstimation memoryEstimation(T config) {
-        return MemoryEstimations.builder(K1Coloring.class)
-            .perNode("colors", HugeLongArray::memoryEstimation)
-            .perNode("nodesToColor", MemoryUsage::sizeOfBitset)
-            .perThread("coloring", MemoryEstimations.builder()
-                .field("coloringStep", ColoringStep.class)
-                .perNode("forbiddenColors", MemoryUsage::sizeOfBitset)
-                .build())
-            .build();
+        MemoryEstimations.Builder builder = MemoryEstimations.builder(K1Coloring.class)
+            .perNode("colors", HugeLongArray::memoryEstimation);
+
+        if (config.largestDegreeFirst()) {
+            builder
+                .perNode("worklist", HugeLongArray::memoryEstimation)
+                .perNode("nextNodesToColor", HugeAtomicBitSet::memoryEstimation)
+                .perThread("coloring", MemoryEstimations.builder()
+                    .field("coloringStep", WorklistColoringStep.class)
+                    .field("validationStep", WorklistValidationStep.class)
+                    .add("forbiddenColors", ForbiddenColors.memoryEstimation())
+                    .build());
+        } else {
+            builder
+                .perNode("nodesToColor", MemoryUsage::sizeOfBitset)
+                .perThread("coloring", MemoryEstimations.builder()
+                    .field("coloringStep", ColoringStep.class)
+                    .perNode("forbiddenColors", MemoryUsage::sizeOfBitset)
+                    .build());
+        }
+
+        return builder.build();
     }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.k1coloring;
+
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+/**
+ * Speculatively colors the nodes in a range of the worklist,
+ * without scanning over the nodes that do not need to be colored.
+ */
+final class WorklistColoringStep implements Runnable, RelationshipConsumer {
+
+    private final RelationshipIterator graph;
+    private final HugeLongArray colors;
+    private final HugeLongArray worklist;
+    private final ForbiddenColors forbiddenColors;
+    private final long offset;
+    private final long batchEnd;
+    private final ProgressLogger progressLogger;
+
+    WorklistColoringStep(
+        RelationshipIterator graph,
+        HugeLongArray colors,
+        HugeLongArray worklist,
+        long offset,
+        long batchSize,
+        ProgressLogger progressLogger
+    ) {
+        this.graph = graph;
+        this.colors = colors;
+        this.worklist = worklist;
+        this.forbiddenColors = new ForbiddenColors();
+        this.offset = offset;
+        this.batchEnd = offset + batchSize;
+        this.progressLogger = progressLogger;
+    }
+
+    @Override
+    public void run() {
+        for (long index = offset; index < batchEnd; index++) {
+            long nodeId = worklist.get(index);
+            graph.forEachRelationship(nodeId, this);
+
+            colors.set(nodeId, forbiddenColors.nextAllowedColor());
+            forbiddenColors.reset();
+
+            progressLogger.logProgress();
+        }
+    }
+
+    @Override
+    public boolean accept(long sourceNodeId, long targetNodeId) {
+        if (sourceNodeId != targetNodeId) {
+            forbiddenColors.forbid(colors.get(targetNodeId));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.k1coloring;
+
+import com.carrotsearch.hppc.LongArrayList;
+import org.neo4j.graphalgo.api.Degrees;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+/**
+ * Collects the nodes in a range of the worklist that have to be colored again.
+ * On an undirected graph, both nodes of a conflict see each other and only the node with the lower priority,
+ * i.e. the smaller degree or, for equal degrees, the larger id, is colored again.
+ * On a directed graph, a conflict may only be visible from one side, so the node that sees it is colored again,
+ * unless its neighbour has already been selected in this iteration.
+ */
+final class WorklistValidationStep implements Runnable, RelationshipConsumer {
+
+    private final RelationshipIterator graph;
+    private final Degrees degrees;
+    private final HugeLongArray colors;
+    private final HugeLongArray worklist;
+    private final HugeAtomicBitSet nextNodesToColor;
+    private final boolean undirected;
+    private final LongArrayList conflicts;
+    private final long offset;
+    private final long batchEnd;
+    private final ProgressLogger progressLogger;
+
+    private long color;
+    private int degree;
+    private boolean hasConflict;
+
+    WorklistValidationStep(
+        RelationshipIterator graph,
+        Degrees degrees,
+        HugeLongArray colors,
+        HugeLongArray worklist,
+        HugeAtomicBitSet nextNodesToColor,
+        boolean undirected,
+        long offset,
+        long batchSize,
+        ProgressLogger progressLogger
+    ) {
+        this.graph = graph;
+        this.degrees = degrees;
+        this.colors = colors;
+        this.worklist = worklist;
+        this.nextNodesToColor = nextNodesToColor;
+        this.undirected = undirected;
+        this.conflicts = new LongArrayList();
+        this.offset = offset;
+        this.batchEnd = offset + batchSize;
+        this.progressLogger = progressLogger;
+    }
+
+    @Override
+    public void run() {
+        for (long index = offset; index < batchEnd; index++) {
+            long nodeId = worklist.get(index);
+            color = colors.get(nodeId);
+            degree = degrees.degree(nodeId);
+            hasConflict = false;
+
+            graph.forEachRelationship(nodeId, this);
+
+            if (hasConflict && !nextNodesToColor.getAndSet(nodeId)) {
+                conflicts.add(nodeId);
+            }
+
+            progressLogger.logProgress();
+        }
+    }
+
+    LongArrayList conflicts() {
+        return conflicts;
+    }
+
+    @Override
+    public boolean accept(long sourceNodeId, long targetNodeId) {
+        if (sourceNodeId != targetNodeId && colors.get(targetNodeId) == color) {
+            hasConflict = undirected
+                ? hasHigherPriority(targetNodeId, sourceNodeId)
+                : !nextNodesToColor.get(targetNodeId);
+            return !hasConflict;
+        }
+        return true;
+    }
+
+    private boolean hasHigherPriority(long targetNodeId, long sourceNodeId) {
+        int targetDegree = degrees.degree(targetNodeId);
+        return targetDegree > degree || (targetDegree == degree && targetNodeId < sourceNodeId);
+    }
+}
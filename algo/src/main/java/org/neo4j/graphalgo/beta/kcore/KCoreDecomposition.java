@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.kcore;
+
+import com.carrotsearch.hppc.LongArrayList;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Computes the core value of every node, i.e. the largest k such that the node belongs to
+ * a subgraph in which every node has a degree of at least k.
+ * <p>
+ * Nodes are peeled level by level. For the current level k, all remaining nodes with a degree
+ * of at most k are removed in parallel and the degrees of their neighbours are decremented.
+ * Neighbours whose degree drops to k are removed in the next round of the same level,
+ * until no node of degree k remains. The next level continues with the smallest remaining degree,
+ * so levels without any nodes are skipped.
+ * <p>
+ * Every node is removed exactly once: a node is either picked up by the scan at the start of a level
+ * or by the single decrement that lowers its degree to the current level.
+ * The removed nodes are appended to a shared peel order, each round processes the part
+ * that was appended in the previous round.
+ * The remaining nodes are kept in partitions that are compacted during the scan,
+ * so later levels do not scan the nodes that have already been removed.
+ * <p>
+ * Self loops are ignored, parallel relationships count towards the degree.
+ * The graph is expected to be undirected.
+ */
+public class KCoreDecomposition extends Algorithm<KCoreDecomposition, HugeIntArray> {
+
+    static final int UNASSIGNED = -1;
+
+    private Graph graph;
+    private ExecutorService executor;
+    private final int concurrency;
+    private final AllocationTracker tracker;
+
+    private HugeAtomicLongArray degrees;
+    private HugeIntArray coreValues;
+    // removed nodes in the order of their removal
+    private HugeLongArray peelOrder;
+    private final AtomicLong peeledNodes;
+    // nodes that have not been removed, split into partitions that are compacted individually
+    private HugeLongArray remaining;
+    private long[] partitionStarts;
+    private long[] partitionEnds;
+
+    private int degeneracy;
+    private int levels;
+
+    public KCoreDecomposition(
+        Graph graph,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker,
+        ProgressLogger progressLogger
+    ) {
+        this.graph = graph;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.tracker = tracker;
+        this.progressLogger = progressLogger;
+        this.peeledNodes = new AtomicLong();
+    }
+
+    @Override
+    public KCoreDecomposition me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        if (degrees != null) {
+            tracker.remove(degrees.release());
+            tracker.remove(peelOrder.release());
+            tracker.remove(remaining.release());
+            degrees = null;
+            peelOrder = null;
+            remaining = null;
+        }
+        executor = null;
+        graph = null;
+    }
+
+    /**
+     * The largest core value of any node.
+     */
+    public int degeneracy() {
+        return degeneracy;
+    }
+
+    /**
+     * The number of distinct core values.
+     */
+    public int levels() {
+        return levels;
+    }
+
+    @Override
+    public HugeIntArray compute() {
+        long nodeCount = graph.nodeCount();
+        degrees = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        coreValues = HugeIntArray.newArray(nodeCount, tracker);
+        peelOrder = HugeLongArray.newArray(nodeCount, tracker);
+        remaining = HugeLongArray.newArray(nodeCount, tracker);
+        peeledNodes.set(0);
+        degeneracy = 0;
+        levels = 0;
+        if (nodeCount == 0) {
+            return coreValues;
+        }
+
+        long batchSize = ParallelUtil.threadCount(concurrency, nodeCount);
+        int partitionCount = Math.toIntExact(ParallelUtil.threadCount(batchSize, nodeCount));
+        partitionStarts = new long[partitionCount];
+        partitionEnds = new long[partitionCount];
+        for (int partition = 0; partition < partitionCount; partition++) {
+            partitionStarts[partition] = partition * batchSize;
+            partitionEnds[partition] = Math.min(nodeCount, (partition + 1) * batchSize);
+        }
+
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            RelationshipIterator relationships = graph.concurrentCopy();
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                degrees.set(nodeId, degree(relationships, nodeId));
+                coreValues.set(nodeId, UNASSIGNED);
+                remaining.set(nodeId, nodeId);
+            }
+        });
+
+        long processed = 0;
+        int level = 0;
+        while (processed < nodeCount && running()) {
+            level = Math.max(level, compactAndFindMinDegree());
+            levels++;
+            scanLevel(level);
+
+            long peeled;
+            while (processed < (peeled = peeledNodes.get()) && running()) {
+                peelRound(processed, peeled, level);
+                getProgressLogger().logProgress(peeled - processed);
+                processed = peeled;
+            }
+        }
+        degeneracy = level;
+
+        return coreValues;
+    }
+
+    private int degree(RelationshipIterator relationships, long nodeId) {
+        int[] degree = {0};
+        relationships.forEachRelationship(nodeId, (source, target) -> {
+            if (source != target) {
+                degree[0]++;
+            }
+            return true;
+        });
+        return degree[0];
+    }
+
+    /**
+     * Removes nodes with an assigned core value from the partitions
+     * and returns the smallest degree of all remaining nodes.
+     */
+    private int compactAndFindMinDegree() {
+        LongAccumulator minDegree = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        runOnPartitions(partition -> {
+            long min = Long.MAX_VALUE;
+            long write = partitionStarts[partition];
+            for (long read = write, end = partitionEnds[partition]; read < end; read++) {
+                long nodeId = remaining.get(read);
+                if (coreValues.get(nodeId) == UNASSIGNED) {
+                    remaining.set(write++, nodeId);
+                    min = Math.min(min, degrees.get(nodeId));
+                }
+            }
+            partitionEnds[partition] = write;
+            minDegree.accumulate(min);
+        });
+        return Math.toIntExact(minDegree.get());
+    }
+
+    /**
+     * Removes all remaining nodes with a degree of at most {@code level}.
+     */
+    private void scanLevel(int level) {
+        runOnPartitions(partition -> {
+            LongArrayList peeled = new LongArrayList();
+            for (long index = partitionStarts[partition], end = partitionEnds[partition]; index < end; index++) {
+                long nodeId = remaining.get(index);
+                if (degrees.get(nodeId) <= level) {
+                    coreValues.set(nodeId, level);
+                    peeled.add(nodeId);
+                }
+            }
+            appendToPeelOrder(peeled);
+        });
+    }
+
+    /**
+     * Decrements the degrees of all neighbours of the nodes in {@code peelOrder[from, to)}
+     * and removes the neighbours whose degree drops to {@code level}.
+     */
+    private void peelRound(long from, long to, int level) {
+        ParallelUtil.readParallel(concurrency, to - from, executor, (start, end) -> {
+            RelationshipIterator relationships = graph.concurrentCopy();
+            LongArrayList peeled = new LongArrayList();
+            for (long index = from + start; index < from + end; index++) {
+                relationships.forEachRelationship(peelOrder.get(index), (source, target) -> {
+                    // a stale read only leads to an additional decrement of an already removed node
+                    if (source != target && coreValues.get(target) == UNASSIGNED) {
+                        // the degree of a remaining node is larger than `level`, so exactly one decrement hits it
+                        if (degrees.getAndAdd(target, -1) - 1 == level) {
+                            coreValues.set(target, level);
+                            peeled.add(target);
+                        }
+                    }
+                    return true;
+                });
+            }
+            appendToPeelOrder(peeled);
+        });
+    }
+
+    private void appendToPeelOrder(LongArrayList peeled) {
+        if (!peeled.isEmpty()) {
+            long offset = peeledNodes.getAndAdd(peeled.size());
+            for (int i = 0; i < peeled.size(); i++) {
+                peelOrder.set(offset + i, peeled.get(i));
+            }
+        }
+    }
+
+    private void runOnPartitions(PartitionConsumer consumer) {
+        Collection<Runnable> tasks = new ArrayList<>(partitionStarts.length);
+        for (int partition = 0; partition < partitionStarts.length; partition++) {
+            int finalPartition = partition;
+            tasks.add(() -> consumer.accept(finalPartition));
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+    }
+
+    @FunctionalInterface
+    private interface PartitionConsumer {
+        void accept(int partition);
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.leiden;
+
+import com.carrotsearch.hppc.BitMixer;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.beta.modularity.ImmutableModularityOptimizationStreamConfig;
+import org.neo4j.graphalgo.beta.modularity.ModularityOptimization;
+import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationFactory;
+import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationStreamConfig;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.loading.GraphCoarsening;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.concurrent.ExecutorService;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.LongStream;
+
+import static org.neo4j.graphalgo.core.concurrency.ParallelUtil.DEFAULT_BATCH_SIZE;
+
+/**
+ * Implementation of the Leiden algorithm based on:
+ *
+ * Traag, V.A., Waltman, L. and van Eck, N.J.
+ * "From Louvain to Leiden: guaranteeing well-connected communities."
+ * Scientific Reports 9, 5233 (2019).
+ * https://arxiv.org/pdf/1810.08473.pdf
+ *
+ * Every level consists of three phases. The local moving phase uses {@link ModularityOptimization}.
+ * The refinement phase splits each of the resulting communities into well-connected sub-communities.
+ * The graph is then aggregated based on the refined communities, where every aggregated node starts
+ * in the community of the local moving phase on the next level.
+ *
+ * The algorithm terminates once every community consists of a single refined community.
+ * At that point all communities are guaranteed to be connected. The local moving phase only moves
+ * nodes into neighbouring communities and cannot split a community that it left disconnected.
+ * If neither phase changes anything anymore, the algorithm terminates with the refined communities instead,
+ * which are connected as well. This guarantee does not hold if the algorithm is stopped earlier
+ * by reaching {@code maxLevels}.
+ */
+public final class Leiden extends Algorithm<Leiden, Leiden> {
+
+    private final Graph rootGraph;
+    private final LeidenBaseConfig config;
+    private final ExecutorService executorService;
+    private final AllocationTracker tracker;
+
+    // results
+    private HugeLongArray[] dendrograms;
+    private double[] modularities;
+    private int ranLevels;
+
+    public Leiden(
+        Graph graph,
+        LeidenBaseConfig config,
+        ExecutorService executorService,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        this.config = config;
+        this.rootGraph = graph;
+        this.executorService = executorService;
+        this.tracker = tracker;
+        this.dendrograms = new HugeLongArray[config.maxLevels()];
+        this.modularities = new double[config.maxLevels()];
+        this.progressLogger = progressLogger;
+    }
+
+    @Override
+    public Leiden compute() {
+        getProgressLogger().logMessage(":: Start");
+
+        Graph workingGraph = rootGraph;
+        NodeProperties seedingValues = null;
+        HugeLongArray seedCommunities = null;
+        // the original id of the node in the working graph that contains a root node
+        HugeLongArray aggregatedNodes = HugeLongArray.newArray(rootGraph.nodeCount(), tracker);
+
+        ranLevels = 0;
+        while (ranLevels < config.maxLevels()) {
+            getProgressLogger().logMessage(String.format("Level %d :: Start", ranLevels + 1));
+
+            assertRunning();
+
+            ModularityOptimization localMoving = runModularityOptimization(workingGraph, seedingValues);
+            modularities[ranLevels] = localMoving.getModularity();
+            boolean localMovingChanged = changedCommunities(workingGraph, localMoving, seedCommunities);
+
+            assertRunning();
+
+            LeidenRefinement refinement = new LeidenRefinement(
+                workingGraph,
+                localMoving,
+                config.randomness(),
+                BitMixer.mix64(config.randomSeed() + ranLevels),
+                config.concurrency(),
+                executorService,
+                terminationFlag,
+                tracker
+            ).compute();
+
+            dendrograms[ranLevels] = HugeLongArray.newArray(rootGraph.nodeCount(), tracker);
+
+            // the communities can no longer be split, which means that they are all connected
+            if (refinement.matchesLocalMoving()) {
+                buildDendrogram(workingGraph, ranLevels, localMoving::getCommunityId, refinement, aggregatedNodes);
+                localMoving.release();
+                refinement.release();
+                getProgressLogger().logMessage(String.format("Level %d :: Finished", ranLevels + 1));
+                ranLevels++;
+                break;
+            }
+
+            // aggregating would yield the same graph with the same seeds, which local moving already could not split
+            if (!localMovingChanged && refinement.mergedNothing()) {
+                buildDendrogram(workingGraph, ranLevels, refinement::community, refinement, aggregatedNodes);
+                modularities[ranLevels] = refinement.modularity();
+                localMoving.release();
+                refinement.release();
+                getProgressLogger().logMessage(String.format("Level %d :: Finished", ranLevels + 1));
+                ranLevels++;
+                break;
+            }
+
+            buildDendrogram(workingGraph, ranLevels, localMoving::getCommunityId, refinement, aggregatedNodes);
+
+            assertRunning();
+
+            Orientation orientation = rootGraph.isUndirected() ? Orientation.UNDIRECTED : Orientation.NATURAL;
+            Graph aggregatedGraph = GraphCoarsening.coarsen(
+                workingGraph,
+                refinement::community,
+                workingGraph.nodeCount() - 1,
+                orientation,
+                config.concurrency(),
+                executorService,
+                tracker
+            );
+
+            // every aggregated node starts in the community of the local moving phase
+            if (seedCommunities != null) {
+                tracker.remove(seedCommunities.release());
+            }
+            seedCommunities = HugeLongArray.newArray(aggregatedGraph.nodeCount(), tracker);
+            seedCommunities.setAll(nodeId -> localMoving.getCommunityId(aggregatedGraph.toOriginalNodeId(nodeId)));
+            seedingValues = seedCommunities::get;
+
+            localMoving.release();
+            refinement.release();
+
+            getProgressLogger().logMessage(String.format("Level %d :: Finished", ranLevels + 1));
+            ranLevels++;
+
+            // if refinement merged no nodes, the aggregated graph equals the working graph,
+            // but the next level still continues from the communities of this local moving phase
+            workingGraph = aggregatedGraph;
+        }
+
+        resizeResultArrays();
+        if (seedCommunities != null) {
+            tracker.remove(seedCommunities.release());
+        }
+        tracker.remove(aggregatedNodes.release());
+        getProgressLogger().logMessage(":: Finished");
+        return this;
+    }
+
+    /**
+     * Returns true if local moving moved at least one node out of the community it was seeded with.
+     */
+    private boolean changedCommunities(
+        Graph workingGraph,
+        ModularityOptimization localMoving,
+        HugeLongArray seedCommunities
+    ) {
+        return ParallelUtil.parallelStream(
+            LongStream.range(0, workingGraph.nodeCount()),
+            config.concurrency(),
+            nodeStream -> nodeStream.anyMatch(nodeId -> {
+                long seedCommunity = seedCommunities == null ? nodeId : seedCommunities.get(nodeId);
+                return localMoving.getCommunityId(nodeId) != seedCommunity;
+            })
+        );
+    }
+
+    private void buildDendrogram(
+        Graph workingGraph,
+        int level,
+        LongUnaryOperator communities,
+        LeidenRefinement refinement,
+        HugeLongArray aggregatedNodes
+    ) {
+        ParallelUtil.parallelForEachNode(rootGraph, config.concurrency(), (nodeId) -> {
+            long workingNodeId = level == 0
+                ? nodeId
+                : workingGraph.toMappedNodeId(aggregatedNodes.get(nodeId));
+
+            dendrograms[level].set(nodeId, communities.applyAsLong(workingNodeId));
+            aggregatedNodes.set(nodeId, refinement.community(workingNodeId));
+        });
+    }
+
+    private ModularityOptimization runModularityOptimization(Graph graph, NodeProperties seed) {
+        ModularityOptimizationStreamConfig modularityOptimizationConfig = ImmutableModularityOptimizationStreamConfig
+            .builder()
+            .maxIterations(config.maxIterations())
+            .tolerance(config.tolerance())
+            .concurrency(config.concurrency())
+            .batchSize(DEFAULT_BATCH_SIZE)
+            .build();
+
+        ModularityOptimization modularityOptimization = new ModularityOptimizationFactory<>()
+            .build(
+                graph,
+                modularityOptimizationConfig,
+                seed,
+                tracker,
+                progressLogger.getLog()
+            ).withTerminationFlag(terminationFlag);
+
+        modularityOptimization.compute();
+
+        return modularityOptimization;
+    }
+
+    private void resizeResultArrays() {
+        int numLevels = levels();
+        HugeLongArray[] resizedDendrogram = new HugeLongArray[numLevels];
+        double[] resizedModularities = new double[numLevels];
+        if (numLevels < this.dendrograms.length) {
+            System.arraycopy(this.dendrograms, 0, resizedDendrogram, 0, numLevels);
+            System.arraycopy(this.modularities, 0, resizedModularities, 0, numLevels);
+            this.dendrograms = resizedDendrogram;
+            this.modularities = resizedModularities;
+        }
+    }
+
+    public LeidenBaseConfig config() {
+        return this.config;
+    }
+
+    public HugeLongArray[] dendrograms() {
+        return this.dendrograms;
+    }
+
+    public HugeLongArray finalDendrogram() {
+        return this.dendrograms[levels() - 1];
+    }
+
+    public long getCommunity(long nodeId) {
+        return dendrograms[levels() - 1].get(nodeId);
+    }
+
+    public long[] getCommunities(long nodeId) {
+        long[] communities = new long[dendrograms.length];
+
+        for (int i = 0; i < dendrograms.length; i++) {
+            communities[i] = dendrograms[i].get(nodeId);
+        }
+
+        return communities;
+    }
+
+    public int levels() {
+        return this.ranLevels == 0 ? 1 : this.ranLevels;
+    }
+
+    public double[] modularities() {
+        return this.modularities;
+    }
+
+    @Override
+    public void release() {
+        this.rootGraph.releaseTopology();
+    }
+
+    @Override
+    public Leiden me() {
+        return this;
+    }
+}
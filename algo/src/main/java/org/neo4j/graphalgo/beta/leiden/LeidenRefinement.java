@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.leiden;
+
+import com.carrotsearch.hppc.BitMixer;
+import com.carrotsearch.hppc.BitSet;
+import org.apache.commons.lang3.mutable.MutableDouble;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.beta.modularity.ColorGroups;
+import org.neo4j.graphalgo.beta.modularity.ModularityOptimization;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.collection.SparseLongDoubleAccumulator;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.PageFiller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * Refinement phase of the Leiden algorithm.
+ *
+ * Every node starts in its own refined community. Nodes that are still singletons are
+ * merged into a well-connected refined community within their community of the
+ * local moving phase. The target community is chosen randomly, where the probability
+ * of a community grows exponentially with the modularity gain of the merge.
+ *
+ * Nodes are processed color by color, using the coloring of the local moving phase.
+ * Nodes of the same color are not adjacent, so a node that is considered for a merge
+ * cannot be joined by another node at the same time.
+ *
+ * The id of a refined community is the id of the node it was started with.
+ */
+final class LeidenRefinement {
+
+    private final Graph graph;
+    private final ModularityOptimization localMoving;
+    private final double randomness;
+    private final long randomSeed;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final TerminationFlag terminationFlag;
+    private final AllocationTracker tracker;
+
+    private double totalWeight;
+    private long maxCommunityId;
+    private long communityCount;
+    private HugeLongArray communities;
+    private HugeDoubleArray nodeWeights;
+    private HugeAtomicDoubleArray communityVolumes;
+    private HugeLongArray refinedCommunities;
+    private HugeAtomicLongArray refinedSizes;
+    private HugeAtomicDoubleArray refinedVolumes;
+    private HugeAtomicDoubleArray refinedExternalWeights;
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(LeidenRefinement.class)
+            .perNode("communities", HugeLongArray::memoryEstimation)
+            .perNode("nodeWeights", HugeDoubleArray::memoryEstimation)
+            .perNode("communityVolumes", HugeAtomicDoubleArray::memoryEstimation)
+            .perNode("refinedCommunities", HugeLongArray::memoryEstimation)
+            .perNode("refinedSizes", HugeAtomicLongArray::memoryEstimation)
+            .perNode("refinedVolumes", HugeAtomicDoubleArray::memoryEstimation)
+            .perNode("refinedExternalWeights", HugeAtomicDoubleArray::memoryEstimation)
+            .perThread("neighbourWeights", SparseLongDoubleAccumulator.memoryEstimation())
+            .build();
+    }
+
+    LeidenRefinement(
+        Graph graph,
+        ModularityOptimization localMoving,
+        double randomness,
+        long randomSeed,
+        int concurrency,
+        ExecutorService executor,
+        TerminationFlag terminationFlag,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.localMoving = localMoving;
+        this.randomness = randomness;
+        this.randomSeed = randomSeed;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.terminationFlag = terminationFlag;
+        this.tracker = tracker;
+    }
+
+    LeidenRefinement compute() {
+        init();
+
+        // the partitions of a color run in parallel, the colors one after another
+        SparseLongDoubleAccumulator[] neighbourWeights = new SparseLongDoubleAccumulator[concurrency];
+        ColorGroups colorGroups = localMoving.colorGroups();
+        BitSet usedColors = colorGroups.usedColors();
+        long color = usedColors.nextSetBit(0);
+        while (color != -1) {
+            terminationFlag.assertRunning();
+            long[] partitions = colorGroups.partitions(color);
+            if (partitions.length - 1 > neighbourWeights.length) {
+                neighbourWeights = Arrays.copyOf(neighbourWeights, partitions.length - 1);
+            }
+            Collection<RefinementTask> tasks = new ArrayList<>(partitions.length - 1);
+            for (int i = 0; i < partitions.length - 1; i++) {
+                if (neighbourWeights[i] == null) {
+                    neighbourWeights[i] = new SparseLongDoubleAccumulator();
+                }
+                tasks.add(new RefinementTask(colorGroups.nodes(), partitions[i], partitions[i + 1], neighbourWeights[i]));
+            }
+            ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+            color = usedColors.nextSetBit(color + 1);
+        }
+
+        return this;
+    }
+
+    private void init() {
+        long nodeCount = graph.nodeCount();
+
+        this.communities = HugeLongArray.newArray(nodeCount, tracker);
+        AtomicLong maxCommunity = new AtomicLong(0L);
+        ParallelUtil.parallelForEachNode(graph, concurrency, nodeId -> {
+            long community = localMoving.getCommunityId(nodeId);
+            communities.set(nodeId, community);
+            maxCommunity.accumulateAndGet(community, Math::max);
+        });
+        this.maxCommunityId = maxCommunity.get();
+
+        BitSet seenCommunities = new BitSet(maxCommunityId + 1);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            seenCommunities.set(communities.get(nodeId));
+        }
+        this.communityCount = seenCommunities.cardinality();
+
+        this.nodeWeights = HugeDoubleArray.newArray(nodeCount, tracker);
+        this.communityVolumes = HugeAtomicDoubleArray.newArray(maxCommunityId + 1, tracker);
+        this.refinedCommunities = HugeLongArray.newArray(nodeCount, tracker);
+        this.refinedSizes = HugeAtomicLongArray.newArray(nodeCount, PageFiller.of(concurrency, index -> 1L), tracker);
+        this.refinedVolumes = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
+        this.refinedExternalWeights = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
+
+        ThreadLocal<RelationshipIterator> graphCopy = ThreadLocal.withInitial(graph::concurrentCopy);
+        double doubleTotalWeight = ParallelUtil.parallelStream(
+            LongStream.range(0, nodeCount),
+            concurrency,
+            nodeStream -> nodeStream.mapToDouble(nodeId -> {
+                long community = communities.get(nodeId);
+                MutableDouble nodeWeight = new MutableDouble(0.0D);
+                MutableDouble externalWeight = new MutableDouble(0.0D);
+                graphCopy.get().forEachRelationship(nodeId, 1.0D, (source, target, weight) -> {
+                    nodeWeight.add(weight);
+                    if (source != target && communities.get(target) == community) {
+                        externalWeight.add(weight);
+                    }
+                    return true;
+                });
+
+                nodeWeights.set(nodeId, nodeWeight.doubleValue());
+                communityVolumes.update(community, volume -> volume + nodeWeight.doubleValue());
+                refinedCommunities.set(nodeId, nodeId);
+                refinedVolumes.set(nodeId, nodeWeight.doubleValue());
+                refinedExternalWeights.set(nodeId, externalWeight.doubleValue());
+
+                return nodeWeight.doubleValue();
+            }).sum()
+        );
+        this.totalWeight = doubleTotalWeight / 2.0;
+    }
+
+    long community(long nodeId) {
+        return refinedCommunities.get(nodeId);
+    }
+
+    long maxCommunityId() {
+        return maxCommunityId;
+    }
+
+    /**
+     * Returns true if every community of the local moving phase consists of a single refined community.
+     * Refined communities are connected, so this holds only if all communities are connected.
+     */
+    boolean matchesLocalMoving() {
+        return refinedCommunityCount() == communityCount;
+    }
+
+    /**
+     * Returns true if no node has been merged into another refined community.
+     */
+    boolean mergedNothing() {
+        return refinedCommunityCount() == graph.nodeCount();
+    }
+
+    private long refinedCommunityCount() {
+        return ParallelUtil.parallelStream(
+            LongStream.range(0, graph.nodeCount()),
+            concurrency,
+            nodeStream -> nodeStream.filter(nodeId -> refinedCommunities.get(nodeId) == nodeId).count()
+        );
+    }
+
+    /**
+     * Returns the modularity of the refined communities.
+     */
+    double modularity() {
+        ThreadLocal<RelationshipIterator> graphCopy = ThreadLocal.withInitial(graph::concurrentCopy);
+        double internalWeight = ParallelUtil.parallelStream(
+            LongStream.range(0, graph.nodeCount()),
+            concurrency,
+            nodeStream -> nodeStream.mapToDouble(nodeId -> {
+                long refinedCommunity = refinedCommunities.get(nodeId);
+                MutableDouble weightToCommunity = new MutableDouble(0.0D);
+                graphCopy.get().forEachRelationship(nodeId, 1.0D, (source, target, weight) -> {
+                    if (refinedCommunities.get(target) == refinedCommunity) {
+                        weightToCommunity.add(weight);
+                    }
+                    return true;
+                });
+                return weightToCommunity.doubleValue();
+            }).sum()
+        );
+        double squaredVolumes = ParallelUtil.parallelStream(
+            LongStream.range(0, graph.nodeCount()),
+            concurrency,
+            nodeStream -> nodeStream
+                .filter(nodeId -> refinedCommunities.get(nodeId) == nodeId)
+                .mapToDouble(nodeId -> Math.pow(refinedVolumes.get(nodeId), 2.0))
+                .sum()
+        );
+        double doubleTotalWeight = 2.0D * totalWeight;
+        return internalWeight / doubleTotalWeight - squaredVolumes / Math.pow(doubleTotalWeight, 2.0);
+    }
+
+    void release() {
+        tracker.remove(
+            communities.release()
+            + nodeWeights.release()
+            + communityVolumes.release()
+            + refinedCommunities.release()
+            + refinedSizes.release()
+            + refinedVolumes.release()
+            + refinedExternalWeights.release()
+        );
+    }
+
+    private final class RefinementTask implements Runnable, RelationshipWithPropertyConsumer {
+
+        private final RelationshipIterator localGraph;
+        private final HugeLongArray nodes;
+        private final long startIndex;
+        private final long endIndex;
+        private final SparseLongDoubleAccumulator neighbourWeights;
+        private long community;
+
+        RefinementTask(HugeLongArray nodes, long startIndex, long endIndex, SparseLongDoubleAccumulator neighbourWeights) {
+            this.localGraph = graph.concurrentCopy();
+            this.nodes = nodes;
+            this.startIndex = startIndex;
+            this.endIndex = endIndex;
+            this.neighbourWeights = neighbourWeights;
+        }
+
+        @Override
+        public void run() {
+            for (long index = startIndex; index < endIndex; index++) {
+                refine(nodes.get(index));
+            }
+        }
+
+        private void refine(long nodeId) {
+            // only singletons are merged
+            if (refinedCommunities.get(nodeId) != nodeId || refinedSizes.get(nodeId) != 1L) {
+                return;
+            }
+
+            community = communities.get(nodeId);
+            double communityVolume = communityVolumes.get(community);
+            double nodeWeight = nodeWeights.get(nodeId);
+            double externalWeight = refinedExternalWeights.get(nodeId);
+            if (!isWellConnected(externalWeight, nodeWeight, communityVolume)) {
+                return;
+            }
+
+            neighbourWeights.clear();
+            localGraph.forEachRelationship(nodeId, 1.0D, this);
+
+            // staying a singleton has a gain of zero and is always a candidate
+            double maxGain = 0.0D;
+            for (int i = 0; i < neighbourWeights.size(); i++) {
+                double gain = gain(neighbourWeights.keyAt(i), neighbourWeights.valueAt(i), nodeWeight, communityVolume);
+                if (gain > maxGain) {
+                    maxGain = gain;
+                }
+            }
+            if (maxGain == 0.0D) {
+                return;
+            }
+
+            double totalProbability = Math.exp(-maxGain / randomness);
+            for (int i = 0; i < neighbourWeights.size(); i++) {
+                double gain = gain(neighbourWeights.keyAt(i), neighbourWeights.valueAt(i), nodeWeight, communityVolume);
+                if (gain >= 0.0D) {
+                    totalProbability += Math.exp((gain - maxGain) / randomness);
+                }
+            }
+
+            double threshold = random(nodeId) * totalProbability - Math.exp(-maxGain / randomness);
+            if (threshold < 0.0D) {
+                return;
+            }
+
+            long targetCommunity = nodeId;
+            double weightToTarget = 0.0D;
+            for (int i = 0; i < neighbourWeights.size(); i++) {
+                double gain = gain(neighbourWeights.keyAt(i), neighbourWeights.valueAt(i), nodeWeight, communityVolume);
+                if (gain >= 0.0D) {
+                    targetCommunity = neighbourWeights.keyAt(i);
+                    weightToTarget = neighbourWeights.valueAt(i);
+                    threshold -= Math.exp((gain - maxGain) / randomness);
+                    if (threshold < 0.0D) {
+                        break;
+                    }
+                }
+            }
+
+            if (targetCommunity == nodeId) {
+                return;
+            }
+
+            refinedCommunities.set(nodeId, targetCommunity);
+            refinedSizes.set(nodeId, 0L);
+            refinedSizes.getAndAdd(targetCommunity, 1L);
+            refinedVolumes.add(targetCommunity, nodeWeight);
+            refinedExternalWeights.add(targetCommunity, externalWeight - 2.0D * weightToTarget);
+        }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId, double property) {
+            if (sourceNodeId != targetNodeId && communities.get(targetNodeId) == community) {
+                neighbourWeights.add(refinedCommunities.get(targetNodeId), property);
+            }
+            return true;
+        }
+
+        /**
+         * Modularity gain of merging a singleton into the given refined community.
+         * Returns a negative value if the refined community is not well-connected to the rest of its community.
+         */
+        private double gain(long refinedCommunity, double weightToCommunity, double nodeWeight, double communityVolume) {
+            double refinedVolume = refinedVolumes.get(refinedCommunity);
+            if (!isWellConnected(refinedExternalWeights.get(refinedCommunity), refinedVolume, communityVolume)) {
+                return -1.0D;
+            }
+            return (weightToCommunity - nodeWeight * refinedVolume / (2.0D * totalWeight)) / totalWeight;
+        }
+
+        private boolean isWellConnected(double externalWeight, double volume, double communityVolume) {
+            return externalWeight >= volume * (communityVolume - volume) / (2.0D * totalWeight);
+        }
+
+        private double random(long nodeId) {
+            return (BitMixer.mix64(randomSeed + nodeId) >>> 11) * 0x1.0p-53;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.modularity;
+
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.LongArrayList;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+/**
+ * Groups the nodes of a graph by their color, as computed by {@link org.neo4j.graphalgo.beta.k1coloring.K1Coloring}.
+ *
+ * The nodes of a color are stored in ascending order in {@code nodes()[colorOffsets[color], colorOffsets[color + 1])}.
+ * Each such slice is further split into at most {@code concurrency} partitions with a similar number of relationships,
+ * so that the nodes of one color can be processed in parallel without scanning the nodes of other colors.
+ */
+public final class ColorGroups {
+
+    private final BitSet usedColors;
+    private final HugeLongArray nodes;
+    private final HugeLongArray colorOffsets;
+    private final long[][] partitions;
+
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(ColorGroups.class)
+            .perNode("nodes", HugeLongArray::memoryEstimation)
+            .rangePerNode(
+                "colorOffsets", (nodeCount) ->
+                    MemoryRange.of(HugeLongArray.memoryEstimation(2), HugeLongArray.memoryEstimation(nodeCount + 1))
+            )
+            .build();
+    }
+
+    /**
+     * @param minPartitionWeight the minimum number of nodes plus relationships of a partition
+     */
+    public static ColorGroups of(
+        Graph graph,
+        HugeLongArray colors,
+        BitSet usedColors,
+        int concurrency,
+        long minPartitionWeight,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = graph.nodeCount();
+        long maxColor = usedColors.length() - 1;
+
+        // counting sort by color
+        HugeLongArray colorOffsets = HugeLongArray.newArray(maxColor + 2, tracker);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long color = colors.get(nodeId);
+            colorOffsets.set(color + 1, colorOffsets.get(color + 1) + 1);
+        }
+        for (long color = 0; color <= maxColor; color++) {
+            colorOffsets.set(color + 1, colorOffsets.get(color + 1) + colorOffsets.get(color));
+        }
+
+        HugeLongArray nodes = HugeLongArray.newArray(nodeCount, tracker);
+        HugeLongArray positions = HugeLongArray.newArray(maxColor + 1, tracker);
+        colorOffsets.copyTo(positions, maxColor + 1);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long color = colors.get(nodeId);
+            long position = positions.get(color);
+            nodes.set(position, nodeId);
+            positions.set(color, position + 1);
+        }
+        tracker.remove(positions.release());
+
+        long[][] partitions = new long[Math.toIntExact(maxColor + 1)][];
+        long color = usedColors.nextSetBit(0);
+        while (color != -1) {
+            partitions[(int) color] = partition(
+                graph,
+                nodes,
+                colorOffsets.get(color),
+                colorOffsets.get(color + 1),
+                concurrency,
+                minPartitionWeight
+            );
+            color = usedColors.nextSetBit(color + 1);
+        }
+
+        return new ColorGroups(usedColors, nodes, colorOffsets, partitions);
+    }
+
+    private ColorGroups(BitSet usedColors, HugeLongArray nodes, HugeLongArray colorOffsets, long[][] partitions) {
+        this.usedColors = usedColors;
+        this.nodes = nodes;
+        this.colorOffsets = colorOffsets;
+        this.partitions = partitions;
+    }
+
+    /**
+     * Splits the nodes in {@code nodes[start, end)} into at most {@code concurrency} partitions of similar relationship count.
+     */
+    private static long[] partition(
+        Graph graph,
+        HugeLongArray nodes,
+        long start,
+        long end,
+        int concurrency,
+        long minPartitionWeight
+    ) {
+        // every node also counts as one, so that isolated nodes are distributed as well
+        long colorWeight = end - start;
+        for (long i = start; i < end; i++) {
+            colorWeight += graph.degree(nodes.get(i));
+        }
+        long partitionWeight = Math.max(minPartitionWeight, BitUtil.ceilDiv(colorWeight, concurrency));
+
+        LongArrayList boundaries = new LongArrayList();
+        boundaries.add(start);
+        long currentWeight = 0L;
+        for (long i = start; i < end; i++) {
+            currentWeight += 1 + graph.degree(nodes.get(i));
+            if (currentWeight >= partitionWeight && i + 1 < end) {
+                boundaries.add(i + 1);
+                currentWeight = 0L;
+            }
+        }
+        boundaries.add(end);
+        return boundaries.toArray();
+    }
+
+    public BitSet usedColors() {
+        return usedColors;
+    }
+
+    /**
+     * All nodes, grouped by color.
+     */
+    public HugeLongArray nodes() {
+        return nodes;
+    }
+
+    public long colorSize(long color) {
+        return colorOffsets.get(color + 1) - colorOffsets.get(color);
+    }
+
+    /**
+     * @return the partition boundaries of the given color as indices into {@link #nodes()},
+     *     including the start and the end of the color
+     */
+    public long[] partitions(long color) {
+        return partitions[(int) color];
+    }
+
+    public long release() {
+        return nodes.release() + colorOffsets.release();
+    }
+}
@@ -33,6 +33,7 @@ import org.neo4j.graphalgo.beta.k1coloring.K1ColoringFactory;
 import org.neo4j.graphalgo.beta.k1coloring.K1ColoringStreamConfig;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.collection.SparseLongDoubleAccumulator;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
@@ -41,6 +42,7 @@ import org.neo4j.graphalgo.core.utils.paged.HugeLongLongMap;
 import org.neo4j.graphalgo.core.utils.paged.PageFiller;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.concurrent.ExecutorService;
 import java.util.stream.LongStream;
@@ -69,8 +71,8 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
     private boolean didConverge = false;
     private double totalNodeWeight = 0.0;
     private double modularity = -1.0;
-    private BitSet colorsUsed;
-    private HugeLongArray colors;
+    private ColorGroups colorGroups;
+    private SparseLongDoubleAccumulator[] communityInfluences = new SparseLongDoubleAccumulator[0];
     private HugeLongArray currentCommunities;
     private HugeLongArray nextCommunities;
     private HugeLongArray reverseSeedCommunityMapping;
@@ -133,6 +135,7 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
 
             nodeCommunityInfluences.fill(0.0);
 
+            BitSet colorsUsed = colorGroups.usedColors();
             long currentColor = colorsUsed.nextSetBit(0);
             while (currentColor != -1) {
                 assertRunning();
@@ -169,8 +172,9 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
             .build(graph, k1Config, tracker, progressLogger.getLog())
             .withTerminationFlag(terminationFlag);
 
-        this.colors = coloring.compute();
-        this.colorsUsed = coloring.usedColors();
+        HugeLongArray colors = coloring.compute();
+        this.colorGroups = ColorGroups.of(graph, colors, coloring.usedColors(), concurrency, batchSize, tracker);
+        tracker.remove(colors.release());
     }
 
     private void initSeeding() {
@@ -269,22 +273,23 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
     }
 
     private Collection<ModularityOptimizationTask> createModularityOptimizationTasks(long currentColor) {
-        final Collection<ModularityOptimizationTask> tasks = new ArrayList<>(concurrency);
-        for (long i = 0L; i < this.nodeCount; i += batchSize) {
+        long[] partitions = colorGroups.partitions(currentColor);
+        final Collection<ModularityOptimizationTask> tasks = new ArrayList<>(partitions.length - 1);
+        for (int i = 0; i < partitions.length - 1; i++) {
             tasks.add(
                 new ModularityOptimizationTask(
                     graph,
-                    i,
-                    Math.min(i + batchSize, nodeCount),
-                    currentColor,
+                    colorGroups.nodes(),
+                    partitions[i],
+                    partitions[i + 1],
                     totalNodeWeight,
-                    colors,
                     currentCommunities,
                     nextCommunities,
                     cumulativeNodeWeights,
                     nodeCommunityInfluences,
                     communityWeights,
                     communityWeightUpdates,
+                    communityInfluences(i),
                     getProgressLogger()
                 )
             );
@@ -292,6 +297,20 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         return tasks;
     }
 
+    /**
+     * The partitions of a color are processed in parallel, but the colors one after another.
+     * Every partition index can therefore reuse the same accumulator across colors and iterations.
+     */
+    private SparseLongDoubleAccumulator communityInfluences(int partition) {
+        if (partition >= communityInfluences.length) {
+            communityInfluences = Arrays.copyOf(communityInfluences, partition + 1);
+        }
+        if (communityInfluences[partition] == null) {
+            communityInfluences[partition] = new SparseLongDoubleAccumulator();
+        }
+        return communityInfluences[partition];
+    }
+
     private boolean updateModularity() {
         double oldModularity = this.modularity;
         this.modularity = calculateModularity();
@@ -335,8 +354,8 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         this.communityWeightUpdates.release();
         this.cumulativeNodeWeights.release();
         this.nodeCommunityInfluences.release();
-        this.colors.release();
-        this.colorsUsed = null;
+        this.colorGroups.release();
+        this.communityInfluences = null;
     }
 
     public long getCommunityId(long nodeId) {
@@ -354,6 +373,14 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         return this.modularity;
     }
 
+    /**
+     * The nodes grouped by the coloring that was used for the optimization.
+     * Available until {@link #release()} is called.
+     */
+    public ColorGroups colorGroups() {
+        return this.colorGroups;
+    }
+
     public boolean didConverge() {
         return this.didConverge;
     }
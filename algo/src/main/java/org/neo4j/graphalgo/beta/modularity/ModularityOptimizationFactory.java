@@ -25,6 +25,7 @@ import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.collection.SparseLongDoubleAccumulator;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
@@ -46,21 +47,13 @@ public class ModularityOptimizationFactory<T extends ModularityOptimizationConfi
             .perNode("communityWeights", HugeAtomicDoubleArray::memoryEstimation)
             .perNode("colorsUsed", MemoryUsage::sizeOfBitset)
             .perNode("colors", HugeLongArray::memoryEstimation)
+            .add("colorGroups", ColorGroups.memoryEstimation())
             .rangePerNode(
                 "reversedSeedCommunityMapping", (nodeCount) ->
                     MemoryRange.of(0, HugeLongArray.memoryEstimation(nodeCount))
             )
             .perNode("communityWeightUpdates", HugeAtomicDoubleArray::memoryEstimation)
-            .perThread("ModularityOptimizationTask", MemoryEstimations.builder()
-                .rangePerNode(
-                    "communityInfluences",
-                    (nodeCount) -> MemoryRange.of(
-                        MemoryUsage.sizeOfLongDoubleHashMap(50),
-                        MemoryUsage.sizeOfLongDoubleHashMap(Math.max(50, nodeCount))
-                    )
-                )
-                .build()
-            )
+            .perThread("communityInfluences", SparseLongDoubleAccumulator.memoryEstimation())
             .build();
 
     @Override
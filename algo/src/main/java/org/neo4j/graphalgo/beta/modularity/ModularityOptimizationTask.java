@@ -19,26 +19,23 @@
  */
 package org.neo4j.graphalgo.beta.modularity;
 
-import com.carrotsearch.hppc.LongDoubleHashMap;
-import com.carrotsearch.hppc.LongDoubleMap;
-import com.carrotsearch.hppc.cursors.LongDoubleCursor;
-import org.apache.commons.lang3.mutable.MutableDouble;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.collection.SparseLongDoubleAccumulator;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 
-final class ModularityOptimizationTask implements Runnable {
+final class ModularityOptimizationTask implements Runnable, RelationshipWithPropertyConsumer {
 
     private final Graph graph;
     private final RelationshipIterator localGraph;
-    private final long batchStart;
-    private final long batchEnd;
-    private final long color;
+    private final HugeLongArray nodes;
+    private final long startIndex;
+    private final long endIndex;
     private final double totalNodeWeight;
-    private final HugeLongArray colors;
     private final ProgressLogger progressLogger;
     private final HugeLongArray currentCommunities;
     private final HugeLongArray nextCommunities;
@@ -46,26 +43,28 @@ final class ModularityOptimizationTask implements Runnable {
     private final HugeDoubleArray nodeCommunityInfluences;
     private final HugeAtomicDoubleArray communityWeights;
     private final HugeAtomicDoubleArray communityWeightUpdates;
+    private final SparseLongDoubleAccumulator communityInfluences;
+    private double selfWeight;
 
     ModularityOptimizationTask(
         Graph graph,
-        long batchStart,
-        long batchEnd,
-        long color,
+        HugeLongArray nodes,
+        long startIndex,
+        long endIndex,
         double totalNodeWeight,
-        HugeLongArray colors,
         HugeLongArray currentCommunities,
         HugeLongArray nextCommunities,
         HugeDoubleArray cumulativeNodeWeights,
         HugeDoubleArray nodeCommunityInfluences,
         HugeAtomicDoubleArray communityWeights,
         HugeAtomicDoubleArray communityWeightUpdates,
+        SparseLongDoubleAccumulator communityInfluences,
         ProgressLogger progressLogger
     ) {
         this.graph = graph;
-        this.batchStart = batchStart;
-        this.batchEnd = batchEnd;
-        this.color = color;
+        this.nodes = nodes;
+        this.startIndex = startIndex;
+        this.endIndex = endIndex;
         this.localGraph = graph.concurrentCopy();
         this.currentCommunities = currentCommunities;
         this.nextCommunities = nextCommunities;
@@ -74,57 +73,37 @@ final class ModularityOptimizationTask implements Runnable {
         this.totalNodeWeight = totalNodeWeight;
         this.cumulativeNodeWeights = cumulativeNodeWeights;
         this.nodeCommunityInfluences = nodeCommunityInfluences;
-        this.colors = colors;
+        this.communityInfluences = communityInfluences;
         this.progressLogger = progressLogger;
     }
 
     @Override
     public void run() {
-        LongDoubleMap reuseCommunityInfluences = new LongDoubleHashMap(50);
-        for (long nodeId = batchStart; nodeId < batchEnd; nodeId++) {
-
-            if (colors.get(nodeId) != color) {
-                continue;
-            }
-
+        for (long index = startIndex; index < endIndex; index++) {
+            long nodeId = nodes.get(index);
             long currentCommunity = currentCommunities.get(nodeId);
-            final int degree = graph.degree(nodeId);
-
-            LongDoubleMap communityInfluences;
-            if (degree < 50) {
-                reuseCommunityInfluences.clear();
-                communityInfluences = reuseCommunityInfluences;
-            } else {
-                communityInfluences = new LongDoubleHashMap(degree);
-            }
-            MutableDouble selfWeight = new MutableDouble(0.0D);
 
             // calculate influence of this node w.r.t its neighbours communities
-            localGraph.forEachRelationship(nodeId, 1.0D, (s, t, w) -> {
-                if (s == t) {
-                    selfWeight.add(w);
-                }
-                long targetCommunity = currentCommunities.get(t);
-                communityInfluences.addTo(targetCommunity, w);
-                return true;
-            });
+            communityInfluences.clear();
+            selfWeight = 0.0D;
+            localGraph.forEachRelationship(nodeId, 1.0D, this);
 
             long nextCommunity = currentCommunity;
             double currentGain;
             double maxGain = 0.0;
-            double eix = communityInfluences.get(currentCommunity) - selfWeight.doubleValue();
+            double eix = communityInfluences.get(currentCommunity) - selfWeight;
             double cumulativeNodeWeight = cumulativeNodeWeights.get(nodeId);
             double ax = communityWeights.get(currentCommunity) - cumulativeNodeWeight;
             double eiy;
             double ay;
 
             long communityCandidate;
-            for (LongDoubleCursor cursor : communityInfluences) {
-                communityCandidate = cursor.key;
+            for (int i = 0; i < communityInfluences.size(); i++) {
+                communityCandidate = communityInfluences.keyAt(i);
 
                 if (currentCommunity != communityCandidate) {
                     ay = communityWeights.get(communityCandidate);
-                    eiy = cursor.value;
+                    eiy = communityInfluences.valueAt(i);
                     currentGain =
                         (eiy - eix) / totalNodeWeight
                         + (2 * cumulativeNodeWeight * ax - 2 * cumulativeNodeWeight * ay) / Math.pow(
@@ -142,10 +121,18 @@ final class ModularityOptimizationTask implements Runnable {
             nodeCommunityInfluences.set(nodeId, communityInfluences.get(nextCommunity));
 
             nextCommunities.set(nodeId, nextCommunity);
-            communityWeightUpdates.update(currentCommunity, agg -> agg - cumulativeNodeWeight);
-            communityWeightUpdates.update(nextCommunity, agg -> agg + cumulativeNodeWeight);
+            communityWeightUpdates.add(currentCommunity, -cumulativeNodeWeight);
+            communityWeightUpdates.add(nextCommunity, cumulativeNodeWeight);
             progressLogger.logProgress(graph.degree(nodeId));
         }
+    }
 
+    @Override
+    public boolean accept(long sourceNodeId, long targetNodeId, double property) {
+        if (sourceNodeId == targetNodeId) {
+            selfWeight += property;
+        }
+        communityInfluences.add(currentCommunities.get(targetNodeId), property);
+        return true;
     }
 }
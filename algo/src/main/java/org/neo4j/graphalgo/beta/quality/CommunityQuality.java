@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.quality;
+
+import com.carrotsearch.hppc.cursors.LongLongCursor;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.collection.SparseLongDoubleAccumulator;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongLongMap;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+
+/**
+ * Evaluates the quality of a given partition of the graph, e.g. the communities that have been computed by
+ * Louvain, Label Propagation or WCC and mutated into the graph.
+ *
+ * The community of every node is read from a node property. Nodes without a value for that property
+ * form a community of their own, with an id above all ids in the property.
+ * A single parallel pass over the adjacency computes for every community its size, the number of relationships
+ * within and leaving the community, as well as the total weight of relationships within, leaving and entering it.
+ * This is enough to compute the modularity of the partition and the conductance of every community.
+ *
+ * In undirected graphs, every relationship within a community is counted once and the weight entering a community
+ * equals the weight leaving it. In directed graphs, the modularity follows the definition for directed graphs,
+ * the conductance only considers outgoing relationships.
+ */
+public class CommunityQuality extends Algorithm<CommunityQuality, CommunityQuality> {
+
+    private static final double DEFAULT_WEIGHT = 1.0;
+    private static final double NO_COMMUNITY = -1.0;
+
+    private Graph graph;
+    private ExecutorService executor;
+    private final NodeProperties communityProperty;
+    private final CommunityQualityBaseConfig config;
+    private final AllocationTracker tracker;
+    private final long nodeCount;
+
+    // the community of every node, as an index into `communityIds`
+    private HugeLongArray nodeCommunities;
+    private HugeLongArray communityIds;
+    private HugeAtomicLongArray communitySizes;
+
+    private HugeAtomicLongArray internalRelationships;
+    private HugeAtomicLongArray externalRelationships;
+    private HugeAtomicDoubleArray internalWeights;
+    private HugeAtomicDoubleArray outgoingWeights;
+    // only computed for directed graphs, otherwise the same as `outgoingWeights`
+    private HugeAtomicDoubleArray incomingWeights;
+
+    private long communityCount;
+    private long internalRelationshipCount;
+    private long externalRelationshipCount;
+    private double totalWeight;
+    private double modularity;
+
+    public CommunityQuality(
+        Graph graph,
+        NodeProperties communityProperty,
+        CommunityQualityBaseConfig config,
+        ExecutorService executor,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.communityProperty = communityProperty;
+        this.config = config;
+        this.executor = executor;
+        this.progressLogger = progressLogger;
+        this.tracker = tracker;
+        this.nodeCount = graph.nodeCount();
+    }
+
+    @Override
+    public CommunityQuality me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        if (nodeCommunities != null) {
+            tracker.remove(nodeCommunities.release());
+            nodeCommunities = null;
+        }
+        executor = null;
+        graph = null;
+    }
+
+    @Override
+    public CommunityQuality compute() {
+        progressLogger.logMessage(":: Start");
+
+        mapCommunities();
+
+        internalRelationships = HugeAtomicLongArray.newArray(communityCount, tracker);
+        externalRelationships = HugeAtomicLongArray.newArray(communityCount, tracker);
+        internalWeights = HugeAtomicDoubleArray.newArray(communityCount, tracker);
+        outgoingWeights = HugeAtomicDoubleArray.newArray(communityCount, tracker);
+        incomingWeights = graph.isUndirected()
+            ? outgoingWeights
+            : HugeAtomicDoubleArray.newArray(communityCount, tracker);
+
+        assertRunning();
+
+        DoubleAdder totalWeightAdder = new DoubleAdder();
+        ParallelUtil.readParallel(config.concurrency(), nodeCount, executor, (start, end) -> {
+            Evaluator evaluator = new Evaluator();
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                evaluator.evaluate(nodeId);
+                if (nodeId % RUN_CHECK_NODE_COUNT == 0) {
+                    assertRunning();
+                }
+            }
+            totalWeightAdder.add(evaluator.totalWeight);
+        });
+        totalWeight = totalWeightAdder.sum();
+
+        // relationships of undirected graphs are visited from both of their nodes
+        boolean undirected = graph.isUndirected();
+        LongAdder internalAdder = new LongAdder();
+        LongAdder externalAdder = new LongAdder();
+        ParallelUtil.readParallel(config.concurrency(), communityCount, executor, (start, end) -> {
+            for (long community = start; community < end; community++) {
+                long internal = internalRelationships.get(community);
+                if (undirected) {
+                    internal /= 2;
+                    internalRelationships.set(community, internal);
+                }
+                internalAdder.add(internal);
+                externalAdder.add(externalRelationships.get(community));
+            }
+        });
+        internalRelationshipCount = internalAdder.sum();
+        externalRelationshipCount = undirected ? externalAdder.sum() / 2 : externalAdder.sum();
+
+        modularity = computeModularity();
+
+        progressLogger.logMessage(":: Finished");
+        return this;
+    }
+
+    /**
+     * Maps the community ids to consecutive indices in the order in which they are first seen.
+     * Only the mapping itself is sequential, as it determines the indices.
+     */
+    private void mapCommunities() {
+        long maxCommunityId = ParallelUtil.parallelStream(
+            LongStream.range(0, nodeCount),
+            config.concurrency(),
+            nodeStream -> nodeStream
+                .mapToDouble(nodeId -> communityProperty.nodeProperty(nodeId, NO_COMMUNITY))
+                .filter(value -> value >= 0)
+                .mapToLong(value -> (long) value)
+                .max()
+                .orElse(-1L)
+        );
+
+        nodeCommunities = HugeLongArray.newArray(nodeCount, tracker);
+        HugeLongLongMap communityMapping = new HugeLongLongMap(nodeCount, tracker);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            double value = communityProperty.nodeProperty(nodeId, NO_COMMUNITY);
+            long communityId = value >= 0
+                ? (long) value
+                : maxCommunityId + 1 + graph.toOriginalNodeId(nodeId);
+
+            long community = communityMapping.getOrDefault(communityId, -1L);
+            if (community < 0) {
+                community = communityCount++;
+                communityMapping.addTo(communityId, community);
+            }
+            nodeCommunities.set(nodeId, community);
+        }
+
+        communityIds = HugeLongArray.newArray(communityCount, tracker);
+        for (LongLongCursor entry : communityMapping) {
+            communityIds.set(entry.value, entry.key);
+        }
+        communityMapping.release();
+
+        communitySizes = HugeAtomicLongArray.newArray(communityCount, tracker);
+        ParallelUtil.parallelForEachNode(
+            graph,
+            config.concurrency(),
+            nodeId -> communitySizes.getAndAdd(nodeCommunities.get(nodeId), 1L)
+        );
+    }
+
+    private double computeModularity() {
+        if (totalWeight == 0) {
+            return 0.0;
+        }
+
+        DoubleAdder modularityAdder = new DoubleAdder();
+        ParallelUtil.readParallel(config.concurrency(), communityCount, executor, (start, end) -> {
+            double localModularity = 0.0;
+            for (long community = start; community < end; community++) {
+                localModularity += internalWeights.get(community) / totalWeight
+                                   - outgoingWeights.get(community) * incomingWeights.get(community) / (totalWeight * totalWeight);
+            }
+            modularityAdder.add(localModularity);
+        });
+        return modularityAdder.sum();
+    }
+
+    /**
+     * The modularity of the partition.
+     */
+    public double modularity() {
+        return modularity;
+    }
+
+    public long communityCount() {
+        return communityCount;
+    }
+
+    /**
+     * The community id of the community with index {@code community}, which ranges from {@code 0} to {@link #communityCount()}.
+     */
+    public long communityId(long community) {
+        return communityIds.get(community);
+    }
+
+    public long size(long community) {
+        return communitySizes.get(community);
+    }
+
+    /**
+     * The number of relationships between nodes of the same community.
+     */
+    public long internalRelationshipCount() {
+        return internalRelationshipCount;
+    }
+
+    /**
+     * The number of relationships between nodes of different communities.
+     */
+    public long externalRelationshipCount() {
+        return externalRelationshipCount;
+    }
+
+    public long internalRelationshipCount(long community) {
+        return internalRelationships.get(community);
+    }
+
+    public long externalRelationshipCount(long community) {
+        return externalRelationships.get(community);
+    }
+
+    /**
+     * The weight of all relationships leaving the community, divided by the smaller of the total weight
+     * of all relationships within and leaving the community and the total weight of all other relationships.
+     */
+    public double conductance(long community) {
+        double volume = outgoingWeights.get(community);
+        double cut = volume - internalWeights.get(community);
+        double denominator = Math.min(volume, totalWeight - volume);
+        return denominator > 0 ? cut / denominator : 0.0;
+    }
+
+    private final class Evaluator implements RelationshipWithPropertyConsumer {
+
+        private final RelationshipIterator relationships;
+        // the weight entering each target community, flushed once per node; null for undirected graphs
+        private final SparseLongDoubleAccumulator incoming;
+
+        private long community;
+        private long internalCount;
+        private long externalCount;
+        private double internalWeight;
+        private double outgoingWeight;
+        private double totalWeight;
+
+        Evaluator() {
+            this.relationships = graph.concurrentCopy();
+            this.incoming = graph.isUndirected() ? null : new SparseLongDoubleAccumulator();
+        }
+
+        void evaluate(long nodeId) {
+            community = nodeCommunities.get(nodeId);
+            internalCount = 0;
+            externalCount = 0;
+            internalWeight = 0;
+            outgoingWeight = 0;
+
+            relationships.forEachRelationship(nodeId, DEFAULT_WEIGHT, this);
+
+            if (internalCount + externalCount > 0) {
+                internalRelationships.getAndAdd(community, internalCount);
+                externalRelationships.getAndAdd(community, externalCount);
+                internalWeights.add(community, internalWeight);
+                outgoingWeights.add(community, outgoingWeight);
+                totalWeight += outgoingWeight;
+            }
+
+            if (incoming != null) {
+                for (int i = 0; i < incoming.size(); i++) {
+                    incomingWeights.add(incoming.keyAt(i), incoming.valueAt(i));
+                }
+                incoming.clear();
+            }
+
+            progressLogger.logProgress(graph.degree(nodeId));
+        }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId, double property) {
+            long targetCommunity = nodeCommunities.get(targetNodeId);
+            if (targetCommunity == community) {
+                internalCount++;
+                internalWeight += property;
+            } else {
+                externalCount++;
+            }
+            outgoingWeight += property;
+            if (incoming != null) {
+                incoming.add(targetCommunity, property);
+            }
+            return true;
+        }
+    }
+}
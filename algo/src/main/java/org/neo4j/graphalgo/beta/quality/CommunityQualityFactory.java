@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.quality;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
+import org.neo4j.graphalgo.core.utils.collection.SparseLongDoubleAccumulator;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongLongMap;
+import org.neo4j.logging.Log;
+
+public class CommunityQualityFactory<CONFIG extends CommunityQualityBaseConfig> extends AlgorithmFactory<CommunityQuality, CONFIG> {
+
+    @Override
+    public CommunityQuality build(Graph graph, CONFIG configuration, AllocationTracker tracker, Log log) {
+        NodeProperties communityProperty = graph.nodeProperties(configuration.communityProperty());
+        if (communityProperty == null) {
+            throw new IllegalArgumentException(String.format(
+                "Community property `%s` not found in graph with node properties: %s",
+                configuration.communityProperty(),
+                graph.availableNodeProperties()
+            ));
+        }
+
+        var progressLogger = new BatchingProgressLogger(
+            log,
+            graph.relationshipCount(),
+            "CommunityQuality",
+            configuration.concurrency()
+        );
+
+        return new CommunityQuality(
+            graph,
+            communityProperty,
+            configuration,
+            Pools.DEFAULT,
+            progressLogger,
+            tracker
+        );
+    }
+
+    @Override
+    public MemoryEstimation memoryEstimation(CONFIG configuration) {
+        // every node might be in a community of its own
+        return MemoryEstimations.builder(CommunityQuality.class)
+            .perNode("node communities", HugeLongArray::memoryEstimation)
+            .add("community mapping", HugeLongLongMap.memoryEstimation())
+            .perNode("community ids", HugeLongArray::memoryEstimation)
+            .perNode("community sizes", HugeAtomicLongArray::memoryEstimation)
+            .perNode("internal relationships", HugeAtomicLongArray::memoryEstimation)
+            .perNode("external relationships", HugeAtomicLongArray::memoryEstimation)
+            .perNode("internal weights", HugeAtomicDoubleArray::memoryEstimation)
+            .perNode("outgoing weights", HugeAtomicDoubleArray::memoryEstimation)
+            // undirected graphs reuse the outgoing weights
+            .rangePerNode("incoming weights", nodeCount -> MemoryRange.of(
+                0L,
+                HugeAtomicDoubleArray.memoryEstimation(nodeCount)
+            ))
+            .perThread("incoming weights accumulator", SparseLongDoubleAccumulator.memoryEstimation())
+            .build();
+    }
+}
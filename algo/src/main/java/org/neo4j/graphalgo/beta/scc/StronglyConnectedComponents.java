@@ -0,0 +1,460 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.scc;
+
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.IncomingRelationships;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.function.LongPredicate;
+
+/**
+ * Computes the strongly connected components of a directed graph in parallel.
+ * <p>
+ * The algorithm works in three phases, every phase assigns components to a subset of the nodes
+ * and the later phases only consider the nodes that are still unassigned:
+ * <ol>
+ * <li>Trimming: nodes without any incoming or outgoing relationship from or to unassigned nodes
+ * form a component on their own. Assigning them lowers the degrees of their neighbours,
+ * which are trimmed in the next round, until no such node remains.</li>
+ * <li>Forward-backward: the nodes that are reachable from a pivot node and that can also reach the pivot
+ * form the component of the pivot. The pivot is the node with the largest product of in- and out-degree,
+ * which is likely part of the largest component.</li>
+ * <li>Coloring: every node starts with its own id as color and the largest color is propagated
+ * along the outgoing relationships. Afterwards, every node whose color equals its own id is the root
+ * of a component, which consists of all nodes of the same color that can reach the root.
+ * This is repeated until all nodes are assigned.</li>
+ * </ol>
+ * All phases are level synchronous traversals, the nodes of one level are processed in parallel.
+ * Incoming relationships are resolved through {@link IncomingRelationships},
+ * which indexes the inverse relationships once, unless the graph is undirected.
+ * <p>
+ * The id of a component is the id of one of its nodes.
+ */
+public class StronglyConnectedComponents extends Algorithm<StronglyConnectedComponents, HugeAtomicLongArray> {
+
+    static final long UNASSIGNED = -1L;
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private Graph graph;
+    private ExecutorService executor;
+    private final int concurrency;
+    private final AllocationTracker tracker;
+
+    private HugeAtomicLongArray components;
+    private IncomingRelationships incoming;
+    // in-degrees while trimming, colors afterwards
+    private HugeAtomicLongArray colors;
+    // out-degrees while trimming, visit marks afterwards
+    private HugeAtomicLongArray marks;
+    private long epoch;
+
+    // unassigned nodes, compacted after every phase
+    private HugeLongArray active;
+    private long activeCount;
+    private HugeLongArray frontier;
+    private HugeLongArray nextFrontier;
+    private final AtomicLong nextFrontierSize;
+
+    private long componentCount;
+    private long coloringIterations;
+
+    public StronglyConnectedComponents(
+        Graph graph,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker,
+        ProgressLogger progressLogger
+    ) {
+        this.graph = graph;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.tracker = tracker;
+        this.progressLogger = progressLogger;
+        this.nextFrontierSize = new AtomicLong();
+    }
+
+    @Override
+    public StronglyConnectedComponents me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        if (incoming != null) {
+            incoming.release();
+            tracker.remove(colors.release());
+            tracker.remove(marks.release());
+            tracker.remove(active.release());
+            tracker.remove(frontier.release());
+            tracker.remove(nextFrontier.release());
+            incoming = null;
+            colors = null;
+            marks = null;
+            active = null;
+            frontier = null;
+            nextFrontier = null;
+        }
+        executor = null;
+        graph = null;
+    }
+
+    /**
+     * The number of strongly connected components.
+     */
+    public long componentCount() {
+        return componentCount;
+    }
+
+    /**
+     * The number of iterations of the coloring phase.
+     */
+    public long coloringIterations() {
+        return coloringIterations;
+    }
+
+    @Override
+    public HugeAtomicLongArray compute() {
+        long nodeCount = graph.nodeCount();
+        components = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        componentCount = 0L;
+        coloringIterations = 0L;
+        epoch = 0L;
+        if (nodeCount == 0) {
+            return components;
+        }
+
+        incoming = IncomingRelationships.of(graph, executor, concurrency, tracker);
+        colors = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        marks = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        active = HugeLongArray.newArray(nodeCount, tracker);
+        frontier = HugeLongArray.newArray(nodeCount, tracker);
+        nextFrontier = HugeLongArray.newArray(nodeCount, tracker);
+
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            RelationshipIterator relationships = graph.concurrentCopy();
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                components.set(nodeId, UNASSIGNED);
+                active.set(nodeId, nodeId);
+                relationships.forEachRelationship(nodeId, (source, target) -> {
+                    if (source != target) {
+                        marks.getAndAdd(source, 1L);
+                        colors.getAndAdd(target, 1L);
+                    }
+                    return true;
+                });
+            }
+        });
+        activeCount = nodeCount;
+
+        trim();
+        compactActive();
+
+        if (activeCount > 0 && running()) {
+            forwardBackward();
+            compactActive();
+        }
+
+        while (activeCount > 0 && running()) {
+            coloringIterations++;
+            color();
+            compactActive();
+        }
+
+        return components;
+    }
+
+    /**
+     * Assigns all nodes without unassigned predecessors or successors to their own component.
+     * {@code colors} holds the in-degrees and {@code marks} the out-degrees of the nodes.
+     */
+    private void trim() {
+        long seeds = collect(active, activeCount, nodeId -> {
+            boolean trivial = colors.get(nodeId) == 0 || marks.get(nodeId) == 0;
+            return trivial && components.compareAndSet(nodeId, UNASSIGNED, nodeId);
+        });
+        expand(seeds, (nodeId, relationships, incomingRelationships, discovered) -> {
+            relationships.forEachRelationship(nodeId, (source, target) -> {
+                // exactly one decrement lowers the in-degree to zero
+                if (source != target && colors.getAndAdd(target, -1L) == 1L &&
+                    components.compareAndSet(target, UNASSIGNED, target)) {
+                    discovered.add(target);
+                }
+                return true;
+            });
+            incomingRelationships.forEachIncoming(nodeId, (self, source, weight) -> {
+                if (self != source && marks.getAndAdd(source, -1L) == 1L &&
+                    components.compareAndSet(source, UNASSIGNED, source)) {
+                    discovered.add(source);
+                }
+                return true;
+            });
+        });
+    }
+
+    /**
+     * Assigns the component of the pivot, i.e. all nodes that are reachable from the pivot
+     * and that can reach the pivot.
+     */
+    private void forwardBackward() {
+        long pivot = pivot();
+
+        ParallelUtil.readParallel(concurrency, activeCount, executor, (start, end) -> {
+            for (long index = start; index < end; index++) {
+                marks.set(active.get(index), 0L);
+            }
+        });
+        long visited = ++epoch;
+
+        marks.set(pivot, visited);
+        frontier.set(0, pivot);
+        expand(1L, (nodeId, relationships, incomingRelationships, discovered) ->
+            relationships.forEachRelationship(nodeId, (source, target) -> {
+                if (components.get(target) == UNASSIGNED && marks.compareAndSet(target, 0L, visited)) {
+                    discovered.add(target);
+                }
+                return true;
+            })
+        );
+
+        components.set(pivot, pivot);
+        frontier.set(0, pivot);
+        expand(1L, (nodeId, relationships, incomingRelationships, discovered) ->
+            incomingRelationships.forEachIncoming(nodeId, (self, source, weight) -> {
+                if (marks.get(source) == visited && components.compareAndSet(source, UNASSIGNED, pivot)) {
+                    discovered.add(source);
+                }
+                return true;
+            })
+        );
+    }
+
+    /**
+     * The unassigned node with the largest product of remaining in- and out-degree,
+     * ties are broken by the smallest node id.
+     */
+    private long pivot() {
+        LongAccumulator maxScore = new LongAccumulator(Math::max, Long.MIN_VALUE);
+        ParallelUtil.readParallel(concurrency, activeCount, executor, (start, end) -> {
+            long max = Long.MIN_VALUE;
+            for (long index = start; index < end; index++) {
+                max = Math.max(max, score(active.get(index)));
+            }
+            maxScore.accumulate(max);
+        });
+        long pivotScore = maxScore.get();
+
+        LongAccumulator pivot = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        ParallelUtil.readParallel(concurrency, activeCount, executor, (start, end) -> {
+            for (long index = start; index < end; index++) {
+                long nodeId = active.get(index);
+                if (score(nodeId) == pivotScore) {
+                    pivot.accumulate(nodeId);
+                }
+            }
+        });
+        return pivot.get();
+    }
+
+    private long score(long nodeId) {
+        return (colors.get(nodeId) + 1) * (marks.get(nodeId) + 1);
+    }
+
+    /**
+     * Propagates the largest node id along the outgoing relationships of the unassigned nodes
+     * and assigns the components of all nodes that kept their own id as color.
+     */
+    private void color() {
+        long size = activeCount;
+        ParallelUtil.readParallel(concurrency, size, executor, (start, end) -> {
+            for (long index = start; index < end; index++) {
+                long nodeId = active.get(index);
+                colors.set(nodeId, nodeId);
+                frontier.set(index, nodeId);
+            }
+        });
+
+        expand(size, (nodeId, relationships, incomingRelationships, discovered) -> {
+            long color = colors.get(nodeId);
+            relationships.forEachRelationship(nodeId, (source, target) -> {
+                if (components.get(target) == UNASSIGNED && raiseColor(target, color)) {
+                    // the current epoch marks all nodes that are already part of the next frontier
+                    long mark = marks.get(target);
+                    if (mark != epoch && marks.compareAndSet(target, mark, epoch)) {
+                        discovered.add(target);
+                    }
+                }
+                return true;
+            });
+        });
+
+        long roots = collect(active, size, nodeId ->
+            colors.get(nodeId) == nodeId && components.compareAndSet(nodeId, UNASSIGNED, nodeId)
+        );
+        expand(roots, (nodeId, relationships, incomingRelationships, discovered) -> {
+            long color = colors.get(nodeId);
+            incomingRelationships.forEachIncoming(nodeId, (self, source, weight) -> {
+                if (colors.get(source) == color && components.compareAndSet(source, UNASSIGNED, color)) {
+                    discovered.add(source);
+                }
+                return true;
+            });
+        });
+    }
+
+    private boolean raiseColor(long nodeId, long color) {
+        long current;
+        while ((current = colors.get(nodeId)) < color) {
+            if (colors.compareAndSet(nodeId, current, color)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes all assigned nodes from the active nodes and logs their number as progress.
+     */
+    private void compactActive() {
+        long size = collect(active, activeCount, nodeId -> components.get(nodeId) == UNASSIGNED);
+        HugeLongArray previous = active;
+        active = frontier;
+        frontier = previous;
+
+        componentCount += countRoots(activeCount);
+        getProgressLogger().logProgress(activeCount - size);
+        activeCount = size;
+    }
+
+    /**
+     * Counts the nodes that are the id of their component among the nodes in {@code frontier[0, size)},
+     * which are the active nodes before compaction.
+     */
+    private long countRoots(long size) {
+        LongAccumulator roots = new LongAccumulator(Long::sum, 0L);
+        ParallelUtil.readParallel(concurrency, size, executor, (start, end) -> {
+            long count = 0L;
+            for (long index = start; index < end; index++) {
+                long nodeId = frontier.get(index);
+                if (components.get(nodeId) == nodeId) {
+                    count++;
+                }
+            }
+            roots.accumulate(count);
+        });
+        return roots.get();
+    }
+
+    /**
+     * Writes the nodes in {@code nodes[0, size)} that match the predicate to {@code frontier}
+     * and returns their number.
+     */
+    private long collect(HugeLongArray nodes, long size, LongPredicate predicate) {
+        nextFrontierSize.set(0L);
+        ParallelUtil.readParallel(concurrency, size, executor, (start, end) -> {
+            Discovered discovered = new Discovered(frontier);
+            for (long index = start; index < end; index++) {
+                long nodeId = nodes.get(index);
+                if (predicate.test(nodeId)) {
+                    discovered.add(nodeId);
+                }
+            }
+            discovered.flush();
+        });
+        return nextFrontierSize.get();
+    }
+
+    /**
+     * Runs the step for every node in {@code frontier[0, size)},
+     * the discovered nodes form the frontier of the next round, until no nodes are discovered.
+     * The epoch is advanced after every round.
+     */
+    private void expand(long size, Step step) {
+        while (size > 0 && running()) {
+            nextFrontierSize.set(0L);
+            HugeLongArray current = frontier;
+            ParallelUtil.readParallel(concurrency, size, executor, (start, end) -> {
+                RelationshipIterator relationships = graph.concurrentCopy();
+                IncomingRelationships incomingRelationships = incoming.concurrentCopy();
+                Discovered discovered = new Discovered(nextFrontier);
+                for (long index = start; index < end; index++) {
+                    step.accept(current.get(index), relationships, incomingRelationships, discovered);
+                }
+                discovered.flush();
+            });
+            size = nextFrontierSize.get();
+            frontier = nextFrontier;
+            nextFrontier = current;
+            epoch++;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void accept(
+            long nodeId,
+            RelationshipIterator relationships,
+            IncomingRelationships incomingRelationships,
+            Discovered discovered
+        );
+    }
+
+    /**
+     * Buffers the nodes that are discovered by one thread and appends them in batches to the target.
+     */
+    private final class Discovered {
+
+        private final HugeLongArray target;
+        private final long[] buffer;
+        private int length;
+
+        Discovered(HugeLongArray target) {
+            this.target = target;
+            this.buffer = new long[BUFFER_SIZE];
+        }
+
+        void add(long nodeId) {
+            if (length == BUFFER_SIZE) {
+                flush();
+            }
+            buffer[length++] = nodeId;
+        }
+
+        void flush() {
+            if (length > 0) {
+                long offset = nextFrontierSize.getAndAdd(length);
+                for (int i = 0; i < length; i++) {
+                    target.set(offset + i, buffer[i]);
+                }
+                length = 0;
+            }
+        }
+    }
+}
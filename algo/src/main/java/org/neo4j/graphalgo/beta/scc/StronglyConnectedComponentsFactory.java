@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.scc;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
+import org.neo4j.graphalgo.core.utils.IncomingRelationships;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.logging.Log;
+
+public class StronglyConnectedComponentsFactory<CONFIG extends StronglyConnectedComponentsBaseConfig> extends AlgorithmFactory<StronglyConnectedComponents, CONFIG> {
+
+    @Override
+    public StronglyConnectedComponents build(Graph graph, CONFIG configuration, AllocationTracker tracker, Log log) {
+        var progressLogger = new BatchingProgressLogger(
+            log,
+            graph.nodeCount(),
+            "StronglyConnectedComponents",
+            configuration.concurrency()
+        );
+
+        return new StronglyConnectedComponents(
+            graph,
+            configuration.concurrency(),
+            Pools.DEFAULT,
+            tracker,
+            progressLogger
+        );
+    }
+
+    @Override
+    public MemoryEstimation memoryEstimation(CONFIG configuration) {
+        return MemoryEstimations.builder(StronglyConnectedComponents.class)
+            .perNode("components", HugeAtomicLongArray::memoryEstimation)
+            .perNode("colors", HugeAtomicLongArray::memoryEstimation)
+            .perNode("marks", HugeAtomicLongArray::memoryEstimation)
+            .perNode("active nodes", HugeLongArray::memoryEstimation)
+            .perNode("frontier", HugeLongArray::memoryEstimation)
+            .perNode("next frontier", HugeLongArray::memoryEstimation)
+            .add("incoming relationships", IncomingRelationships.memoryEstimation())
+            .build();
+    }
+}
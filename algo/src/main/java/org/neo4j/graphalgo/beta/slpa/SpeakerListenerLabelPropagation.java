@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.slpa;
+
+import com.carrotsearch.hppc.BitMixer;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.collection.SparseLongDoubleAccumulator;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Speaker-listener label propagation (SLPA) detects overlapping communities.
+ *
+ * Every node keeps a memory of the labels it received, starting with its own id.
+ * In every iteration, each node listens to its neighbours: every neighbour speaks a label drawn from its memory,
+ * i.e. with a probability proportional to how often the label occurs in that memory,
+ * and the listener remembers the label with the highest total relationship weight.
+ * In the end, a node belongs to every community whose label makes up at least {@code minAssociationStrength}
+ * of its memory, or only to the most frequent one if no label is that frequent.
+ *
+ * The memories are stored in one array of {@code nodeCount * (maxIterations + 1)} entries,
+ * which is why {@code maxIterations} is capped by the configuration.
+ * In iteration {@code t}, a node only reads the first {@code t} entries of its neighbours' memories and writes
+ * entry {@code t} of its own, so all nodes are processed in parallel. As the spoken labels are drawn by hashing
+ * the random seed, the iteration and the node ids, the result does not depend on the concurrency.
+ *
+ * @see <a href="https://arxiv.org/abs/1109.5720">SLPA: Uncovering Overlapping Communities in Social Networks via A Speaker-listener Interaction Dynamic Process</a>
+ */
+public class SpeakerListenerLabelPropagation extends Algorithm<SpeakerListenerLabelPropagation, SpeakerListenerLabelPropagation> {
+
+    private static final double DEFAULT_WEIGHT = 1.0;
+
+    private Graph graph;
+    private ExecutorService executor;
+    private final SpeakerListenerLabelPropagationBaseConfig config;
+    private final AllocationTracker tracker;
+    private final long nodeCount;
+    private final int memorySize;
+
+    private HugeLongArray memory;
+
+    // communities and strengths of node n are stored in [offsets[n], offsets[n + 1])
+    private HugeLongArray offsets;
+    private HugeLongArray communities;
+    private HugeDoubleArray strengths;
+    private long communityCount;
+    private long ranIterations;
+
+    public SpeakerListenerLabelPropagation(
+        Graph graph,
+        SpeakerListenerLabelPropagationBaseConfig config,
+        ExecutorService executor,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.config = config;
+        this.executor = executor;
+        this.progressLogger = progressLogger;
+        this.tracker = tracker;
+        this.nodeCount = graph.nodeCount();
+        this.memorySize = config.maxIterations() + 1;
+    }
+
+    @Override
+    public SpeakerListenerLabelPropagation me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        if (memory != null) {
+            tracker.remove(memory.release());
+            memory = null;
+        }
+        executor = null;
+        graph = null;
+    }
+
+    @Override
+    public SpeakerListenerLabelPropagation compute() {
+        progressLogger.logMessage(":: Start");
+
+        memory = HugeLongArray.newArray(nodeCount * memorySize, tracker);
+        ParallelUtil.readParallel(config.concurrency(), nodeCount, executor, (start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                memory.set(nodeId * memorySize, nodeId);
+            }
+        });
+
+        Listener[] listeners = new Listener[config.concurrency()];
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i] = new Listener();
+        }
+
+        for (int iteration = 1; iteration < memorySize; iteration++) {
+            assertRunning();
+            progressLogger.logMessage(String.format(":: Iteration %d :: Start", iteration));
+
+            int currentIteration = iteration;
+            forEachPartition((partition, start, end) -> {
+                Listener listener = listeners[partition];
+                listener.startIteration(currentIteration);
+                for (long nodeId = start; nodeId < end; nodeId++) {
+                    listener.listen(nodeId);
+                }
+            });
+            ranIterations = iteration;
+
+            progressLogger.logMessage(String.format(":: Iteration %d :: Finished", iteration));
+            progressLogger.reset(graph.relationshipCount());
+        }
+
+        assertRunning();
+        computeCommunities();
+
+        tracker.remove(memory.release());
+        memory = null;
+
+        progressLogger.logMessage(":: Finished");
+        return this;
+    }
+
+    public long ranIterations() {
+        return ranIterations;
+    }
+
+    /**
+     * The number of distinct communities that any node belongs to.
+     */
+    public long communityCount() {
+        return communityCount;
+    }
+
+    /**
+     * The communities of the given node, in ascending order.
+     */
+    public long[] communities(long nodeId) {
+        long start = offsets.get(nodeId);
+        int length = (int) (offsets.get(nodeId + 1) - start);
+        long[] result = new long[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = communities.get(start + i);
+        }
+        return result;
+    }
+
+    /**
+     * The share of the given node's memory taken by each of its {@link #communities(long)}.
+     */
+    public double[] strengths(long nodeId) {
+        long start = offsets.get(nodeId);
+        int length = (int) (offsets.get(nodeId + 1) - start);
+        double[] result = new double[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = strengths.get(start + i);
+        }
+        return result;
+    }
+
+    /**
+     * Collects the communities of every node from its label memory into {@code offsets}, {@code communities} and {@code strengths}.
+     */
+    private void computeCommunities() {
+        int concurrency = config.concurrency();
+
+        MemoryCounter[] counters = new MemoryCounter[concurrency];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new MemoryCounter();
+        }
+
+        // count the communities of each node, the node's slot is offsets[nodeId + 1]
+        offsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+        forEachPartition((partition, start, end) -> {
+            MemoryCounter counter = counters[partition];
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                offsets.set(nodeId + 1, counter.select(nodeId));
+            }
+        });
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            offsets.set(nodeId + 1, offsets.get(nodeId + 1) + offsets.get(nodeId));
+        }
+
+        long totalCount = offsets.get(nodeCount);
+        communities = HugeLongArray.newArray(totalCount, tracker);
+        strengths = HugeDoubleArray.newArray(totalCount, tracker);
+        HugeAtomicBitSet usedCommunities = HugeAtomicBitSet.create(nodeCount, tracker);
+
+        forEachPartition((partition, start, end) -> {
+            MemoryCounter counter = counters[partition];
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                int count = counter.select(nodeId);
+                long offset = offsets.get(nodeId);
+                for (int i = 0; i < count; i++) {
+                    long community = counter.selected[i];
+                    communities.set(offset + i, community);
+                    strengths.set(offset + i, counter.counts.get(community) / memorySize);
+                    usedCommunities.set(community);
+                }
+            }
+        });
+
+        communityCount = usedCommunities.cardinality();
+        tracker.remove(usedCommunities.release());
+    }
+
+    /**
+     * Splits the nodes into at most {@code concurrency} partitions and processes them in parallel.
+     * The index of a partition is passed along, so that every partition can reuse its state across iterations.
+     */
+    private void forEachPartition(PartitionConsumer consumer) {
+        long batchSize = ParallelUtil.threadCount(config.concurrency(), nodeCount);
+        Collection<Runnable> tasks = new ArrayList<>(config.concurrency());
+        int partition = 0;
+        for (long start = 0L; start < nodeCount; start += batchSize) {
+            int partitionIndex = partition++;
+            long partitionStart = start;
+            long partitionEnd = Math.min(nodeCount, start + batchSize);
+            tasks.add(() -> consumer.accept(partitionIndex, partitionStart, partitionEnd));
+        }
+        ParallelUtil.runWithConcurrency(config.concurrency(), tasks, executor);
+    }
+
+    @FunctionalInterface
+    private interface PartitionConsumer {
+        void accept(int partition, long start, long end);
+    }
+
+    /**
+     * Receives the labels spoken by the neighbours of a node in one iteration.
+     * Every partition reuses its listener across iterations.
+     */
+    private final class Listener implements RelationshipWithPropertyConsumer {
+
+        private final RelationshipIterator relationships;
+        private final SparseLongDoubleAccumulator received;
+        private int iteration;
+        private long iterationSeed;
+
+        Listener() {
+            this.relationships = graph.concurrentCopy();
+            this.received = new SparseLongDoubleAccumulator();
+        }
+
+        void startIteration(int iteration) {
+            this.iteration = iteration;
+            this.iterationSeed = BitMixer.mix64(config.randomSeed() + iteration);
+        }
+
+        void listen(long nodeId) {
+            received.clear();
+            relationships.forEachRelationship(nodeId, DEFAULT_WEIGHT, this);
+
+            // nodes without neighbours keep hearing their own label
+            long label = nodeId;
+            double weight = Double.NEGATIVE_INFINITY;
+            int ties = 0;
+            for (int i = 0; i < received.size(); i++) {
+                long candidate = received.keyAt(i);
+                double candidateWeight = received.valueAt(i);
+                if (candidateWeight > weight) {
+                    weight = candidateWeight;
+                    label = candidate;
+                    ties = 1;
+                } else if (candidateWeight == weight) {
+                    // ties are broken uniformly at random, always preferring e.g. the smaller label
+                    // would let that label take over the nodes between two communities
+                    ties++;
+                    if (random(nodeId, candidate) % ties == 0) {
+                        label = candidate;
+                    }
+                }
+            }
+
+            memory.set(nodeId * memorySize + iteration, label);
+            progressLogger.logProgress(graph.degree(nodeId));
+        }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId, double property) {
+            long spokenIndex = random(sourceNodeId, targetNodeId) % iteration;
+            received.add(memory.get(targetNodeId * memorySize + spokenIndex), property);
+            return true;
+        }
+
+        /**
+         * A non-negative pseudo-random number that only depends on the random seed, the iteration and the arguments.
+         */
+        private long random(long nodeId, long other) {
+            return BitMixer.mix64(iterationSeed ^ (BitMixer.mix64(other) + nodeId)) >>> 1;
+        }
+    }
+
+    /**
+     * Counts the labels in the memory of a node and selects the ones that are frequent enough.
+     */
+    private final class MemoryCounter {
+
+        private final SparseLongDoubleAccumulator counts;
+        private final long[] selected;
+        private final double minCount;
+
+        MemoryCounter() {
+            this.counts = new SparseLongDoubleAccumulator();
+            this.selected = new long[memorySize];
+            this.minCount = config.minAssociationStrength() * memorySize;
+        }
+
+        /**
+         * @return the number of selected labels, stored in ascending order in {@code selected}
+         */
+        int select(long nodeId) {
+            counts.clear();
+            long offset = nodeId * memorySize;
+            for (int i = 0; i < memorySize; i++) {
+                counts.add(memory.get(offset + i), 1.0);
+            }
+
+            int selectedCount = 0;
+            long mostFrequent = -1L;
+            double maxCount = 0.0;
+            for (int i = 0; i < counts.size(); i++) {
+                long label = counts.keyAt(i);
+                double count = counts.valueAt(i);
+                if (count >= minCount) {
+                    selected[selectedCount++] = label;
+                }
+                if (count > maxCount || (count == maxCount && label < mostFrequent)) {
+                    maxCount = count;
+                    mostFrequent = label;
+                }
+            }
+            if (selectedCount == 0) {
+                selected[selectedCount++] = mostFrequent;
+            }
+
+            Arrays.sort(selected, 0, selectedCount);
+            return selectedCount;
+        }
+    }
+}
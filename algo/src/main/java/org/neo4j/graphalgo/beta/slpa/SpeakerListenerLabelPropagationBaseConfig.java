@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.slpa;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.config.IterationsConfig;
+import org.neo4j.graphalgo.config.RelationshipWeightConfig;
+
+public interface SpeakerListenerLabelPropagationBaseConfig extends
+    AlgoBaseConfig,
+    RelationshipWeightConfig,
+    IterationsConfig {
+
+    /**
+     * Every node remembers one label per iteration, which bounds the label memory
+     * to {@code nodeCount * (MAX_ITERATIONS + 1)} entries.
+     */
+    int MAX_ITERATIONS = 1000;
+
+    @Value.Default
+    @Override
+    default int maxIterations() {
+        return 20;
+    }
+
+    /**
+     * The minimum share of a node's label memory that a label needs to reach,
+     * for the node to be reported as a member of the community.
+     */
+    @Value.Default
+    default double minAssociationStrength() {
+        return 0.2;
+    }
+
+    @Value.Default
+    default long randomSeed() {
+        return 42;
+    }
+
+    @Value.Check
+    default void validate() {
+        if (maxIterations() < 1 || maxIterations() > MAX_ITERATIONS) {
+            throw new IllegalArgumentException(String.format(
+                "Value for `maxIterations` must be between 1 and %d, but got %d",
+                MAX_ITERATIONS,
+                maxIterations()
+            ));
+        }
+
+        if (minAssociationStrength() <= 0 || minAssociationStrength() > 1) {
+            throw new IllegalArgumentException(String.format(
+                "Value for `minAssociationStrength` must be in the range (0, 1], but got %f",
+                minAssociationStrength()
+            ));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.slpa;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
+import org.neo4j.graphalgo.core.utils.collection.SparseLongDoubleAccumulator;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.logging.Log;
+
+public class SpeakerListenerLabelPropagationFactory<CONFIG extends SpeakerListenerLabelPropagationBaseConfig> extends AlgorithmFactory<SpeakerListenerLabelPropagation, CONFIG> {
+
+    @Override
+    public SpeakerListenerLabelPropagation build(Graph graph, CONFIG configuration, AllocationTracker tracker, Log log) {
+        var progressLogger = new BatchingProgressLogger(
+            log,
+            graph.relationshipCount(),
+            "SpeakerListenerLabelPropagation",
+            configuration.concurrency()
+        );
+
+        return new SpeakerListenerLabelPropagation(
+            graph,
+            configuration,
+            Pools.DEFAULT,
+            progressLogger,
+            tracker
+        );
+    }
+
+    @Override
+    public MemoryEstimation memoryEstimation(CONFIG configuration) {
+        int memorySize = configuration.maxIterations() + 1;
+        // a node belongs to at most 1 / minAssociationStrength communities, but never to more than it has labels
+        long maxCommunitiesPerNode = Math.max(
+            1L,
+            Math.min(memorySize, (long) Math.floor(1.0 / configuration.minAssociationStrength()))
+        );
+
+        return MemoryEstimations.builder(SpeakerListenerLabelPropagation.class)
+            .perNode("label memory", nodeCount -> HugeLongArray.memoryEstimation(nodeCount * memorySize))
+            .perNode("offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+            .rangePerNode("communities", nodeCount -> MemoryRange.of(
+                HugeLongArray.memoryEstimation(nodeCount),
+                HugeLongArray.memoryEstimation(nodeCount * maxCommunitiesPerNode)
+            ))
+            .rangePerNode("strengths", nodeCount -> MemoryRange.of(
+                HugeDoubleArray.memoryEstimation(nodeCount),
+                HugeDoubleArray.memoryEstimation(nodeCount * maxCommunitiesPerNode)
+            ))
+            .perNode("used communities", HugeAtomicBitSet::memoryEstimation)
+            .perThread("received labels", SparseLongDoubleAccumulator.memoryEstimation())
+            .perThread("selected labels", MemoryUsage.sizeOfLongArray(memorySize))
+            .build();
+    }
+}
@@ -19,25 +19,23 @@
  */
 package org.neo4j.graphalgo.labelpropagation;
 
-import com.carrotsearch.hppc.LongDoubleScatterMap;
-import com.carrotsearch.hppc.cursors.LongDoubleCursor;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.utils.collection.SparseLongDoubleAccumulator;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 
 final class ComputeStepConsumer implements RelationshipWithPropertyConsumer {
 
     private final NodeProperties nodeWeights;
     private final HugeLongArray existingLabels;
-    private final LongDoubleScatterMap votes;
+    private SparseLongDoubleAccumulator votes;
 
     ComputeStepConsumer(
             NodeProperties nodeWeights,
             HugeLongArray existingLabels) {
         this.existingLabels = existingLabels;
         this.nodeWeights = nodeWeights;
-        // use scatter map to get consistent (deterministic) hash order
-        this.votes = new LongDoubleScatterMap();
+        this.votes = new SparseLongDoubleAccumulator();
     }
 
     @Override
@@ -49,7 +47,7 @@ final class ComputeStepConsumer implements RelationshipWithPropertyConsumer {
     private void castVote(long candidate, double weight) {
         weight = weightOf(candidate, weight);
         long label = existingLabels.get(candidate);
-        votes.addTo(label, weight);
+        votes.add(label, weight);
     }
 
     private double weightOf(final long candidate, final double relationshipWeight) {
@@ -63,31 +61,23 @@ final class ComputeStepConsumer implements RelationshipWithPropertyConsumer {
 
     long tallyVotes(long label) {
         double weight = Double.NEGATIVE_INFINITY;
-        for (LongDoubleCursor vote : votes) {
-            if (weight < vote.value) {
-                weight = vote.value;
-                label = vote.key;
-            } else if (weight == vote.value) {
-                if (vote.key < label) {
-                    label = vote.key;
+        for (int i = 0; i < votes.size(); i++) {
+            long candidate = votes.keyAt(i);
+            double candidateWeight = votes.valueAt(i);
+            if (weight < candidateWeight) {
+                weight = candidateWeight;
+                label = candidate;
+            } else if (weight == candidateWeight) {
+                if (candidate < label) {
+                    label = candidate;
                 }
             }
         }
         return label;
     }
 
-    private static final long[] EMPTY_LONGS = new long[0];
-
     void release() {
-        // the HPPC release() method allocates new arrays
-        // the clear() method overwrite the existing keys with the default value
-        // we want to throw away all data to allow for GC collection instead.
-
-        if (votes.keys != null) {
-            votes.keys = EMPTY_LONGS;
-            votes.clear();
-            votes.keys = null;
-            votes.values = null;
-        }
+        // throw away all data to allow for GC collection
+        votes = null;
     }
 }
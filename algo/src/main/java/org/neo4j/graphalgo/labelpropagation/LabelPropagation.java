@@ -133,6 +133,13 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
 
         List<StepRunner> stepRunners = stepRunners();
 
+        if (config.semiSynchronous()) {
+            stepRunners.forEach(StepRunner::release);
+            computeSemiSynchronously();
+            getProgressLogger().logMessage(":: Finished");
+            return me();
+        }
+
         while (ranIterations < config.maxIterations()) {
             getProgressLogger().logMessage(String.format(":: Iteration %d :: Start", ranIterations + 1));
             ParallelUtil.runWithConcurrency(config.concurrency(), stepRunners, 1L, MICROSECONDS, terminationFlag, executor);
@@ -151,6 +158,38 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
         return me();
     }
 
+    private void computeSemiSynchronously() {
+        SemiSynchronousPropagation propagation = new SemiSynchronousPropagation(
+            graph,
+            nodeWeights,
+            labels,
+            config.concurrency(),
+            executor,
+            getProgressLogger(),
+            tracker
+        );
+        propagation.init(terminationFlag);
+        getProgressLogger().reset(graph.relationshipCount());
+
+        while (ranIterations < config.maxIterations()) {
+            assertRunning();
+            getProgressLogger().logMessage(String.format(
+                ":: Iteration %d :: Start (%d active nodes)",
+                ranIterations + 1,
+                propagation.frontierSize()
+            ));
+            didConverge = propagation.iterate();
+            ++ranIterations;
+            if (didConverge) {
+                break;
+            }
+            getProgressLogger().logMessage(String.format(":: Iteration %d :: Finished", ranIterations));
+            getProgressLogger().reset(graph.relationshipCount());
+        }
+
+        propagation.release();
+    }
+
     private List<StepRunner> stepRunners() {
         long nodeCount = graph.nodeCount();
         long batchSize = ParallelUtil.adjustedBatchSize(nodeCount, this.batchSize);
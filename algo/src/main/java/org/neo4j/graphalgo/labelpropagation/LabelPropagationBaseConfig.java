@@ -41,6 +41,15 @@ public interface LabelPropagationBaseConfig extends
         return 10;
     }
 
+    /**
+     * Updates the nodes color by color, based on a coloring of the graph, and only revisits
+     * the nodes of which a neighbour changed its label in the previous iteration.
+     */
+    @Value.Default
+    default boolean semiSynchronous() {
+        return false;
+    }
+
     @Value.Check
     default void validate(){
         if (isIncremental() && consecutiveIds()) {
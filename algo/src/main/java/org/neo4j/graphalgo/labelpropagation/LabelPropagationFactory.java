@@ -19,23 +19,18 @@
  */
 package org.neo4j.graphalgo.labelpropagation;
 
-import com.carrotsearch.hppc.LongDoubleScatterMap;
 import org.neo4j.graphalgo.AlgorithmFactory;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.collection.SparseLongDoubleAccumulator;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
-import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
-import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.logging.Log;
 
-import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
-import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
-
 public class LabelPropagationFactory<CONFIG extends LabelPropagationBaseConfig> extends AlgorithmFactory<LabelPropagation, CONFIG> {
 
     private final LabelPropagationBaseConfig config;
@@ -69,24 +64,18 @@ public class LabelPropagationFactory<CONFIG extends LabelPropagationBaseConfig>
 
     @Override
     public MemoryEstimation memoryEstimation(CONFIG config) {
-        return MemoryEstimations.builder(LabelPropagation.class)
+        MemoryEstimations.Builder builder = MemoryEstimations.builder(LabelPropagation.class)
             .perNode("labels", HugeLongArray::memoryEstimation)
             .perThread("votes", MemoryEstimations.builder()
                 .field("init step", InitStep.class)
                 .field("compute step", ComputeStep.class)
                 .field("step runner", StepRunner.class)
                 .field("compute step consumer", ComputeStepConsumer.class)
-                .field("votes container", LongDoubleScatterMap.class)
-                .rangePerNode("votes", nodeCount -> {
-                    long minBufferSize = MemoryUsage.sizeOfEmptyOpenHashContainer();
-                    long maxBufferSize = MemoryUsage.sizeOfOpenHashContainer(nodeCount);
-                    if (maxBufferSize < minBufferSize) {
-                        maxBufferSize = minBufferSize;
-                    }
-                    long min = sizeOfLongArray(minBufferSize) + sizeOfDoubleArray(minBufferSize);
-                    long max = sizeOfLongArray(maxBufferSize) + sizeOfDoubleArray(maxBufferSize);
-                    return MemoryRange.of(min, max);
-                }).build())
-            .build();
+                .add("votes", SparseLongDoubleAccumulator.memoryEstimation())
+                .build());
+        if (config.semiSynchronous()) {
+            builder.add("semi-synchronous propagation", SemiSynchronousPropagation.memoryEstimation(config.concurrency()));
+        }
+        return builder.build();
     }
 }
@@ -0,0 +1,442 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.labelpropagation;
+
+import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.beta.k1coloring.ImmutableK1ColoringStreamConfig;
+import org.neo4j.graphalgo.beta.k1coloring.K1Coloring;
+import org.neo4j.graphalgo.beta.k1coloring.K1ColoringFactory;
+import org.neo4j.graphalgo.beta.k1coloring.K1ColoringStreamConfig;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.collection.SparseLongDoubleAccumulator;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.neo4j.graphalgo.labelpropagation.LabelPropagation.DEFAULT_WEIGHT;
+
+/**
+ * Runs the iterations of label propagation on a coloring of the graph.
+ *
+ * Adjacent nodes have different colors, so the nodes of one color can be updated in parallel without observing
+ * each other's updates, while the colors are processed one after another. Unlike a synchronous schedule,
+ * this does not oscillate on bipartite structures, and unlike the asynchronous one, the result
+ * only depends on the coloring and not on the order in which the threads update the nodes.
+ * The coloring itself is computed in parallel and can differ for a different concurrency.
+ * If it did not converge, the nodes that still share their color with a neighbour are colored again,
+ * so that adjacent nodes are never updated at the same time.
+ *
+ * Only the nodes in the active frontier are visited. A node becomes active for the next iteration
+ * if one of its neighbours changed its label, so that later iterations only touch the region that still changes.
+ * On graphs that are not undirected, the nodes that vote with a changed label are not known,
+ * and all nodes stay active as long as any label changes.
+ */
+final class SemiSynchronousPropagation {
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private final Graph graph;
+    private final NodeProperties nodeWeights;
+    private final HugeLongArray labels;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final ProgressLogger progressLogger;
+    private final AllocationTracker tracker;
+
+    private HugeLongArray colors;
+    private long[] colorOffsets;
+    private long[][] colorCounts;
+    private Propagation[] propagations;
+    private HugeLongArray frontier;
+    private HugeLongArray sortedFrontier;
+    private HugeAtomicBitSet inFrontier;
+    private long frontierSize;
+    private final AtomicLong nextFrontierSize;
+    private final AtomicBoolean anyChanged;
+
+    static MemoryEstimation memoryEstimation(int concurrency) {
+        return MemoryEstimations.builder(SemiSynchronousPropagation.class)
+            .add("coloring", new K1ColoringFactory<>().memoryEstimation(coloringConfig(concurrency)))
+            .perNode("colorsUsed", MemoryUsage::sizeOfBitset)
+            .perNode("frontier", HugeLongArray::memoryEstimation)
+            .perNode("sortedFrontier", HugeLongArray::memoryEstimation)
+            .perNode("inFrontier", HugeAtomicBitSet::memoryEstimation)
+            .perThread("propagation", MemoryEstimations.builder()
+                .field("propagation", Propagation.class)
+                .field("votes", ComputeStepConsumer.class)
+                .add("accumulator", SparseLongDoubleAccumulator.memoryEstimation())
+                .fixed("buffer", MemoryUsage.sizeOfLongArray(BUFFER_SIZE))
+                .build())
+            .build();
+    }
+
+    private static K1ColoringStreamConfig coloringConfig(int concurrency) {
+        return ImmutableK1ColoringStreamConfig
+            .builder()
+            .concurrency(concurrency)
+            .maxIterations(5)
+            .build();
+    }
+
+    SemiSynchronousPropagation(
+        Graph graph,
+        NodeProperties nodeWeights,
+        HugeLongArray labels,
+        int concurrency,
+        ExecutorService executor,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.nodeWeights = nodeWeights;
+        this.labels = labels;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.progressLogger = progressLogger;
+        this.tracker = tracker;
+        this.nextFrontierSize = new AtomicLong();
+        this.anyChanged = new AtomicBoolean();
+    }
+
+    void init(TerminationFlag terminationFlag) {
+        long nodeCount = graph.nodeCount();
+
+        K1Coloring coloring = new K1ColoringFactory<>()
+            .build(graph, coloringConfig(concurrency), tracker, progressLogger.getLog())
+            .withTerminationFlag(terminationFlag);
+
+        this.colors = coloring.compute();
+        this.frontier = HugeLongArray.newArray(nodeCount, tracker);
+        this.sortedFrontier = HugeLongArray.newArray(nodeCount, tracker);
+        this.inFrontier = HugeAtomicBitSet.create(nodeCount, tracker);
+
+        long colorCount = coloring.usedColors().length();
+        if (!coloring.didConverge()) {
+            colorCount = resolveConflicts(colorCount);
+        }
+        this.colorOffsets = new long[Math.toIntExact(colorCount + 1)];
+        this.colorCounts = new long[concurrency][Math.toIntExact(colorCount)];
+
+        this.propagations = new Propagation[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            propagations[i] = new Propagation();
+        }
+
+        activateAll();
+    }
+
+    /**
+     * Moves every node that has the same color as one of its neighbours to a new color.
+     * On undirected graphs, only the node with the larger id of a conflicting pair is moved.
+     * The moved nodes are colored greedily with colors starting at {@code colorCount}. Only moved nodes
+     * have one of those colors, so every new color is an independent set of the conflicting nodes.
+     * Conflicts are rare after the iterations of K1Coloring, so this runs single threaded.
+     *
+     * On graphs that are not undirected, the greedy coloring does not see the incoming relationships.
+     * The nodes that still conflict with a neighbour are colored again with the next range of colors,
+     * until no conflicts are left. The moved node with the largest id sees the final colors of all its
+     * neighbours and never conflicts, so every round moves fewer nodes.
+     *
+     * @return the number of colors after resolving the conflicts
+     */
+    private long resolveConflicts(long colorCount) {
+        // inFrontier is only used once the iterations start, until then it marks the conflicting nodes
+        ThreadLocal<RelationshipIterator> graphCopy = ThreadLocal.withInitial(graph::concurrentCopy);
+        ParallelUtil.parallelForEachNode(graph, concurrency, nodeId -> {
+            long color = colors.get(nodeId);
+            graphCopy.get().forEachRelationship(nodeId, (source, target) -> {
+                if (source != target && colors.get(target) == color && (!graph.isUndirected() || target < source)) {
+                    inFrontier.set(source);
+                    return false;
+                }
+                return true;
+            });
+        });
+
+        RelationshipIterator relationships = graph.concurrentCopy();
+        BitSet forbiddenColors = new BitSet();
+        long firstColor = colorCount;
+        long nextColor = colorCount;
+        boolean conflicts = true;
+        while (conflicts) {
+            for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+                if (inFrontier.get(nodeId)) {
+                    long color = nextAllowedColor(relationships, nodeId, firstColor, forbiddenColors);
+                    colors.set(nodeId, color);
+                    nextColor = Math.max(nextColor, color + 1);
+                }
+            }
+
+            conflicts = false;
+            for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+                if (inFrontier.get(nodeId)) {
+                    if (!graph.isUndirected() && hasConflict(relationships, nodeId)) {
+                        conflicts = true;
+                    } else {
+                        inFrontier.clear(nodeId);
+                    }
+                }
+            }
+            firstColor = nextColor;
+        }
+        return nextColor;
+    }
+
+    /**
+     * The smallest color, starting at {@code firstColor}, that none of the neighbours has.
+     */
+    private long nextAllowedColor(
+        RelationshipIterator relationships,
+        long nodeId,
+        long firstColor,
+        BitSet forbiddenColors
+    ) {
+        relationships.forEachRelationship(nodeId, (source, target) -> {
+            long targetColor = colors.get(target);
+            if (targetColor >= firstColor) {
+                forbiddenColors.set(targetColor - firstColor);
+            }
+            return true;
+        });
+        long color = 0;
+        while (forbiddenColors.get(color)) {
+            color++;
+        }
+        forbiddenColors.clear();
+        return firstColor + color;
+    }
+
+    private boolean hasConflict(RelationshipIterator relationships, long nodeId) {
+        long color = colors.get(nodeId);
+        boolean[] conflict = {false};
+        relationships.forEachRelationship(nodeId, (source, target) -> {
+            if (source != target && colors.get(target) == color) {
+                conflict[0] = true;
+                return false;
+            }
+            return true;
+        });
+        return conflict[0];
+    }
+
+    /**
+     * Updates the labels of all active nodes and determines the active nodes of the next iteration.
+     *
+     * @return true, iff no label changed
+     */
+    boolean iterate() {
+        sortFrontierByColor();
+
+        nextFrontierSize.set(0L);
+        anyChanged.set(false);
+
+        for (int color = 0; color + 1 < colorOffsets.length; color++) {
+            long colorStart = colorOffsets[color];
+            long colorSize = colorOffsets[color + 1] - colorStart;
+            if (colorSize == 0L) {
+                continue;
+            }
+            runPartitioned(
+                colorStart,
+                colorSize,
+                (partition, start, end) -> propagations[partition].run(start, end)
+            );
+        }
+
+        if (!graph.isUndirected() && anyChanged.get()) {
+            activateAll();
+        } else {
+            frontierSize = nextFrontierSize.get();
+        }
+        return !anyChanged.get();
+    }
+
+    long frontierSize() {
+        return frontierSize;
+    }
+
+    void release() {
+        tracker.remove(colors.release());
+        tracker.remove(frontier.release());
+        tracker.remove(sortedFrontier.release());
+        tracker.remove(inFrontier.release());
+        for (Propagation propagation : propagations) {
+            propagation.release();
+        }
+        propagations = null;
+        colorOffsets = null;
+        colorCounts = null;
+    }
+
+    private void activateAll() {
+        frontier.setAll(nodeId -> nodeId);
+        frontierSize = graph.nodeCount();
+    }
+
+    /**
+     * Counting sort of the active nodes into {@code sortedFrontier[colorOffsets[color], colorOffsets[color + 1])}.
+     * Clears the active nodes from {@code inFrontier}, so that it only tracks the next frontier.
+     *
+     * Every partition of the frontier counts its colors, the prefix sum over colors and partitions
+     * gives each partition the range it writes its nodes of a color into. Within a color, the nodes
+     * keep their order in the frontier.
+     */
+    private void sortFrontierByColor() {
+        long size = frontierSize;
+        int partitionCount = runPartitioned(0L, size, (partition, start, end) -> {
+            long[] counts = colorCounts[partition];
+            Arrays.fill(counts, 0L);
+            for (long index = start; index < end; index++) {
+                counts[(int) colors.get(frontier.get(index))]++;
+            }
+        });
+
+        long offset = 0L;
+        for (int color = 0; color + 1 < colorOffsets.length; color++) {
+            colorOffsets[color] = offset;
+            for (int partition = 0; partition < partitionCount; partition++) {
+                long count = colorCounts[partition][color];
+                colorCounts[partition][color] = offset;
+                offset += count;
+            }
+        }
+        colorOffsets[colorOffsets.length - 1] = size;
+
+        runPartitioned(0L, size, (partition, start, end) -> {
+            long[] offsets = colorCounts[partition];
+            for (long index = start; index < end; index++) {
+                long nodeId = frontier.get(index);
+                sortedFrontier.set(offsets[(int) colors.get(nodeId)]++, nodeId);
+                inFrontier.clear(nodeId);
+            }
+        });
+    }
+
+    /**
+     * Splits {@code [start, start + size)} into at most {@code concurrency} batches and runs the task on each.
+     *
+     * @return the number of batches
+     */
+    private int runPartitioned(long start, long size, PartitionTask task) {
+        long batchSize = ParallelUtil.threadCount(concurrency, size);
+        Collection<Runnable> tasks = new ArrayList<>(concurrency);
+        int partitionCount = 0;
+        for (long offset = 0L; offset < size; offset += batchSize) {
+            int partition = partitionCount++;
+            long batchStart = start + offset;
+            long batchEnd = start + Math.min(size, offset + batchSize);
+            tasks.add(() -> task.run(partition, batchStart, batchEnd));
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+        return partitionCount;
+    }
+
+    @FunctionalInterface
+    private interface PartitionTask {
+        void run(int partition, long start, long end);
+    }
+
+    /**
+     * Updates the labels of the nodes of one partition and buffers the discovered nodes
+     * before appending them to the next frontier.
+     * Every partition index reuses the same instance across colors and iterations.
+     */
+    final class Propagation implements RelationshipConsumer {
+
+        private final RelationshipIterator relationships;
+        private final ComputeStepConsumer votes;
+        private final long[] buffer;
+        private int length;
+        private boolean changed;
+
+        Propagation() {
+            this.relationships = graph.concurrentCopy();
+            this.votes = new ComputeStepConsumer(nodeWeights, labels);
+            this.buffer = new long[BUFFER_SIZE];
+        }
+
+        void run(long start, long end) {
+            changed = false;
+            for (long index = start; index < end; index++) {
+                update(sortedFrontier.get(index));
+            }
+            flush();
+            if (changed) {
+                anyChanged.set(true);
+            }
+        }
+
+        void update(long nodeId) {
+            votes.clearVotes();
+            long label = labels.get(nodeId);
+            relationships.forEachRelationship(nodeId, DEFAULT_WEIGHT, votes);
+            long newLabel = votes.tallyVotes(label);
+            if (newLabel != label) {
+                labels.set(nodeId, newLabel);
+                changed = true;
+                if (graph.isUndirected()) {
+                    relationships.forEachRelationship(nodeId, this);
+                }
+            }
+            progressLogger.logProgress(graph.degree(nodeId));
+        }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId) {
+            if (!inFrontier.getAndSet(targetNodeId)) {
+                if (length == BUFFER_SIZE) {
+                    flush();
+                }
+                buffer[length++] = targetNodeId;
+            }
+            return true;
+        }
+
+        void flush() {
+            if (length > 0) {
+                long offset = nextFrontierSize.getAndAdd(length);
+                for (int i = 0; i < length; i++) {
+                    frontier.set(offset + i, buffer[i]);
+                }
+                length = 0;
+            }
+        }
+
+        void release() {
+            votes.release();
+        }
+    }
+}
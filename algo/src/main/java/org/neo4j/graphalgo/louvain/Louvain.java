@@ -27,10 +27,8 @@ import org.neo4j.graphalgo.beta.modularity.ImmutableModularityOptimizationStream
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimization;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationFactory;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationStreamConfig;
-import org.neo4j.graphalgo.core.Aggregation;
-import org.neo4j.graphalgo.core.loading.HugeGraphUtil;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
-import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.loading.GraphCoarsening;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
@@ -50,6 +48,13 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
     private final AllocationTracker tracker;
 
     // results
+    // the community of every node on the first level, as an index into `communityIds[0]`
+    private HugeLongArray nodeCommunities;
+    // the community of every community of the previous level, as an index into `communityIds[level]`
+    private HugeLongArray[] parentCommunities;
+    // the community id of every community of a level
+    private HugeLongArray[] communityIds;
+    // the community of every node on a level, only materialized on request
     private HugeLongArray[] dendrograms;
     private double[] modularities;
     private int ranLevels;
@@ -66,7 +71,8 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
         this.seedingValues = Optional.ofNullable(config.seedProperty()).map(graph::nodeProperties).orElse(null);
         this.executorService = executorService;
         this.tracker = tracker;
-        this.dendrograms = new HugeLongArray[config.maxLevels()];
+        this.parentCommunities = new HugeLongArray[config.maxLevels()];
+        this.communityIds = new HugeLongArray[config.maxLevels()];
         this.modularities = new double[config.maxLevels()];
         this.progressLogger = progressLogger;
     }
@@ -77,6 +83,7 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
 
         Graph workingGraph = rootGraph;
         NodeProperties nextSeedingValues = seedingValues;
+        dendrograms = null;
 
         long oldNodeCount = rootGraph.nodeCount();
         for (ranLevels = 0; ranLevels < config.maxLevels(); ranLevels++) {
@@ -91,10 +98,12 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
             modularityOptimization.release();
 
             modularities[ranLevels] = modularityOptimization.getModularity();
-            dendrograms[ranLevels] = HugeLongArray.newArray(rootGraph.nodeCount(), tracker);
-            long maxCommunityId = buildDendrogram(workingGraph, ranLevels, modularityOptimization);
+            long maxCommunityId = maxCommunityId(workingGraph, modularityOptimization);
 
-            workingGraph = summarizeGraph(workingGraph, modularityOptimization, maxCommunityId);
+            Graph summarizedGraph = summarizeGraph(workingGraph, modularityOptimization, maxCommunityId);
+            buildDendrogram(workingGraph, summarizedGraph, ranLevels, modularityOptimization);
+
+            workingGraph = summarizedGraph;
             nextSeedingValues = new OriginalIdNodeProperties(workingGraph);
 
             getProgressLogger().logMessage(String.format("Level %d :: Finished", ranLevels + 1));
@@ -116,33 +125,52 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
 
     private void resizeResultArrays() {
         int numLevels = levels();
-        HugeLongArray[] resizedDendrogram = new HugeLongArray[numLevels];
+        HugeLongArray[] resizedParentCommunities = new HugeLongArray[numLevels];
+        HugeLongArray[] resizedCommunityIds = new HugeLongArray[numLevels];
         double[] resizedModularities = new double[numLevels];
-        if (numLevels < this.dendrograms.length) {
-            System.arraycopy(this.dendrograms, 0, resizedDendrogram, 0, numLevels);
-            System.arraycopy(this.modularities, 0, resizedModularities, 0, numLevels);
-        }
-        this.dendrograms = resizedDendrogram;
+        System.arraycopy(this.parentCommunities, 0, resizedParentCommunities, 0, numLevels);
+        System.arraycopy(this.communityIds, 0, resizedCommunityIds, 0, numLevels);
+        System.arraycopy(this.modularities, 0, resizedModularities, 0, numLevels);
+        this.parentCommunities = resizedParentCommunities;
+        this.communityIds = resizedCommunityIds;
         this.modularities = resizedModularities;
     }
 
-    private long buildDendrogram(
+    private long maxCommunityId(Graph workingGraph, ModularityOptimization modularityOptimization) {
+        AtomicLong maxCommunityId = new AtomicLong(0L);
+        ParallelUtil.parallelForEachNode(workingGraph, config.concurrency(), (nodeId) -> {
+            long communityId = modularityOptimization.getCommunityId(nodeId);
+            maxCommunityId.updateAndGet(currentMaxId -> Math.max(communityId, currentMaxId));
+        });
+        return maxCommunityId.get();
+    }
+
+    /**
+     * The nodes of the summarized graph are the communities of the current level, with the community
+     * id as their original id. Only the first level is stored per node of the root graph, every other
+     * level maps the communities of the previous level, which are the nodes of the working graph.
+     */
+    private void buildDendrogram(
         Graph workingGraph,
+        Graph summarizedGraph,
         int level,
         ModularityOptimization modularityOptimization
     ) {
-        AtomicLong maxCommunityId = new AtomicLong(0L);
-        ParallelUtil.parallelForEachNode(rootGraph, config.concurrency(), (nodeId) -> {
-            long prevId = level == 0
-                ? nodeId
-                : workingGraph.toMappedNodeId(dendrograms[level - 1].get(nodeId));
-
-            final long communityId = modularityOptimization.getCommunityId(prevId);
-            maxCommunityId.updateAndGet(currentMaxId -> Math.max(communityId, currentMaxId));
-            dendrograms[level].set(nodeId, communityId);
+        HugeLongArray parents = HugeLongArray.newArray(workingGraph.nodeCount(), tracker);
+        ParallelUtil.parallelForEachNode(workingGraph, config.concurrency(), (nodeId) -> {
+            long communityId = modularityOptimization.getCommunityId(nodeId);
+            parents.set(nodeId, summarizedGraph.toMappedNodeId(communityId));
         });
 
-        return maxCommunityId.get();
+        HugeLongArray ids = HugeLongArray.newArray(summarizedGraph.nodeCount(), tracker);
+        ids.setAll(summarizedGraph::toOriginalNodeId);
+
+        if (level == 0) {
+            nodeCommunities = parents;
+        } else {
+            parentCommunities[level] = parents;
+        }
+        communityIds[level] = ids;
     }
 
     private ModularityOptimization runModularityOptimization(Graph louvainGraph, NodeProperties seed) {
@@ -173,42 +201,18 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
         ModularityOptimization modularityOptimization,
         long maxCommunityId
     ) {
-        HugeGraphUtil.IdMapBuilder idMapBuilder = HugeGraphUtil.idMapBuilder(
-            maxCommunityId,
-            executorService,
-            tracker
-        );
-
-        assertRunning();
-
-        workingGraph.forEachNode((nodeId) -> {
-            idMapBuilder.addNode(modularityOptimization.getCommunityId(nodeId));
-            return true;
-        });
-
         assertRunning();
 
         Orientation orientation = rootGraph.isUndirected() ? Orientation.UNDIRECTED : Orientation.NATURAL;
-        IdMap idMap = idMapBuilder.build();
-        HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = HugeGraphUtil.createRelImporter(
-            idMap,
+        return GraphCoarsening.coarsen(
+            workingGraph,
+            modularityOptimization::getCommunityId,
+            maxCommunityId,
             orientation,
-            true,
-            Aggregation.SUM,
+            config.concurrency(),
             executorService,
             tracker
         );
-
-        workingGraph.forEachNode((nodeId) -> {
-            long communityId = modularityOptimization.getCommunityId(nodeId);
-            workingGraph.forEachRelationship(nodeId, 1.0, (source, target, property) -> {
-                relationshipsBuilder.add(communityId, modularityOptimization.getCommunityId(target), property);
-                return true;
-            });
-            return true;
-        });
-
-        return HugeGraphUtil.create(idMap, relationshipsBuilder.build(), tracker);
     }
 
     private boolean hasConverged() {
@@ -225,23 +229,62 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
         return this.config;
     }
 
+    /**
+     * Materializes the communities of all levels, one node-sized array per level.
+     * The arrays are only allocated on the first request and shared by later calls.
+     * Prefer {@link #getCommunities(long)} to read the communities of single nodes.
+     */
     public HugeLongArray[] dendrograms() {
-        return this.dendrograms;
+        for (int level = 0; level < levels(); level++) {
+            dendrogram(level);
+        }
+        return dendrograms;
     }
 
+    /**
+     * Materializes the communities of the final level into a node-sized array.
+     * The array is only allocated on the first request and shared by later calls.
+     * Prefer {@link #getCommunity(long)} to read the community of single nodes.
+     */
     public HugeLongArray finalDendrogram() {
-        return this.dendrograms[levels() - 1];
+        return dendrogram(levels() - 1);
+    }
+
+    private HugeLongArray dendrogram(int level) {
+        if (dendrograms == null) {
+            dendrograms = new HugeLongArray[levels()];
+        }
+        if (dendrograms[level] == null) {
+            HugeLongArray dendrogram = HugeLongArray.newArray(rootGraph.nodeCount(), tracker);
+            ParallelUtil.parallelForEachNode(rootGraph, config.concurrency(), (nodeId) ->
+                dendrogram.set(nodeId, communityIds[level].get(communityIndex(nodeId, level)))
+            );
+            dendrograms[level] = dendrogram;
+        }
+        return dendrograms[level];
+    }
+
+    private long communityIndex(long nodeId, int level) {
+        long community = nodeCommunities.get(nodeId);
+        for (int i = 1; i <= level; i++) {
+            community = parentCommunities[i].get(community);
+        }
+        return community;
     }
 
     public long getCommunity(long nodeId) {
-        return dendrograms[levels() - 1].get(nodeId);
+        int level = levels() - 1;
+        return communityIds[level].get(communityIndex(nodeId, level));
     }
 
     public long[] getCommunities(long nodeId) {
-        long[] communities = new long[dendrograms.length];
+        long[] communities = new long[levels()];
 
-        for (int i = 0; i < dendrograms.length; i++) {
-            communities[i] = dendrograms[i].get(nodeId);
+        long community = nodeCommunities.get(nodeId);
+        communities[0] = communityIds[0].get(community);
+        for (int level = 1; level < communities.length; level++) {
+            community = parentCommunities[level].get(community);
+            communities[level] = communityIds[level].get(community);
         }
 
         return communities;
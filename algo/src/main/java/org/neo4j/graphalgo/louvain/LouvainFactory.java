@@ -30,6 +30,7 @@ import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.GraphCoarsening;
 import org.neo4j.graphalgo.core.loading.NativeFactory;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
@@ -91,9 +92,11 @@ public class LouvainFactory<CONFIG extends LouvainBaseConfig> extends AlgorithmF
 
                 return MemoryRange.of(1L, maxGraphSize); // rough estimate of graph size
             })
+            .add("graphCoarsening()", GraphCoarsening.memoryEstimation())
+            // the first level maps every node, the other levels only the communities of the previous level
             .rangePerNode("dendrograms", (nodeCount) -> MemoryRange.of(
-                HugeLongArray.memoryEstimation(nodeCount),
-                HugeLongArray.memoryEstimation(nodeCount) * config.maxLevels()
+                HugeLongArray.memoryEstimation(nodeCount) + HugeLongArray.memoryEstimation(1L),
+                HugeLongArray.memoryEstimation(nodeCount) * 2 * config.maxLevels()
             ))
             .build();
     }
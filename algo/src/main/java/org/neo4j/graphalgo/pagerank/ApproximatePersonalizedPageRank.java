@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import com.carrotsearch.hppc.LongArrayDeque;
+import com.carrotsearch.hppc.LongDoubleHashMap;
+import com.carrotsearch.hppc.LongDoubleMap;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Approximate personalized PageRank using the forward push of Andersen, Chung and Lang.
+ * <p>
+ * Instead of iterating over all nodes, every source node starts with a residual of {@code 1}.
+ * A node whose residual exceeds {@code epsilon * degree} keeps {@code 1 - dampingFactor} of it
+ * as score and pushes the rest to its neighbours, evenly or, if the graph has a relationship
+ * property, proportional to the relationship weights. Residuals and scores are kept in sparse
+ * maps, so only the neighbourhood of the source that receives enough mass is ever touched.
+ * The scores are on the same scale as the personalized {@link PageRank} for a single source node
+ * and differ from them by at most {@code epsilon * degree} per node.
+ * <p>
+ * Multiple source nodes are computed independently and in parallel.
+ */
+public class ApproximatePersonalizedPageRank extends Algorithm<ApproximatePersonalizedPageRank, ApproximatePersonalizedPageRank> {
+
+    private static final double DEFAULT_WEIGHT = 1.0;
+
+    private Graph graph;
+    private final long[] sourceNodes;
+    private final double dampingFactor;
+    private final double epsilon;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final boolean weighted;
+
+    private final LongDoubleMap[] scores;
+
+    public ApproximatePersonalizedPageRank(
+        Graph graph,
+        long[] sourceNodes,
+        double dampingFactor,
+        double epsilon,
+        int concurrency,
+        ExecutorService executor
+    ) {
+        if (epsilon <= 0) {
+            throw new IllegalArgumentException("Epsilon must be positive, but was " + epsilon);
+        }
+        this.graph = graph;
+        this.sourceNodes = sourceNodes;
+        this.dampingFactor = dampingFactor;
+        this.epsilon = epsilon;
+        this.concurrency = Math.max(1, concurrency);
+        this.executor = executor;
+        this.weighted = graph.hasRelationshipProperty();
+        this.scores = new LongDoubleMap[sourceNodes.length];
+    }
+
+    @Override
+    public ApproximatePersonalizedPageRank compute() {
+        AtomicInteger nextSource = new AtomicInteger();
+        int taskCount = Math.min(concurrency, sourceNodes.length);
+        List<Runnable> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(new PushTask(graph.concurrentCopy(), nextSource));
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+        return this;
+    }
+
+    /**
+     * @return the scores of all nodes reached from the source node at the given position,
+     *     keyed by internal node id; nodes that are not contained have a score of {@code 0}
+     */
+    public LongDoubleMap scores(int sourceIndex) {
+        return scores[sourceIndex];
+    }
+
+    public long sourceNode(int sourceIndex) {
+        return sourceNodes[sourceIndex];
+    }
+
+    public int sourceNodeCount() {
+        return sourceNodes.length;
+    }
+
+    @Override
+    public ApproximatePersonalizedPageRank me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        graph = null;
+    }
+
+    private final class PushTask implements Runnable {
+
+        private final RelationshipIterator relationships;
+        private final AtomicInteger nextSource;
+
+        private final LongDoubleHashMap residuals;
+        private final LongArrayDeque queue;
+
+        PushTask(RelationshipIterator relationships, AtomicInteger nextSource) {
+            this.relationships = relationships;
+            this.nextSource = nextSource;
+            this.residuals = new LongDoubleHashMap();
+            this.queue = new LongArrayDeque();
+        }
+
+        @Override
+        public void run() {
+            int sourceIndex;
+            while ((sourceIndex = nextSource.getAndIncrement()) < sourceNodes.length && running()) {
+                scores[sourceIndex] = push(sourceNodes[sourceIndex]);
+                residuals.clear();
+                queue.clear();
+            }
+        }
+
+        private LongDoubleMap push(long sourceNode) {
+            LongDoubleHashMap estimates = new LongDoubleHashMap();
+            double alpha = 1.0 - dampingFactor;
+
+            residuals.put(sourceNode, 1.0);
+            queue.addLast(sourceNode);
+
+            while (!queue.isEmpty()) {
+                long nodeId = queue.removeFirst();
+                double residual = residuals.remove(nodeId);
+                if (residual == 0.0) {
+                    continue;
+                }
+                estimates.addTo(nodeId, alpha * residual);
+
+                double totalWeight = totalWeight(nodeId);
+                if (totalWeight <= 0.0) {
+                    continue;
+                }
+                double share = dampingFactor * residual / totalWeight;
+                relationships.forEachRelationship(nodeId, DEFAULT_WEIGHT, (source, target, weight) -> {
+                    double before = residuals.get(target);
+                    double after = residuals.addTo(target, share * weight);
+                    double threshold = epsilon * Math.max(1, graph.degree(target));
+                    if (before < threshold && after >= threshold) {
+                        queue.addLast(target);
+                    }
+                    return true;
+                });
+            }
+            return estimates;
+        }
+
+        private double totalWeight(long nodeId) {
+            if (!weighted) {
+                return graph.degree(nodeId);
+            }
+            double[] sum = {0.0};
+            relationships.forEachRelationship(nodeId, DEFAULT_WEIGHT, (source, target, weight) -> {
+                sum[0] += weight;
+                return true;
+            });
+            return sum[0];
+        }
+    }
+}
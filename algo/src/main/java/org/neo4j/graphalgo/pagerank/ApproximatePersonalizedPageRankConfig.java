@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.RelationshipWeightConfig;
+import org.neo4j.graphalgo.config.SourceNodesConfig;
+import org.neo4j.graphalgo.config.WritePropertyConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+
+import java.util.Optional;
+
+@ValueClass
+@Configuration("ApproximatePersonalizedPageRankConfigImpl")
+@SuppressWarnings("immutables:subtype")
+public interface ApproximatePersonalizedPageRankConfig extends
+    AlgoBaseConfig,
+    RelationshipWeightConfig,
+    SourceNodesConfig,
+    WritePropertyConfig
+{
+
+    @Value.Default
+    default double dampingFactor() {
+        return 0.85;
+    }
+
+    @Value.Default
+    default double epsilon() {
+        return 1e-6;
+    }
+
+    @Value.Default
+    default String writeProperty() {
+        return "score";
+    }
+
+    @Value.Check
+    default void validate() {
+        if (epsilon() <= 0) {
+            throw new IllegalArgumentException("Epsilon must be positive, but was " + epsilon());
+        }
+        if (sourceNodes().isEmpty()) {
+            throw new IllegalArgumentException("At least one source node must be given in `sourceNodes`.");
+        }
+    }
+
+    static ApproximatePersonalizedPageRankConfig of(
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> implicitCreateConfig,
+        String username,
+        CypherMapWrapper config
+    ) {
+        return new ApproximatePersonalizedPageRankConfigImpl(graphName, implicitCreateConfig, username, config);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import com.carrotsearch.hppc.LongArrayDeque;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.logging.Log;
+
+public class ApproximatePersonalizedPageRankFactory<CONFIG extends ApproximatePersonalizedPageRankConfig> extends AlgorithmFactory<ApproximatePersonalizedPageRank, CONFIG> {
+
+    @Override
+    public ApproximatePersonalizedPageRank build(
+        Graph graph,
+        CONFIG configuration,
+        AllocationTracker tracker,
+        Log log
+    ) {
+        // source nodes that are not part of the projected graph are ignored, as in PageRank
+        long[] sourceNodes = configuration.sourceNodeIds()
+            .map(graph::toMappedNodeId)
+            .filter(mappedId -> mappedId != -1L)
+            .toArray();
+        return new ApproximatePersonalizedPageRank(
+            graph,
+            sourceNodes,
+            configuration.dampingFactor(),
+            configuration.epsilon(),
+            configuration.concurrency(),
+            Pools.DEFAULT
+        );
+    }
+
+    @Override
+    public MemoryEstimation memoryEstimation(CONFIG configuration) {
+        int sourceNodeCount = configuration.sourceNodes().size();
+        // every source touches at least itself and at most the whole graph
+        return MemoryEstimations.builder(ApproximatePersonalizedPageRank.class)
+            .fixed("scores[]", MemoryUsage.sizeOfObjectArray(sourceNodeCount))
+            .rangePerNode("scores", nodeCount -> MemoryRange.of(
+                MemoryUsage.sizeOfLongDoubleHashMap(1),
+                MemoryUsage.sizeOfLongDoubleHashMap(nodeCount)
+            ).times(sourceNodeCount))
+            .perThread("push", MemoryEstimations.builder(ApproximatePersonalizedPageRank.class)
+                .rangePerNode("residuals", nodeCount -> MemoryRange.of(
+                    MemoryUsage.sizeOfLongDoubleHashMap(1),
+                    MemoryUsage.sizeOfLongDoubleHashMap(nodeCount)
+                ))
+                .rangePerNode("queue", nodeCount -> MemoryRange.of(
+                    MemoryUsage.sizeOfInstance(LongArrayDeque.class) + MemoryUsage.sizeOfLongArray(1),
+                    MemoryUsage.sizeOfInstance(LongArrayDeque.class) + MemoryUsage.sizeOfLongArray(nodeCount)
+                ))
+                .build())
+            .build();
+    }
+}
@@ -20,8 +20,10 @@
 package org.neo4j.graphalgo.pagerank;
 
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.IncomingRelationships;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 
 import java.util.concurrent.ExecutorService;
 
@@ -52,6 +54,35 @@ public class NonWeightedPageRankVariant implements PageRankVariant {
         );
     }
 
+    @Override
+    public ComputeStep createPullComputeStep(
+            double dampingFactor,
+            double toleranceValue,
+            long[] sourceNodeIds,
+            Graph graph,
+            IncomingRelationships incomingRelationships,
+            HugeDoubleArray contributions,
+            AllocationTracker tracker,
+            int partitionSize,
+            long start,
+            DegreeCache degreeCache,
+            long nodeCount,
+            ProgressLogger progressLogger
+    ) {
+        return new NonWeightedPullComputeStep(
+                dampingFactor,
+                toleranceValue,
+                sourceNodeIds,
+                graph,
+                incomingRelationships,
+                contributions,
+                tracker,
+                partitionSize,
+                start,
+                progressLogger
+        );
+    }
+
     @Override
     public DegreeComputer degreeComputer(Graph graph) {
         return new NoOpDegreeComputer();
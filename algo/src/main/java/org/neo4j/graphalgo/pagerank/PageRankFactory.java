@@ -23,11 +23,13 @@ import org.neo4j.graphalgo.AlgorithmFactory;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
+import org.neo4j.graphalgo.core.utils.IncomingRelationships;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.partition.Partition;
 import org.neo4j.logging.Log;
 
@@ -72,7 +74,7 @@ public class PageRankFactory<CONFIG extends PageRankBaseConfig> extends Algorith
 
     @Override
     public MemoryEstimation memoryEstimation(CONFIG config) {
-        return MemoryEstimations.builder(PageRank.class)
+        MemoryEstimations.Builder builder = MemoryEstimations.builder(PageRank.class)
             .add(MemoryEstimations.setup("computeSteps", (dimensions, concurrency) -> {
                 // adjust concurrency, if necessary
                 long nodeCount = dimensions.nodeCount();
@@ -92,9 +94,18 @@ public class PageRankFactory<CONFIG extends PageRankBaseConfig> extends Algorith
                     .perThread("starts[]", MemoryUsage::sizeOfLongArray)
                     .perThread("lengths[]", MemoryUsage::sizeOfLongArray)
                     .perThread("list of computeSteps", MemoryUsage::sizeOfObjectArray)
-                    .perThread("ComputeStep", algorithmType.memoryEstimation())
+                    .perThread("ComputeStep", config.pullBased()
+                        ? algorithmType.pullMemoryEstimation()
+                        : algorithmType.memoryEstimation())
                     .build();
-            }))
-            .build();
+            }));
+
+        if (config.pullBased()) {
+            builder
+                .add("incoming relationships", IncomingRelationships.memoryEstimation())
+                .perNode("contributions", HugeDoubleArray::memoryEstimation);
+        }
+
+        return builder.build();
     }
 }
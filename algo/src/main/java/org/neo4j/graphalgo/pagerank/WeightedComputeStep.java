@@ -62,7 +62,7 @@ public class WeightedComputeStep extends BaseComputeStep implements Relationship
         RelationshipIterator rels = this.relationshipIterator;
         for (long nodeId = startNode; nodeId < endNode; ++nodeId) {
             delta = deltas[(int) (nodeId - startNode)];
-            if (delta > 0.0) {
+            if (delta != 0.0) {
                 int degree = degrees.degree(nodeId);
                 if (degree > 0) {
                     sumOfWeights = aggregatedDegrees.get(nodeId);
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.IncomingRelationships;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+
+public class WeightedPullComputeStep extends PullComputeStep {
+
+    private final HugeDoubleArray aggregatedDegrees;
+
+    WeightedPullComputeStep(
+        double dampingFactor,
+        long[] sourceNodeIds,
+        Graph graph,
+        IncomingRelationships incomingRelationships,
+        HugeDoubleArray contributions,
+        AllocationTracker tracker,
+        int partitionSize,
+        long startNode,
+        DegreeCache degreeCache,
+        ProgressLogger progressLogger
+    ) {
+        super(
+            dampingFactor,
+            sourceNodeIds,
+            graph,
+            incomingRelationships,
+            contributions,
+            tracker,
+            partitionSize,
+            startNode,
+            progressLogger
+        );
+        this.aggregatedDegrees = degreeCache.aggregatedDegrees();
+    }
+
+    @Override
+    double contribution(long nodeId, double delta) {
+        double sumOfWeights = aggregatedDegrees.get(nodeId);
+        return sumOfWeights > 0.0 ? delta / sumOfWeights : 0.0;
+    }
+
+    @Override
+    double relationshipWeight(double property) {
+        return property > 0.0 ? property : 0.0;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.triangle;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A compact, random access copy of the adjacency of an undirected graph.
+ * Self loops and parallel relationships are dropped, the targets of every node are sorted by id.
+ * <p>
+ * The degree oriented variant only keeps relationships that point from the node with the lower rank
+ * to the node with the higher rank, where nodes are ranked by degree and then by id.
+ * Every triangle is contained exactly once as {@code u -> v -> w} with {@code u -> w},
+ * and no node has more than {@code sqrt(2m)} outgoing relationships, which bounds the cost
+ * of intersecting the adjacency lists of high degree nodes.
+ */
+final class CompactAdjacency {
+
+    private final HugeLongArray offsets;
+    private final HugeLongArray targets;
+
+    private CompactAdjacency(HugeLongArray offsets, HugeLongArray targets) {
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    static MemoryEstimation memoryEstimation(boolean degreeOriented) {
+        return MemoryEstimations.builder(CompactAdjacency.class)
+            .perNode("offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+            .perGraphDimension("targets", (dimensions, concurrency) -> MemoryRange.of(
+                HugeLongArray.memoryEstimation(degreeOriented ? dimensions.maxRelCount() / 2 : dimensions.maxRelCount())
+            ))
+            .build();
+    }
+
+    static CompactAdjacency degreeOriented(
+        Graph graph,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        return of(graph, true, concurrency, executor, tracker);
+    }
+
+    static CompactAdjacency undirected(
+        Graph graph,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        return of(graph, false, concurrency, executor, tracker);
+    }
+
+    private static CompactAdjacency of(
+        Graph graph,
+        boolean degreeOriented,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = graph.nodeCount();
+        HugeLongArray offsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            RelationshipIterator relationships = graph.concurrentCopy();
+            long[] degree = new long[1];
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                degree[0] = 0;
+                forEachTarget(graph, degreeOriented, relationships, nodeId, target -> degree[0]++);
+                offsets.set(nodeId + 1, degree[0]);
+            }
+        });
+
+        long offset = 0;
+        for (long nodeId = 0; nodeId <= nodeCount; nodeId++) {
+            offset += offsets.get(nodeId);
+            offsets.set(nodeId, offset);
+        }
+
+        HugeLongArray targets = HugeLongArray.newArray(offset, tracker);
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            RelationshipIterator relationships = graph.concurrentCopy();
+            long[] position = new long[1];
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                position[0] = offsets.get(nodeId);
+                forEachTarget(
+                    graph,
+                    degreeOriented,
+                    relationships,
+                    nodeId,
+                    target -> targets.set(position[0]++, target)
+                );
+            }
+        });
+
+        return new CompactAdjacency(offsets, targets);
+    }
+
+    private static void forEachTarget(
+        Graph graph,
+        boolean degreeOriented,
+        RelationshipIterator relationships,
+        long nodeId,
+        TargetConsumer consumer
+    ) {
+        int degree = graph.degree(nodeId);
+        long[] previous = {-1L};
+        relationships.forEachRelationship(nodeId, (source, target) -> {
+            if (target != previous[0] && target != nodeId) {
+                previous[0] = target;
+                if (!degreeOriented) {
+                    consumer.accept(target);
+                    return true;
+                }
+                int targetDegree = graph.degree(target);
+                if (targetDegree > degree || (targetDegree == degree && target > nodeId)) {
+                    consumer.accept(target);
+                }
+            }
+            return true;
+        });
+    }
+
+    long degree(long nodeId) {
+        return end(nodeId) - start(nodeId);
+    }
+
+    /**
+     * Binary search for {@code target} in the sorted targets of {@code nodeId}.
+     */
+    boolean contains(long nodeId, long target) {
+        long low = start(nodeId);
+        long high = end(nodeId) - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            long value = targets.get(mid);
+            if (value < target) {
+                low = mid + 1;
+            } else if (value > target) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long start(long nodeId) {
+        return offsets.get(nodeId);
+    }
+
+    long end(long nodeId) {
+        return offsets.get(nodeId + 1);
+    }
+
+    long target(long index) {
+        return targets.get(index);
+    }
+
+    long release() {
+        return offsets.release() + targets.release();
+    }
+
+    @FunctionalInterface
+    private interface TargetConsumer {
+        void accept(long target);
+    }
+}
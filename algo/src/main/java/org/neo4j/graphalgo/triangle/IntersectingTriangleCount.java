@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.triangle;
 
+import com.carrotsearch.hppc.LongHashSet;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.Graph;
@@ -46,6 +47,12 @@ import java.util.concurrent.atomic.LongAdder;
  * http://www.cse.cuhk.edu.hk/~jcheng/papers/triangle_kdd11.pdf
  * https://i11www.iti.kit.edu/extra/publications/sw-fclt-05_t.pdf
  * http://www.math.cmu.edu/~ctsourak/tsourICDM08.pdf
+ *
+ * If degree ordered, the graph is first oriented from lower to higher ranked nodes (see {@link CompactAdjacency})
+ * and every node only intersects its own higher ranked neighbours with the higher ranked neighbours of those.
+ * This finds every triangle exactly once and never intersects the full adjacency lists of two hubs.
+ * Nodes with many higher ranked neighbours put them into a per-thread hash set and probe it,
+ * instead of merging the sorted lists for every neighbour.
  */
 @SuppressWarnings("FieldCanBeLocal")
 public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCount, IntersectingTriangleCount.TriangleCountResult> {
@@ -56,6 +63,10 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
     private final AllocationTracker tracker;
     private final LongAdder triangleCount;
     private final AtomicLong queue;
+    private final boolean degreeOrdered;
+
+    // use a hash set for intersections of nodes with at least that many higher ranked neighbours
+    static final long PROBE_THRESHOLD = 64;
 
     // results
     private HugeAtomicLongArray triangleCounts;
@@ -69,8 +80,20 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
         int concurrency,
         AllocationTracker tracker,
         ProgressLogger progressLogger
+    ) {
+        this(graph, executorService, concurrency, false, tracker, progressLogger);
+    }
+
+    public IntersectingTriangleCount(
+        Graph graph,
+        ExecutorService executorService,
+        int concurrency,
+        boolean degreeOrdered,
+        AllocationTracker tracker,
+        ProgressLogger progressLogger
     ) {
         this.graph = graph;
+        this.degreeOrdered = degreeOrdered;
         this.tracker = tracker;
         this.executorService = executorService;
         this.concurrency = concurrency;
@@ -105,10 +128,17 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
     public TriangleCountResult compute() {
         queue.set(0);
         triangleCount.reset();
-        // create tasks
-        final Collection<? extends Runnable> tasks = ParallelUtil.tasks(concurrency, () -> new IntersectTask(graph));
-        // run
-        ParallelUtil.run(tasks, executorService);
+        if (degreeOrdered) {
+            CompactAdjacency orientedGraph = CompactAdjacency.degreeOriented(graph, concurrency, executorService, tracker);
+            final Collection<? extends Runnable> tasks = ParallelUtil.tasks(concurrency, () -> new ForwardTask(orientedGraph));
+            ParallelUtil.run(tasks, executorService);
+            tracker.remove(orientedGraph.release());
+        } else {
+            // create tasks
+            final Collection<? extends Runnable> tasks = ParallelUtil.tasks(concurrency, () -> new IntersectTask(graph));
+            // run
+            ParallelUtil.run(tasks, executorService);
+        }
 
         // collect local clustering coefficients
         localClusteringCoefficients = HugeDoubleArray.newArray(graph.nodeCount(), tracker);
@@ -159,6 +189,90 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
         }
     }
 
+    private class ForwardTask implements Runnable {
+
+        private final CompactAdjacency orientedGraph;
+        private final LongHashSet probe;
+
+        ForwardTask(CompactAdjacency orientedGraph) {
+            this.orientedGraph = orientedGraph;
+            this.probe = new LongHashSet();
+        }
+
+        @Override
+        public void run() {
+            long node;
+            while ((node = queue.getAndIncrement()) < graph.nodeCount() && running()) {
+                long triangles = orientedGraph.end(node) - orientedGraph.start(node) >= PROBE_THRESHOLD
+                    ? probeTriangles(node)
+                    : mergeTriangles(node);
+                if (triangles > 0) {
+                    triangleCounts.getAndAdd(node, triangles);
+                    triangleCount.add(triangles);
+                }
+                getProgressLogger().logProgress();
+            }
+        }
+
+        private long mergeTriangles(long node) {
+            long start = orientedGraph.start(node);
+            long end = orientedGraph.end(node);
+            long triangles = 0;
+            for (long i = start; i < end; i++) {
+                long neighbour = orientedGraph.target(i);
+                long neighbourTriangles = 0;
+                long a = start;
+                long b = orientedGraph.start(neighbour);
+                long bEnd = orientedGraph.end(neighbour);
+                while (a < end && b < bEnd) {
+                    long targetA = orientedGraph.target(a);
+                    long targetB = orientedGraph.target(b);
+                    if (targetA < targetB) {
+                        a++;
+                    } else if (targetA > targetB) {
+                        b++;
+                    } else {
+                        triangleCounts.getAndAdd(targetA, 1);
+                        neighbourTriangles++;
+                        a++;
+                        b++;
+                    }
+                }
+                if (neighbourTriangles > 0) {
+                    triangleCounts.getAndAdd(neighbour, neighbourTriangles);
+                    triangles += neighbourTriangles;
+                }
+            }
+            return triangles;
+        }
+
+        private long probeTriangles(long node) {
+            long start = orientedGraph.start(node);
+            long end = orientedGraph.end(node);
+            probe.clear();
+            for (long i = start; i < end; i++) {
+                probe.add(orientedGraph.target(i));
+            }
+            long triangles = 0;
+            for (long i = start; i < end; i++) {
+                long neighbour = orientedGraph.target(i);
+                long neighbourTriangles = 0;
+                for (long j = orientedGraph.start(neighbour), jEnd = orientedGraph.end(neighbour); j < jEnd; j++) {
+                    long target = orientedGraph.target(j);
+                    if (probe.contains(target)) {
+                        triangleCounts.getAndAdd(target, 1);
+                        neighbourTriangles++;
+                    }
+                }
+                if (neighbourTriangles > 0) {
+                    triangleCounts.getAndAdd(neighbour, neighbourTriangles);
+                    triangles += neighbourTriangles;
+                }
+            }
+            return triangles;
+        }
+    }
+
     private double calculateCoefficient(long triangles, int degree) {
         if (triangles == 0) {
             return 0.0;
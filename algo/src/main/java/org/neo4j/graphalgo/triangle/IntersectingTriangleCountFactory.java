@@ -49,6 +49,7 @@ public class IntersectingTriangleCountFactory<CONFIG extends TriangleCountBaseCo
             graph,
             Pools.DEFAULT,
             configuration.concurrency(),
+            configuration.degreeOrdered(),
             tracker,
             progressLogger
         );
@@ -56,10 +57,13 @@ public class IntersectingTriangleCountFactory<CONFIG extends TriangleCountBaseCo
 
     @Override
     public MemoryEstimation memoryEstimation(CONFIG configuration) {
-        return MemoryEstimations
+        MemoryEstimations.Builder builder = MemoryEstimations
             .builder(IntersectingTriangleCount.class)
             .perNode("triangle-counts", HugeAtomicLongArray::memoryEstimation)
-            .perNode("local-clustering-coefficients", HugeDoubleArray::memoryEstimation)
-            .build();
+            .perNode("local-clustering-coefficients", HugeDoubleArray::memoryEstimation);
+        if (configuration.degreeOrdered()) {
+            builder.add("degree-oriented-graph", CompactAdjacency.memoryEstimation(true));
+        }
+        return builder.build();
     }
 }
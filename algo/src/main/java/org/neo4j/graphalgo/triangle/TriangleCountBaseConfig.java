@@ -20,6 +20,7 @@
 
 package org.neo4j.graphalgo.triangle;
 
+import org.immutables.value.Value;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
@@ -34,6 +35,15 @@ import java.util.Optional;
 @SuppressWarnings("immutables:subtype")
 public interface TriangleCountBaseConfig extends AlgoBaseConfig {
 
+    /**
+     * If true, only intersect the neighbours of every node that have a higher degree,
+     * which avoids intersecting the adjacency lists of two high degree nodes.
+     */
+    @Value.Default
+    default boolean degreeOrdered() {
+        return false;
+    }
+
     static TriangleCountBaseConfig of(
         String username,
         Optional<String> graphName,
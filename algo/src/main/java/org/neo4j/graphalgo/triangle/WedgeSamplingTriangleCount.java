@@ -0,0 +1,398 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.triangle;
+
+import com.carrotsearch.hppc.BitMixer;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estimates the global triangle count and the average clustering coefficient by wedge sampling.
+ * <p>
+ * A wedge is a path of length two {@code u - v - w}, it is closed if {@code u} and {@code w} are connected.
+ * Every triangle closes exactly three wedges, so sampling wedges uniformly at random estimates the global
+ * triangle count as {@code closedFraction * wedges / 3}. Sampling one wedge at a node chosen uniformly at random
+ * estimates the average clustering coefficient.
+ * Both estimates come with Hoeffding confidence bounds: after {@code n} samples, the sampled fractions are within
+ * an absolute error of {@code sqrt(ln(2 / (1 - confidence)) / 2n)} of the exact fractions.
+ * <p>
+ * The number of samples is chosen for a relative error of the global triangle count, which is the relative error
+ * of the fraction of closed wedges. Samples are drawn in rounds that double the sample size, until the absolute
+ * error is at most {@code relativeError} times the estimated fraction or until {@code maxSampleSize} samples have
+ * been drawn. The fewer wedges are closed, the more samples are needed, e.g. 20_000 samples are enough for a
+ * relative error of 1% with a confidence of 95% if all wedges are closed, but about 1_850_000 are needed if only
+ * 10% are closed. The reported bounds hold for the sample size that has actually been drawn.
+ * <p>
+ * Wedges are sampled directly from the graph, which has to be undirected. Their number is derived from the degrees,
+ * so self loops and parallel relationships count as wedges. Wedges through a self loop are never closed, which does
+ * not bias the estimates, but triangles over parallel relationships are counted once per relationship.
+ * <p>
+ * Samples are drawn in fixed batches with a random generator per batch,
+ * so the result only depends on the random seed and not on the concurrency.
+ *
+ * C. Seshadhri, A. Pinar, T. G. Kolda: Triadic Measures on Graphs: The Power of Wedge Sampling
+ * https://arxiv.org/abs/1202.5230
+ */
+public class WedgeSamplingTriangleCount extends Algorithm<WedgeSamplingTriangleCount, WedgeSamplingTriangleCount.TriangleCountEstimate> {
+
+    static final int BATCH_SIZE = 10_000;
+
+    private Graph graph;
+    private ExecutorService executorService;
+    private final double relativeError;
+    private final long maxSampleSize;
+    private final double confidence;
+    private final long randomSeed;
+    private final int concurrency;
+    private final AllocationTracker tracker;
+
+    // the nodes with at least one wedge, i.e. with a degree of at least two, in ascending order
+    private HugeLongArray wedgeNodes;
+    // cumulative number of wedges centered at wedgeNodes[0..i]
+    private HugeLongArray wedgePrefix;
+    private long nodesWithWedges;
+
+    private final AtomicLong batchQueue;
+    private final LongAdder closedWedges;
+    private final LongAdder closedLocalWedges;
+
+    public WedgeSamplingTriangleCount(
+        Graph graph,
+        double relativeError,
+        long maxSampleSize,
+        double confidence,
+        long randomSeed,
+        int concurrency,
+        ExecutorService executorService,
+        AllocationTracker tracker
+    ) {
+        if (relativeError <= 0) {
+            throw new IllegalArgumentException("The relative error must be positive, but was " + relativeError);
+        }
+        if (maxSampleSize <= 0) {
+            throw new IllegalArgumentException("The maximum sample size must be positive, but was " + maxSampleSize);
+        }
+        if (confidence <= 0 || confidence >= 1) {
+            throw new IllegalArgumentException("The confidence must be in (0, 1), but was " + confidence);
+        }
+        this.graph = graph;
+        this.relativeError = relativeError;
+        this.maxSampleSize = maxSampleSize;
+        this.confidence = confidence;
+        this.randomSeed = randomSeed;
+        this.concurrency = concurrency;
+        this.executorService = executorService;
+        this.tracker = tracker;
+        this.batchQueue = new AtomicLong();
+        this.closedWedges = new LongAdder();
+        this.closedLocalWedges = new LongAdder();
+    }
+
+    @Override
+    public WedgeSamplingTriangleCount me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        if (wedgeNodes != null) {
+            tracker.remove(wedgeNodes.release());
+            tracker.remove(wedgePrefix.release());
+            wedgeNodes = null;
+            wedgePrefix = null;
+        }
+        executorService = null;
+        graph = null;
+    }
+
+    @Override
+    public TriangleCountEstimate compute() {
+        long nodeCount = graph.nodeCount();
+        long wedges = indexWedges();
+
+        closedWedges.reset();
+        closedLocalWedges.reset();
+        if (nodesWithWedges == 0) {
+            // without wedges, there are no triangles
+            return TriangleCountEstimate.of(0, 0, 0, 0, 0, 0, 0, confidence);
+        }
+
+        long maxBatches = ParallelUtil.threadCount(BATCH_SIZE, maxSampleSize);
+        long batches = 0;
+        long sampleSize;
+        double epsilon;
+        do {
+            long nextBatches = Math.min(maxBatches, Math.max(1, 2 * batches));
+            sample(wedges, batches, nextBatches);
+            batches = nextBatches;
+            sampleSize = Math.min(maxSampleSize, batches * BATCH_SIZE);
+            epsilon = epsilon(sampleSize);
+        } while (batches < maxBatches && epsilon > relativeError * closedWedges.doubleValue() / sampleSize && running());
+
+        double transitivity = closedWedges.doubleValue() / sampleSize;
+        double localFraction = closedLocalWedges.doubleValue() / sampleSize;
+        double nodesWithWedgesFraction = (double) nodesWithWedges / nodeCount;
+
+        return TriangleCountEstimate.of(
+            transitivity * wedges / 3.0,
+            clamp(transitivity - epsilon) * wedges / 3.0,
+            clamp(transitivity + epsilon) * wedges / 3.0,
+            localFraction * nodesWithWedgesFraction,
+            clamp(localFraction - epsilon) * nodesWithWedgesFraction,
+            clamp(localFraction + epsilon) * nodesWithWedgesFraction,
+            sampleSize,
+            confidence
+        );
+    }
+
+    /**
+     * Hoeffding: P(|estimate - expectation| >= epsilon) <= 2 * exp(-2 * sampleSize * epsilon^2)
+     */
+    private double epsilon(long sampleSize) {
+        return Math.sqrt(Math.log(2.0 / (1.0 - confidence)) / (2.0 * sampleSize));
+    }
+
+    /**
+     * Collects the nodes with wedges and the prefix sum of their wedge counts in two parallel passes:
+     * the first counts per partition, the second writes every partition from the offsets of the previous ones.
+     *
+     * @return the total number of wedges
+     */
+    private long indexWedges() {
+        long nodeCount = graph.nodeCount();
+        long partitionSize = ParallelUtil.threadCount(concurrency, nodeCount);
+        int partitionCount = Math.toIntExact(ParallelUtil.threadCount(partitionSize, nodeCount));
+        long[] partitionNodes = new long[partitionCount + 1];
+        long[] partitionWedges = new long[partitionCount + 1];
+
+        ParallelUtil.readParallel(concurrency, nodeCount, executorService, (start, end) -> {
+            int partition = Math.toIntExact(start / partitionSize);
+            long nodes = 0;
+            long wedges = 0;
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                long degree = graph.degree(nodeId);
+                if (degree > 1) {
+                    nodes++;
+                    wedges += degree * (degree - 1) / 2;
+                }
+            }
+            partitionNodes[partition + 1] = nodes;
+            partitionWedges[partition + 1] = wedges;
+        });
+        Arrays.parallelPrefix(partitionNodes, Long::sum);
+        Arrays.parallelPrefix(partitionWedges, Long::sum);
+
+        nodesWithWedges = partitionNodes[partitionCount];
+        wedgeNodes = HugeLongArray.newArray(nodesWithWedges, tracker);
+        wedgePrefix = HugeLongArray.newArray(nodesWithWedges, tracker);
+
+        ParallelUtil.readParallel(concurrency, nodeCount, executorService, (start, end) -> {
+            int partition = Math.toIntExact(start / partitionSize);
+            long index = partitionNodes[partition];
+            long wedges = partitionWedges[partition];
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                long degree = graph.degree(nodeId);
+                if (degree > 1) {
+                    wedges += degree * (degree - 1) / 2;
+                    wedgeNodes.set(index, nodeId);
+                    wedgePrefix.set(index, wedges);
+                    index++;
+                }
+            }
+        });
+
+        return partitionWedges[partitionCount];
+    }
+
+    /**
+     * Draws the samples of the batches in {@code [fromBatch, toBatch)}.
+     */
+    private void sample(long wedges, long fromBatch, long toBatch) {
+        batchQueue.set(fromBatch);
+        Collection<? extends Runnable> tasks = ParallelUtil.tasks(
+            concurrency,
+            () -> new SampleTask(graph.concurrentCopy(), wedges, toBatch)
+        );
+        ParallelUtil.run(tasks, executorService);
+    }
+
+    private static double clamp(double fraction) {
+        return Math.max(0.0, Math.min(1.0, fraction));
+    }
+
+    private final class SampleTask implements Runnable {
+
+        private final RelationshipIterator relationships;
+        private final long wedges;
+        private final long batches;
+
+        private long index;
+        private long first;
+        private long second;
+        private long firstTarget;
+        private long secondTarget;
+        private boolean found;
+
+        SampleTask(RelationshipIterator relationships, long wedges, long batches) {
+            this.relationships = relationships;
+            this.wedges = wedges;
+            this.batches = batches;
+        }
+
+        @Override
+        public void run() {
+            long batch;
+            while ((batch = batchQueue.getAndIncrement()) < batches && running()) {
+                SplittableRandom random = new SplittableRandom(BitMixer.mix64(randomSeed + batch));
+                long samples = Math.min(BATCH_SIZE, maxSampleSize - batch * BATCH_SIZE);
+                long closed = 0;
+                long closedLocal = 0;
+                for (long i = 0; i < samples; i++) {
+                    // wedges uniformly at random
+                    if (isClosed(wedgeCenter(random.nextLong(wedges)), random)) {
+                        closed++;
+                    }
+                    // nodes with at least one wedge uniformly at random
+                    if (isClosed(wedgeNodes.get(random.nextLong(nodesWithWedges)), random)) {
+                        closedLocal++;
+                    }
+                }
+                closedWedges.add(closed);
+                closedLocalWedges.add(closedLocal);
+                getProgressLogger().logProgress();
+            }
+        }
+
+        private long wedgeCenter(long wedge) {
+            // first node whose cumulative wedge count is larger than `wedge`
+            long low = 0;
+            long high = nodesWithWedges - 1;
+            while (low < high) {
+                long mid = (low + high) >>> 1;
+                if (wedgePrefix.get(mid) > wedge) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return wedgeNodes.get(low);
+        }
+
+        private boolean isClosed(long center, SplittableRandom random) {
+            long degree = graph.degree(center);
+            long first = random.nextLong(degree);
+            long second = random.nextLong(degree - 1);
+            if (second >= first) {
+                second++;
+            }
+            targets(center, first, second);
+            long u = firstTarget;
+            long w = secondTarget;
+            // self loops and parallel relationships do not form a wedge
+            if (u == w || u == center || w == center) {
+                return false;
+            }
+            return graph.degree(u) <= graph.degree(w)
+                ? exists(u, w)
+                : exists(w, u);
+        }
+
+        // looks up the targets at both offsets in a single pass over the relationships of the center
+        private void targets(long center, long first, long second) {
+            this.index = 0;
+            this.first = first;
+            this.second = second;
+            relationships.forEachRelationship(center, (source, target) -> {
+                if (index == this.first) {
+                    firstTarget = target;
+                } else if (index == this.second) {
+                    secondTarget = target;
+                }
+                index++;
+                return index <= Math.max(this.first, this.second);
+            });
+        }
+
+        private boolean exists(long source, long target) {
+            found = false;
+            relationships.forEachRelationship(source, (s, t) -> {
+                found = t == target;
+                return !found;
+            });
+            return found;
+        }
+    }
+
+    @ValueClass
+    public interface TriangleCountEstimate {
+
+        double globalTriangles();
+
+        double globalTrianglesLowerBound();
+
+        double globalTrianglesUpperBound();
+
+        double averageClusteringCoefficient();
+
+        double averageClusteringCoefficientLowerBound();
+
+        double averageClusteringCoefficientUpperBound();
+
+        long sampleSize();
+
+        // probability that the exact values are within the bounds
+        double confidence();
+
+        static TriangleCountEstimate of(
+            double globalTriangles,
+            double globalTrianglesLowerBound,
+            double globalTrianglesUpperBound,
+            double averageClusteringCoefficient,
+            double averageClusteringCoefficientLowerBound,
+            double averageClusteringCoefficientUpperBound,
+            long sampleSize,
+            double confidence
+        ) {
+            return ImmutableTriangleCountEstimate
+                .builder()
+                .globalTriangles(globalTriangles)
+                .globalTrianglesLowerBound(globalTrianglesLowerBound)
+                .globalTrianglesUpperBound(globalTrianglesUpperBound)
+                .averageClusteringCoefficient(averageClusteringCoefficient)
+                .averageClusteringCoefficientLowerBound(averageClusteringCoefficientLowerBound)
+                .averageClusteringCoefficientUpperBound(averageClusteringCoefficientUpperBound)
+                .sampleSize(sampleSize)
+                .confidence(confidence)
+                .build();
+        }
+    }
+}
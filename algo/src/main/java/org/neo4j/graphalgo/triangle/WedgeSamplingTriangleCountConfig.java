@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.triangle;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+
+import java.util.Optional;
+
+@ValueClass
+@Configuration("WedgeSamplingTriangleCountConfigImpl")
+@SuppressWarnings("immutables:subtype")
+public interface WedgeSamplingTriangleCountConfig extends AlgoBaseConfig {
+
+    /**
+     * The targeted relative error of the global triangle count. Wedges are sampled
+     * until the reported bounds are within this fraction of the estimate or until
+     * {@link #maxSampleSize()} wedges have been sampled.
+     */
+    @Value.Default
+    default double relativeError() {
+        return 0.01;
+    }
+
+    /**
+     * The maximum number of wedges to sample, the width of the confidence interval
+     * shrinks with the square root of the sample size.
+     */
+    @Value.Default
+    default long maxSampleSize() {
+        return 1_000_000;
+    }
+
+    /**
+     * The probability that the exact values are within the reported bounds.
+     */
+    @Value.Default
+    default double confidence() {
+        return 0.95;
+    }
+
+    @Value.Default
+    default long randomSeed() {
+        return 42;
+    }
+
+    @Value.Check
+    default void validate() {
+        if (relativeError() <= 0) {
+            throw new IllegalArgumentException(String.format(
+                "Value for `relativeError` must be positive, but got %f",
+                relativeError()
+            ));
+        }
+
+        if (maxSampleSize() <= 0) {
+            throw new IllegalArgumentException(String.format(
+                "Value for `maxSampleSize` must be positive, but got %d",
+                maxSampleSize()
+            ));
+        }
+
+        if (confidence() <= 0 || confidence() >= 1) {
+            throw new IllegalArgumentException(String.format(
+                "Value for `confidence` must be in the range (0, 1), but got %f",
+                confidence()
+            ));
+        }
+    }
+
+    static WedgeSamplingTriangleCountConfig of(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper userInput
+    ) {
+        return new WedgeSamplingTriangleCountConfigImpl(
+            graphName,
+            maybeImplicitCreate,
+            username,
+            userInput
+        );
+    }
+}
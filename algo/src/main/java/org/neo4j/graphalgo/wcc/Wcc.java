@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.wcc;
 
+import com.carrotsearch.hppc.LongLongHashMap;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
@@ -35,6 +36,7 @@ import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.SplittableRandom;
 import java.util.concurrent.ExecutorService;
 
 /**
@@ -46,6 +48,12 @@ import java.util.concurrent.ExecutorService;
  */
 public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
 
+    // the number of relationships per node that are linked before sampling the largest component
+    private static final int NEIGHBOR_ROUNDS = 2;
+    private static final int SAMPLE_SIZE = 1024;
+    private static final int LINK_REMAINING = -1;
+    private static final long NO_COMPONENT = -1L;
+
     private final WccBaseConfig config;
     private final NodeProperties initialComponents;
     private final ExecutorService executor;
@@ -110,17 +118,86 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
             ? new HugeAtomicDisjointSetStruct(nodeCount, initialComponents, tracker, config.concurrency())
             : new HugeAtomicDisjointSetStruct(nodeCount, tracker, config.concurrency());
 
+        if (config.neighborSampling() && graph.isUndirected()) {
+            computeWithSampling(dss);
+        } else {
+            final Collection<Runnable> tasks = new ArrayList<>(threadSize);
+            for (long i = 0L; i < this.nodeCount; i += batchSize) {
+                WCCTask wccTask = Double.isNaN(threshold()) || threshold() == 0
+                    ? new WCCTask(dss, i)
+                    : new WCCWithThresholdTask(threshold(), dss, i);
+                tasks.add(wccTask);
+            }
+            ParallelUtil.run(tasks, executor);
+        }
+
+        progressLogger.logMessage(":: Finished");
+        return dss;
+    }
+
+    /**
+     * Afforest-style computation, based on the
+     * "Optimizing Parallel Graph Connectivity Computation via Subgraph Sampling" paper.
+     *
+     * Links the first {@link #NEIGHBOR_ROUNDS} relationships of every node, which already connects most of the nodes
+     * of a large component. A sample of nodes then identifies the largest intermediate component and only the nodes
+     * outside of it link their remaining relationships. As every relationship of an undirected graph is also stored
+     * at its other node, a relationship between the largest component and another node is linked from the other side.
+     */
+    private void computeWithSampling(DisjointSetStruct dss) {
+        for (int round = 0; round < NEIGHBOR_ROUNDS; round++) {
+            runSamplingTasks(dss, round, NO_COMPONENT);
+            compress(dss);
+        }
+
+        long largestComponentNode = largestComponentNode(dss);
+        runSamplingTasks(dss, LINK_REMAINING, largestComponentNode);
+    }
+
+    private void runSamplingTasks(DisjointSetStruct dss, int round, long skippedComponentNode) {
         final Collection<Runnable> tasks = new ArrayList<>(threadSize);
         for (long i = 0L; i < this.nodeCount; i += batchSize) {
-            WCCTask wccTask = Double.isNaN(threshold()) || threshold() == 0
-                ? new WCCTask(dss, i)
-                : new WCCWithThresholdTask(threshold(), dss, i);
-            tasks.add(wccTask);
+            tasks.add(new SamplingTask(dss, i, round, skippedComponentNode));
         }
         ParallelUtil.run(tasks, executor);
+    }
 
-        progressLogger.logMessage(":: Finished");
-        return dss;
+    /**
+     * Shortens the paths to the set representatives, so that later lookups are cheap.
+     */
+    private void compress(DisjointSetStruct dss) {
+        ParallelUtil.readParallel(config.concurrency(), nodeCount, executor, (start, end) -> {
+            for (long node = start; node < end; node++) {
+                dss.setIdOf(node);
+            }
+        });
+    }
+
+    /**
+     * @return a node of the most frequent component among a random sample of nodes, or {@link #NO_COMPONENT} for an empty graph
+     */
+    private long largestComponentNode(DisjointSetStruct dss) {
+        if (nodeCount == 0) {
+            return NO_COMPONENT;
+        }
+
+        LongLongHashMap sampleCounts = new LongLongHashMap();
+        LongLongHashMap sampleNodes = new LongLongHashMap();
+        SplittableRandom random = new SplittableRandom(nodeCount);
+
+        long mostFrequentNode = 0L;
+        long maxCount = 0L;
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            long node = random.nextLong(nodeCount);
+            long setId = dss.setIdOf(node);
+            long count = sampleCounts.addTo(setId, 1L);
+            sampleNodes.putIfAbsent(setId, node);
+            if (count > maxCount) {
+                maxCount = count;
+                mostFrequentNode = sampleNodes.get(setId);
+            }
+        }
+        return mostFrequentNode;
     }
 
     @Override
@@ -141,6 +218,73 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         return threshold + 1;
     }
 
+    private final class SamplingTask implements Runnable, RelationshipWithPropertyConsumer {
+
+        private final DisjointSetStruct struct;
+        private final RelationshipIterator rels;
+        private final long offset;
+        private final long end;
+        private final int round;
+        private final long skippedComponentNode;
+        private final boolean hasThreshold;
+        private final double threshold;
+        private int relationshipIndex;
+
+        /**
+         * @param round                the index of the relationship to link or {@link #LINK_REMAINING}
+         * @param skippedComponentNode the nodes in the same component as this node are skipped, unless {@link #NO_COMPONENT}
+         */
+        SamplingTask(DisjointSetStruct struct, long offset, int round, long skippedComponentNode) {
+            this.struct = struct;
+            this.rels = graph.concurrentCopy();
+            this.offset = offset;
+            this.end = Math.min(offset + batchSize, nodeCount);
+            this.round = round;
+            this.skippedComponentNode = skippedComponentNode;
+            this.threshold = threshold();
+            this.hasThreshold = !Double.isNaN(threshold) && threshold != 0;
+        }
+
+        @Override
+        public void run() {
+            for (long node = offset; node < end; node++) {
+                if (skippedComponentNode == NO_COMPONENT || !struct.sameSet(node, skippedComponentNode)) {
+                    relationshipIndex = 0;
+                    rels.forEachRelationship(node, Wcc.defaultWeight(threshold), this);
+                }
+                if (node % RUN_CHECK_NODE_COUNT == 0) {
+                    assertRunning();
+                }
+
+                if (round == LINK_REMAINING) {
+                    getProgressLogger().logProgress(graph.degree(node));
+                }
+            }
+        }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId, double property) {
+            int index = relationshipIndex++;
+            if (round == LINK_REMAINING) {
+                if (index >= NEIGHBOR_ROUNDS) {
+                    link(sourceNodeId, targetNodeId, property);
+                }
+                return true;
+            }
+            if (index == round) {
+                link(sourceNodeId, targetNodeId, property);
+                return false;
+            }
+            return true;
+        }
+
+        private void link(long sourceNodeId, long targetNodeId, double property) {
+            if (!hasThreshold || property > threshold) {
+                struct.union(sourceNodeId, targetNodeId);
+            }
+        }
+    }
+
     private class WCCTask implements Runnable, RelationshipConsumer {
 
         final DisjointSetStruct struct;
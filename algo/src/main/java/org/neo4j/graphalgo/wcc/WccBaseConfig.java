@@ -33,6 +33,15 @@ public interface WccBaseConfig extends AlgoBaseConfig, SeedConfig, ConsecutiveId
         return 0D;
     }
 
+    /**
+     * Links a sample of the relationships first and skips the remaining relationships of the nodes in the largest
+     * component found so far. Only applies to undirected graphs.
+     */
+    @Value.Default
+    default boolean neighborSampling() {
+        return false;
+    }
+
     @Value.Check
     default void validate() {
         if (threshold() > 0 && relationshipWeightProperty() == null) {
@@ -21,6 +21,8 @@ package org.neo4j.graphalgo.beta.k1coloring;
 
 import org.apache.commons.lang3.mutable.MutableLong;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.CypherLoaderBuilder;
 import org.neo4j.graphalgo.Orientation;
@@ -168,6 +170,54 @@ class K1ColoringTest extends AlgoTestBase {
 
         assertTrue(conflicts.getValue() < 20);
         assertTrue(colorsUsed.size() < 20);
+        assertEquals(0L, k1Coloring.skippedNodeVisits());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 8})
+    void testLargestDegreeFirstK1Coloring(int concurrency) {
+        Graph graph = new RandomGraphGenerator(
+            100_000,
+            5,
+            RelationshipDistribution.POWER_LAW,
+            42L,
+            Optional.empty(),
+            Aggregation.NONE, Orientation.UNDIRECTED, AllowSelfLoops.NO, AllocationTracker.EMPTY
+        ).generate();
+
+        K1Coloring k1Coloring = new K1Coloring(
+            graph,
+            100,
+            DEFAULT_BATCH_SIZE,
+            concurrency,
+            Pools.DEFAULT,
+            progressLogger,
+            AllocationTracker.EMPTY,
+            true
+        );
+
+        k1Coloring.compute();
+        HugeLongArray colors = k1Coloring.colors();
+
+        MutableLong conflicts = new MutableLong(0);
+        graph.forEachNode((nodeId) -> {
+            graph.forEachRelationship(nodeId, (source, target) -> {
+                if (source != target && colors.get(source) == colors.get(target)) {
+                    conflicts.increment();
+                }
+                return true;
+            });
+            return true;
+        });
+
+        assertTrue(k1Coloring.didConverge());
+        assertEquals(0L, conflicts.getValue());
+        assertFalse(k1Coloring.usedColors().get(ColoringStep.INITIAL_FORBIDDEN_COLORS));
+        assertTrue(k1Coloring.usedColors().cardinality() < 20);
+        // the first iteration visits all nodes, every later one skips at least one node
+        long skippedNodeVisits = k1Coloring.skippedNodeVisits();
+        assertTrue(skippedNodeVisits >= k1Coloring.ranIterations() - 1);
+        assertTrue(skippedNodeVisits <= (k1Coloring.ranIterations() - 1) * graph.nodeCount());
     }
 
 
@@ -176,21 +226,28 @@ class K1ColoringTest extends AlgoTestBase {
         long nodeCount = 100_000L;
         int concurrency = 1;
 
-        assertMemoryEstimation(nodeCount, concurrency, 825264);
+        assertMemoryEstimation(nodeCount, concurrency, 825272);
     }
 
     @Test
     void shouldComputeMemoryEstimation4Threads() {
         long nodeCount = 100_000L;
         int concurrency = 4;
-        assertMemoryEstimation(nodeCount, concurrency, 863064);
+        assertMemoryEstimation(nodeCount, concurrency, 863048);
     }
 
     @Test
     void shouldComputeMemoryEstimation42Threads() {
         long nodeCount = 100_000L;
         int concurrency = 42;
-        assertMemoryEstimation(nodeCount, concurrency, 1341864);
+        assertMemoryEstimation(nodeCount, concurrency, 1341544);
+    }
+
+    @Test
+    void shouldComputeMemoryEstimationForLargestDegreeFirst() {
+        long nodeCount = 100_000L;
+        int concurrency = 4;
+        assertMemoryEstimation(nodeCount, concurrency, true, 1614280, 4863656);
     }
 
     @Test
@@ -257,15 +314,27 @@ class K1ColoringTest extends AlgoTestBase {
     }
 
     private void assertMemoryEstimation(long nodeCount, int concurrency, long expected) {
+        assertMemoryEstimation(nodeCount, concurrency, false, expected, expected);
+    }
+
+    private void assertMemoryEstimation(
+        long nodeCount,
+        int concurrency,
+        boolean largestDegreeFirst,
+        long expectedMin,
+        long expectedMax
+    ) {
         GraphDimensions dimensions = ImmutableGraphDimensions.builder().nodeCount(nodeCount).build();
-        K1ColoringStreamConfig config = ImmutableK1ColoringStreamConfig.builder().build();
+        K1ColoringStreamConfig config = ImmutableK1ColoringStreamConfig.builder()
+            .largestDegreeFirst(largestDegreeFirst)
+            .build();
         final MemoryRange actual = new K1ColoringFactory<>()
             .memoryEstimation(config)
             .estimate(dimensions, concurrency)
             .memoryUsage();
 
-        assertEquals(actual.min, actual.max);
-        assertEquals(expected, actual.min);
+        assertEquals(expectedMin, actual.min);
+        assertEquals(expectedMax, actual.max);
     }
 
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.kcore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.AlgoTestBase;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.config.RandomGraphGeneratorConfig.AllowSelfLoops;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KCoreDecompositionTest extends AlgoTestBase {
+
+    @ValueSource(ints = {1, 4})
+    @ParameterizedTest
+    void shouldComputeCoreValues(int concurrency) {
+        runQuery("CREATE" +
+                 "  (a:Node {name: 'a'}), (b:Node {name: 'b'}), (c:Node {name: 'c'}), (d:Node {name: 'd'})" +
+                 ", (e:Node {name: 'e'}), (f:Node {name: 'f'}), (g:Node {name: 'g'})" +
+                 ", (h:Node {name: 'h'}), (i:Node {name: 'i'})" +
+                 // a 4-clique
+                 ", (a)-[:REL]->(b), (a)-[:REL]->(c), (a)-[:REL]->(d), (b)-[:REL]->(c), (b)-[:REL]->(d), (c)-[:REL]->(d)" +
+                 // a triangle attached to the clique
+                 ", (d)-[:REL]->(e), (e)-[:REL]->(f), (f)-[:REL]->(d)" +
+                 // a path with a self loop
+                 ", (f)-[:REL]->(g), (g)-[:REL]->(h), (h)-[:REL]->(h)");
+
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .globalOrientation(Orientation.UNDIRECTED)
+            .build()
+            .graph(NativeFactory.class);
+
+        KCoreDecomposition kCore = new KCoreDecomposition(
+            graph,
+            concurrency,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY,
+            ProgressLogger.NULL_LOGGER
+        );
+        HugeIntArray coreValues = kCore.compute();
+
+        int[] expected = {3, 3, 3, 3, 2, 2, 1, 1, 0};
+        for (int nodeId = 0; nodeId < expected.length; nodeId++) {
+            assertEquals(expected[nodeId], coreValues.get(nodeId), "core value of node " + nodeId);
+        }
+        assertEquals(3, kCore.degeneracy());
+        assertEquals(4, kCore.levels());
+    }
+
+    @ValueSource(ints = {1, 4, 8})
+    @ParameterizedTest
+    void shouldEqualSequentialPeeling(int concurrency) {
+        Graph graph = new RandomGraphGenerator(
+            5_000,
+            8,
+            RelationshipDistribution.POWER_LAW,
+            42L,
+            Optional.empty(),
+            Aggregation.NONE,
+            Orientation.UNDIRECTED,
+            AllowSelfLoops.YES,
+            AllocationTracker.EMPTY
+        ).generate();
+
+        KCoreDecomposition kCore = new KCoreDecomposition(
+            graph,
+            concurrency,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY,
+            ProgressLogger.NULL_LOGGER
+        );
+        HugeIntArray coreValues = kCore.compute();
+
+        int[] expected = sequentialPeeling(graph);
+        int degeneracy = 0;
+        for (int nodeId = 0; nodeId < expected.length; nodeId++) {
+            assertEquals(expected[nodeId], coreValues.get(nodeId), "core value of node " + nodeId);
+            degeneracy = Math.max(degeneracy, expected[nodeId]);
+        }
+        assertEquals(degeneracy, kCore.degeneracy());
+    }
+
+    @Test
+    void shouldHandleEmptyGraph() {
+        Graph graph = new StoreLoaderBuilder().api(db).build().graph(NativeFactory.class);
+
+        KCoreDecomposition kCore = new KCoreDecomposition(
+            graph,
+            4,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY,
+            ProgressLogger.NULL_LOGGER
+        );
+
+        assertEquals(0, kCore.compute().size());
+        assertEquals(0, kCore.degeneracy());
+    }
+
+    @ValueSource(longs = {1L, 100L, 10_000_000_000L})
+    @ParameterizedTest
+    void shouldComputeMemoryEstimation(long nodeCount) {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder().nodeCount(nodeCount).build();
+
+        MemoryRange actual = new KCoreDecompositionFactory<>()
+            .memoryEstimation(null)
+            .estimate(dimensions, 4)
+            .memoryUsage();
+
+        long expected = MemoryUsage.sizeOfInstance(KCoreDecomposition.class) +
+                        HugeAtomicLongArray.memoryEstimation(nodeCount) +
+                        HugeIntArray.memoryEstimation(nodeCount) +
+                        2 * HugeLongArray.memoryEstimation(nodeCount);
+        assertEquals(MemoryRange.of(expected), actual);
+    }
+
+    private static int[] sequentialPeeling(Graph graph) {
+        int nodeCount = Math.toIntExact(graph.nodeCount());
+        int[] degrees = new int[nodeCount];
+        boolean[] removed = new boolean[nodeCount];
+        int[] coreValues = new int[nodeCount];
+        for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+            int finalNodeId = nodeId;
+            graph.forEachRelationship(nodeId, (source, target) -> {
+                if (source != target) {
+                    degrees[finalNodeId]++;
+                }
+                return true;
+            });
+        }
+        int k = 0;
+        for (int iteration = 0; iteration < nodeCount; iteration++) {
+            int minNode = -1;
+            for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+                if (!removed[nodeId] && (minNode == -1 || degrees[nodeId] < degrees[minNode])) {
+                    minNode = nodeId;
+                }
+            }
+            k = Math.max(k, degrees[minNode]);
+            coreValues[minNode] = k;
+            removed[minNode] = true;
+            graph.forEachRelationship(minNode, (source, target) -> {
+                if (source != target && !removed[(int) target]) {
+                    degrees[(int) target]--;
+                }
+                return true;
+            });
+        }
+        return coreValues;
+    }
+}
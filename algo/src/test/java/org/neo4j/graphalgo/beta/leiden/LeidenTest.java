@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.leiden;
+
+import com.carrotsearch.hppc.LongArrayDeque;
+import com.carrotsearch.hppc.LongDoubleHashMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.AlgoTestBase;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.config.RandomGraphGeneratorConfig.AllowSelfLoops;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.neo4j.graphalgo.CommunityHelper.assertCommunities;
+
+class LeidenTest extends AlgoTestBase {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node)" +
+        ", (b:Node)" +
+        ", (c:Node)" +
+        ", (d:Node)" +
+        ", (e:Node)" +
+        ", (f:Node)" +
+        ", (g:Node)" +
+        ", (h:Node)" +
+        ", (i:Node)" +
+        ", (j:Node)" +
+        ", (k:Node)" +
+        ", (l:Node)" +
+        ", (m:Node)" +
+        ", (n:Node)" +
+        ", (x:Node)" +
+
+        ", (a)-[:TYPE]->(b)" +
+        ", (a)-[:TYPE]->(d)" +
+        ", (a)-[:TYPE]->(f)" +
+        ", (b)-[:TYPE]->(d)" +
+        ", (b)-[:TYPE]->(x)" +
+        ", (b)-[:TYPE]->(g)" +
+        ", (b)-[:TYPE]->(e)" +
+        ", (c)-[:TYPE]->(x)" +
+        ", (c)-[:TYPE]->(f)" +
+        ", (d)-[:TYPE]->(k)" +
+        ", (e)-[:TYPE]->(x)" +
+        ", (e)-[:TYPE]->(f)" +
+        ", (e)-[:TYPE]->(h)" +
+        ", (f)-[:TYPE]->(g)" +
+        ", (g)-[:TYPE]->(h)" +
+        ", (h)-[:TYPE]->(i)" +
+        ", (h)-[:TYPE]->(j)" +
+        ", (i)-[:TYPE]->(k)" +
+        ", (j)-[:TYPE]->(k)" +
+        ", (j)-[:TYPE]->(m)" +
+        ", (j)-[:TYPE]->(n)" +
+        ", (k)-[:TYPE]->(m)" +
+        ", (k)-[:TYPE]->(l)" +
+        ", (l)-[:TYPE]->(n)" +
+        ", (m)-[:TYPE]->(n)";
+
+    static ImmutableLeidenStreamConfig.Builder defaultConfigBuilder() {
+        return ImmutableLeidenStreamConfig.builder()
+            .maxLevels(10)
+            .maxIterations(10)
+            .includeIntermediateCommunities(true)
+            .concurrency(1);
+    }
+
+    @Test
+    void shouldFindCommunities() {
+        runQuery(DB_CYPHER);
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .addRelationshipType("TYPE")
+            .globalOrientation(Orientation.UNDIRECTED)
+            .build()
+            .graph(NativeFactory.class);
+
+        Leiden leiden = compute(graph, defaultConfigBuilder().build());
+
+        assertCommunities(
+            leiden.finalDendrogram(),
+            new long[]{0, 1, 2, 3, 4, 5, 14},
+            new long[]{6, 7, 8},
+            new long[]{9, 10, 11, 12, 13}
+        );
+        double[] modularities = leiden.modularities();
+        assertEquals(leiden.levels(), modularities.length);
+        assertEquals(modularity(graph, leiden.finalDendrogram()), modularities[modularities.length - 1], 1E-9);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldFindWellConnectedCommunities(int concurrency) {
+        Graph graph = randomGraph(10_000, 5);
+
+        Leiden leiden = compute(graph, defaultConfigBuilder().concurrency(concurrency).build());
+
+        assertConnected(graph, leiden.finalDendrogram());
+    }
+
+    @Test
+    void shouldSplitCommunitiesThatLocalMovingLeavesDisconnected() {
+        Graph graph = randomGraph(20, 2, RelationshipDistribution.RANDOM, 85L);
+
+        Leiden leiden = compute(graph, defaultConfigBuilder().build());
+
+        // on the second level, local moving merges two groups of nodes that are not connected to each other,
+        // neither phase changes anything on the third level, which then reports the refined communities
+        assertEquals(3, leiden.levels());
+        assertDisconnected(graph, leiden.dendrograms()[1]);
+        assertConnected(graph, leiden.finalDendrogram());
+        assertEquals(
+            modularity(graph, leiden.finalDendrogram()),
+            leiden.modularities()[leiden.levels() - 1],
+            1E-9
+        );
+    }
+
+    @Test
+    void shouldReportModularityOfFinalCommunities() {
+        Graph graph = randomGraph(1_000, 10);
+
+        Leiden leiden = compute(graph, defaultConfigBuilder().build());
+
+        double[] modularities = leiden.modularities();
+        assertEquals(modularity(graph, leiden.finalDendrogram()), modularities[leiden.levels() - 1], 1E-9);
+    }
+
+    @Test
+    void shouldBeDeterministicForTheSameSeed() {
+        Graph graph = randomGraph(1_000, 10);
+
+        LeidenStreamConfig config = defaultConfigBuilder().randomSeed(1337L).build();
+        Leiden first = compute(graph, config);
+        Leiden second = compute(graph, config);
+
+        assertEquals(first.levels(), second.levels());
+        for (int level = 0; level < first.levels(); level++) {
+            assertArrayEquals(first.dendrograms()[level].toArray(), second.dendrograms()[level].toArray());
+        }
+    }
+
+    @Test
+    void shouldFailForNonPositiveRandomness() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> defaultConfigBuilder().randomness(0.0).build()
+        );
+        assertTrue(exception.getMessage().contains("`randomness` must be greater than 0"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("memoryEstimationTuples")
+    void testMemoryEstimation(int concurrency, int levels, long min, long max) {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000L)
+            .maxRelCount(500_000L)
+            .build();
+
+        LeidenStreamConfig config = defaultConfigBuilder()
+            .maxLevels(levels)
+            .includeIntermediateCommunities(false)
+            .build();
+
+        MemoryTree memoryTree = new LeidenFactory<>().memoryEstimation(config).estimate(dimensions, concurrency);
+        assertEquals(min, memoryTree.memoryUsage().min);
+        assertEquals(max, memoryTree.memoryUsage().max);
+    }
+
+    static Stream<Arguments> memoryEstimationTuples() {
+        return Stream.of(
+            arguments(1, 1, 16014401L, 44676872L),
+            arguments(1, 10, 16014401L, 51877232L),
+            arguments(4, 1, 16016081L, 79084616L),
+            arguments(4, 10, 16016081L, 86284976L)
+        );
+    }
+
+    private Leiden compute(Graph graph, LeidenBaseConfig config) {
+        return new Leiden(
+            graph,
+            config,
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.EMPTY
+        ).compute();
+    }
+
+    private static Graph randomGraph(int nodeCount, int averageDegree) {
+        return randomGraph(nodeCount, averageDegree, RelationshipDistribution.POWER_LAW, 42L);
+    }
+
+    private static Graph randomGraph(
+        int nodeCount,
+        int averageDegree,
+        RelationshipDistribution distribution,
+        long seed
+    ) {
+        return new RandomGraphGenerator(
+            nodeCount,
+            averageDegree,
+            distribution,
+            seed,
+            Optional.empty(),
+            Aggregation.NONE,
+            Orientation.UNDIRECTED,
+            AllowSelfLoops.NO,
+            AllocationTracker.EMPTY
+        ).generate();
+    }
+
+    private static double modularity(Graph graph, HugeLongArray communities) {
+        Map<Long, Double> communityVolumes = new HashMap<>();
+        double[] internalWeight = {0.0D};
+        double[] totalWeight = {0.0D};
+        graph.forEachNode(nodeId -> {
+            long community = communities.get(nodeId);
+            graph.forEachRelationship(nodeId, 1.0D, (source, target, weight) -> {
+                totalWeight[0] += weight;
+                communityVolumes.merge(community, weight, Double::sum);
+                if (communities.get(target) == community) {
+                    internalWeight[0] += weight;
+                }
+                return true;
+            });
+            return true;
+        });
+
+        double expected = 0.0D;
+        for (double volume : communityVolumes.values()) {
+            expected += volume * volume;
+        }
+        return internalWeight[0] / totalWeight[0] - expected / (totalWeight[0] * totalWeight[0]);
+    }
+
+    /**
+     * Asserts that every community induces a connected subgraph.
+     */
+    private static void assertConnected(Graph graph, HugeLongArray communities) {
+        assertEquals(Optional.empty(), disconnectedCommunity(graph, communities));
+    }
+
+    private static void assertDisconnected(Graph graph, HugeLongArray communities) {
+        assertTrue(disconnectedCommunity(graph, communities).isPresent());
+    }
+
+    private static Optional<String> disconnectedCommunity(Graph graph, HugeLongArray communities) {
+        long nodeCount = graph.nodeCount();
+        boolean[] visited = new boolean[Math.toIntExact(nodeCount)];
+        LongDoubleHashMap communitySizes = new LongDoubleHashMap();
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            communitySizes.addTo(communities.get(nodeId), 1);
+        }
+
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            if (visited[(int) nodeId]) {
+                continue;
+            }
+            long community = communities.get(nodeId);
+            long reached = 0;
+            LongArrayDeque queue = new LongArrayDeque();
+            queue.addLast(nodeId);
+            visited[(int) nodeId] = true;
+            while (!queue.isEmpty()) {
+                long node = queue.removeFirst();
+                reached++;
+                graph.forEachRelationship(node, (source, target) -> {
+                    if (!visited[(int) target] && communities.get(target) == community) {
+                        visited[(int) target] = true;
+                        queue.addLast(target);
+                    }
+                    return true;
+                });
+            }
+            if ((long) communitySizes.get(community) != reached) {
+                return Optional.of("community " + community + " is disconnected");
+            }
+        }
+        return Optional.empty();
+    }
+}
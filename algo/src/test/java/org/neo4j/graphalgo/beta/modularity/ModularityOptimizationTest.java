@@ -283,9 +283,9 @@ class ModularityOptimizationTest extends AlgoTestBase {
 
     static Stream<Arguments> memoryEstimationTuples() {
         return Stream.of(
-            arguments(1, 5614080, 8413112),
-            arguments(4, 5617368, 14413376),
-            arguments(42, 5659016, 90416720)
+            arguments(1, 6413392, 8013424),
+            arguments(4, 6414232, 8014264),
+            arguments(42, 6424872, 8024904)
         );
     }
 }
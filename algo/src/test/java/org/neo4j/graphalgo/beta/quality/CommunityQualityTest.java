@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.quality;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.AlgoTestBase;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.beta.modularity.ModularityOptimization;
+import org.neo4j.graphalgo.config.RandomGraphGeneratorConfig.AllowSelfLoops;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.core.ProcedureConstants.TOLERANCE_DEFAULT;
+
+class CommunityQualityTest extends AlgoTestBase {
+
+    // two triangles that are connected by a single relationship
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {community: 0})" +
+        ", (b:Node {community: 0})" +
+        ", (c:Node {community: 0})" +
+        ", (d:Node {community: 1})" +
+        ", (e:Node {community: 1})" +
+        ", (f:Node {community: 1})" +
+        ", (a)-[:TYPE {weight: 1.0}]->(b)" +
+        ", (b)-[:TYPE {weight: 1.0}]->(c)" +
+        ", (c)-[:TYPE {weight: 1.0}]->(a)" +
+        ", (d)-[:TYPE {weight: 1.0}]->(e)" +
+        ", (e)-[:TYPE {weight: 1.0}]->(f)" +
+        ", (f)-[:TYPE {weight: 1.0}]->(d)" +
+        ", (c)-[:TYPE {weight: 3.0}]->(d)";
+
+    @ParameterizedTest(name = "concurrency = {0}")
+    @ValueSource(ints = {1, 4})
+    void shouldEvaluateUndirectedGraph(int concurrency) {
+        runQuery(DB_CYPHER);
+        Graph graph = loadGraph(Orientation.UNDIRECTED, false);
+
+        CommunityQuality quality = run(graph, configBuilder().concurrency(concurrency).build());
+
+        // 2 * (3 / 7 - (7 / 14)^2)
+        assertEquals(5.0 / 14.0, quality.modularity(), 1e-9);
+        assertEquals(2, quality.communityCount());
+        assertEquals(6, quality.internalRelationshipCount());
+        assertEquals(1, quality.externalRelationshipCount());
+
+        for (long community = 0; community < quality.communityCount(); community++) {
+            assertEquals(community, quality.communityId(community));
+            assertEquals(3, quality.size(community));
+            assertEquals(3, quality.internalRelationshipCount(community));
+            assertEquals(1, quality.externalRelationshipCount(community));
+            assertEquals(1.0 / 7.0, quality.conductance(community), 1e-9);
+        }
+    }
+
+    @Test
+    void shouldEvaluateWeightedGraph() {
+        runQuery(DB_CYPHER);
+        Graph graph = loadGraph(Orientation.UNDIRECTED, true);
+
+        CommunityQuality quality = run(graph, configBuilder().relationshipWeightProperty("weight").build());
+
+        // 2 * (6 / 18 - (9 / 18)^2)
+        assertEquals(1.0 / 6.0, quality.modularity(), 1e-9);
+        assertEquals(1.0 / 3.0, quality.conductance(0), 1e-9);
+        assertEquals(1.0 / 3.0, quality.conductance(1), 1e-9);
+        assertEquals(3, quality.internalRelationshipCount(0));
+    }
+
+    @Test
+    void shouldEvaluateDirectedGraph() {
+        runQuery(DB_CYPHER);
+        Graph graph = loadGraph(Orientation.NATURAL, false);
+
+        CommunityQuality quality = run(graph, configBuilder().build());
+
+        // 3 / 7 - 4 * 3 / 49 + 3 / 7 - 3 * 4 / 49
+        assertEquals(18.0 / 49.0, quality.modularity(), 1e-9);
+        assertEquals(6, quality.internalRelationshipCount());
+        assertEquals(1, quality.externalRelationshipCount());
+        assertEquals(1, quality.externalRelationshipCount(0));
+        assertEquals(0, quality.externalRelationshipCount(1));
+        // cut of 1 over min(4, 7 - 4)
+        assertEquals(1.0 / 3.0, quality.conductance(0), 1e-9);
+        assertEquals(0.0, quality.conductance(1), 1e-9);
+    }
+
+    @Test
+    void shouldPutNodesWithoutCommunityIntoCommunitiesOfTheirOwn() {
+        runQuery(DB_CYPHER + ", (g:Node), (h:Node), (g)-[:TYPE {weight: 1.0}]->(a)");
+        Graph graph = loadGraph(Orientation.UNDIRECTED, false);
+
+        CommunityQuality quality = run(graph, configBuilder().build());
+
+        assertEquals(4, quality.communityCount());
+        for (long community = 2; community < quality.communityCount(); community++) {
+            assertTrue(quality.communityId(community) > 1);
+            assertEquals(1, quality.size(community));
+            assertEquals(0, quality.internalRelationshipCount(community));
+        }
+        assertEquals(2, quality.externalRelationshipCount());
+    }
+
+    @Test
+    void shouldComputeModularityOfModularityOptimizationCommunities() {
+        Graph graph = new RandomGraphGenerator(
+            10_000,
+            5,
+            RelationshipDistribution.POWER_LAW,
+            42L,
+            Optional.empty(),
+            Aggregation.NONE,
+            Orientation.UNDIRECTED,
+            AllowSelfLoops.NO,
+            AllocationTracker.EMPTY
+        ).generate();
+
+        ModularityOptimization modularityOptimization = new ModularityOptimization(
+            graph,
+            10,
+            TOLERANCE_DEFAULT,
+            null,
+            4,
+            10_000,
+            Pools.DEFAULT,
+            progressLogger,
+            AllocationTracker.EMPTY
+        );
+        modularityOptimization.compute();
+
+        CommunityQuality quality = new CommunityQuality(
+            graph,
+            modularityOptimization::getCommunityId,
+            configBuilder().concurrency(4).build(),
+            Pools.DEFAULT,
+            progressLogger,
+            AllocationTracker.EMPTY
+        ).compute();
+
+        // ModularityOptimization derives its own modularity from influences that are updated while nodes move,
+        // so the modularity of its communities is computed from scratch instead
+        Map<Long, Double> internalWeights = new HashMap<>();
+        Map<Long, Double> totalWeights = new HashMap<>();
+        graph.forEachNode(nodeId -> {
+            long community = modularityOptimization.getCommunityId(nodeId);
+            graph.forEachRelationship(nodeId, (source, target) -> {
+                totalWeights.merge(community, 1.0, Double::sum);
+                if (modularityOptimization.getCommunityId(target) == community) {
+                    internalWeights.merge(community, 1.0, Double::sum);
+                }
+                return true;
+            });
+            return true;
+        });
+        double totalWeight = graph.relationshipCount();
+        double expected = 0.0;
+        for (Map.Entry<Long, Double> entry : totalWeights.entrySet()) {
+            double internalWeight = internalWeights.getOrDefault(entry.getKey(), 0.0);
+            expected += internalWeight / totalWeight - Math.pow(entry.getValue() / totalWeight, 2);
+        }
+
+        assertEquals(expected, quality.modularity(), 1e-9);
+    }
+
+    @Test
+    void shouldFailOnMissingCommunityProperty() {
+        runQuery(DB_CYPHER);
+        Graph graph = loadGraph(Orientation.UNDIRECTED, false);
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new CommunityQualityFactory<>().build(
+                graph,
+                configBuilder().communityProperty("foo").build(),
+                AllocationTracker.EMPTY,
+                progressLogger.getLog()
+            )
+        );
+        assertTrue(exception.getMessage().contains("Community property `foo` not found"));
+    }
+
+    @Test
+    void shouldComputeMemoryEstimation() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder().nodeCount(100_000L).build();
+
+        MemoryTree memoryTree = new CommunityQualityFactory<>()
+            .memoryEstimation(configBuilder().build())
+            .estimate(dimensions, 4);
+
+        // incoming weights are only tracked for directed graphs
+        assertTrue(memoryTree.memoryUsage().max - memoryTree.memoryUsage().min >= 8 * 100_000L);
+        assertTrue(memoryTree.memoryUsage().min > 8 * 800_000L);
+    }
+
+    private Graph loadGraph(Orientation orientation, boolean weighted) {
+        StoreLoaderBuilder loader = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .addRelationshipType("TYPE")
+            .globalOrientation(orientation)
+            .addNodeProperty(PropertyMapping.of("community", -1.0));
+        if (weighted) {
+            loader.addRelationshipProperty(PropertyMapping.of("weight", 1.0));
+        }
+        return loader.build().graph(NativeFactory.class);
+    }
+
+    private static ImmutableCommunityQualityStreamConfig.Builder configBuilder() {
+        return ImmutableCommunityQualityStreamConfig.builder().communityProperty("community");
+    }
+
+    private CommunityQuality run(Graph graph, CommunityQualityBaseConfig config) {
+        return new CommunityQualityFactory<>()
+            .build(graph, config, AllocationTracker.EMPTY, progressLogger.getLog())
+            .compute();
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.scc;
+
+import com.carrotsearch.hppc.LongArrayList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.AlgoTestBase;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.config.RandomGraphGeneratorConfig.AllowSelfLoops;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.IncomingRelationships;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class StronglyConnectedComponentsTest extends AlgoTestBase {
+
+    @ValueSource(ints = {1, 4})
+    @ParameterizedTest
+    void shouldComputeComponents(int concurrency) {
+        runQuery("CREATE" +
+                 "  (a:Node), (b:Node), (c:Node), (d:Node), (e:Node), (f:Node)" +
+                 ", (g:Node), (h:Node), (i:Node), (j:Node), (k:Node)" +
+                 // three cycles
+                 ", (a)-[:REL]->(b), (b)-[:REL]->(c), (c)-[:REL]->(a)" +
+                 ", (d)-[:REL]->(e), (e)-[:REL]->(f), (f)-[:REL]->(d)" +
+                 ", (g)-[:REL]->(h), (h)-[:REL]->(i), (i)-[:REL]->(g)" +
+                 // connected in one direction only
+                 ", (c)-[:REL]->(d), (f)-[:REL]->(g)" +
+                 // a chain with a self loop and an isolated node
+                 ", (i)-[:REL]->(j), (j)-[:REL]->(j)");
+
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .build()
+            .graph(NativeFactory.class);
+
+        StronglyConnectedComponents scc = new StronglyConnectedComponents(
+            graph,
+            concurrency,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY,
+            ProgressLogger.NULL_LOGGER
+        );
+        HugeAtomicLongArray components = scc.compute();
+
+        assertEquals(components.get(0), components.get(1));
+        assertEquals(components.get(0), components.get(2));
+        assertEquals(components.get(3), components.get(4));
+        assertEquals(components.get(3), components.get(5));
+        assertEquals(components.get(6), components.get(7));
+        assertEquals(components.get(6), components.get(8));
+        assertNotEquals(components.get(0), components.get(3));
+        assertNotEquals(components.get(3), components.get(6));
+        assertEquals(9, components.get(9));
+        assertEquals(10, components.get(10));
+        assertEquals(5, scc.componentCount());
+    }
+
+    static Stream<Arguments> randomGraphs() {
+        return Stream.of(1, 4, 8).flatMap(concurrency -> Stream.of(
+            arguments(Orientation.NATURAL, RelationshipDistribution.UNIFORM, 1L, concurrency),
+            arguments(Orientation.NATURAL, RelationshipDistribution.UNIFORM, 2L, concurrency),
+            arguments(Orientation.NATURAL, RelationshipDistribution.POWER_LAW, 3L, concurrency),
+            arguments(Orientation.REVERSE, RelationshipDistribution.RANDOM, 2L, concurrency),
+            arguments(Orientation.UNDIRECTED, RelationshipDistribution.UNIFORM, 1L, concurrency)
+        ));
+    }
+
+    @MethodSource("randomGraphs")
+    @ParameterizedTest
+    void shouldEqualSequentialComponents(
+        Orientation orientation,
+        RelationshipDistribution distribution,
+        long averageDegree,
+        int concurrency
+    ) {
+        Graph graph = new RandomGraphGenerator(
+            5_000,
+            averageDegree,
+            distribution,
+            42L,
+            Optional.empty(),
+            Aggregation.NONE,
+            orientation,
+            AllowSelfLoops.YES,
+            AllocationTracker.EMPTY
+        ).generate();
+
+        StronglyConnectedComponents scc = new StronglyConnectedComponents(
+            graph,
+            concurrency,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY,
+            ProgressLogger.NULL_LOGGER
+        );
+        HugeAtomicLongArray components = scc.compute();
+
+        int[] expected = kosaraju(graph);
+        Map<Integer, Long> expectedToActual = new HashMap<>();
+        Map<Long, Integer> actualToExpected = new HashMap<>();
+        for (int nodeId = 0; nodeId < expected.length; nodeId++) {
+            long component = components.get(nodeId);
+            int expectedComponent = expected[nodeId];
+            assertEquals(component, (long) expectedToActual.computeIfAbsent(expectedComponent, c -> component), "component of node " + nodeId);
+            assertEquals(expectedComponent, (int) actualToExpected.computeIfAbsent(component, c -> expectedComponent), "component of node " + nodeId);
+            assertEquals(component, components.get(component), "component id must be a member of the component");
+        }
+        assertEquals(expectedToActual.size(), scc.componentCount());
+    }
+
+    @Test
+    void shouldHandleEmptyGraph() {
+        Graph graph = new StoreLoaderBuilder().api(db).build().graph(NativeFactory.class);
+
+        StronglyConnectedComponents scc = new StronglyConnectedComponents(
+            graph,
+            4,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY,
+            ProgressLogger.NULL_LOGGER
+        );
+
+        assertEquals(0, scc.compute().size());
+        assertEquals(0, scc.componentCount());
+    }
+
+    @ValueSource(longs = {1L, 100L, 10_000_000_000L})
+    @ParameterizedTest
+    void shouldComputeMemoryEstimation(long nodeCount) {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(nodeCount)
+            .maxRelCount(nodeCount * 4)
+            .build();
+
+        MemoryRange actual = new StronglyConnectedComponentsFactory<>()
+            .memoryEstimation(null)
+            .estimate(dimensions, 4)
+            .memoryUsage();
+
+        MemoryRange expected = MemoryRange.of(
+            MemoryUsage.sizeOfInstance(StronglyConnectedComponents.class) +
+            3 * HugeAtomicLongArray.memoryEstimation(nodeCount) +
+            3 * HugeLongArray.memoryEstimation(nodeCount)
+        ).add(IncomingRelationships.memoryEstimation().estimate(dimensions, 4).memoryUsage());
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Sequential Kosaraju: order the nodes by the finishing time of a depth first search
+     * and collect the components with a search on the reversed graph in reverse finishing order.
+     */
+    private static int[] kosaraju(Graph graph) {
+        int nodeCount = Math.toIntExact(graph.nodeCount());
+        LongArrayList[] outgoing = new LongArrayList[nodeCount];
+        LongArrayList[] incoming = new LongArrayList[nodeCount];
+        for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+            outgoing[nodeId] = new LongArrayList();
+            incoming[nodeId] = new LongArrayList();
+        }
+        graph.forEachNode(nodeId -> {
+            graph.forEachRelationship(nodeId, (source, target) -> {
+                outgoing[(int) source].add(target);
+                incoming[(int) target].add(source);
+                return true;
+            });
+            return true;
+        });
+
+        boolean[] visited = new boolean[nodeCount];
+        int[] finishOrder = new int[nodeCount];
+        int finished = 0;
+        int[] nextEdge = new int[nodeCount];
+        Deque<Integer> stack = new ArrayDeque<>();
+        for (int start = 0; start < nodeCount; start++) {
+            if (visited[start]) {
+                continue;
+            }
+            visited[start] = true;
+            stack.push(start);
+            while (!stack.isEmpty()) {
+                int nodeId = stack.peek();
+                if (nextEdge[nodeId] < outgoing[nodeId].size()) {
+                    int target = (int) outgoing[nodeId].get(nextEdge[nodeId]++);
+                    if (!visited[target]) {
+                        visited[target] = true;
+                        stack.push(target);
+                    }
+                } else {
+                    stack.pop();
+                    finishOrder[finished++] = nodeId;
+                }
+            }
+        }
+
+        int[] components = new int[nodeCount];
+        Arrays.fill(components, -1);
+        for (int index = nodeCount - 1; index >= 0; index--) {
+            int root = finishOrder[index];
+            if (components[root] != -1) {
+                continue;
+            }
+            components[root] = root;
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                int nodeId = stack.pop();
+                for (int i = 0; i < incoming[nodeId].size(); i++) {
+                    int source = (int) incoming[nodeId].get(i);
+                    if (components[source] == -1) {
+                        components[source] = root;
+                        stack.push(source);
+                    }
+                }
+            }
+        }
+        return components;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.slpa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.AlgoTestBase;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.config.RandomGraphGeneratorConfig.AllowSelfLoops;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpeakerListenerLabelPropagationTest extends AlgoTestBase {
+
+    // two cliques, x is connected to both of them
+    private static final String DB_CYPHER =
+        "UNWIND range(0, 4) AS i CREATE (:Node {clique: 0, i: i})" +
+        " WITH count(*) AS ignore UNWIND range(0, 4) AS i CREATE (:Node {clique: 1, i: i})" +
+        " WITH count(*) AS ignore CREATE (:Node {clique: -1})" +
+        " WITH count(*) AS ignore MATCH (a:Node), (b:Node) WHERE a.clique = b.clique AND a.clique >= 0 AND id(a) < id(b) CREATE (a)-[:TYPE]->(b)" +
+        " WITH count(*) AS ignore MATCH (x:Node {clique: -1}), (a:Node) WHERE a.i < 2 CREATE (x)-[:TYPE]->(a)";
+
+    @Test
+    void shouldFindOverlappingCommunities() {
+        runQuery(DB_CYPHER);
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .addRelationshipType("TYPE")
+            .globalOrientation(Orientation.UNDIRECTED)
+            .build()
+            .graph(NativeFactory.class);
+
+        SpeakerListenerLabelPropagation slpa = compute(graph, defaultConfigBuilder().build());
+
+        for (long nodeId = 0; nodeId < 5; nodeId++) {
+            assertArrayEquals(new long[]{3}, slpa.communities(nodeId));
+        }
+        for (long nodeId = 5; nodeId < 10; nodeId++) {
+            assertArrayEquals(new long[]{5}, slpa.communities(nodeId));
+        }
+        assertArrayEquals(new long[]{3, 5}, slpa.communities(10));
+        assertEquals(2L, slpa.communityCount());
+        assertEquals(20L, slpa.ranIterations());
+    }
+
+    @Test
+    void shouldKeepOwnCommunityForIsolatedNodes() {
+        runQuery("CREATE (a:Node), (b:Node), (c:Node), (b)-[:TYPE]->(c)");
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .addRelationshipType("TYPE")
+            .globalOrientation(Orientation.UNDIRECTED)
+            .build()
+            .graph(NativeFactory.class);
+
+        SpeakerListenerLabelPropagation slpa = compute(graph, defaultConfigBuilder().build());
+
+        assertArrayEquals(new long[]{0}, slpa.communities(0));
+        assertArrayEquals(new double[]{1.0}, slpa.strengths(0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.05, 0.2, 0.5})
+    void shouldOnlyReportStrongEnoughCommunities(double minAssociationStrength) {
+        Graph graph = randomGraph(1_000, 5);
+
+        SpeakerListenerLabelPropagation slpa = compute(
+            graph,
+            defaultConfigBuilder().minAssociationStrength(minAssociationStrength).build()
+        );
+
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            long[] communities = slpa.communities(nodeId);
+            double[] strengths = slpa.strengths(nodeId);
+            assertEquals(communities.length, strengths.length);
+            assertTrue(communities.length >= 1);
+            assertTrue(communities.length <= Math.floor(1.0 / minAssociationStrength) || communities.length == 1);
+
+            double totalStrength = 0.0;
+            for (int i = 0; i < communities.length; i++) {
+                if (communities.length > 1) {
+                    assertTrue(strengths[i] >= minAssociationStrength);
+                }
+                if (i > 0) {
+                    assertTrue(communities[i - 1] < communities[i]);
+                }
+                totalStrength += strengths[i];
+            }
+            assertTrue(totalStrength <= 1.0 + 1E-9);
+        }
+    }
+
+    @Test
+    void shouldNotDependOnConcurrency() {
+        Graph graph = randomGraph(10_000, 5);
+
+        SpeakerListenerLabelPropagation sequential = compute(graph, defaultConfigBuilder().build());
+        SpeakerListenerLabelPropagation parallel = compute(graph, defaultConfigBuilder().concurrency(4).build());
+
+        assertEquals(sequential.communityCount(), parallel.communityCount());
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            assertArrayEquals(sequential.communities(nodeId), parallel.communities(nodeId));
+            assertArrayEquals(sequential.strengths(nodeId), parallel.strengths(nodeId));
+        }
+    }
+
+    @Test
+    void shouldComputeMemoryEstimation() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder().nodeCount(100_000L).build();
+
+        MemoryRange defaultEstimate = new SpeakerListenerLabelPropagationFactory<>()
+            .memoryEstimation(defaultConfigBuilder().build())
+            .estimate(dimensions, 4)
+            .memoryUsage();
+        MemoryRange moreIterations = new SpeakerListenerLabelPropagationFactory<>()
+            .memoryEstimation(defaultConfigBuilder().maxIterations(40).build())
+            .estimate(dimensions, 4)
+            .memoryUsage();
+
+        assertEquals(19_214_672L, defaultEstimate.min);
+        assertEquals(25_614_672L, defaultEstimate.max);
+        // the label memory grows with the number of iterations
+        assertTrue(moreIterations.min - defaultEstimate.min >= 20 * 8 * 100_000L);
+    }
+
+    @Test
+    void shouldValidateMinAssociationStrength() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> defaultConfigBuilder().minAssociationStrength(0.0).build()
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> defaultConfigBuilder().minAssociationStrength(1.5).build()
+        );
+    }
+
+    private static Graph randomGraph(int nodeCount, int averageDegree) {
+        return new RandomGraphGenerator(
+            nodeCount,
+            averageDegree,
+            RelationshipDistribution.POWER_LAW,
+            42L,
+            Optional.empty(),
+            Aggregation.NONE,
+            Orientation.UNDIRECTED,
+            AllowSelfLoops.NO,
+            AllocationTracker.EMPTY
+        ).generate();
+    }
+
+    private static ImmutableSpeakerListenerLabelPropagationStreamConfig.Builder defaultConfigBuilder() {
+        return ImmutableSpeakerListenerLabelPropagationStreamConfig.builder().concurrency(1);
+    }
+
+    private static SpeakerListenerLabelPropagation compute(Graph graph, SpeakerListenerLabelPropagationStreamConfig config) {
+        return new SpeakerListenerLabelPropagation(
+            graph,
+            config,
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.EMPTY
+        ).compute();
+    }
+}
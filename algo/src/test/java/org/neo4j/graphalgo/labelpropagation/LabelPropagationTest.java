@@ -25,8 +25,11 @@ import com.carrotsearch.hppc.IntObjectMap;
 import com.carrotsearch.hppc.cursors.IntObjectCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.CypherLoaderBuilder;
+import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.TestLog;
@@ -34,14 +37,19 @@ import org.neo4j.graphalgo.TestProgressLogger;
 import org.neo4j.graphalgo.TestSupport.AllGraphTypesTest;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.GraphStoreFactory;
+import org.neo4j.graphalgo.beta.k1coloring.ImmutableK1ColoringStreamConfig;
+import org.neo4j.graphalgo.beta.k1coloring.K1ColoringFactory;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.loading.CypherFactory;
 import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.collection.SparseLongDoubleAccumulator;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 
 import java.util.Arrays;
@@ -192,6 +200,128 @@ final class LabelPropagationTest extends AlgoTestBase {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldClusterSemiSynchronouslyOnUndirectedGraph(int concurrency) {
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("User")
+            .addRelationshipType("FOLLOW")
+            .globalOrientation(Orientation.UNDIRECTED)
+            .build()
+            .graph(NativeFactory.class);
+
+        LabelPropagation lp = new LabelPropagation(
+            graph,
+            ImmutableLabelPropagationStreamConfig.builder()
+                .semiSynchronous(true)
+                .concurrency(concurrency)
+                .build(),
+            Pools.DEFAULT,
+            progressLogger,
+            AllocationTracker.EMPTY
+        );
+        HugeLongArray labels = lp.compute().labels();
+
+        assertTrue(lp.didConverge());
+        assertArrayEquals(new long[]{1, 1, 1, 4, 4, 1}, labels.toArray());
+    }
+
+    @AllGraphTypesTest
+    void shouldClusterSemiSynchronouslyOnDirectedGraph(Class<? extends GraphStoreFactory> graphImpl) {
+        Graph graph = loadGraph(graphImpl);
+
+        LabelPropagation lp = new LabelPropagation(
+            graph,
+            ImmutableLabelPropagationStreamConfig.builder().semiSynchronous(true).build(),
+            Pools.DEFAULT,
+            progressLogger,
+            AllocationTracker.EMPTY
+        );
+        HugeLongArray labels = lp.compute().labels();
+
+        assertTrue(lp.didConverge());
+        IntObjectMap<IntArrayList> cluster = groupByPartitionInt(labels);
+        assertEquals(2L, cluster.size());
+        for (IntObjectCursor<IntArrayList> cursor : cluster) {
+            int[] ids = cursor.value.toArray();
+            Arrays.sort(ids);
+            if (ids[0] == 0) {
+                assertArrayEquals(new int[]{0, 1, 5}, ids);
+            } else {
+                assertArrayEquals(new int[]{2, 3, 4}, ids);
+            }
+        }
+    }
+
+    @Test
+    void shouldOnlyRevisitNodesWithChangedNeighbours() {
+        // two triangles joined by a path
+        runQuery(
+            "CREATE" +
+            "  (a:Node), (b:Node), (c:Node), (d:Node), (e:Node), (f:Node), (g:Node), (h:Node)" +
+            ", (a)-[:REL]->(b), (a)-[:REL]->(c), (b)-[:REL]->(c)" +
+            ", (c)-[:REL]->(d), (d)-[:REL]->(e)" +
+            ", (e)-[:REL]->(f), (e)-[:REL]->(g), (f)-[:REL]->(g), (g)-[:REL]->(h)"
+        );
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .addRelationshipType("REL")
+            .globalOrientation(Orientation.UNDIRECTED)
+            .build()
+            .graph(NativeFactory.class);
+
+        var testLogger = new TestProgressLogger(graph.relationshipCount(), "LabelPropagation", 1);
+        LabelPropagation lp = new LabelPropagation(
+            graph,
+            ImmutableLabelPropagationStreamConfig.builder().semiSynchronous(true).concurrency(1).build(),
+            Pools.DEFAULT,
+            testLogger,
+            AllocationTracker.EMPTY
+        );
+        lp.compute();
+
+        assertTrue(lp.didConverge());
+        assertEquals(3L, lp.ranIterations());
+        assertTrue(testLogger.containsMessage(TestLog.INFO, ":: Iteration 1 :: Start (8 active nodes)"));
+        // only the nodes around the path between the cliques are revisited
+        assertTrue(testLogger.containsMessage(TestLog.INFO, ":: Iteration 3 :: Start (3 active nodes)"));
+    }
+
+    @Test
+    void shouldEstimateSemiSynchronousState() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder().nodeCount(100_000L).build();
+        LabelPropagationStreamConfig config = ImmutableLabelPropagationStreamConfig.builder()
+            .semiSynchronous(true)
+            .build();
+
+        MemoryRange semiSynchronous = new LabelPropagationFactory<>(config)
+            .memoryEstimation(config)
+            .estimate(dimensions, 1)
+            .memoryUsage();
+        MemoryRange asynchronous = new LabelPropagationFactory<>(defaultConfig())
+            .memoryEstimation(defaultConfig())
+            .estimate(dimensions, 1)
+            .memoryUsage();
+
+        MemoryRange coloring = new K1ColoringFactory<>()
+            .memoryEstimation(ImmutableK1ColoringStreamConfig.builder().build())
+            .estimate(dimensions, 1)
+            .memoryUsage();
+        MemoryRange votes = SparseLongDoubleAccumulator.memoryEstimation().estimate(dimensions, 1).memoryUsage();
+
+        long expectedAdditional = 2 * HugeLongArray.memoryEstimation(100_000L)
+                                  + MemoryUsage.sizeOfBitset(100_000L)
+                                  + HugeAtomicBitSet.memoryEstimation(100_000L)
+                                  + MemoryUsage.sizeOfInstance(SemiSynchronousPropagation.class)
+                                  + MemoryUsage.sizeOfInstance(SemiSynchronousPropagation.Propagation.class)
+                                  + MemoryUsage.sizeOfInstance(ComputeStepConsumer.class)
+                                  + MemoryUsage.sizeOfLongArray(1024);
+        assertEquals(asynchronous.min + coloring.min + votes.min + expectedAdditional, semiSynchronous.min);
+        assertEquals(asynchronous.max + coloring.max + votes.max + expectedAdditional, semiSynchronous.max);
+    }
+
     private static IntObjectMap<IntArrayList> groupByPartitionInt(HugeLongArray labels) {
         if (labels == null) {
             return null;
@@ -292,15 +422,15 @@ final class LabelPropagationTest extends AlgoTestBase {
             .memoryUsage();
 
         Map<Integer, Long> minByConcurrency = genericMap(
-            1, 800480L,
-            4, 801560L,
-            42, 815240L
+            1, 800528L,
+            4, 801752L,
+            42, 817256L
         );
 
         Map<Integer, Long> maxByConcurrency = genericMap(
-            1, 4994656L,
-            4, 17578264L,
-            42, 176970632L
+            1, 800528L,
+            4, 801752L,
+            42, 817256L
         );
 
         assertEquals(minByConcurrency.get(concurrency), actual.min, "min");
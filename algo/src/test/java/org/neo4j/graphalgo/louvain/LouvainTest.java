@@ -46,13 +46,17 @@ import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.internal.helpers.collection.MapUtil;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assumptions.assumeFalse;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -274,6 +278,72 @@ class LouvainTest extends AlgoTestBase {
         assertEquals(1, algorithm.levels());
     }
 
+    @Test
+    void shouldMaterializeDendrogramsOnlyOnce() {
+        Graph graph = RandomGraphGenerator.generate(10_000, 5, RelationshipDistribution.POWER_LAW, 42L);
+        AllocationTracker tracker = AllocationTracker.create();
+
+        Louvain algorithm = new Louvain(
+            graph,
+            defaultConfigBuilder().concurrency(4).build(),
+            Pools.DEFAULT,
+            progressLogger,
+            tracker
+        ).withTerminationFlag(TerminationFlag.RUNNING_TRUE);
+
+        algorithm.compute();
+
+        HugeLongArray finalDendrogram = algorithm.finalDendrogram();
+        HugeLongArray[] dendrograms = algorithm.dendrograms();
+        long tracked = tracker.tracked();
+
+        assertSame(finalDendrogram, dendrograms[dendrograms.length - 1]);
+        assertSame(finalDendrogram, algorithm.finalDendrogram());
+        assertArrayEquals(dendrograms, algorithm.dendrograms());
+        assertEquals(tracked, tracker.tracked());
+    }
+
+    @Test
+    void shouldResolveCommunitiesOfAllLevels() {
+        Graph graph = RandomGraphGenerator.generate(10_000, 5, RelationshipDistribution.POWER_LAW, 42L);
+
+        Louvain algorithm = new Louvain(
+            graph,
+            defaultConfigBuilder().concurrency(4).build(),
+            Pools.DEFAULT,
+            progressLogger,
+            AllocationTracker.EMPTY
+        ).withTerminationFlag(TerminationFlag.RUNNING_TRUE);
+
+        algorithm.compute();
+
+        HugeLongArray[] dendrogram = algorithm.dendrograms();
+        HugeLongArray finalDendrogram = algorithm.finalDendrogram();
+        assertEquals(algorithm.levels(), dendrogram.length);
+
+        // communities of a level must be nested within the communities of the next level
+        List<Map<Long, Long>> parents = new ArrayList<>();
+        for (int level = 1; level < dendrogram.length; level++) {
+            parents.add(new HashMap<>());
+        }
+
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            long[] communities = algorithm.getCommunities(nodeId);
+            assertEquals(dendrogram.length, communities.length);
+            for (int level = 0; level < communities.length; level++) {
+                assertEquals(dendrogram[level].get(nodeId), communities[level]);
+            }
+            for (int level = 1; level < communities.length; level++) {
+                Long parent = parents.get(level - 1).putIfAbsent(communities[level - 1], communities[level]);
+                if (parent != null) {
+                    assertEquals(parent, communities[level]);
+                }
+            }
+            assertEquals(finalDendrogram.get(nodeId), algorithm.getCommunity(nodeId));
+            assertEquals(communities[communities.length - 1], algorithm.getCommunity(nodeId));
+        }
+    }
+
     @ParameterizedTest
     @MethodSource("memoryEstimationTuples")
     void testMemoryEstimation(int concurrency, int levels, long min, long max) {
@@ -374,12 +444,12 @@ class LouvainTest extends AlgoTestBase {
 
     static Stream<Arguments> memoryEstimationTuples() {
         return Stream.of(
-            arguments(1, 1, 6414177, 23941624),
-            arguments(1, 10, 6414177, 31141984),
-            arguments(4, 1, 6417465, 29746000),
-            arguments(4, 10, 6417465, 36946360),
-            arguments(42, 1, 6459113, 105719488),
-            arguments(42, 10, 6459113, 112919848)
+            arguments(1, 1, 9613713, 32509144),
+            arguments(1, 10, 9613713, 46909864),
+            arguments(4, 1, 9614553, 49615072),
+            arguments(4, 10, 9614553, 64015792),
+            arguments(42, 1, 9625193, 268741552),
+            arguments(42, 10, 9625193, 283142272)
         );
     }
 
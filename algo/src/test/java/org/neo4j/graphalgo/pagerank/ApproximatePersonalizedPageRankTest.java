@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import com.carrotsearch.hppc.LongDoubleMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.AlgoTestBase;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.result.CentralityResult;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ApproximatePersonalizedPageRankTest extends AlgoTestBase {
+
+    private static final String DB_CYPHER =
+        "UNWIND range(0, 499) AS id " +
+        "CREATE (:Node {id: id})";
+
+    private static final String REL_CYPHER =
+        "MATCH (a:Node), (b:Node) " +
+        "WHERE b.id = (a.id * 7) % 500 OR b.id = (a.id * 13 + 1) % 500 OR (a.id % 5 = 0 AND b.id = (a.id + 3) % 500) " +
+        "CREATE (a)-[:REL {weight: 1 + (a.id + b.id) % 4}]->(b)";
+
+    private static final long[] SOURCE_NODES = {0, 42, 123, 321};
+
+    private Graph graph;
+
+    @BeforeEach
+    void setUp() {
+        runQuery(DB_CYPHER);
+        runQuery(REL_CYPHER);
+        graph = new StoreLoaderBuilder()
+            .api(db)
+            .globalOrientation(Orientation.NATURAL)
+            .build()
+            .graph(NativeFactory.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldApproximatePersonalizedPageRank(int concurrency) {
+        ApproximatePersonalizedPageRank approximate = new ApproximatePersonalizedPageRank(
+            graph,
+            mappedSourceNodes(),
+            0.85,
+            1e-7,
+            concurrency,
+            Pools.DEFAULT
+        ).compute();
+
+        assertEquals(SOURCE_NODES.length, approximate.sourceNodeCount());
+        for (int i = 0; i < SOURCE_NODES.length; i++) {
+            CentralityResult expected = exactPageRank(graph, PageRankAlgorithmType.NON_WEIGHTED, SOURCE_NODES[i]);
+            LongDoubleMap actual = approximate.scores(i);
+            for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+                assertEquals(expected.score(nodeId), actual.getOrDefault(nodeId, 0.0), 1e-4, "Node#" + nodeId);
+            }
+        }
+    }
+
+    @Test
+    void shouldApproximateWeightedPersonalizedPageRank() {
+        Graph weightedGraph = new StoreLoaderBuilder()
+            .api(db)
+            .globalOrientation(Orientation.NATURAL)
+            .addRelationshipProperty(PropertyMapping.of("weight", 1.0))
+            .build()
+            .graph(NativeFactory.class);
+
+        ApproximatePersonalizedPageRank approximate = new ApproximatePersonalizedPageRank(
+            weightedGraph,
+            LongStream.of(SOURCE_NODES).map(weightedGraph::toMappedNodeId).toArray(),
+            0.85,
+            1e-7,
+            4,
+            Pools.DEFAULT
+        ).compute();
+
+        for (int i = 0; i < SOURCE_NODES.length; i++) {
+            CentralityResult expected = exactPageRank(weightedGraph, PageRankAlgorithmType.WEIGHTED, SOURCE_NODES[i]);
+            CentralityResult unweighted = exactPageRank(weightedGraph, PageRankAlgorithmType.NON_WEIGHTED, SOURCE_NODES[i]);
+            LongDoubleMap actual = approximate.scores(i);
+            double weightedError = 0.0;
+            double unweightedError = 0.0;
+            for (long nodeId = 0; nodeId < weightedGraph.nodeCount(); nodeId++) {
+                double score = actual.getOrDefault(nodeId, 0.0);
+                assertEquals(expected.score(nodeId), score, 1e-4, "Node#" + nodeId);
+                weightedError += Math.abs(expected.score(nodeId) - score);
+                unweightedError += Math.abs(unweighted.score(nodeId) - score);
+            }
+            assertTrue(weightedError < unweightedError);
+        }
+    }
+
+    @Test
+    void shouldOnlyTouchNeighbourhoodAboveEpsilon() {
+        ApproximatePersonalizedPageRank approximate = new ApproximatePersonalizedPageRank(
+            graph,
+            mappedSourceNodes(),
+            0.85,
+            1e-2,
+            1,
+            Pools.DEFAULT
+        ).compute();
+
+        for (int i = 0; i < SOURCE_NODES.length; i++) {
+            LongDoubleMap scores = approximate.scores(i);
+            assertTrue(scores.size() < graph.nodeCount() / 10, "touched " + scores.size() + " nodes");
+            assertTrue(scores.get(approximate.sourceNode(i)) >= 0.15);
+        }
+    }
+
+    @Test
+    void shouldRejectNonPositiveEpsilon() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new ApproximatePersonalizedPageRank(graph, mappedSourceNodes(), 0.85, 0.0, 1, Pools.DEFAULT)
+        );
+    }
+
+    private long[] mappedSourceNodes() {
+        return LongStream.of(SOURCE_NODES).map(graph::toMappedNodeId).toArray();
+    }
+
+    private CentralityResult exactPageRank(Graph graph, PageRankAlgorithmType algorithmType, long sourceNode) {
+        PageRankBaseConfig config = ImmutablePageRankStreamConfig.builder()
+            .maxIterations(100)
+            .tolerance(1e-10)
+            .build();
+        return algorithmType
+            .create(
+                graph,
+                LongStream.of(sourceNode),
+                config,
+                1,
+                Pools.DEFAULT,
+                10,
+                progressLogger,
+                AllocationTracker.EMPTY
+            )
+            .compute()
+            .result();
+    }
+}
@@ -34,6 +34,7 @@ import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.loading.CypherFactory;
 import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.IncomingRelationships;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.result.CentralityResult;
@@ -341,15 +342,15 @@ final class PageRankTest extends AlgoTestBase {
             .memoryUsage();
 
         Map<Integer, Long> minByConcurrency = genericMap(
-            1, 2000416L,
-            4, 3201304L,
-            42, 18451288L
+            1, 2000464L,
+            4, 3201400L,
+            42, 18451992L
         );
 
         Map<Integer, Long> maxByConcurrency = genericMap(
-            1, 2000416L,
-            4, 3201304L,
-            42, 18451288L
+            1, 2000464L,
+            4, 3201400L,
+            42, 18451992L
         );
 
         assertEquals(minByConcurrency.get(concurrency), actual.min);
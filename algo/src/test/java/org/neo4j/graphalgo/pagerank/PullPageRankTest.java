@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.graphalgo.AlgoTestBase;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.IncomingRelationships;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.result.CentralityResult;
+
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.crossArguments;
+import static org.neo4j.graphalgo.TestSupport.toArguments;
+
+final class PullPageRankTest extends AlgoTestBase {
+
+    private static final String DB_CYPHER =
+        "UNWIND range(0, 499) AS id " +
+        "CREATE (:Node {id: id})";
+
+    private static final String REL_CYPHER =
+        "MATCH (a:Node), (b:Node) " +
+        "WHERE b.id = (a.id * 7) % 500 OR b.id = (a.id * 13 + 1) % 500 OR (a.id % 5 = 0 AND b.id = (a.id + 3) % 500) " +
+        "CREATE (a)-[:REL {weight: (a.id + b.id) % 4}]->(b)";
+
+    @BeforeEach
+    void setUp() {
+        runQuery(DB_CYPHER);
+        runQuery(REL_CYPHER);
+    }
+
+    static Stream<Arguments> algorithmsAndOrientations() {
+        return crossArguments(
+            () -> Stream.of(PageRankAlgorithmType.values()).map(Arguments::of),
+            toArguments(() -> Stream.of(Orientation.NATURAL, Orientation.UNDIRECTED)),
+            toArguments(() -> Stream.of(1, 4))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndOrientations")
+    void shouldComputeSameScoresAsPushBasedPageRank(
+        PageRankAlgorithmType algorithmType,
+        Orientation orientation,
+        int concurrency
+    ) {
+        Graph graph = loadGraph(orientation);
+
+        PageRank push = compute(algorithmType, graph, false, concurrency, LongStream.empty());
+        PageRank pull = compute(algorithmType, graph, true, concurrency, LongStream.empty());
+
+        assertScores(graph, push.result(), pull.result());
+    }
+
+    @Test
+    void shouldComputePersonalizedPageRank() {
+        Graph graph = loadGraph(Orientation.NATURAL);
+
+        PageRank push = compute(PageRankAlgorithmType.NON_WEIGHTED, graph, false, 4, LongStream.of(0, 42, 123));
+        PageRank pull = compute(PageRankAlgorithmType.NON_WEIGHTED, graph, true, 4, LongStream.of(0, 42, 123));
+
+        assertScores(graph, push.result(), pull.result());
+    }
+
+    @Test
+    void shouldEstimateMemoryForIncomingRelationships() {
+        var dimensions = ImmutableGraphDimensions.builder().nodeCount(1000L).maxRelCount(10_000L).build();
+        var pushConfig = ImmutablePageRankStreamConfig.builder().build();
+        var pullConfig = ImmutablePageRankStreamConfig.builder().pullBased(true).build();
+
+        MemoryRange push = new PageRankFactory<>().memoryEstimation(pushConfig).estimate(dimensions, 4).memoryUsage();
+        MemoryRange pull = new PageRankFactory<>().memoryEstimation(pullConfig).estimate(dimensions, 4).memoryUsage();
+
+        assertTrue(pull.min > push.min);
+        assertTrue(pull.max - pull.min >= 80_000L);
+    }
+
+    private Graph loadGraph(Orientation orientation) {
+        return new StoreLoaderBuilder()
+            .api(db)
+            .globalOrientation(orientation)
+            .addRelationshipProperty(PropertyMapping.of("weight", 1.0))
+            .build()
+            .graph(NativeFactory.class);
+    }
+
+    private PageRank compute(
+        PageRankAlgorithmType algorithmType,
+        Graph graph,
+        boolean pullBased,
+        int concurrency,
+        LongStream sourceNodeIds
+    ) {
+        PageRankBaseConfig config = ImmutablePageRankStreamConfig.builder()
+            .maxIterations(40)
+            .pullBased(pullBased)
+            .build();
+        return algorithmType
+            .create(
+                graph,
+                sourceNodeIds,
+                config,
+                concurrency,
+                Pools.DEFAULT,
+                10,
+                progressLogger,
+                AllocationTracker.EMPTY
+            )
+            .compute();
+    }
+
+    private static void assertScores(Graph graph, CentralityResult expected, CentralityResult actual) {
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            assertEquals(expected.score(nodeId), actual.score(nodeId), 1e-5, "Node#" + nodeId);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.AlgoTestBase;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.result.CentralityResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class WarmStartPageRankTest extends AlgoTestBase {
+
+    private static final String DB_CYPHER =
+        "UNWIND range(0, 499) AS id " +
+        "CREATE (:Node {id: id})";
+
+    private static final String REL_CYPHER =
+        "MATCH (a:Node), (b:Node) " +
+        "WHERE b.id = (a.id * 7) % 500 OR b.id = (a.id * 13 + 1) % 500 OR (a.id % 5 = 0 AND b.id = (a.id + 3) % 500) " +
+        "CREATE (a)-[:REL]->(b)";
+
+    private static final String CHANGE_CYPHER =
+        "MATCH (a:Node), (b:Node) " +
+        "WHERE a.id % 50 = 0 AND b.id = (a.id + 1) % 500 " +
+        "CREATE (a)-[:REL]->(b)";
+
+    @BeforeEach
+    void setUp() {
+        runQuery(DB_CYPHER);
+        runQuery(REL_CYPHER);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldConvergeFasterFromPreviousScores(boolean pullBased) {
+        storeSeedScores(compute(loadGraph(), config(pullBased).build()).result());
+        runQuery(CHANGE_CYPHER);
+        Graph graph = loadGraph();
+
+        PageRank cold = compute(graph, config(pullBased).build());
+        PageRank warm = compute(graph, config(pullBased).seedProperty("seed").build());
+
+        assertTrue(cold.didConverge());
+        assertTrue(warm.didConverge());
+        assertTrue(
+            warm.iterations() < cold.iterations(),
+            "warm start ran " + warm.iterations() + " iterations, cold start " + cold.iterations()
+        );
+        assertTrue(warm.estimatedIterationsSaved() > 0);
+        assertEquals(0, cold.estimatedIterationsSaved());
+        assertScores(graph, cold.result(), warm.result(), 1e-5);
+    }
+
+    @Test
+    void shouldConvergeOnL1Change() {
+        Graph graph = loadGraph();
+
+        PageRank exact = compute(graph, config(false).build());
+        PageRank l1 = compute(graph, config(false).l1Convergence(true).tolerance(1e-3).build());
+
+        assertTrue(l1.didConverge());
+        assertTrue(l1.iterations() <= exact.iterations());
+        assertScores(graph, exact.result(), l1.result(), 1e-3);
+    }
+
+    @Test
+    void shouldFailOnMissingSeedProperty() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> compute(loadGraph(), config(false).seedProperty("seed").build())
+        );
+        assertTrue(exception.getMessage().contains("`seed`"));
+    }
+
+    private void storeSeedScores(CentralityResult scores) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (long nodeId = 0; nodeId < 500; nodeId++) {
+            rows.add(Map.of("id", nodeId, "score", scores.score(nodeId)));
+        }
+        runQuery(
+            "UNWIND $rows AS row MATCH (n) WHERE id(n) = row.id SET n.seed = row.score",
+            Map.of("rows", rows)
+        );
+    }
+
+    private Graph loadGraph() {
+        StoreLoaderBuilder loader = new StoreLoaderBuilder()
+            .api(db)
+            .globalOrientation(Orientation.NATURAL);
+        if (runQuery("MATCH (n) WHERE exists(n.seed) RETURN count(n) > 0 AS hasSeed", result -> (Boolean) result.next().get("hasSeed"))) {
+            loader.addNodeProperty(PropertyMapping.of("seed", Double.NaN));
+        }
+        return loader.build().graph(NativeFactory.class);
+    }
+
+    private static ImmutablePageRankStreamConfig.Builder config(boolean pullBased) {
+        return ImmutablePageRankStreamConfig.builder()
+            .maxIterations(100)
+            .pullBased(pullBased);
+    }
+
+    private PageRank compute(Graph graph, PageRankBaseConfig config) {
+        return PageRankAlgorithmType.NON_WEIGHTED
+            .create(
+                graph,
+                LongStream.empty(),
+                config,
+                4,
+                Pools.DEFAULT,
+                10,
+                progressLogger,
+                AllocationTracker.EMPTY
+            )
+            .compute();
+    }
+
+    private static void assertScores(Graph graph, CentralityResult expected, CentralityResult actual, double delta) {
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            assertEquals(expected.score(nodeId), actual.score(nodeId), delta, "Node#" + nodeId);
+        }
+    }
+}
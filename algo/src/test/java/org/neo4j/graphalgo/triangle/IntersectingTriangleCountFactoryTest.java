@@ -19,15 +19,20 @@
  */
 package org.neo4j.graphalgo.triangle;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
 
+import java.util.Map;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class IntersectingTriangleCountFactoryTest {
@@ -36,7 +41,7 @@ class IntersectingTriangleCountFactoryTest {
     @ParameterizedTest
     void memoryEstimation(long nodeCount) {
         MemoryEstimation estimation =
-            new IntersectingTriangleCountFactory<TriangleCountStreamConfig>().memoryEstimation(null);
+            new IntersectingTriangleCountFactory<TriangleCountStreamConfig>().memoryEstimation(config(false));
 
         GraphDimensions dimensions = ImmutableGraphDimensions.builder().nodeCount(nodeCount).build();
 
@@ -55,7 +60,7 @@ class IntersectingTriangleCountFactoryTest {
     @ParameterizedTest
     void memoryEstimationLargePages(long nodeCount, long sizeOfHugeArray) {
         MemoryEstimation estimation =
-            new IntersectingTriangleCountFactory<TriangleCountStreamConfig>().memoryEstimation(null);
+            new IntersectingTriangleCountFactory<TriangleCountStreamConfig>().memoryEstimation(config(false));
 
         GraphDimensions dimensions = ImmutableGraphDimensions.builder().nodeCount(nodeCount).build();
 
@@ -68,4 +73,37 @@ class IntersectingTriangleCountFactoryTest {
         assertEquals(expected, actual.min);
         assertEquals(expected, actual.max);
     }
-}
\ No newline at end of file
+
+    @Test
+    void memoryEstimationDegreeOrdered() {
+        MemoryEstimation estimation =
+            new IntersectingTriangleCountFactory<TriangleCountStreamConfig>().memoryEstimation(config(true));
+
+        long nodeCount = 100;
+        long relCount = 1000;
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(nodeCount)
+            .maxRelCount(relCount)
+            .build();
+
+        MemoryTree estimate = estimation.estimate(dimensions, 1);
+        MemoryRange actual = estimate.memoryUsage();
+
+        long hugeAtomicLongArray = 24 + nodeCount * 8 + 16;
+        long hugeDoubleArray = 24 + nodeCount * 8 + 16;
+        long offsets = 24 + (nodeCount + 1) * 8 + 16;
+        long targets = 24 + (relCount / 2) * 8 + 16;
+        long expected = 72 + hugeAtomicLongArray + hugeDoubleArray + 24 + offsets + targets;
+        assertEquals(expected, actual.min);
+        assertEquals(expected, actual.max);
+    }
+
+    private static TriangleCountStreamConfig config(boolean degreeOrdered) {
+        return TriangleCountStreamConfig.of(
+            "",
+            Optional.empty(),
+            Optional.empty(),
+            CypherMapWrapper.create(Map.of("degreeOrdered", degreeOrdered))
+        );
+    }
+}
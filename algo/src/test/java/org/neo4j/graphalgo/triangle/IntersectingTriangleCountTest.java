@@ -30,6 +30,7 @@ import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.triangle.IntersectingTriangleCount.TriangleCountResult;
 
@@ -254,7 +255,53 @@ class IntersectingTriangleCountTest extends AlgoTestBase {
         assertEquals(0, result.localClusteringCoefficients().get(14)); // o
     }
 
+    @ValueSource(ints = {1, 4})
+    @ParameterizedTest
+    void degreeOrderedClique(int concurrency) {
+        // large enough for the hash probe intersection
+        int cliqueSize = (int) IntersectingTriangleCount.PROBE_THRESHOLD + 16;
+        runQuery("UNWIND range(1, " + cliqueSize + ") AS i CREATE ()");
+        runQuery("MATCH (a), (b) WHERE id(a) < id(b) CREATE (a)-[:T]->(b)");
+
+        TriangleCountResult result = projectAndCompute(true, concurrency);
+
+        long n = cliqueSize;
+        assertEquals(n * (n - 1) * (n - 2) / 6, result.globalTriangles());
+        assertEquals(1.0, result.averageClusteringCoefficient(), 1e-10);
+        for (int i = 0; i < cliqueSize; ++i) {
+            assertEquals((n - 1) * (n - 2) / 2, result.localTriangles().get(i));
+            assertEquals(1.0, result.localClusteringCoefficients().get(i), 1e-10);
+        }
+    }
+
+    @ValueSource(ints = {1, 4})
+    @ParameterizedTest
+    void degreeOrderedEqualsIntersecting(int concurrency) {
+        runQuery("UNWIND range(0, 299) AS i CREATE ()");
+        runQuery("MATCH (a), (b) WHERE id(a) < id(b) AND (id(a) = 0 OR id(a) = 1 OR (id(a) * 31 + id(b) * 17) % 23 = 0) " +
+                 "CREATE (a)-[:T]->(b)");
+        runQuery("MATCH (a) WHERE id(a) % 10 = 0 CREATE (a)-[:T]->(a)");
+
+        TriangleCountResult expected = projectAndCompute(false, 1);
+        TriangleCountResult actual = projectAndCompute(true, concurrency);
+
+        assertEquals(expected.globalTriangles(), actual.globalTriangles());
+        assertEquals(expected.averageClusteringCoefficient(), actual.averageClusteringCoefficient(), 1e-10);
+        for (int i = 0; i < expected.localTriangles().size(); ++i) {
+            assertEquals(expected.localTriangles().get(i), actual.localTriangles().get(i));
+            assertEquals(
+                expected.localClusteringCoefficients().get(i),
+                actual.localClusteringCoefficients().get(i),
+                1e-10
+            );
+        }
+    }
+
     private TriangleCountResult projectAndCompute() {
+        return projectAndCompute(false, 1);
+    }
+
+    private TriangleCountResult projectAndCompute(boolean degreeOrdered, int concurrency) {
         Graph graph =  new StoreLoaderBuilder()
             .api(db)
             .globalOrientation(Orientation.UNDIRECTED)
@@ -264,8 +311,10 @@ class IntersectingTriangleCountTest extends AlgoTestBase {
         return new IntersectingTriangleCount(
             graph,
             Pools.DEFAULT,
-            1,
-            AllocationTracker.EMPTY
+            concurrency,
+            degreeOrdered,
+            AllocationTracker.EMPTY,
+            ProgressLogger.NULL_LOGGER
         ).compute();
     }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.triangle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WedgeSamplingTriangleCountFactoryTest {
+
+    @ValueSource(longs = {1L, 10L, 100L, 10_000L})
+    @ParameterizedTest
+    void memoryEstimation(long nodeCount) {
+        MemoryEstimation estimation =
+            new WedgeSamplingTriangleCountFactory<>().memoryEstimation(config(Map.of()));
+
+        long relCount = 10 * nodeCount;
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(nodeCount)
+            .maxRelCount(relCount)
+            .build();
+
+        MemoryRange actual = estimation.estimate(dimensions, 1).memoryUsage();
+
+        long instance = MemoryUsage.sizeOfInstance(WedgeSamplingTriangleCount.class);
+        long emptyHugeLongArray = 24 + 16;
+        long hugeLongArray = 24 + nodeCount * 8 + 16;
+        assertEquals(instance + 2 * emptyHugeLongArray, actual.min);
+        assertEquals(instance + 2 * hugeLongArray, actual.max);
+    }
+
+    @Test
+    void shouldValidateRelativeError() {
+        assertThrows(IllegalArgumentException.class, () -> config(Map.of("relativeError", 0.0)));
+    }
+
+    @Test
+    void shouldValidateMaxSampleSize() {
+        assertThrows(IllegalArgumentException.class, () -> config(Map.of("maxSampleSize", 0L)));
+    }
+
+    @Test
+    void shouldValidateConfidence() {
+        assertThrows(IllegalArgumentException.class, () -> config(Map.of("confidence", 1.0)));
+        assertThrows(IllegalArgumentException.class, () -> config(Map.of("confidence", 0.0)));
+    }
+
+    private static WedgeSamplingTriangleCountConfig config(Map<String, Object> userInput) {
+        return WedgeSamplingTriangleCountConfig.of(
+            "",
+            Optional.empty(),
+            Optional.empty(),
+            CypherMapWrapper.create(userInput)
+        );
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.triangle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.AlgoTestBase;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.triangle.IntersectingTriangleCount.TriangleCountResult;
+import org.neo4j.graphalgo.triangle.WedgeSamplingTriangleCount.TriangleCountEstimate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WedgeSamplingTriangleCountTest extends AlgoTestBase {
+
+    @Test
+    void clique() {
+        runQuery("UNWIND range(1, 10) AS i CREATE ()");
+        runQuery("MATCH (a), (b) WHERE id(a) < id(b) CREATE (a)-[:T]->(b)");
+
+        TriangleCountEstimate estimate = estimate(load(), 0.01, 1_000_000, 42L, 1);
+
+        assertEquals(120.0, estimate.globalTriangles(), 1e-9);
+        assertEquals(120.0, estimate.globalTrianglesUpperBound(), 1e-9);
+        assertTrue(estimate.globalTrianglesLowerBound() < 120.0);
+        assertEquals(1.0, estimate.averageClusteringCoefficient(), 1e-9);
+        // sqrt(ln(2 / 0.05) / (2 * 20_000)) < 0.01 is reached after two batches
+        assertEquals(20_000, estimate.sampleSize());
+    }
+
+    @Test
+    void noWedges() {
+        runQuery("CREATE (a)-[:T]->(b), (c)-[:T]->(d), ()");
+
+        TriangleCountEstimate estimate = estimate(load(), 0.01, 1_000, 42L, 1);
+
+        assertEquals(0.0, estimate.globalTriangles());
+        assertEquals(0.0, estimate.globalTrianglesUpperBound());
+        assertEquals(0.0, estimate.averageClusteringCoefficient());
+        assertEquals(0.0, estimate.averageClusteringCoefficientUpperBound());
+        assertEquals(0, estimate.sampleSize());
+    }
+
+    @Test
+    void shouldNotCloseWedgesOverSelfLoops() {
+        runQuery("CREATE (a)-[:T]->(a), (a)-[:T]->(b), (b)-[:T]->(c)");
+
+        TriangleCountEstimate estimate = estimate(load(), 0.01, 1_000, 42L, 1);
+
+        assertEquals(0.0, estimate.globalTriangles());
+        assertTrue(estimate.globalTrianglesUpperBound() > 0.0);
+        assertEquals(0.0, estimate.averageClusteringCoefficient());
+        // no wedge is closed, so the relative error can not be reached
+        assertEquals(1_000, estimate.sampleSize());
+    }
+
+    @Test
+    void shouldBoundExactValues() {
+        createGraph();
+        Graph graph = load();
+
+        TriangleCountResult exact = new IntersectingTriangleCount(
+            graph,
+            Pools.DEFAULT,
+            1,
+            true,
+            AllocationTracker.EMPTY,
+            ProgressLogger.NULL_LOGGER
+        ).compute();
+        TriangleCountResult intersected = new IntersectingTriangleCount(
+            graph,
+            Pools.DEFAULT,
+            1,
+            AllocationTracker.EMPTY
+        ).compute();
+        TriangleCountEstimate estimate = estimate(graph, 0.01, 50_000, 42L, 4);
+
+        assertEquals(1829, exact.globalTriangles());
+        assertEquals(exact.globalTriangles(), intersected.globalTriangles());
+        assertTrue(estimate.globalTrianglesLowerBound() <= exact.globalTriangles());
+        assertTrue(estimate.globalTrianglesUpperBound() >= exact.globalTriangles());
+        assertEquals(exact.globalTriangles(), estimate.globalTriangles(), 0.05 * exact.globalTriangles());
+        assertTrue(estimate.averageClusteringCoefficientLowerBound() <= exact.averageClusteringCoefficient());
+        assertTrue(estimate.averageClusteringCoefficientUpperBound() >= exact.averageClusteringCoefficient());
+        assertEquals(exact.averageClusteringCoefficient(), estimate.averageClusteringCoefficient(), 0.02);
+    }
+
+    @Test
+    void shouldStopOnceRelativeErrorIsReached() {
+        createGraph();
+        Graph graph = load();
+
+        TriangleCountEstimate coarse = estimate(graph, 0.1, 1_000_000, 42L, 4);
+        TriangleCountEstimate fine = estimate(graph, 0.02, 1_000_000, 42L, 4);
+
+        for (TriangleCountEstimate estimate : new TriangleCountEstimate[]{coarse, fine}) {
+            assertTrue(estimate.sampleSize() < 1_000_000);
+        }
+        assertTrue(coarse.sampleSize() < fine.sampleSize());
+        assertTrue(coarse.globalTrianglesUpperBound() - coarse.globalTriangles() <= 0.1 * coarse.globalTriangles());
+        assertTrue(fine.globalTrianglesUpperBound() - fine.globalTriangles() <= 0.02 * fine.globalTriangles());
+        assertTrue(fine.globalTriangles() - fine.globalTrianglesLowerBound() <= 0.02 * fine.globalTriangles());
+    }
+
+    @Test
+    void shouldStopAtMaxSampleSize() {
+        createGraph();
+
+        TriangleCountEstimate estimate = estimate(load(), 1e-6, 25_000, 42L, 4);
+
+        assertEquals(25_000, estimate.sampleSize());
+    }
+
+    @ValueSource(ints = {2, 4, 8})
+    @ParameterizedTest
+    void shouldNotDependOnConcurrency(int concurrency) {
+        createGraph();
+        Graph graph = load();
+
+        TriangleCountEstimate expected = estimate(graph, 1e-6, 25_000, 1337L, 1);
+        TriangleCountEstimate actual = estimate(graph, 1e-6, 25_000, 1337L, concurrency);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void shouldOnlySampleNodesWithWedges() {
+        // only the three triangle nodes have wedges, all of them closed
+        runQuery("UNWIND range(1, 10000) AS i CREATE ()");
+        runQuery("CREATE (a)-[:T]->(b), (b)-[:T]->(c), (c)-[:T]->(a)");
+        Graph graph = load();
+
+        TriangleCountEstimate estimate = estimate(graph, 0.01, 1_000, 42L, 4);
+
+        assertEquals(1.0, estimate.globalTriangles(), 1e-9);
+        assertEquals(3.0 / 10_003, estimate.averageClusteringCoefficient(), 1e-9);
+    }
+
+    @Test
+    void shouldValidateArguments() {
+        runQuery("CREATE ()");
+        Graph graph = load();
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new WedgeSamplingTriangleCount(graph, 0, 100, 0.95, 42L, 1, Pools.DEFAULT, AllocationTracker.EMPTY)
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new WedgeSamplingTriangleCount(graph, 0.01, 0, 0.95, 42L, 1, Pools.DEFAULT, AllocationTracker.EMPTY)
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new WedgeSamplingTriangleCount(graph, 0.01, 100, 1.0, 42L, 1, Pools.DEFAULT, AllocationTracker.EMPTY)
+        );
+    }
+
+    private void createGraph() {
+        // a ring lattice where every node is connected to its three nearest neighbours on both sides, plus two hubs
+        runQuery("UNWIND range(0, 499) AS i CREATE (:Node {i: i})");
+        runQuery("MATCH (a:Node), (b:Node) WHERE a.i < b.i AND ((b.i - a.i) <= 3 OR (a.i + 500 - b.i) <= 3) " +
+                 "CREATE (a)-[:T]->(b)");
+        runQuery("MATCH (a:Node), (b:Node) WHERE a.i < 2 AND b.i >= 5 AND b.i <= 495 AND b.i % 3 = a.i " +
+                 "CREATE (a)-[:T]->(b)");
+    }
+
+    private Graph load() {
+        return new StoreLoaderBuilder()
+            .api(db)
+            .globalOrientation(Orientation.UNDIRECTED)
+            .build()
+            .graph(NativeFactory.class);
+    }
+
+    private TriangleCountEstimate estimate(
+        Graph graph,
+        double relativeError,
+        long maxSampleSize,
+        long randomSeed,
+        int concurrency
+    ) {
+        return new WedgeSamplingTriangleCount(
+            graph,
+            relativeError,
+            maxSampleSize,
+            0.95,
+            randomSeed,
+            concurrency,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        ).compute();
+    }
+}
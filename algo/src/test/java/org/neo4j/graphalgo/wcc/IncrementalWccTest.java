@@ -23,6 +23,7 @@ import com.carrotsearch.hppc.BitSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.AlgoTestBase;
+import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.api.Graph;
@@ -109,6 +110,37 @@ class IncrementalWccTest extends AlgoTestBase {
         });
     }
 
+    @Test
+    void shouldComputeComponentsFromSeedPropertyWithNeighborSampling() {
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .addRelationshipType(RELATIONSHIP_TYPE.name())
+            .globalOrientation(Orientation.UNDIRECTED)
+            .addNodeProperty(PropertyMapping.of(SEED_PROPERTY, SEED_PROPERTY, -1L))
+            .build()
+            .graph(NativeFactory.class);
+
+        WccStreamConfig config = ImmutableWccStreamConfig.builder()
+            .concurrency(AlgoBaseConfig.DEFAULT_CONCURRENCY)
+            .seedProperty(SEED_PROPERTY)
+            .neighborSampling(true)
+            .build();
+
+        DisjointSetStruct result = run(graph, config);
+        assertEquals(COMMUNITY_COUNT / 2, getSetCount(result));
+
+        graph.forEachNode((nodeId) -> {
+            long expectedCommunityId = nodeId / (2 * COMMUNITY_SIZE) * 2;
+            long actualCommunityId = result.setIdOf(nodeId);
+            assertEquals(
+                expectedCommunityId,
+                actualCommunityId,
+                "Node " + nodeId + " in unexpected set: " + actualCommunityId
+            );
+            return true;
+        });
+    }
+
     @Test
     void shouldAssignMinimumCommunityIdOnMerge() {
         // Given
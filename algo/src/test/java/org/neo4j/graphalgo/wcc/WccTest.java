@@ -24,12 +24,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.TestLog;
 import org.neo4j.graphalgo.TestProgressLogger;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.config.RandomGraphGeneratorConfig.AllowSelfLoops;
+import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.concurrency.Pools;
@@ -44,6 +49,7 @@ import org.neo4j.graphdb.Transaction;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -120,6 +126,56 @@ class WccTest extends AlgoTestBase {
         });
     }
 
+    @ParameterizedTest(name = "concurrency = {0}")
+    @ValueSource(ints = {1, 4})
+    void shouldComputeSameComponentsWithNeighborSampling(int concurrency) {
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .addRelationshipType(RELATIONSHIP_TYPE.name())
+            .globalOrientation(Orientation.UNDIRECTED)
+            .build()
+            .graph(NativeFactory.class);
+
+        assertSameComponentsWithNeighborSampling(graph, concurrency);
+    }
+
+    @ParameterizedTest(name = "concurrency = {0}")
+    @ValueSource(ints = {1, 4})
+    void shouldComputeSameComponentsWithNeighborSamplingOnRandomGraph(int concurrency) {
+        Graph graph = new RandomGraphGenerator(
+            10_000,
+            3,
+            RelationshipDistribution.POWER_LAW,
+            42L,
+            Optional.empty(),
+            Aggregation.NONE,
+            Orientation.UNDIRECTED,
+            AllowSelfLoops.NO,
+            AllocationTracker.EMPTY
+        ).generate();
+
+        assertSameComponentsWithNeighborSampling(graph, concurrency);
+    }
+
+    private void assertSameComponentsWithNeighborSampling(Graph graph, int concurrency) {
+        DisjointSetStruct expected = run(
+            graph,
+            ImmutableWccStreamConfig.builder().concurrency(concurrency).build(),
+            concurrency
+        );
+        DisjointSetStruct actual = run(
+            graph,
+            ImmutableWccStreamConfig.builder().concurrency(concurrency).neighborSampling(true).build(),
+            concurrency
+        );
+
+        assertEquals(getSetCount(expected), getSetCount(actual));
+        graph.forEachNode(nodeId -> {
+            assertEquals(expected.setIdOf(nodeId), actual.setIdOf(nodeId), "Node " + nodeId + " in unexpected set");
+            return true;
+        });
+    }
+
     @Test
     void shouldLogProgress() {
         var graph = new StoreLoaderBuilder()
@@ -26,6 +26,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.CommunityHelper;
+import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.PropertyMappings;
 import org.neo4j.graphalgo.RelationshipProjection;
@@ -76,13 +77,28 @@ class WccThresholdTest extends AlgoTestBase {
     @ParameterizedTest
     @MethodSource("org.neo4j.graphalgo.wcc.WccThresholdTest#thresholdParams")
     void testThreshold(double threshold, long[][] expectedComponents) {
+        assertThresholdComponents(threshold, expectedComponents, Orientation.NATURAL, false);
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.neo4j.graphalgo.wcc.WccThresholdTest#thresholdParams")
+    void testThresholdWithNeighborSampling(double threshold, long[][] expectedComponents) {
+        assertThresholdComponents(threshold, expectedComponents, Orientation.UNDIRECTED, true);
+    }
 
+    private void assertThresholdComponents(
+        double threshold,
+        long[][] expectedComponents,
+        Orientation orientation,
+        boolean neighborSampling
+    ) {
         GraphLoader graphLoader = new StoreLoaderBuilder()
             .api(db)
             .graphName("myGraph")
             .nodeProjections(emptyList())
             .relationshipProjections(singletonList(RelationshipProjection.builder()
                 .type("TYPE")
+                .orientation(orientation)
                 .properties(
                     PropertyMappings.of(
                         PropertyMapping.of("cost", 10.0)
@@ -95,6 +111,7 @@ class WccThresholdTest extends AlgoTestBase {
         WccStreamConfig wccConfig = ImmutableWccStreamConfig
             .builder()
             .threshold(threshold)
+            .neighborSampling(neighborSampling)
             .relationshipWeightProperty("cost")
             .implicitCreateConfig(graphLoader.createConfig())
             .build();
@@ -0,0 +1,559 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.betweenness;
+
+import com.carrotsearch.hppc.BitMixer;
+import com.carrotsearch.hppc.LongArrayList;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.IncomingRelationships;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Approximates Betweenness Centrality by sampling shortest paths between random pairs of nodes,
+ * following the adaptive sampling approach of KADABRA (Borassi and Natale, 2016).
+ * <p>
+ * Every sample picks a random pair of distinct nodes and searches a shortest path between them
+ * with a balanced bidirectional BFS, which always expands the side with the smaller frontier.
+ * One of the shortest paths is picked uniformly at random and every inner node of that path is hit.
+ * The fraction of samples that hit a node is an unbiased estimate of its normalized betweenness,
+ * i.e. its betweenness divided by the number of node pairs.
+ * <p>
+ * Sampling stops as soon as the estimates are within {@code epsilon} of the normalized betweenness
+ * with a probability of at least {@code 1 - delta}. The number of samples is bounded by a sample size
+ * derived from an upper bound of the vertex diameter (Riondato and Kornaropoulos, 2014).
+ * Below that bound, the stopping condition is checked at geometrically growing sample sizes,
+ * where half of the failure probability is split evenly among the lower and upper deviation of every node.
+ * <p>
+ * Samples are drawn in batches with a random seed per batch and every thread counts the hits in its own array.
+ * The checks happen after a fixed number of batches, so the result does not depend on the concurrency.
+ */
+public class AdaptiveSamplingBetweennessCentrality extends Algorithm<AdaptiveSamplingBetweennessCentrality, HugeDoubleArray> {
+
+    // the universal constant of the sample size bound, as suggested by Löffler and Phillips
+    private static final double SAMPLE_SIZE_CONSTANT = 0.5;
+    static final int BATCH_SIZE = 1_000;
+    private static final double CHECKPOINT_GROWTH = 1.5;
+
+    private Graph graph;
+    private final long nodeCount;
+    private final double epsilon;
+    private final double delta;
+    private final long randomSeed;
+    private final double divisor;
+    private final ExecutorService executor;
+    private final int concurrency;
+    private final AllocationTracker tracker;
+
+    private IncomingRelationships incoming;
+    private List<SampleTask> tasks;
+    private final AtomicLong batchQueue = new AtomicLong();
+    private long batchLimit;
+
+    private long maxSampleSize;
+    private long sampleSize;
+    private double error;
+
+    public AdaptiveSamplingBetweennessCentrality(
+        Graph graph,
+        double epsilon,
+        double delta,
+        long randomSeed,
+        boolean undirected,
+        ExecutorService executor,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        if (epsilon <= 0 || epsilon >= 1) {
+            throw new IllegalArgumentException(String.format(
+                "The error bound epsilon must be in (0, 1), but was %s",
+                epsilon
+            ));
+        }
+        if (delta <= 0 || delta >= 1) {
+            throw new IllegalArgumentException(String.format(
+                "The failure probability delta must be in (0, 1), but was %s",
+                delta
+            ));
+        }
+        this.graph = graph;
+        this.nodeCount = graph.nodeCount();
+        this.epsilon = epsilon;
+        this.delta = delta;
+        this.randomSeed = randomSeed;
+        this.divisor = undirected ? 2.0 : 1.0;
+        this.executor = executor;
+        this.concurrency = Math.max(1, concurrency);
+        this.tracker = tracker;
+    }
+
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(AdaptiveSamplingBetweennessCentrality.class)
+            .perNode("centrality", HugeDoubleArray::memoryEstimation)
+            .add("incoming relationships", IncomingRelationships.memoryEstimation())
+            .perThread("task", MemoryEstimations.builder(SampleTask.class)
+                .perNode("forward order", HugeLongArray::memoryEstimation)
+                .perNode("backward order", HugeLongArray::memoryEstimation)
+                .perNode("forward distance", HugeIntArray::memoryEstimation)
+                .perNode("backward distance", HugeIntArray::memoryEstimation)
+                .perNode("forward sigma", HugeDoubleArray::memoryEstimation)
+                .perNode("backward sigma", HugeDoubleArray::memoryEstimation)
+                .perNode("hits", HugeLongArray::memoryEstimation)
+                .build())
+            .build();
+    }
+
+    /**
+     * @return the number of samples after which sampling stops in any case
+     */
+    public long maxSampleSize() {
+        return maxSampleSize;
+    }
+
+    /**
+     * @return the number of sampled node pairs
+     */
+    public long sampleSize() {
+        return sampleSize;
+    }
+
+    /**
+     * @return the achieved bound of the absolute error of the normalized centralities,
+     *     which holds with a probability of at least {@code 1 - delta}
+     */
+    public double error() {
+        return error;
+    }
+
+    /**
+     * @return the estimated centrality of every node, indexed by internal node id
+     */
+    @Override
+    public HugeDoubleArray compute() {
+        HugeDoubleArray centrality = HugeDoubleArray.newArray(nodeCount, tracker);
+        sampleSize = 0L;
+        maxSampleSize = 0L;
+        error = 0.0;
+        if (nodeCount < 2) {
+            return centrality;
+        }
+
+        incoming = IncomingRelationships.of(graph, executor, concurrency, tracker);
+        tasks = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            tasks.add(new SampleTask());
+        }
+
+        long vertexDiameter = tasks.get(0).vertexDiameter();
+        maxSampleSize = (long) Math.ceil(SAMPLE_SIZE_CONSTANT / (epsilon * epsilon) * (
+            Math.floor(log2(Math.max(1, vertexDiameter - 2))) + 1 + Math.log(2 / delta)
+        ));
+
+        long batches = 0L;
+        long checkpoint = Math.min(maxSampleSize, BATCH_SIZE);
+        while (running()) {
+            batchQueue.set(batches);
+            batchLimit = ParallelUtil.threadCount(BATCH_SIZE, checkpoint);
+            ParallelUtil.run(tasks, executor);
+            batches = batchLimit;
+            sampleSize = batches * BATCH_SIZE;
+            getProgressLogger().logProgress(Math.min(sampleSize, maxSampleSize), maxSampleSize);
+
+            if (sampleSize >= maxSampleSize) {
+                error = epsilon;
+                break;
+            }
+            error = maxError(tasks);
+            if (error <= epsilon) {
+                break;
+            }
+            checkpoint = Math.min(maxSampleSize, (long) Math.ceil(sampleSize * CHECKPOINT_GROWTH));
+        }
+
+        double scale = nodeCount * (nodeCount - 1.0) / (divisor * sampleSize);
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                centrality.set(nodeId, hits(tasks, nodeId) * scale);
+            }
+        });
+        return centrality;
+    }
+
+    /**
+     * The largest deviation bound of any node after the current samples.
+     * The bounds grow with the estimated centrality, so the node with the most hits has the largest bound.
+     */
+    private double maxError(List<SampleTask> tasks) {
+        LongAccumulator maxHits = new LongAccumulator(Math::max, 0L);
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            long max = 0L;
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                max = Math.max(max, hits(tasks, nodeId));
+            }
+            maxHits.accumulate(max);
+        });
+
+        double estimate = (double) maxHits.get() / sampleSize;
+        double logInverseDelta = Math.log(4 * nodeCount / delta);
+        double ratio = (double) maxSampleSize / sampleSize;
+        double lowerDeviation = logInverseDelta / sampleSize * (
+            1.0 / 3 - ratio + Math.sqrt(Math.pow(1.0 / 3 - ratio, 2) + 2 * estimate * ratio * sampleSize / logInverseDelta)
+        );
+        double upperDeviation = logInverseDelta / sampleSize * (
+            1.0 / 3 + ratio + Math.sqrt(Math.pow(1.0 / 3 + ratio, 2) + 2 * estimate * ratio * sampleSize / logInverseDelta)
+        );
+        return Math.max(lowerDeviation, upperDeviation);
+    }
+
+    private static long hits(List<SampleTask> tasks, long nodeId) {
+        long hits = 0L;
+        for (SampleTask task : tasks) {
+            hits += task.hits.get(nodeId);
+        }
+        return hits;
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+
+    @Override
+    public AdaptiveSamplingBetweennessCentrality me() {
+        return this;
+    }
+
+    /**
+     * Releases the incoming relationships and the per-thread search state and hit counters.
+     * The returned centrality is owned by the caller.
+     */
+    @Override
+    public void release() {
+        if (tasks != null) {
+            for (SampleTask task : tasks) {
+                task.release();
+            }
+            tasks = null;
+        }
+        if (incoming != null) {
+            incoming.release();
+            incoming = null;
+        }
+        graph = null;
+    }
+
+    private final class SampleTask implements Runnable {
+
+        private final RelationshipIterator relationships;
+        private final IncomingRelationships incomingRelationships;
+        // visited nodes of both searches in BFS order, the last level is the frontier
+        private final HugeLongArray forwardOrder;
+        private final HugeLongArray backwardOrder;
+        private final HugeIntArray forwardDistance;
+        private final HugeIntArray backwardDistance;
+        private final HugeDoubleArray forwardSigma;
+        private final HugeDoubleArray backwardSigma;
+        private final HugeLongArray hits;
+        // relationships between both searches that lie on a shortest path
+        private final LongArrayList crossingSources;
+        private final LongArrayList crossingTargets;
+
+        private long forwardVisited;
+        private long backwardVisited;
+        private long forwardLevelStart;
+        private long backwardLevelStart;
+        private double crossingWeight;
+
+        private long currentNode;
+        private int nextDistance;
+        private double nodeSigma;
+        private double remaining;
+        private long chosen;
+
+        private SampleTask() {
+            this.relationships = graph.concurrentCopy();
+            this.incomingRelationships = incoming.concurrentCopy();
+            this.forwardOrder = HugeLongArray.newArray(nodeCount, tracker);
+            this.backwardOrder = HugeLongArray.newArray(nodeCount, tracker);
+            this.forwardDistance = HugeIntArray.newArray(nodeCount, tracker);
+            this.backwardDistance = HugeIntArray.newArray(nodeCount, tracker);
+            this.forwardSigma = HugeDoubleArray.newArray(nodeCount, tracker);
+            this.backwardSigma = HugeDoubleArray.newArray(nodeCount, tracker);
+            this.hits = HugeLongArray.newArray(nodeCount, tracker);
+            this.crossingSources = new LongArrayList();
+            this.crossingTargets = new LongArrayList();
+            this.forwardDistance.fill(-1);
+            this.backwardDistance.fill(-1);
+        }
+
+        @Override
+        public void run() {
+            long batch;
+            while ((batch = batchQueue.getAndIncrement()) < batchLimit && running()) {
+                SplittableRandom random = new SplittableRandom(BitMixer.mix64(randomSeed + batch));
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    long source = random.nextLong(nodeCount);
+                    long target = random.nextLong(nodeCount - 1);
+                    if (target >= source) {
+                        target++;
+                    }
+                    if (search(source, target)) {
+                        hitPath(random, source, target);
+                    }
+                    reset();
+                }
+            }
+        }
+
+        /**
+         * Runs the bidirectional BFS until both searches meet.
+         *
+         * @return true if there is a path from source to target
+         */
+        private boolean search(long source, long target) {
+            forwardOrder.set(0, source);
+            forwardVisited = 1;
+            forwardLevelStart = 0;
+            forwardDistance.set(source, 0);
+            forwardSigma.set(source, 1.0);
+
+            backwardOrder.set(0, target);
+            backwardVisited = 1;
+            backwardLevelStart = 0;
+            backwardDistance.set(target, 0);
+            backwardSigma.set(target, 1.0);
+
+            // all crossing relationships found while expanding one level lie on a shortest path
+            while (crossingWeight == 0.0 && forwardLevelStart < forwardVisited && backwardLevelStart < backwardVisited) {
+                if (forwardVisited - forwardLevelStart <= backwardVisited - backwardLevelStart) {
+                    expandForward();
+                } else {
+                    expandBackward();
+                }
+            }
+            return crossingWeight > 0.0;
+        }
+
+        private void expandForward() {
+            long start = forwardLevelStart;
+            long end = forwardVisited;
+            forwardLevelStart = end;
+            for (long index = start; index < end; index++) {
+                currentNode = forwardOrder.get(index);
+                nextDistance = forwardDistance.get(currentNode) + 1;
+                nodeSigma = forwardSigma.get(currentNode);
+                relationships.forEachRelationship(currentNode, (source, target) -> {
+                    if (backwardDistance.get(target) >= 0) {
+                        crossingSources.add(source);
+                        crossingTargets.add(target);
+                        crossingWeight += nodeSigma * backwardSigma.get(target);
+                        return true;
+                    }
+                    int targetDistance = forwardDistance.get(target);
+                    if (targetDistance < 0) {
+                        forwardDistance.set(target, nextDistance);
+                        forwardOrder.set(forwardVisited++, target);
+                        targetDistance = nextDistance;
+                    }
+                    if (targetDistance == nextDistance) {
+                        forwardSigma.addTo(target, nodeSigma);
+                    }
+                    return true;
+                });
+            }
+        }
+
+        private void expandBackward() {
+            long start = backwardLevelStart;
+            long end = backwardVisited;
+            backwardLevelStart = end;
+            for (long index = start; index < end; index++) {
+                currentNode = backwardOrder.get(index);
+                nextDistance = backwardDistance.get(currentNode) + 1;
+                nodeSigma = backwardSigma.get(currentNode);
+                incomingRelationships.forEachIncoming(currentNode, (node, source, weight) -> {
+                    if (forwardDistance.get(source) >= 0) {
+                        crossingSources.add(source);
+                        crossingTargets.add(node);
+                        crossingWeight += forwardSigma.get(source) * nodeSigma;
+                        return true;
+                    }
+                    int sourceDistance = backwardDistance.get(source);
+                    if (sourceDistance < 0) {
+                        backwardDistance.set(source, nextDistance);
+                        backwardOrder.set(backwardVisited++, source);
+                        sourceDistance = nextDistance;
+                    }
+                    if (sourceDistance == nextDistance) {
+                        backwardSigma.addTo(source, nodeSigma);
+                    }
+                    return true;
+                });
+            }
+        }
+
+        /**
+         * Picks one of the shortest paths uniformly at random and hits all of its inner nodes.
+         * A crossing relationship is picked proportional to the number of shortest paths through it,
+         * the remaining path is built by walking back to the source and forward to the target,
+         * picking every step proportional to the number of shortest paths through it.
+         */
+        private void hitPath(SplittableRandom random, long source, long target) {
+            double threshold = random.nextDouble() * crossingWeight;
+            int crossing = crossingSources.size() - 1;
+            for (int i = 0; i < crossingSources.size(); i++) {
+                threshold -= forwardSigma.get(crossingSources.get(i)) * backwardSigma.get(crossingTargets.get(i));
+                if (threshold < 0) {
+                    crossing = i;
+                    break;
+                }
+            }
+
+            for (long node = crossingSources.get(crossing); node != source; node = predecessor(random, node)) {
+                hits.addTo(node, 1L);
+            }
+            for (long node = crossingTargets.get(crossing); node != target; node = successor(random, node)) {
+                hits.addTo(node, 1L);
+            }
+        }
+
+        private long predecessor(SplittableRandom random, long node) {
+            nextDistance = forwardDistance.get(node) - 1;
+            remaining = random.nextDouble() * forwardSigma.get(node);
+            chosen = -1L;
+            incomingRelationships.forEachIncoming(node, (n, source, weight) -> {
+                if (forwardDistance.get(source) == nextDistance) {
+                    chosen = source;
+                    remaining -= forwardSigma.get(source);
+                    return remaining >= 0;
+                }
+                return true;
+            });
+            return chosen;
+        }
+
+        private long successor(SplittableRandom random, long node) {
+            nextDistance = backwardDistance.get(node) - 1;
+            remaining = random.nextDouble() * backwardSigma.get(node);
+            chosen = -1L;
+            relationships.forEachRelationship(node, (n, target) -> {
+                if (backwardDistance.get(target) == nextDistance) {
+                    chosen = target;
+                    remaining -= backwardSigma.get(target);
+                    return remaining >= 0;
+                }
+                return true;
+            });
+            return chosen;
+        }
+
+        private void reset() {
+            for (long index = 0; index < forwardVisited; index++) {
+                long node = forwardOrder.get(index);
+                forwardDistance.set(node, -1);
+                forwardSigma.set(node, 0.0);
+            }
+            for (long index = 0; index < backwardVisited; index++) {
+                long node = backwardOrder.get(index);
+                backwardDistance.set(node, -1);
+                backwardSigma.set(node, 0.0);
+            }
+            forwardVisited = 0;
+            backwardVisited = 0;
+            crossingSources.clear();
+            crossingTargets.clear();
+            crossingWeight = 0.0;
+        }
+
+        /**
+         * An upper bound of the number of nodes on any shortest path, computed with one BFS
+         * per weakly connected component. In an undirected graph, a path between two nodes of a component
+         * is not longer than twice the eccentricity of the start node of the BFS, in a directed graph
+         * it is bounded by the size of the component.
+         */
+        private long vertexDiameter() {
+            long bound = 0L;
+            long visited = 0L;
+            for (long start = 0; start < nodeCount; start++) {
+                if (forwardDistance.get(start) >= 0) {
+                    continue;
+                }
+                long componentStart = visited;
+                forwardOrder.set(visited++, start);
+                forwardDistance.set(start, 0);
+                int eccentricity = 0;
+                for (long head = componentStart; head < visited; head++) {
+                    long node = forwardOrder.get(head);
+                    int distance = forwardDistance.get(node);
+                    eccentricity = Math.max(eccentricity, distance);
+                    forwardVisited = visited;
+                    nextDistance = distance + 1;
+                    relationships.forEachRelationship(node, (source, target) -> {
+                        visitUndirected(target);
+                        return true;
+                    });
+                    incomingRelationships.forEachIncoming(node, (target, source, weight) -> {
+                        visitUndirected(source);
+                        return true;
+                    });
+                    visited = forwardVisited;
+                }
+                long componentSize = visited - componentStart;
+                bound = Math.max(
+                    bound,
+                    graph.isUndirected() ? Math.min(componentSize, 2L * eccentricity + 1) : componentSize
+                );
+            }
+            forwardDistance.fill(-1);
+            forwardVisited = 0;
+            return bound;
+        }
+
+        private void visitUndirected(long node) {
+            if (forwardDistance.get(node) < 0) {
+                forwardDistance.set(node, nextDistance);
+                forwardOrder.set(forwardVisited++, node);
+            }
+        }
+
+        private void release() {
+            tracker.remove(forwardOrder.release());
+            tracker.remove(backwardOrder.release());
+            tracker.remove(forwardDistance.release());
+            tracker.remove(backwardDistance.release());
+            tracker.remove(forwardSigma.release());
+            tracker.remove(backwardSigma.release());
+            tracker.remove(hits.release());
+        }
+    }
+}
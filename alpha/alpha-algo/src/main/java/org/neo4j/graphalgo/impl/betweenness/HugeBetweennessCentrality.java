@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.betweenness;
+
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Betweenness Centrality for unweighted graphs with more than {@code 2^31} nodes.
+ * <p>
+ * Follows the same approach as {@link BetweennessCentrality}, but every task only keeps
+ * {@code long} node ids, {@code double} shortest path counts and the BFS order of the visited nodes.
+ * The BFS order doubles as the queue of the forward phase and the stack of the backward phase.
+ * Instead of storing all predecessors, the backward phase re-scans the relationships of every
+ * visited node and accumulates the dependencies of its successors on the next BFS level.
+ * Every task accumulates into its own {@link HugeDoubleArray}, which are summed up at the end.
+ * <p>
+ * Besides the exact computation, source nodes can be sampled uniformly or proportional to their degree.
+ * Every sampled source contributes with the inverse of its sampling probability, so the sampled
+ * centralities are unbiased estimates of the exact ones.
+ */
+public class HugeBetweennessCentrality extends Algorithm<HugeBetweennessCentrality, HugeDoubleArray> {
+
+    public enum Sampling {
+        /**
+         * Every node is a source node.
+         */
+        EXACT,
+        /**
+         * Every node is a source node with the given probability.
+         */
+        RANDOM,
+        /**
+         * Every node is a source node with a probability proportional to its degree,
+         * scaled so that the expected number of source nodes is the same as for {@link #RANDOM}.
+         */
+        DEGREE
+    }
+
+    private Graph graph;
+    private final long nodeCount;
+    private final Sampling sampling;
+    private final double probability;
+    private final long randomSeed;
+    private final double divisor;
+    private final ExecutorService executor;
+    private final int concurrency;
+    private final AllocationTracker tracker;
+
+    private final AtomicLong nodeQueue = new AtomicLong();
+    private final double degreeFactor;
+
+    public HugeBetweennessCentrality(
+        Graph graph,
+        Sampling sampling,
+        double probability,
+        long randomSeed,
+        boolean undirected,
+        ExecutorService executor,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        if (sampling != Sampling.EXACT && (probability <= 0 || probability > 1)) {
+            throw new IllegalArgumentException(String.format(
+                "The sampling probability must be in (0, 1], but was %s",
+                probability
+            ));
+        }
+        this.graph = graph;
+        this.nodeCount = graph.nodeCount();
+        this.sampling = sampling;
+        this.probability = probability;
+        this.randomSeed = randomSeed;
+        this.divisor = undirected ? 2.0 : 1.0;
+        this.executor = executor;
+        this.concurrency = Math.max(1, concurrency);
+        this.tracker = tracker;
+        this.degreeFactor = graph.relationshipCount() > 0
+            ? probability * nodeCount / graph.relationshipCount()
+            : 0.0;
+    }
+
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(HugeBetweennessCentrality.class)
+            .perThread("task", MemoryEstimations.builder(BCTask.class)
+                .perNode("order", HugeLongArray::memoryEstimation)
+                .perNode("distance", HugeIntArray::memoryEstimation)
+                .perNode("sigma", HugeDoubleArray::memoryEstimation)
+                .perNode("delta", HugeDoubleArray::memoryEstimation)
+                .perNode("centrality", HugeDoubleArray::memoryEstimation)
+                .build())
+            .build();
+    }
+
+    /**
+     * @return the centrality of every node, indexed by internal node id
+     */
+    @Override
+    public HugeDoubleArray compute() {
+        nodeQueue.set(0);
+        long taskCount = Math.min(concurrency, Math.max(1, nodeCount));
+        List<BCTask> tasks = new ArrayList<>((int) taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(new BCTask());
+        }
+        ParallelUtil.run(tasks, executor);
+
+        HugeDoubleArray centrality = tasks.get(0).release();
+        List<HugeDoubleArray> others = new ArrayList<>(tasks.size() - 1);
+        for (BCTask task : tasks.subList(1, tasks.size())) {
+            others.add(task.release());
+        }
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            for (HugeDoubleArray other : others) {
+                for (long nodeId = start; nodeId < end; nodeId++) {
+                    centrality.addTo(nodeId, other.get(nodeId));
+                }
+            }
+        });
+        for (HugeDoubleArray other : others) {
+            tracker.remove(other.release());
+        }
+        return centrality;
+    }
+
+    /**
+     * @return the probability with which the given node is a source node
+     */
+    double sourceProbability(long nodeId) {
+        switch (sampling) {
+            case EXACT:
+                return 1.0;
+            case RANDOM:
+                return probability;
+            case DEGREE:
+                return Math.min(1.0, degreeFactor * graph.degree(nodeId));
+            default:
+                throw new IllegalStateException("Unexpected sampling: " + sampling);
+        }
+    }
+
+    public static Stream<BetweennessCentrality.Result> resultStream(Graph graph, HugeDoubleArray centrality) {
+        return LongStream
+            .range(0, graph.nodeCount())
+            .mapToObj(nodeId -> new BetweennessCentrality.Result(
+                graph.toOriginalNodeId(nodeId),
+                centrality.get(nodeId)
+            ));
+    }
+
+    @Override
+    public HugeBetweennessCentrality me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        graph = null;
+    }
+
+    private final class BCTask implements Runnable {
+
+        private final RelationshipIterator relationships;
+        // visited nodes in BFS order, used as queue and as stack
+        private final HugeLongArray order;
+        private final HugeIntArray distance;
+        private final HugeDoubleArray sigma;
+        private final HugeDoubleArray delta;
+        private final HugeDoubleArray centrality;
+
+        private long visited;
+        private int nextDistance;
+        private double nodeSigma;
+        private double dependency;
+
+        private BCTask() {
+            this.relationships = graph.concurrentCopy();
+            this.order = HugeLongArray.newArray(nodeCount, tracker);
+            this.distance = HugeIntArray.newArray(nodeCount, tracker);
+            this.sigma = HugeDoubleArray.newArray(nodeCount, tracker);
+            this.delta = HugeDoubleArray.newArray(nodeCount, tracker);
+            this.centrality = HugeDoubleArray.newArray(nodeCount, tracker);
+            this.distance.fill(-1);
+        }
+
+        @Override
+        public void run() {
+            long source;
+            while ((source = nodeQueue.getAndIncrement()) < nodeCount && running()) {
+                double sourceProbability = sourceProbability(source);
+                if (sourceProbability < 1.0 && new SplittableRandom(randomSeed ^ source).nextDouble() >= sourceProbability) {
+                    continue;
+                }
+                forward(source);
+                backward(source, 1.0 / (sourceProbability * divisor));
+                reset();
+                getProgressLogger().logProgress(source, nodeCount - 1);
+            }
+        }
+
+        private void forward(long source) {
+            order.set(0, source);
+            visited = 1;
+            distance.set(source, 0);
+            sigma.set(source, 1.0);
+
+            for (long head = 0; head < visited; head++) {
+                long node = order.get(head);
+                nextDistance = distance.get(node) + 1;
+                nodeSigma = sigma.get(node);
+                relationships.forEachRelationship(node, (s, target) -> {
+                    int targetDistance = distance.get(target);
+                    if (targetDistance < 0) {
+                        distance.set(target, nextDistance);
+                        order.set(visited++, target);
+                        targetDistance = nextDistance;
+                    }
+                    if (targetDistance == nextDistance) {
+                        sigma.addTo(target, nodeSigma);
+                    }
+                    return true;
+                });
+            }
+        }
+
+        private void backward(long source, double scale) {
+            for (long index = visited - 1; index >= 0; index--) {
+                long node = order.get(index);
+                nextDistance = distance.get(node) + 1;
+                nodeSigma = sigma.get(node);
+                dependency = 0.0;
+                relationships.forEachRelationship(node, (s, target) -> {
+                    if (distance.get(target) == nextDistance) {
+                        dependency += nodeSigma / sigma.get(target) * (1.0 + delta.get(target));
+                    }
+                    return true;
+                });
+                delta.set(node, dependency);
+                if (node != source) {
+                    centrality.addTo(node, dependency * scale);
+                }
+            }
+        }
+
+        private void reset() {
+            for (long index = 0; index < visited; index++) {
+                long node = order.get(index);
+                distance.set(node, -1);
+                sigma.set(node, 0.0);
+                delta.set(node, 0.0);
+            }
+            visited = 0;
+        }
+
+        private HugeDoubleArray release() {
+            tracker.remove(order.release());
+            tracker.remove(distance.release());
+            tracker.remove(sigma.release());
+            tracker.remove(delta.release());
+            return centrality;
+        }
+    }
+}
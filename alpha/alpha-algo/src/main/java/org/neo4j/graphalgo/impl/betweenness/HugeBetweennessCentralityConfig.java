@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.betweenness;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+
+import java.util.Locale;
+import java.util.Optional;
+
+@ValueClass
+@Configuration("HugeBetweennessCentralityConfigImpl")
+@SuppressWarnings("immutables:subtype")
+public interface HugeBetweennessCentralityConfig extends BaseBetweennessCentralityConfig {
+
+    @Value.Default
+    default String sampling() {
+        return "exact";
+    }
+
+    @Configuration.Ignore
+    default HugeBetweennessCentrality.Sampling samplingMode() {
+        try {
+            return HugeBetweennessCentrality.Sampling.valueOf(sampling().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format(
+                "Unknown sampling `%s`, expected one of `exact`, `random` or `degree`.",
+                sampling()
+            ));
+        }
+    }
+
+    @Value.Default
+    default double probability() {
+        // The default is N=nodeCount, log10(N) / e^2, which is computed in the factory
+        // where the graph with its node count is already provided.
+        return Double.NaN;
+    }
+
+    @Value.Default
+    default long randomSeed() {
+        return 1;
+    }
+
+    @Override
+    @Value.Check
+    default void validate() {
+        BaseBetweennessCentralityConfig.super.validate();
+        samplingMode();
+    }
+
+    static HugeBetweennessCentralityConfig of(
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> implicitCreateConfig,
+        String username,
+        CypherMapWrapper config
+    ) {
+        return new HugeBetweennessCentralityConfigImpl(graphName, implicitCreateConfig, username, config);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.betweenness;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.logging.Log;
+
+public class HugeBetweennessCentralityFactory<CONFIG extends HugeBetweennessCentralityConfig> extends AlgorithmFactory<HugeBetweennessCentrality, CONFIG> {
+
+    @Override
+    public HugeBetweennessCentrality build(
+        Graph graph,
+        CONFIG configuration,
+        AllocationTracker tracker,
+        Log log
+    ) {
+        return new HugeBetweennessCentrality(
+            graph,
+            configuration.samplingMode(),
+            probability(configuration, graph.nodeCount()),
+            configuration.randomSeed(),
+            configuration.undirected(),
+            Pools.DEFAULT,
+            configuration.concurrency(),
+            tracker
+        );
+    }
+
+    @Override
+    public MemoryEstimation memoryEstimation(CONFIG configuration) {
+        return HugeBetweennessCentrality.memoryEstimation();
+    }
+
+    static double probability(HugeBetweennessCentralityConfig configuration, long nodeCount) {
+        double probability = configuration.probability();
+        if (Double.isNaN(probability)) {
+            // sample at least one node in expectation, but never more than all of them
+            double minProbability = 1.0 / Math.max(1, nodeCount);
+            probability = Math.max(minProbability, Math.min(1.0, Math.log10(nodeCount) / Math.exp(2)));
+        }
+        return probability;
+    }
+}
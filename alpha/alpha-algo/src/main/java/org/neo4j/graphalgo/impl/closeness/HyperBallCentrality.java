@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.closeness;
+
+import com.carrotsearch.hppc.BitMixer;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Approximate closeness and harmonic centrality based on HyperBall [1].
+ * <p>
+ * Every node keeps a HyperLogLog counter of the nodes it can reach within {@code t} hops.
+ * In iteration {@code t}, the counter of every node becomes the union of its own counter and
+ * the counters of its neighbours of the previous iteration. The growth of the estimated count
+ * is the number of nodes at distance exactly {@code t}, which is summed up into the farness and
+ * the harmonic sum of the node. The computation stops once no counter changes anymore,
+ * so it needs about {@code diameter} iterations over all relationships.
+ * <p>
+ * The counters have {@code 2^log2Registers} registers of one byte each, packed eight at a time
+ * into the words of a {@link HugeLongArray}. The union of two counters is a byte-wise maximum
+ * over these words. The relative standard error of every count is about {@code 1.04 / sqrt(2^log2Registers)}.
+ * <p>
+ * [1]: <a href="https://arxiv.org/abs/1308.2144">In-Core Computation of Geometric Centralities with HyperBall</a>
+ */
+public class HyperBallCentrality extends Algorithm<HyperBallCentrality, HyperBallCentrality> {
+
+    public static final int MIN_LOG2_REGISTERS = 4;
+    public static final int MAX_LOG2_REGISTERS = 16;
+
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long LOW_BITS = 0x0101010101010101L;
+
+    private Graph graph;
+    private final long nodeCount;
+    private final int log2Registers;
+    private final int registers;
+    private final int wordsPerCounter;
+    private final long hashSeed;
+    private final int maxIterations;
+    private final ExecutorService executor;
+    private final int concurrency;
+    private final AllocationTracker tracker;
+
+    private HugeLongArray counters;
+    private HugeLongArray nextCounters;
+    private final HugeDoubleArray counts;
+    private final HugeDoubleArray farness;
+    private final HugeDoubleArray harmonic;
+
+    private int ranIterations;
+
+    public HyperBallCentrality(
+        Graph graph,
+        int log2Registers,
+        long hashSeed,
+        int maxIterations,
+        ExecutorService executor,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        if (log2Registers < MIN_LOG2_REGISTERS || log2Registers > MAX_LOG2_REGISTERS) {
+            throw new IllegalArgumentException(String.format(
+                "The number of registers must be between 2^%d and 2^%d, but was 2^%d",
+                MIN_LOG2_REGISTERS,
+                MAX_LOG2_REGISTERS,
+                log2Registers
+            ));
+        }
+        this.graph = graph;
+        this.nodeCount = graph.nodeCount();
+        this.log2Registers = log2Registers;
+        this.registers = 1 << log2Registers;
+        this.wordsPerCounter = registers / Long.BYTES;
+        this.hashSeed = hashSeed;
+        this.maxIterations = maxIterations;
+        this.executor = executor;
+        this.concurrency = Math.max(1, concurrency);
+        this.tracker = tracker;
+        this.counters = HugeLongArray.newArray(nodeCount * wordsPerCounter, tracker);
+        this.nextCounters = HugeLongArray.newArray(nodeCount * wordsPerCounter, tracker);
+        this.counts = HugeDoubleArray.newArray(nodeCount, tracker);
+        this.farness = HugeDoubleArray.newArray(nodeCount, tracker);
+        this.harmonic = HugeDoubleArray.newArray(nodeCount, tracker);
+    }
+
+    public static MemoryEstimation memoryEstimation(int log2Registers) {
+        int wordsPerCounter = (1 << log2Registers) / Long.BYTES;
+        return MemoryEstimations.builder(HyperBallCentrality.class)
+            .perNode("counters", nodeCount -> 2 * HugeLongArray.memoryEstimation(nodeCount * wordsPerCounter))
+            .perNode("counts", HugeDoubleArray::memoryEstimation)
+            .perNode("farness", HugeDoubleArray::memoryEstimation)
+            .perNode("harmonic", HugeDoubleArray::memoryEstimation)
+            .build();
+    }
+
+    @Override
+    public HyperBallCentrality compute() {
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                addToCounter(counters, nodeId, nodeId);
+                counts.set(nodeId, estimate(counters, nodeId));
+            }
+        });
+
+        LongAdder changedNodes = new LongAdder();
+        for (ranIterations = 0; ranIterations < maxIterations && running(); ) {
+            int distance = ++ranIterations;
+            changedNodes.reset();
+            ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+                RelationshipIterator relationships = graph.concurrentCopy();
+                long changed = 0;
+                for (long nodeId = start; nodeId < end; nodeId++) {
+                    if (unionWithNeighbours(relationships, nodeId)) {
+                        changed++;
+                        double previousCount = counts.get(nodeId);
+                        double count = Math.max(previousCount, estimate(nextCounters, nodeId));
+                        double reached = count - previousCount;
+                        farness.addTo(nodeId, reached * distance);
+                        harmonic.addTo(nodeId, reached / distance);
+                        counts.set(nodeId, count);
+                    }
+                }
+                changedNodes.add(changed);
+            });
+
+            HugeLongArray swap = counters;
+            counters = nextCounters;
+            nextCounters = swap;
+
+            getProgressLogger().logProgress(ranIterations, maxIterations);
+            if (changedNodes.sum() == 0) {
+                break;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes the union of the current counters of the node and all its neighbours into the next counter of the node.
+     *
+     * @return true, iff the next counter differs from the current counter of the node
+     */
+    private boolean unionWithNeighbours(RelationshipIterator relationships, long nodeId) {
+        long offset = nodeId * wordsPerCounter;
+        for (int word = 0; word < wordsPerCounter; word++) {
+            nextCounters.set(offset + word, counters.get(offset + word));
+        }
+        relationships.forEachRelationship(nodeId, (source, target) -> {
+            long targetOffset = target * wordsPerCounter;
+            for (int word = 0; word < wordsPerCounter; word++) {
+                long current = nextCounters.get(offset + word);
+                long union = byteWiseMax(current, counters.get(targetOffset + word));
+                if (union != current) {
+                    nextCounters.set(offset + word, union);
+                }
+            }
+            return true;
+        });
+        for (int word = 0; word < wordsPerCounter; word++) {
+            if (nextCounters.get(offset + word) != counters.get(offset + word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Byte-wise maximum of two words whose bytes are all smaller than {@code 128}.
+     */
+    static long byteWiseMax(long x, long y) {
+        // the high bit of every byte is set, iff the byte of x is greater or equal than the one of y
+        long greaterOrEqual = ((x | HIGH_BITS) - y) & HIGH_BITS;
+        long mask = (greaterOrEqual >>> 7) * 0xFF;
+        return (x & mask) | (y & ~mask);
+    }
+
+    private void addToCounter(HugeLongArray counters, long counterId, long element) {
+        long hash = BitMixer.mix64(element ^ hashSeed);
+        int register = (int) (hash >>> (Long.SIZE - log2Registers));
+        long value = Long.numberOfLeadingZeros((hash << log2Registers) | (1L << (log2Registers - 1))) + 1;
+
+        long index = counterId * wordsPerCounter + (register >>> 3);
+        int shift = (register & 7) << 3;
+        long word = counters.get(index);
+        if (((word >>> shift) & 0xFF) < value) {
+            counters.set(index, (word & ~(0xFFL << shift)) | (value << shift));
+        }
+    }
+
+    private double estimate(HugeLongArray counters, long counterId) {
+        long offset = counterId * wordsPerCounter;
+        double sum = 0.0;
+        int zeros = 0;
+        for (int word = 0; word < wordsPerCounter; word++) {
+            long registerWord = counters.get(offset + word);
+            for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+                int value = (int) ((registerWord >>> shift) & 0xFF);
+                sum += Double.longBitsToDouble((1023L - value) << 52);
+                if (value == 0) {
+                    zeros++;
+                }
+            }
+        }
+        double estimate = alpha(registers) * registers * registers / sum;
+        if (estimate <= 2.5 * registers && zeros > 0) {
+            estimate = registers * Math.log((double) registers / zeros);
+        }
+        return estimate;
+    }
+
+    private static double alpha(int registers) {
+        switch (registers) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1.0 + 1.079 / registers);
+        }
+    }
+
+    /**
+     * @return the number of iterations, which is the estimated eccentricity of the graph plus one
+     *     if the computation finished before reaching the maximum number of iterations
+     */
+    public int iterations() {
+        return ranIterations;
+    }
+
+    /**
+     * @return the estimated number of nodes reachable from the given node, including itself
+     */
+    public double reachableNodes(long nodeId) {
+        return counts.get(nodeId);
+    }
+
+    /**
+     * Closeness centrality normalized by the number of reachable nodes.
+     * Following Wasserman and Faust, the centrality is additionally scaled by the fraction of reachable nodes.
+     */
+    public double closeness(long nodeId, boolean wassermanFaust) {
+        double nodeFarness = farness.get(nodeId);
+        if (nodeFarness == 0.0) {
+            return 0.0;
+        }
+        double reachable = counts.get(nodeId) - 1.0;
+        double closeness = reachable / nodeFarness;
+        return wassermanFaust ? closeness * reachable / (nodeCount - 1.0) : closeness;
+    }
+
+    /**
+     * Harmonic centrality normalized by the number of other nodes.
+     */
+    public double harmonic(long nodeId) {
+        return nodeCount > 1 ? harmonic.get(nodeId) / (nodeCount - 1.0) : 0.0;
+    }
+
+    @Override
+    public HyperBallCentrality me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        tracker.remove(counters.release());
+        tracker.remove(nextCounters.release());
+        counters = null;
+        nextCounters = null;
+        graph = null;
+    }
+}
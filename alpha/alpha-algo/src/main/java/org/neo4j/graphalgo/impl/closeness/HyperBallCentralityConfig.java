@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.closeness;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.IterationsConfig;
+import org.neo4j.graphalgo.config.WritePropertyConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+
+import java.util.Optional;
+
+@ValueClass
+@Configuration("HyperBallCentralityConfigImpl")
+@SuppressWarnings("immutables:subtype")
+public interface HyperBallCentralityConfig extends
+    AlgoBaseConfig,
+    IterationsConfig,
+    WritePropertyConfig
+{
+
+    @Value.Default
+    default int log2Registers() {
+        return 10;
+    }
+
+    @Value.Default
+    default long randomSeed() {
+        return 42L;
+    }
+
+    @Value.Default
+    @Override
+    default int maxIterations() {
+        return 100;
+    }
+
+    /**
+     * Computes harmonic instead of closeness centrality.
+     */
+    @Value.Default
+    default boolean harmonic() {
+        return false;
+    }
+
+    @Value.Default
+    default boolean wassermanFaust() {
+        return false;
+    }
+
+    @Value.Default
+    default String writeProperty() {
+        return "centrality";
+    }
+
+    @Value.Check
+    default void validate() {
+        if (log2Registers() < HyperBallCentrality.MIN_LOG2_REGISTERS || log2Registers() > HyperBallCentrality.MAX_LOG2_REGISTERS) {
+            throw new IllegalArgumentException(String.format(
+                "Value for `log2Registers` must be between %d and %d, but was %d.",
+                HyperBallCentrality.MIN_LOG2_REGISTERS,
+                HyperBallCentrality.MAX_LOG2_REGISTERS,
+                log2Registers()
+            ));
+        }
+        if (maxIterations() < 1) {
+            throw new IllegalArgumentException("Value for `maxIterations` must be positive, but was " + maxIterations() + ".");
+        }
+    }
+
+    @Configuration.Ignore
+    default double centrality(HyperBallCentrality hyperBall, long nodeId) {
+        return harmonic() ? hyperBall.harmonic(nodeId) : hyperBall.closeness(nodeId, wassermanFaust());
+    }
+
+    static HyperBallCentralityConfig of(
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> implicitCreateConfig,
+        String username,
+        CypherMapWrapper config
+    ) {
+        return new HyperBallCentralityConfigImpl(graphName, implicitCreateConfig, username, config);
+    }
+}
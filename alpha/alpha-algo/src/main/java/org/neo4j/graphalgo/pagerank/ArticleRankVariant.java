@@ -20,8 +20,10 @@
 package org.neo4j.graphalgo.pagerank;
 
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.IncomingRelationships;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 
 public class ArticleRankVariant implements PageRankVariant {
 
@@ -50,6 +52,35 @@ public class ArticleRankVariant implements PageRankVariant {
         );
     }
 
+    @Override
+    public ComputeStep createPullComputeStep(
+            double dampingFactor,
+            double toleranceValue,
+            long[] sourceNodeIds,
+            Graph graph,
+            IncomingRelationships incomingRelationships,
+            HugeDoubleArray contributions,
+            AllocationTracker tracker,
+            int partitionSize,
+            long start,
+            DegreeCache degreeCache,
+            long nodeCount,
+            ProgressLogger progressLogger
+    ) {
+        return new ArticleRankPullComputeStep(
+                dampingFactor,
+                sourceNodeIds,
+                graph,
+                incomingRelationships,
+                contributions,
+                tracker,
+                partitionSize,
+                start,
+                degreeCache,
+                progressLogger
+        );
+    }
+
     @Override
     public DegreeComputer degreeComputer(Graph graph) {
         return new BasicDegreeComputer(graph);
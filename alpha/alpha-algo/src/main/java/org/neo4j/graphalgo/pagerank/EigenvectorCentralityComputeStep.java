@@ -94,6 +94,7 @@ final class EigenvectorCentralityComputeStep extends BaseComputeStep implements
         int length = prevScores[0].length;
 
         boolean shouldBreak = true;
+        double l1Change = 0.0;
 
         for (int i = 0; i < length; i++) {
             double delta = 0.0;
@@ -104,10 +105,13 @@ final class EigenvectorCentralityComputeStep extends BaseComputeStep implements
             if (delta > tolerance) {
                 shouldBreak = false;
             }
+            l1Change += delta;
             pageRank[i] += delta;
             deltas[i] = delta;
         }
 
+        this.l1Change = l1Change;
+
         return shouldBreak;
     }
 
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.IncomingRelationships;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+
+final class EigenvectorCentralityPullComputeStep extends PullComputeStep {
+    private final double initialValue;
+
+    EigenvectorCentralityPullComputeStep(
+        double dampingFactor,
+        long[] sourceNodeIds,
+        Graph graph,
+        IncomingRelationships incomingRelationships,
+        HugeDoubleArray contributions,
+        AllocationTracker tracker,
+        int partitionSize,
+        long startNode,
+        long nodeCount,
+        ProgressLogger progressLogger
+    ) {
+        super(
+            dampingFactor,
+            sourceNodeIds,
+            graph,
+            incomingRelationships,
+            contributions,
+            tracker,
+            partitionSize,
+            startNode,
+            progressLogger
+        );
+        this.initialValue = 1.0 / nodeCount;
+    }
+
+    @Override
+    protected double initialValue() {
+        return initialValue;
+    }
+
+    @Override
+    double contribution(long nodeId, double delta) {
+        return delta;
+    }
+
+    @Override
+    double delta(double sum) {
+        return sum;
+    }
+
+    @Override
+    void normalizeDeltas() {
+        for (int i = 0; i < deltas.length; i++) {
+            deltas[i] = deltas[i] / l2Norm;
+        }
+    }
+}
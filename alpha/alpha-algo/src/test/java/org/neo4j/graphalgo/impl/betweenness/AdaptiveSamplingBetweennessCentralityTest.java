@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.betweenness;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.AlgoTestBase;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.impl.betweenness.HugeBetweennessCentrality.Sampling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveSamplingBetweennessCentralityTest extends AlgoTestBase {
+
+    private static final String RANDOM_GRAPH =
+        "UNWIND range(0, 199) AS id " +
+        "CREATE (:Node {id: id}) " +
+        "WITH count(*) AS ignore " +
+        "MATCH (a:Node), (b:Node) " +
+        "WHERE b.id = (a.id * 7) % 200 OR b.id = (a.id * 13 + 1) % 200 OR (a.id % 5 = 0 AND b.id = (a.id + 3) % 200) " +
+        "CREATE (a)-[:REL]->(b)";
+
+    // a path of 50 nodes, the middle nodes lie on most shortest paths
+    private static final String PATH_GRAPH =
+        "UNWIND range(0, 49) AS id " +
+        "CREATE (:Node {id: id}) " +
+        "WITH count(*) AS ignore " +
+        "MATCH (a:Node), (b:Node) WHERE b.id = a.id + 1 " +
+        "CREATE (a)-[:REL]->(b)";
+
+    @ParameterizedTest
+    @EnumSource(value = Orientation.class, names = {"NATURAL", "REVERSE", "UNDIRECTED"})
+    void shouldBeWithinErrorBoundOfExactCentrality(Orientation orientation) {
+        runQuery(RANDOM_GRAPH);
+        Graph graph = loadGraph(orientation);
+        boolean undirected = orientation == Orientation.UNDIRECTED;
+        double epsilon = 0.02;
+
+        HugeDoubleArray exact = new HugeBetweennessCentrality(
+            graph,
+            Sampling.EXACT,
+            1.0,
+            42L,
+            undirected,
+            Pools.DEFAULT,
+            4,
+            AllocationTracker.EMPTY
+        ).compute();
+        AdaptiveSamplingBetweennessCentrality algo = algorithm(graph, epsilon, 0.1, undirected, 4);
+        HugeDoubleArray approximate = algo.compute();
+
+        assertTrue(algo.error() <= epsilon, "error " + algo.error());
+        assertTrue(algo.sampleSize() > 0);
+        double pairs = graph.nodeCount() * (graph.nodeCount() - 1.0) / (undirected ? 2.0 : 1.0);
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            assertEquals(exact.get(nodeId) / pairs, approximate.get(nodeId) / pairs, epsilon, "Node#" + nodeId);
+        }
+    }
+
+    @Test
+    void shouldFindTheMostCentralNodes() {
+        runQuery(PATH_GRAPH);
+        Graph graph = loadGraph(Orientation.UNDIRECTED);
+
+        AdaptiveSamplingBetweennessCentrality algo = algorithm(graph, 0.01, 0.1, true, 4);
+        HugeDoubleArray centrality = algo.compute();
+
+        runQueryWithRowConsumer("MATCH (n:Node) RETURN id(n) AS nodeId, n.id AS position", row -> {
+            long position = row.getNumber("position").longValue();
+            long nodeId = graph.toMappedNodeId(row.getNumber("nodeId").longValue());
+            // the number of node pairs with the node in between
+            double expected = position * (49 - position);
+            assertEquals(expected, centrality.get(nodeId), 0.01 * 50 * 49 / 2, "Node at position " + position);
+        });
+        assertEquals(0.0, centrality.get(graph.toMappedNodeId(0)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 4, 8})
+    void shouldNotDependOnConcurrency(int concurrency) {
+        runQuery(RANDOM_GRAPH);
+        Graph graph = loadGraph(Orientation.NATURAL);
+
+        AdaptiveSamplingBetweennessCentrality sequential = algorithm(graph, 0.05, 0.1, false, 1);
+        HugeDoubleArray expected = sequential.compute();
+        AdaptiveSamplingBetweennessCentrality parallel = algorithm(graph, 0.05, 0.1, false, concurrency);
+        HugeDoubleArray actual = parallel.compute();
+
+        assertEquals(sequential.sampleSize(), parallel.sampleSize());
+        assertEquals(sequential.error(), parallel.error());
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            assertEquals(expected.get(nodeId), actual.get(nodeId), "Node#" + nodeId);
+        }
+    }
+
+    @Test
+    void shouldStopBeforeTheMaximumSampleSize() {
+        runQuery(RANDOM_GRAPH);
+        Graph graph = loadGraph(Orientation.NATURAL);
+
+        AdaptiveSamplingBetweennessCentrality algo = algorithm(graph, 0.01, 0.1, false, 4);
+        algo.compute();
+
+        assertTrue(algo.sampleSize() < algo.maxSampleSize(), algo.sampleSize() + " >= " + algo.maxSampleSize());
+        assertTrue(algo.error() <= 0.01);
+    }
+
+    @Test
+    void shouldReleaseEverythingButTheCentrality() {
+        runQuery(RANDOM_GRAPH);
+        Graph graph = loadGraph(Orientation.NATURAL);
+        AllocationTracker tracker = AllocationTracker.create();
+
+        AdaptiveSamplingBetweennessCentrality algo = algorithm(graph, 0.05, 0.1, false, 4, tracker);
+        HugeDoubleArray centrality = algo.compute();
+        long computeBytes = tracker.tracked();
+        algo.release();
+        long releasedBytes = tracker.tracked();
+
+        assertTrue(releasedBytes < computeBytes);
+        assertEquals(centrality.release(), releasedBytes);
+    }
+
+    @Test
+    void shouldRejectInvalidBounds() {
+        runQuery(RANDOM_GRAPH);
+        Graph graph = loadGraph(Orientation.NATURAL);
+
+        assertThrows(IllegalArgumentException.class, () -> algorithm(graph, 0.0, 0.1, false, 1));
+        assertThrows(IllegalArgumentException.class, () -> algorithm(graph, 0.1, 1.0, false, 1));
+    }
+
+    private AdaptiveSamplingBetweennessCentrality algorithm(
+        Graph graph,
+        double epsilon,
+        double delta,
+        boolean undirected,
+        int concurrency
+    ) {
+        return algorithm(graph, epsilon, delta, undirected, concurrency, AllocationTracker.EMPTY);
+    }
+
+    private AdaptiveSamplingBetweennessCentrality algorithm(
+        Graph graph,
+        double epsilon,
+        double delta,
+        boolean undirected,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        return new AdaptiveSamplingBetweennessCentrality(
+            graph,
+            epsilon,
+            delta,
+            42L,
+            undirected,
+            Pools.DEFAULT,
+            concurrency,
+            tracker
+        );
+    }
+
+    private Graph loadGraph(Orientation orientation) {
+        return new StoreLoaderBuilder()
+            .api(db)
+            .globalOrientation(orientation)
+            .build()
+            .graph(NativeFactory.class);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.betweenness;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.AlgoTestBase;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.impl.betweenness.HugeBetweennessCentrality.Sampling;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.graphalgo.TestSupport.crossArguments;
+import static org.neo4j.graphalgo.TestSupport.toArguments;
+
+class HugeBetweennessCentralityTest extends AlgoTestBase {
+
+    private static final String RANDOM_GRAPH =
+        "UNWIND range(0, 199) AS id " +
+        "CREATE (:Node {id: id}) " +
+        "WITH count(*) AS ignore " +
+        "MATCH (a:Node), (b:Node) " +
+        "WHERE b.id = (a.id * 7) % 200 OR b.id = (a.id * 13 + 1) % 200 OR (a.id % 5 = 0 AND b.id = (a.id + 3) % 200) " +
+        "CREATE (a)-[:REL]->(b)";
+
+    // a source, followed by 40 layers of two nodes, each connected to both nodes of the next layer
+    private static final int LAYERS = 40;
+    private static final String LAYERED_GRAPH =
+        "CREATE (:Node {layer: 0, i: 0}) " +
+        "WITH 1 AS ignore " +
+        "UNWIND range(1, " + LAYERS + ") AS layer " +
+        "UNWIND [0, 1] AS i " +
+        "CREATE (:Node {layer: layer, i: i}) " +
+        "WITH count(*) AS ignore " +
+        "MATCH (a:Node), (b:Node) WHERE b.layer = a.layer + 1 " +
+        "CREATE (a)-[:REL]->(b)";
+
+    static Stream<Arguments> orientationsAndConcurrencies() {
+        return crossArguments(
+            toArguments(() -> Stream.of(Orientation.NATURAL, Orientation.UNDIRECTED)),
+            toArguments(() -> Stream.of(1, 4))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("orientationsAndConcurrencies")
+    void shouldComputeSameCentralityAsBetweennessCentrality(Orientation orientation, int concurrency) {
+        runQuery(RANDOM_GRAPH);
+        Graph graph = loadGraph(orientation);
+        boolean undirected = orientation == Orientation.UNDIRECTED;
+
+        BetweennessCentrality expected = new BetweennessCentrality(graph, Pools.DEFAULT, concurrency, undirected).compute();
+        HugeDoubleArray actual = compute(graph, Sampling.EXACT, 1.0, undirected, concurrency);
+
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            assertEquals(expected.getCentrality().get((int) nodeId), actual.get(nodeId), 1e-6, "Node#" + nodeId);
+        }
+    }
+
+    @Test
+    void shouldNotOverflowPathCounts() {
+        runQuery(LAYERED_GRAPH);
+        Graph graph = loadGraph(Orientation.NATURAL);
+
+        HugeDoubleArray centrality = compute(graph, Sampling.EXACT, 1.0, false, 4);
+
+        runQueryWithRowConsumer("MATCH (n:Node) RETURN id(n) AS id, n.layer AS layer", row -> {
+            long layer = row.getNumber("layer").longValue();
+            // every node of a layer lies on half of the shortest paths between all earlier and all later nodes
+            double expected = layer == 0 ? 0.0 : (2 * layer - 1) * (LAYERS - layer);
+            long nodeId = graph.toMappedNodeId(row.getNumber("id").longValue());
+            assertEquals(expected, centrality.get(nodeId), 1e-9, "Node in layer " + layer);
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"RANDOM", "DEGREE"})
+    void shouldMatchExactCentralityWhenSamplingAllNodes(Sampling sampling) {
+        runQuery(LAYERED_GRAPH);
+        Graph graph = loadGraph(Orientation.UNDIRECTED);
+
+        HugeDoubleArray exact = compute(graph, Sampling.EXACT, 1.0, true, 4);
+        // every node in the layered graph has the same degree, except for the first and last layer
+        HugeDoubleArray sampled = compute(graph, sampling, 1.0, true, 4);
+
+        if (sampling == Sampling.RANDOM) {
+            for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+                assertEquals(exact.get(nodeId), sampled.get(nodeId), 1e-9, "Node#" + nodeId);
+            }
+        }
+        assertEquals(sum(exact), sum(sampled), sum(exact) * 0.2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"RANDOM", "DEGREE"})
+    void shouldSampleDeterministically(Sampling sampling) {
+        runQuery(RANDOM_GRAPH);
+        Graph graph = loadGraph(Orientation.NATURAL);
+
+        HugeDoubleArray first = compute(graph, sampling, 0.3, false, 1);
+        HugeDoubleArray second = compute(graph, sampling, 0.3, false, 4);
+
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            assertEquals(first.get(nodeId), second.get(nodeId), 1e-9, "Node#" + nodeId);
+        }
+    }
+
+    @Test
+    void shouldEstimateExactCentralityBySampling() {
+        runQuery(RANDOM_GRAPH);
+        Graph graph = loadGraph(Orientation.NATURAL);
+
+        HugeDoubleArray exact = compute(graph, Sampling.EXACT, 1.0, false, 4);
+        HugeDoubleArray sampled = compute(graph, Sampling.RANDOM, 0.5, false, 4);
+
+        assertEquals(sum(exact), sum(sampled), sum(exact) * 0.2);
+    }
+
+    @Test
+    void shouldRejectInvalidProbability() {
+        runQuery(RANDOM_GRAPH);
+        Graph graph = loadGraph(Orientation.NATURAL);
+
+        assertThrows(IllegalArgumentException.class, () -> compute(graph, Sampling.RANDOM, 0.0, false, 1));
+        assertThrows(IllegalArgumentException.class, () -> compute(graph, Sampling.DEGREE, 1.5, false, 1));
+    }
+
+    private HugeDoubleArray compute(Graph graph, Sampling sampling, double probability, boolean undirected, int concurrency) {
+        return new HugeBetweennessCentrality(
+            graph,
+            sampling,
+            probability,
+            42L,
+            undirected,
+            Pools.DEFAULT,
+            concurrency,
+            AllocationTracker.EMPTY
+        ).compute();
+    }
+
+    private Graph loadGraph(Orientation orientation) {
+        return new StoreLoaderBuilder()
+            .api(db)
+            .globalOrientation(orientation)
+            .build()
+            .graph(NativeFactory.class);
+    }
+
+    private static double sum(HugeDoubleArray array) {
+        return array.stream().sum();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.closeness;
+
+import com.carrotsearch.hppc.LongArrayDeque;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.AlgoTestBase;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperBallCentralityTest extends AlgoTestBase {
+
+    private static final String DB_CYPHER =
+        "UNWIND range(0, 299) AS id " +
+        "CREATE (:Node {id: id}) " +
+        "WITH count(*) AS ignore " +
+        "MATCH (a:Node), (b:Node) " +
+        "WHERE b.id = (a.id + 1) % 300 OR (a.id % 7 = 0 AND b.id = (a.id * 13 + 5) % 300) " +
+        "CREATE (a)-[:REL]->(b)";
+
+    private Graph graph;
+
+    @BeforeEach
+    void setUp() {
+        runQuery(DB_CYPHER);
+        graph = new StoreLoaderBuilder()
+            .api(db)
+            .globalOrientation(Orientation.UNDIRECTED)
+            .build()
+            .graph(NativeFactory.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldApproximateClosenessAndHarmonicCentrality(int concurrency) {
+        HyperBallCentrality hyperBall = new HyperBallCentrality(
+            graph,
+            10,
+            42L,
+            100,
+            Pools.DEFAULT,
+            concurrency,
+            AllocationTracker.EMPTY
+        ).compute();
+
+        long nodeCount = graph.nodeCount();
+        int eccentricity = 0;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            int[] distances = distancesFrom(nodeId);
+            double farness = 0.0;
+            double harmonic = 0.0;
+            for (int distance : distances) {
+                if (distance > 0) {
+                    farness += distance;
+                    harmonic += 1.0 / distance;
+                }
+                eccentricity = Math.max(eccentricity, distance);
+            }
+            double closeness = (nodeCount - 1) / farness;
+            harmonic /= nodeCount - 1;
+
+            assertEquals(nodeCount, hyperBall.reachableNodes(nodeId), nodeCount * 0.1, "Node#" + nodeId);
+            assertEquals(closeness, hyperBall.closeness(nodeId, false), closeness * 0.1, "Node#" + nodeId);
+            assertEquals(closeness, hyperBall.closeness(nodeId, true), closeness * 0.2, "Node#" + nodeId);
+            assertEquals(harmonic, hyperBall.harmonic(nodeId), harmonic * 0.1, "Node#" + nodeId);
+        }
+        // one more iteration is needed to notice that no counter changes anymore
+        assertTrue(hyperBall.iterations() <= eccentricity + 1);
+    }
+
+    @Test
+    void shouldComputeByteWiseMaximum() {
+        long x = 0x01_7F_00_10_22_05_40_03L;
+        long y = 0x02_10_00_7F_21_05_3F_04L;
+        assertEquals(0x02_7F_00_7F_22_05_40_04L, HyperBallCentrality.byteWiseMax(x, y));
+        assertEquals(0x02_7F_00_7F_22_05_40_04L, HyperBallCentrality.byteWiseMax(y, x));
+    }
+
+    @Test
+    void shouldRejectInvalidRegisterCount() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new HyperBallCentrality(graph, 3, 42L, 10, Pools.DEFAULT, 1, AllocationTracker.EMPTY)
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new HyperBallCentrality(graph, 17, 42L, 10, Pools.DEFAULT, 1, AllocationTracker.EMPTY)
+        );
+    }
+
+    private int[] distancesFrom(long source) {
+        int[] distances = new int[Math.toIntExact(graph.nodeCount())];
+        Arrays.fill(distances, -1);
+        distances[(int) source] = 0;
+        LongArrayDeque queue = new LongArrayDeque();
+        queue.addLast(source);
+        while (!queue.isEmpty()) {
+            long node = queue.removeFirst();
+            graph.forEachRelationship(node, (s, target) -> {
+                if (distances[(int) target] < 0) {
+                    distances[(int) target] = distances[(int) node] + 1;
+                    queue.addLast(target);
+                }
+                return true;
+            });
+        }
+        return distances;
+    }
+}
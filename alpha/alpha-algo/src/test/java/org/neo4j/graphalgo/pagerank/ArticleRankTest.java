@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.pagerank;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.CypherLoaderBuilder;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
@@ -27,6 +28,7 @@ import org.neo4j.graphalgo.TestSupport.AllGraphTypesTest;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.GraphStoreFactory;
 import org.neo4j.graphalgo.core.loading.CypherFactory;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
 import org.neo4j.graphalgo.result.CentralityResult;
 import org.neo4j.graphdb.Label;
@@ -153,4 +155,31 @@ final class ArticleRankTest extends AlgoTestBase {
             );
         });
     }
+
+    @Test
+    void shouldComputeSameScoresWhenPullingScores() {
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Label1")
+            .addRelationshipType("TYPE1")
+            .build()
+            .graph(NativeFactory.class);
+
+        CentralityResult pushResult = LabsPageRankAlgorithmType.ARTICLE_RANK
+            .create(graph, DEFAULT_CONFIG, LongStream.empty(), progressLogger)
+            .compute()
+            .result();
+        PageRankBaseConfig pullConfig = ImmutablePageRankStreamConfig.builder()
+            .maxIterations(40)
+            .pullBased(true)
+            .build();
+        CentralityResult pullResult = LabsPageRankAlgorithmType.ARTICLE_RANK
+            .create(graph, pullConfig, LongStream.empty(), progressLogger)
+            .compute()
+            .result();
+
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            assertEquals(pushResult.score(nodeId), pullResult.score(nodeId), 1e-5, "Node#" + nodeId);
+        }
+    }
 }
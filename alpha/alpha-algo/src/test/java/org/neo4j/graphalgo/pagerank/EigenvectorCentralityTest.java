@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.pagerank;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.CypherLoaderBuilder;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
@@ -28,6 +29,7 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.GraphStoreFactory;
 import org.neo4j.graphalgo.centrality.eigenvector.ImmutableEigenvectorCentralityConfig;
 import org.neo4j.graphalgo.core.loading.CypherFactory;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
 import org.neo4j.graphalgo.result.CentralityResult;
 import org.neo4j.graphdb.Label;
@@ -39,6 +41,7 @@ import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.applyInTransaction;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.runInTransaction;
 
@@ -156,4 +159,54 @@ final class EigenvectorCentralityTest extends AlgoTestBase {
             );
         });
     }
+
+    @Test
+    void shouldComputeSameScoresWhenPullingScores() {
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Label1")
+            .addRelationshipType("TYPE1")
+            .build()
+            .graph(NativeFactory.class);
+
+        CentralityResult pushResult = LabsPageRankAlgorithmType.EIGENVECTOR_CENTRALITY
+            .create(graph, DEFAULT_EIGENVECTOR_CONFIG, LongStream.empty(), progressLogger)
+            .compute()
+            .result();
+        PageRankBaseConfig pullConfig = ImmutableEigenvectorCentralityConfig
+            .builder()
+            .maxIterations(40)
+            .dampingFactor(1)
+            .pullBased(true)
+            .build();
+        CentralityResult pullResult = LabsPageRankAlgorithmType.EIGENVECTOR_CENTRALITY
+            .create(graph, pullConfig, LongStream.empty(), progressLogger)
+            .compute()
+            .result();
+
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            assertEquals(pushResult.score(nodeId), pullResult.score(nodeId), 1e-5, "Node#" + nodeId);
+        }
+    }
+
+    @Test
+    void shouldNotSupportSeedProperty() {
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Label1")
+            .addRelationshipType("TYPE1")
+            .build()
+            .graph(NativeFactory.class);
+
+        PageRankBaseConfig seededConfig = ImmutableEigenvectorCentralityConfig
+            .builder()
+            .dampingFactor(1)
+            .seedProperty("score")
+            .build();
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> LabsPageRankAlgorithmType.EIGENVECTOR_CENTRALITY.create(graph, seededConfig, LongStream.empty(), progressLogger)
+        );
+    }
 }
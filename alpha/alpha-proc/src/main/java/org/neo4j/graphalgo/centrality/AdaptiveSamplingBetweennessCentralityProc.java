@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.centrality;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.AlphaAlgorithmFactory;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.write.NodePropertyExporter;
+import org.neo4j.graphalgo.impl.betweenness.AdaptiveSamplingBetweennessCentrality;
+import org.neo4j.graphalgo.impl.betweenness.AdaptiveSamplingBetweennessCentralityConfig;
+import org.neo4j.graphalgo.impl.betweenness.BetweennessCentrality;
+import org.neo4j.graphalgo.impl.betweenness.HugeBetweennessCentrality;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.logging.Log;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+import static org.neo4j.procedure.Mode.WRITE;
+
+public class AdaptiveSamplingBetweennessCentralityProc extends AlgoBaseProc<AdaptiveSamplingBetweennessCentrality, HugeDoubleArray, AdaptiveSamplingBetweennessCentralityConfig> {
+
+    private static final String DESCRIPTION =
+        "Adaptive sampling Betweenness centrality computes an approximate score for betweenness centrality " +
+        "that is within a given error bound with a given probability.";
+
+    @Procedure(name = "gds.alpha.betweenness.adaptive.stream", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<BetweennessCentrality.Result> stream(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<AdaptiveSamplingBetweennessCentrality, HugeDoubleArray, AdaptiveSamplingBetweennessCentralityConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+        if (computationResult.isGraphEmpty()) {
+            return Stream.empty();
+        }
+        return HugeBetweennessCentrality.resultStream(computationResult.graph(), computationResult.result());
+    }
+
+    @Procedure(value = "gds.alpha.betweenness.adaptive.write", mode = WRITE)
+    @Description(DESCRIPTION)
+    public Stream<WriteResult> write(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<AdaptiveSamplingBetweennessCentrality, HugeDoubleArray, AdaptiveSamplingBetweennessCentralityConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+
+        WriteResult.Builder builder = new WriteResult.Builder();
+        if (computationResult.isGraphEmpty()) {
+            return Stream.of(builder.build());
+        }
+
+        Graph graph = computationResult.graph();
+        AdaptiveSamplingBetweennessCentrality algo = computationResult.algorithm();
+        AdaptiveSamplingBetweennessCentralityConfig config = computationResult.config();
+        HugeDoubleArray centrality = computationResult.result();
+
+        computeStats(builder, centrality);
+        builder
+            .withSampleSize(algo.sampleSize())
+            .withError(algo.error())
+            .withNodeCount(graph.nodeCount())
+            .withComputeMillis(computationResult.computeMillis())
+            .withCreateMillis(computationResult.createMillis());
+
+        try (ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
+            NodePropertyExporter.builder(api, graph, TerminationFlag.wrap(transaction))
+                .withLog(log)
+                .parallel(Pools.DEFAULT, config.writeConcurrency())
+                .build()
+                .write(config.writeProperty(), centrality, HugeDoubleArray.Translator.INSTANCE);
+        }
+        graph.release();
+        algo.release();
+        return Stream.of(builder.build());
+    }
+
+    private void computeStats(WriteResult.Builder builder, HugeDoubleArray centrality) {
+        double min = Double.MAX_VALUE;
+        double max = Double.MIN_VALUE;
+        double sum = 0.0;
+        for (long i = centrality.size() - 1; i >= 0; i--) {
+            double c = centrality.get(i);
+            if (c < min) {
+                min = c;
+            }
+            if (c > max) {
+                max = c;
+            }
+            sum += c;
+        }
+        builder.withCentralityMax(max)
+            .withCentralityMin(min)
+            .withCentralitySum(sum);
+    }
+
+    @Override
+    protected AdaptiveSamplingBetweennessCentralityConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return AdaptiveSamplingBetweennessCentralityConfig.of(graphName, maybeImplicitCreate, username, config);
+    }
+
+    @Override
+    protected void validateConfigs(
+        GraphCreateConfig graphCreateConfig,
+        AdaptiveSamplingBetweennessCentralityConfig config
+    ) {
+        config.validate(graphCreateConfig);
+    }
+
+    @Override
+    protected AlgorithmFactory<AdaptiveSamplingBetweennessCentrality, AdaptiveSamplingBetweennessCentralityConfig> algorithmFactory(
+        AdaptiveSamplingBetweennessCentralityConfig config
+    ) {
+        return new AlphaAlgorithmFactory<AdaptiveSamplingBetweennessCentrality, AdaptiveSamplingBetweennessCentralityConfig>() {
+            @Override
+            public AdaptiveSamplingBetweennessCentrality buildAlphaAlgo(
+                Graph graph,
+                AdaptiveSamplingBetweennessCentralityConfig configuration,
+                AllocationTracker tracker,
+                Log log
+            ) {
+                return new AdaptiveSamplingBetweennessCentrality(
+                    graph,
+                    configuration.epsilon(),
+                    configuration.delta(),
+                    configuration.randomSeed(),
+                    configuration.undirected(),
+                    Pools.DEFAULT,
+                    configuration.concurrency(),
+                    tracker
+                ).withTerminationFlag(TerminationFlag.wrap(transaction));
+            }
+
+            @Override
+            public MemoryEstimation memoryEstimation(AdaptiveSamplingBetweennessCentralityConfig configuration) {
+                return AdaptiveSamplingBetweennessCentrality.memoryEstimation();
+            }
+        };
+    }
+
+    public static final class WriteResult {
+
+        public final long createMillis;
+        public final long computeMillis;
+        public final long writeMillis;
+        public final long nodes;
+        public final double minCentrality;
+        public final double maxCentrality;
+        public final double sumCentrality;
+        public final long sampleSize;
+        public final double error;
+
+        private WriteResult(
+            long createMillis,
+            long computeMillis,
+            long writeMillis,
+            long nodes,
+            double minCentrality,
+            double maxCentrality,
+            double sumCentrality,
+            long sampleSize,
+            double error
+        ) {
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+            this.writeMillis = writeMillis;
+            this.nodes = nodes;
+            this.minCentrality = minCentrality;
+            this.maxCentrality = maxCentrality;
+            this.sumCentrality = sumCentrality;
+            this.sampleSize = sampleSize;
+            this.error = error;
+        }
+
+        static class Builder extends AbstractResultBuilder<WriteResult> {
+
+            private double centralityMin = -1;
+            private double centralityMax = -1;
+            private double centralitySum = -1;
+            private long sampleSize = 0;
+            private double error = 0;
+
+            Builder withCentralityMin(double centralityMin) {
+                this.centralityMin = centralityMin;
+                return this;
+            }
+
+            Builder withCentralityMax(double centralityMax) {
+                this.centralityMax = centralityMax;
+                return this;
+            }
+
+            Builder withCentralitySum(double centralitySum) {
+                this.centralitySum = centralitySum;
+                return this;
+            }
+
+            Builder withSampleSize(long sampleSize) {
+                this.sampleSize = sampleSize;
+                return this;
+            }
+
+            Builder withError(double error) {
+                this.error = error;
+                return this;
+            }
+
+            @Override
+            public WriteResult build() {
+                return new WriteResult(
+                    createMillis,
+                    computeMillis,
+                    writeMillis,
+                    nodeCount,
+                    centralityMin,
+                    centralityMax,
+                    centralitySum,
+                    sampleSize,
+                    error
+                );
+            }
+        }
+    }
+}
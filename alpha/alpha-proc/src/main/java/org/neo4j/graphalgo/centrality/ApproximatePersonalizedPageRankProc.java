@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.centrality;
+
+import com.carrotsearch.hppc.cursors.LongDoubleCursor;
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.write.NodePropertyExporter;
+import org.neo4j.graphalgo.pagerank.ApproximatePersonalizedPageRank;
+import org.neo4j.graphalgo.pagerank.ApproximatePersonalizedPageRankConfig;
+import org.neo4j.graphalgo.pagerank.ApproximatePersonalizedPageRankFactory;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.graphalgo.results.CentralityScore;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.neo4j.procedure.Mode.READ;
+import static org.neo4j.procedure.Mode.WRITE;
+
+public class ApproximatePersonalizedPageRankProc extends AlgoBaseProc<ApproximatePersonalizedPageRank, ApproximatePersonalizedPageRank, ApproximatePersonalizedPageRankConfig> {
+
+    private static final String DESCRIPTION =
+        "Approximate personalized PageRank computes PageRank scores for each source node " +
+        "by only visiting its neighbourhood.";
+
+    @Procedure(name = "gds.alpha.personalizedPageRank.stream", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<StreamResult> stream(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<ApproximatePersonalizedPageRank, ApproximatePersonalizedPageRank, ApproximatePersonalizedPageRankConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+
+        ApproximatePersonalizedPageRank algorithm = computationResult.algorithm();
+        Graph graph = computationResult.graph();
+
+        if (graph.isEmpty()) {
+            graph.release();
+            return Stream.empty();
+        }
+
+        return IntStream.range(0, algorithm.sourceNodeCount()).boxed().flatMap(sourceIndex -> {
+            long sourceNodeId = graph.toOriginalNodeId(algorithm.sourceNode(sourceIndex));
+            return StreamSupport
+                .stream(algorithm.scores(sourceIndex).spliterator(), false)
+                .map(cursor -> new StreamResult(sourceNodeId, graph.toOriginalNodeId(cursor.key), cursor.value));
+        });
+    }
+
+    @Procedure(name = "gds.alpha.personalizedPageRank.write", mode = WRITE)
+    @Description(DESCRIPTION)
+    public Stream<CentralityScore.Stats> write(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<ApproximatePersonalizedPageRank, ApproximatePersonalizedPageRank, ApproximatePersonalizedPageRankConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+
+        ApproximatePersonalizedPageRank algorithm = computationResult.algorithm();
+        ApproximatePersonalizedPageRankConfig config = computationResult.config();
+        Graph graph = computationResult.graph();
+
+        AbstractResultBuilder<CentralityScore.Stats> builder = new CentralityScore.Stats.Builder()
+            .withNodeCount(graph.nodeCount())
+            .withConfig(config)
+            .withComputeMillis(computationResult.computeMillis())
+            .withCreateMillis(computationResult.createMillis());
+
+        if (graph.isEmpty()) {
+            graph.release();
+            return Stream.of(builder.build());
+        }
+
+        // nodes reached from multiple source nodes are written with the sum of their scores
+        HugeDoubleArray scores = HugeDoubleArray.newArray(graph.nodeCount(), AllocationTracker.EMPTY);
+        for (int sourceIndex = 0; sourceIndex < algorithm.sourceNodeCount(); sourceIndex++) {
+            for (LongDoubleCursor cursor : algorithm.scores(sourceIndex)) {
+                scores.addTo(cursor.key, cursor.value);
+            }
+        }
+
+        try (ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
+            NodePropertyExporter.builder(api, graph, algorithm.getTerminationFlag())
+                .withLog(log)
+                .parallel(Pools.DEFAULT, config.writeConcurrency())
+                .build()
+                .write(config.writeProperty(), scores, HugeDoubleArray.Translator.INSTANCE);
+        }
+
+        graph.release();
+        return Stream.of(builder.build());
+    }
+
+    @Override
+    protected ApproximatePersonalizedPageRankConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return ApproximatePersonalizedPageRankConfig.of(graphName, maybeImplicitCreate, username, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<ApproximatePersonalizedPageRank, ApproximatePersonalizedPageRankConfig> algorithmFactory(
+        ApproximatePersonalizedPageRankConfig config
+    ) {
+        return new ApproximatePersonalizedPageRankFactory<>();
+    }
+
+    public static final class StreamResult {
+        public final long sourceNodeId;
+        public final long nodeId;
+        public final double score;
+
+        StreamResult(long sourceNodeId, long nodeId, double score) {
+            this.sourceNodeId = sourceNodeId;
+            this.nodeId = nodeId;
+            this.score = score;
+        }
+    }
+}
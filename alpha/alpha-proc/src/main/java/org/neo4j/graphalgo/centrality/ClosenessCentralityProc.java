@@ -123,7 +123,11 @@ public class ClosenessCentralityProc extends AlgoBaseProc<MSClosenessCentrality,
         Optional<GraphCreateConfig> maybeImplicitCreate,
         CypherMapWrapper config
     ) {
-        maybeImplicitCreate = maybeImplicitCreate.map(graphCreateConfig -> {
+        return ClosenessCentralityConfig.of(graphName, undirected(maybeImplicitCreate), username, config);
+    }
+
+    static Optional<GraphCreateConfig> undirected(Optional<GraphCreateConfig> maybeImplicitCreate) {
+        return maybeImplicitCreate.map(graphCreateConfig -> {
             if (graphCreateConfig instanceof GraphCreateFromStoreConfig) {
                 GraphCreateFromStoreConfig storeConfig = (GraphCreateFromStoreConfig) graphCreateConfig;
                 RelationshipProjections.Builder builder = RelationshipProjections.builder();
@@ -138,7 +142,6 @@ public class ClosenessCentralityProc extends AlgoBaseProc<MSClosenessCentrality,
             }
             return graphCreateConfig;
         });
-        return ClosenessCentralityConfig.of(graphName, maybeImplicitCreate, username, config);
     }
 
     @Override
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.centrality;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.write.NodePropertyExporter;
+import org.neo4j.graphalgo.impl.betweenness.BetweennessCentrality;
+import org.neo4j.graphalgo.impl.betweenness.HugeBetweennessCentrality;
+import org.neo4j.graphalgo.impl.betweenness.HugeBetweennessCentralityConfig;
+import org.neo4j.graphalgo.impl.betweenness.HugeBetweennessCentralityFactory;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+import static org.neo4j.procedure.Mode.WRITE;
+
+public class HugeBetweennessCentralityProc extends AlgoBaseProc<HugeBetweennessCentrality, HugeDoubleArray, HugeBetweennessCentralityConfig> {
+
+    private static final String DESCRIPTION =
+        "Huge Betweenness centrality computes exact or sampled betweenness centrality " +
+        "for unweighted graphs with more than 2^31 nodes.";
+
+    @Procedure(name = "gds.alpha.betweenness.huge.stream", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<BetweennessCentrality.Result> stream(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<HugeBetweennessCentrality, HugeDoubleArray, HugeBetweennessCentralityConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+        if (computationResult.isGraphEmpty()) {
+            return Stream.empty();
+        }
+        return HugeBetweennessCentrality.resultStream(computationResult.graph(), computationResult.result());
+    }
+
+    @Procedure(value = "gds.alpha.betweenness.huge.write", mode = WRITE)
+    @Description(DESCRIPTION)
+    public Stream<BetweennessCentralityProc.BetweennessCentralityProcResult> write(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<HugeBetweennessCentrality, HugeDoubleArray, HugeBetweennessCentralityConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+
+        BetweennessCentralityProc.BetweennessCentralityProcResult.Builder builder = BetweennessCentralityProc.BetweennessCentralityProcResult
+            .builder();
+        if (computationResult.isGraphEmpty()) {
+            return Stream.of(builder.build());
+        }
+
+        Graph graph = computationResult.graph();
+        HugeBetweennessCentrality algo = computationResult.algorithm();
+        HugeBetweennessCentralityConfig config = computationResult.config();
+        HugeDoubleArray centrality = computationResult.result();
+
+        computeStats(builder, centrality);
+        builder
+            .withNodeCount(graph.nodeCount())
+            .withComputeMillis(computationResult.computeMillis())
+            .withCreateMillis(computationResult.createMillis());
+
+        try (ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
+            NodePropertyExporter.builder(api, graph, TerminationFlag.wrap(transaction))
+                .withLog(log)
+                .parallel(Pools.DEFAULT, config.writeConcurrency())
+                .build()
+                .write(config.writeProperty(), centrality, HugeDoubleArray.Translator.INSTANCE);
+        }
+        graph.release();
+        algo.release();
+        return Stream.of(builder.build());
+    }
+
+    private void computeStats(
+        BetweennessCentralityProc.BetweennessCentralityProcResult.Builder builder,
+        HugeDoubleArray centrality
+    ) {
+        double min = Double.MAX_VALUE;
+        double max = Double.MIN_VALUE;
+        double sum = 0.0;
+        for (long i = centrality.size() - 1; i >= 0; i--) {
+            double c = centrality.get(i);
+            if (c < min) {
+                min = c;
+            }
+            if (c > max) {
+                max = c;
+            }
+            sum += c;
+        }
+        builder.withCentralityMax(max)
+            .withCentralityMin(min)
+            .withCentralitySum(sum);
+    }
+
+    @Override
+    protected HugeBetweennessCentralityConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return HugeBetweennessCentralityConfig.of(graphName, maybeImplicitCreate, username, config);
+    }
+
+    @Override
+    protected void validateConfigs(
+        GraphCreateConfig graphCreateConfig,
+        HugeBetweennessCentralityConfig config
+    ) {
+        config.validate(graphCreateConfig);
+    }
+
+    @Override
+    protected AlgorithmFactory<HugeBetweennessCentrality, HugeBetweennessCentralityConfig> algorithmFactory(
+        HugeBetweennessCentralityConfig config
+    ) {
+        return new HugeBetweennessCentralityFactory<>();
+    }
+}
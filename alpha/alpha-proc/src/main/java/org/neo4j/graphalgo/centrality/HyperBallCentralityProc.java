@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.centrality;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.write.NodePropertyExporter;
+import org.neo4j.graphalgo.core.write.PropertyTranslator;
+import org.neo4j.graphalgo.impl.closeness.HyperBallCentrality;
+import org.neo4j.graphalgo.impl.closeness.HyperBallCentralityConfig;
+import org.neo4j.graphalgo.impl.closeness.HyperBallCentralityFactory;
+import org.neo4j.graphalgo.impl.closeness.MSClosenessCentrality;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.graphalgo.results.CentralityScore;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+import static org.neo4j.procedure.Mode.WRITE;
+
+public class HyperBallCentralityProc extends AlgoBaseProc<HyperBallCentrality, HyperBallCentrality, HyperBallCentralityConfig> {
+
+    private static final String DESCRIPTION =
+        "Approximate closeness centrality estimates closeness or harmonic centrality " +
+        "by counting the reachable nodes with HyperLogLog counters.";
+
+    @Procedure(name = "gds.alpha.closeness.approximate.stream", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<MSClosenessCentrality.Result> stream(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<HyperBallCentrality, HyperBallCentrality, HyperBallCentralityConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+
+        HyperBallCentrality algorithm = computationResult.algorithm();
+        HyperBallCentralityConfig config = computationResult.config();
+        Graph graph = computationResult.graph();
+
+        if (graph.isEmpty()) {
+            graph.release();
+            return Stream.empty();
+        }
+
+        return LongStream.range(0, graph.nodeCount())
+            .mapToObj(nodeId -> new MSClosenessCentrality.Result(
+                graph.toOriginalNodeId(nodeId),
+                config.centrality(algorithm, nodeId)
+            ));
+    }
+
+    @Procedure(value = "gds.alpha.closeness.approximate.write", mode = WRITE)
+    @Description(DESCRIPTION)
+    public Stream<CentralityScore.Stats> write(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<HyperBallCentrality, HyperBallCentrality, HyperBallCentralityConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+
+        HyperBallCentrality algorithm = computationResult.algorithm();
+        HyperBallCentralityConfig config = computationResult.config();
+        Graph graph = computationResult.graph();
+
+        AbstractResultBuilder<CentralityScore.Stats> builder = new CentralityScore.Stats.Builder()
+            .withNodeCount(graph.nodeCount())
+            .withConfig(config)
+            .withComputeMillis(computationResult.computeMillis())
+            .withCreateMillis(computationResult.createMillis());
+
+        if (graph.isEmpty()) {
+            graph.release();
+            return Stream.of(builder.build());
+        }
+
+        try (ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
+            NodePropertyExporter.builder(api, graph, algorithm.getTerminationFlag())
+                .withLog(log)
+                .parallel(Pools.DEFAULT, config.writeConcurrency())
+                .build()
+                .write(
+                    config.writeProperty(),
+                    algorithm,
+                    (PropertyTranslator.OfDouble<HyperBallCentrality>) config::centrality
+                );
+        }
+
+        graph.release();
+        return Stream.of(builder.build());
+    }
+
+    @Override
+    protected HyperBallCentralityConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return HyperBallCentralityConfig.of(
+            graphName,
+            ClosenessCentralityProc.undirected(maybeImplicitCreate),
+            username,
+            config
+        );
+    }
+
+    @Override
+    protected AlgorithmFactory<HyperBallCentrality, HyperBallCentralityConfig> algorithmFactory(
+        HyperBallCentralityConfig config
+    ) {
+        return new HyperBallCentralityFactory<>();
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.triangle;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.graphalgo.triangle.WedgeSamplingTriangleCount.TriangleCountEstimate;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class WedgeSamplingTriangleCountProc extends AlgoBaseProc<WedgeSamplingTriangleCount, TriangleCountEstimate, WedgeSamplingTriangleCountConfig> {
+
+    private static final String DESCRIPTION =
+        "Estimates the global triangle count and the average clustering coefficient " +
+        "with confidence bounds by sampling wedges.";
+
+    @Procedure(name = "gds.alpha.triangleCount.estimate.stream", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<StreamResult> stream(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<WedgeSamplingTriangleCount, TriangleCountEstimate, WedgeSamplingTriangleCountConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+
+        Graph graph = computationResult.graph();
+        TriangleCountEstimate estimate = computationResult.result();
+
+        if (graph.isEmpty()) {
+            graph.release();
+            return Stream.empty();
+        }
+
+        graph.release();
+        return Stream.of(new StreamResult(estimate));
+    }
+
+    @Procedure(name = "gds.alpha.triangleCount.estimate.stats", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<StatsResult> stats(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<WedgeSamplingTriangleCount, TriangleCountEstimate, WedgeSamplingTriangleCountConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+
+        Graph graph = computationResult.graph();
+        WedgeSamplingTriangleCountConfig config = computationResult.config();
+        // an empty graph has no triangles
+        TriangleCountEstimate estimate = graph.isEmpty()
+            ? TriangleCountEstimate.of(0, 0, 0, 0, 0, 0, 0, config.confidence())
+            : computationResult.result();
+
+        AbstractResultBuilder<StatsResult> builder = new StatsResult.Builder()
+            .withEstimate(estimate)
+            .withNodeCount(graph.nodeCount())
+            .withConfig(config)
+            .withComputeMillis(computationResult.computeMillis())
+            .withCreateMillis(computationResult.createMillis());
+
+        graph.release();
+        return Stream.of(builder.build());
+    }
+
+    @Override
+    protected void validateConfigs(GraphCreateConfig graphCreateConfig, WedgeSamplingTriangleCountConfig config) {
+        validateIsUndirectedGraph(graphCreateConfig);
+    }
+
+    @Override
+    protected WedgeSamplingTriangleCountConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return WedgeSamplingTriangleCountConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<WedgeSamplingTriangleCount, WedgeSamplingTriangleCountConfig> algorithmFactory(
+        WedgeSamplingTriangleCountConfig config
+    ) {
+        return new WedgeSamplingTriangleCountFactory<>();
+    }
+
+    public static class StreamResult {
+
+        public double globalTriangles;
+        public double globalTrianglesLowerBound;
+        public double globalTrianglesUpperBound;
+        public double averageClusteringCoefficient;
+        public double averageClusteringCoefficientLowerBound;
+        public double averageClusteringCoefficientUpperBound;
+        public long sampleSize;
+        public double confidence;
+
+        StreamResult(TriangleCountEstimate estimate) {
+            this.globalTriangles = estimate.globalTriangles();
+            this.globalTrianglesLowerBound = estimate.globalTrianglesLowerBound();
+            this.globalTrianglesUpperBound = estimate.globalTrianglesUpperBound();
+            this.averageClusteringCoefficient = estimate.averageClusteringCoefficient();
+            this.averageClusteringCoefficientLowerBound = estimate.averageClusteringCoefficientLowerBound();
+            this.averageClusteringCoefficientUpperBound = estimate.averageClusteringCoefficientUpperBound();
+            this.sampleSize = estimate.sampleSize();
+            this.confidence = estimate.confidence();
+        }
+    }
+
+    public static final class StatsResult extends StreamResult {
+
+        public long nodeCount;
+        public long createMillis;
+        public long computeMillis;
+        public Map<String, Object> configuration;
+
+        StatsResult(
+            TriangleCountEstimate estimate,
+            long nodeCount,
+            long createMillis,
+            long computeMillis,
+            Map<String, Object> configuration
+        ) {
+            super(estimate);
+            this.nodeCount = nodeCount;
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+            this.configuration = configuration;
+        }
+
+        static final class Builder extends AbstractResultBuilder<StatsResult> {
+
+            private TriangleCountEstimate estimate;
+
+            Builder withEstimate(TriangleCountEstimate estimate) {
+                this.estimate = estimate;
+                return this;
+            }
+
+            @Override
+            public StatsResult build() {
+                return new StatsResult(
+                    estimate,
+                    nodeCount,
+                    createMillis,
+                    computeMillis,
+                    config.toMap()
+                );
+            }
+        }
+    }
+}
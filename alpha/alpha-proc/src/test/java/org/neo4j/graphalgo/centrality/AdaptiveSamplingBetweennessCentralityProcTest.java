@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.centrality;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.graphbuilder.DefaultBuilder;
+import org.neo4j.graphalgo.graphbuilder.GraphBuilder;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.RelationshipType;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveSamplingBetweennessCentralityProcTest extends BaseProcTest {
+
+    private static final RelationshipType TYPE = RelationshipType.withName("TYPE");
+
+    private static long centerNodeId;
+
+    @BeforeEach
+    void setupGraph() throws Exception {
+        registerProcedures(AdaptiveSamplingBetweennessCentralityProc.class);
+
+        DefaultBuilder builder = GraphBuilder.create(db)
+            .setLabel("Node")
+            .setRelationship(TYPE.name());
+
+        /**
+         * create two rings of nodes where each node of ring A
+         * is connected to center while center is connected to
+         * each node of ring B.
+         */
+        Node center = builder.newDefaultBuilder()
+            .setLabel("Node")
+            .createNode();
+
+        centerNodeId = center.getId();
+
+        builder.newRingBuilder()
+            .createRing(5)
+            .forEachNodeInTx(node -> node.createRelationshipTo(center, TYPE))
+            .newRingBuilder()
+            .createRing(5)
+            .forEachNodeInTx(node -> center.createRelationshipTo(node, TYPE))
+            .close();
+    }
+
+    @Test
+    void testStream() {
+        String query = GdsCypher.call()
+            .withAnyLabel()
+            .withAnyRelationshipType()
+            .algo("gds.alpha.betweenness.adaptive")
+            .streamMode()
+            .addParameter("epsilon", 0.01)
+            .yields("nodeId", "centrality");
+
+        double[] centerCentrality = {-1.0};
+        double[] maxOtherCentrality = {0.0};
+        runQueryWithRowConsumer(query, row -> {
+            double centrality = row.getNumber("centrality").doubleValue();
+            if (row.getNumber("nodeId").longValue() == centerNodeId) {
+                centerCentrality[0] = centrality;
+            } else {
+                maxOtherCentrality[0] = Math.max(maxOtherCentrality[0], centrality);
+            }
+        });
+
+        // the exact centrality of the center is 25, the error bound is relative to the 11 * 10 node pairs
+        assertEquals(25.0, centerCentrality[0], 0.01 * 110);
+        assertTrue(centerCentrality[0] > maxOtherCentrality[0]);
+    }
+
+    @Test
+    void testWrite() {
+        String query = GdsCypher.call()
+            .withAnyLabel()
+            .withAnyRelationshipType()
+            .algo("gds.alpha.betweenness.adaptive")
+            .writeMode()
+            .addParameter("epsilon", 0.01)
+            .addParameter("delta", 0.1)
+            .yields("nodes", "maxCentrality", "sampleSize", "error", "writeMillis");
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(11L, row.getNumber("nodes").longValue());
+            assertEquals(25.0, row.getNumber("maxCentrality").doubleValue(), 0.01 * 110);
+            assertTrue(row.getNumber("sampleSize").longValue() > 0);
+            assertTrue(row.getNumber("error").doubleValue() <= 0.01);
+        });
+
+        runQueryWithRowConsumer(
+            "MATCH (n) WHERE id(n) = $id RETURN n.centrality AS centrality",
+            Map.of("id", centerNodeId),
+            row -> assertEquals(25.0, row.getNumber("centrality").doubleValue(), 0.01 * 110)
+        );
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.centrality;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.functions.GetNodeFunc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApproximatePersonalizedPageRankProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {name: 'a'})" +
+        ", (b:Node {name: 'b'})" +
+        ", (c:Node {name: 'c'})" +
+        ", (d:Node {name: 'd'})" +
+        ", (a)-[:TYPE {weight: 1.0}]->(b)" +
+        ", (a)-[:TYPE {weight: 3.0}]->(c)" +
+        ", (c)-[:TYPE {weight: 1.0}]->(a)";
+
+    @BeforeEach
+    void setupGraph() throws Exception {
+        runQuery(DB_CYPHER);
+        registerProcedures(ApproximatePersonalizedPageRankProc.class);
+        registerFunctions(GetNodeFunc.class);
+    }
+
+    @Test
+    void shouldStreamScoresPerSourceNode() {
+        Map<String, Double> scores = streamScores(false);
+
+        assertEquals(3, scores.size());
+        assertTrue(scores.get("a") >= 0.15);
+        assertEquals(scores.get("b"), scores.get("c"), 1e-3);
+    }
+
+    @Test
+    void shouldPushProportionalToRelationshipWeights() {
+        Map<String, Double> scores = streamScores(true);
+
+        assertEquals(3, scores.size());
+        assertEquals(3 * scores.get("b"), scores.get("c"), 1e-3);
+    }
+
+    @Test
+    void shouldWriteScores() {
+        String query = "MATCH (a:Node {name: 'a'}) WITH collect(a) AS sources " +
+                       GdsCypher.call()
+                           .loadEverything(Orientation.NATURAL)
+                           .algo("gds.alpha.personalizedPageRank")
+                           .writeMode()
+                           .addVariable("sourceNodes", "sources")
+                           .yields("nodes", "createMillis", "computeMillis", "writeMillis", "writeProperty") +
+                       " RETURN *";
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(4L, row.getNumber("nodes"));
+            assertEquals("score", row.getString("writeProperty"));
+            assertNotEquals(-1L, row.getNumber("writeMillis"));
+        });
+
+        Map<String, Double> written = new HashMap<>();
+        runQueryWithRowConsumer(
+            "MATCH (n:Node) RETURN n.name AS name, n.score AS score",
+            row -> written.put(row.getString("name"), row.getNumber("score").doubleValue())
+        );
+        assertEquals(streamScores(false).get("a"), written.get("a"), 1e-9);
+        assertEquals(0.0, written.get("d"));
+    }
+
+    @Test
+    void shouldIgnoreSourceNodesOutsideOfTheProjection() {
+        runQuery("CREATE (:Other {name: 'x'})-[:TYPE]->(:Other {name: 'y'})");
+
+        String query =
+            "MATCH (a:Node {name: 'a'}), (x:Other {name: 'x'}) " +
+            "CALL gds.alpha.personalizedPageRank.stream({" +
+            "  nodeProjection: 'Node', relationshipProjection: 'TYPE', sourceNodes: [x, a]" +
+            "}) YIELD sourceNodeId, nodeId, score " +
+            "RETURN sourceNodeId = id(a) AS fromA, gds.util.asNode(nodeId).name AS name, score";
+
+        Map<String, Double> scores = new HashMap<>();
+        runQueryWithRowConsumer(query, row -> {
+            assertTrue(row.getBoolean("fromA"));
+            scores.put(row.getString("name"), row.getNumber("score").doubleValue());
+        });
+
+        assertEquals(streamScores(false), scores);
+    }
+
+    private Map<String, Double> streamScores(boolean weighted) {
+        GdsCypher.ParametersBuildStage call = (weighted
+            ? GdsCypher.call().withRelationshipProperty("weight").loadEverything(Orientation.NATURAL)
+            : GdsCypher.call().loadEverything(Orientation.NATURAL))
+            .algo("gds.alpha.personalizedPageRank")
+            .streamMode()
+            .addVariable("sourceNodes", "sources");
+        if (weighted) {
+            call = call.addParameter("relationshipWeightProperty", "weight");
+        }
+        String query = "MATCH (a:Node {name: 'a'}) WITH collect(a) AS sources " +
+                       call.yields("sourceNodeId", "nodeId", "score") +
+                       " RETURN *";
+
+        Map<Long, String> names = new HashMap<>();
+        runQueryWithRowConsumer(
+            "MATCH (n:Node) RETURN id(n) AS id, n.name AS name",
+            row -> names.put(row.getNumber("id").longValue(), row.getString("name"))
+        );
+
+        Map<String, Double> scores = new HashMap<>();
+        runQueryWithRowConsumer(query, row -> scores.put(
+            names.get(row.getNumber("nodeId").longValue()),
+            row.getNumber("score").doubleValue()
+        ));
+        return scores;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.centrality;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.graphbuilder.DefaultBuilder;
+import org.neo4j.graphalgo.graphbuilder.GraphBuilder;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.RelationshipType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class HyperBallCentralityProcTest extends BaseProcTest {
+
+    private static final RelationshipType TYPE = RelationshipType.withName("TYPE");
+
+    private static long centerNodeId;
+
+    @BeforeEach
+    void setupGraph() throws Exception {
+        DefaultBuilder builder = GraphBuilder.create(db)
+            .setLabel("Node")
+            .setRelationship(TYPE.name());
+
+        /*
+         * create two rings of nodes where each node of ring A
+         * is connected to center while center is connected to
+         * each node of ring B.
+         */
+        Node center = builder.newDefaultBuilder()
+            .setLabel("Node")
+            .createNode();
+
+        centerNodeId = center.getId();
+
+        builder.newRingBuilder()
+            .createRing(5)
+            .forEachNodeInTx(node -> node.createRelationshipTo(center, TYPE))
+            .newRingBuilder()
+            .createRing(5)
+            .forEachNodeInTx(node -> center.createRelationshipTo(node, TYPE))
+            .close();
+
+        registerProcedures(HyperBallCentralityProc.class);
+    }
+
+    @Test
+    void testClosenessStream() {
+        String query = GdsCypher.call()
+            .withAnyLabel()
+            .withAnyRelationshipType()
+            .algo("gds.alpha.closeness.approximate")
+            .streamMode()
+            .yields("nodeId", "centrality");
+
+        Map<Long, Double> centralities = new HashMap<>();
+        runQueryWithRowConsumer(query, row -> centralities.put(
+            row.getNumber("nodeId").longValue(),
+            row.getNumber("centrality").doubleValue()
+        ));
+
+        assertExactClosenessCentrality(centralities);
+    }
+
+    @Test
+    void testHarmonicStream() {
+        String query = GdsCypher.call()
+            .withAnyLabel()
+            .withAnyRelationshipType()
+            .algo("gds.alpha.closeness.approximate")
+            .streamMode()
+            .addParameter("harmonic", true)
+            .yields("nodeId", "centrality");
+
+        runQueryWithRowConsumer(query, row -> {
+            // the center reaches every other node in one hop
+            if (row.getNumber("nodeId").longValue() == centerNodeId) {
+                assertEquals(1.0, row.getNumber("centrality").doubleValue(), 0.05);
+            }
+        });
+    }
+
+    @Test
+    void testClosenessWrite() {
+        String query = GdsCypher.call()
+            .withAnyLabel()
+            .withAnyRelationshipType()
+            .algo("gds.alpha.closeness.approximate")
+            .writeMode()
+            .yields("nodes", "createMillis", "computeMillis", "writeMillis", "writeProperty");
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(11L, row.getNumber("nodes").longValue());
+            assertEquals("centrality", row.getString("writeProperty"));
+            assertNotEquals(-1L, row.getNumber("writeMillis"));
+        });
+
+        Map<Long, Double> centralities = new HashMap<>();
+        runQueryWithRowConsumer("MATCH (n) RETURN id(n) AS id, n.centrality AS centrality", row -> centralities.put(
+            row.getNumber("id").longValue(),
+            row.getNumber("centrality").doubleValue()
+        ));
+
+        assertExactClosenessCentrality(centralities);
+    }
+
+    @Test
+    void testInvalidRegisterCount() {
+        String query = GdsCypher.call()
+            .withAnyLabel()
+            .withAnyRelationshipType()
+            .algo("gds.alpha.closeness.approximate")
+            .streamMode()
+            .addParameter("log2Registers", 3)
+            .yields("nodeId", "centrality");
+
+        assertError(query, "Value for `log2Registers` must be between 4 and 16, but was 3.");
+    }
+
+    private void assertExactClosenessCentrality(Map<Long, Double> centralities) {
+        assertEquals(11, centralities.size());
+        // with 11 nodes, the counters are exact enough to match the results of gds.alpha.closeness
+        centralities.forEach((nodeId, centrality) -> assertEquals(
+            nodeId == centerNodeId ? 1.0 : 0.588,
+            centrality,
+            0.05,
+            "Node#" + nodeId
+        ));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.triangle;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.Orientation;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WedgeSamplingTriangleCountProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE " +
+        "  (a:Node)" +
+        ", (b:Node)" +
+        ", (c:Node)" +
+        ", (d:Node)" +
+        ", (e:Node)" +
+        ", (f:Node)" +
+        ", (g:Node)" +
+        ", (h:Node)" +
+        ", (i:Node)" +
+        ", (a)-[:TYPE]->(b)" +
+        ", (b)-[:TYPE]->(c)" +
+        ", (c)-[:TYPE]->(a)" +
+        ", (c)-[:TYPE]->(h)" +
+        ", (d)-[:TYPE]->(e)" +
+        ", (e)-[:TYPE]->(f)" +
+        ", (f)-[:TYPE]->(d)" +
+        ", (b)-[:TYPE]->(d)" +
+        ", (g)-[:TYPE]->(h)" +
+        ", (h)-[:TYPE]->(i)" +
+        ", (i)-[:TYPE]->(g)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(WedgeSamplingTriangleCountProc.class);
+        runQuery(DB_CYPHER);
+    }
+
+    @Test
+    void testStream() {
+        String query = GdsCypher
+            .call()
+            .loadEverything(Orientation.UNDIRECTED)
+            .algo("gds", "alpha", "triangleCount", "estimate")
+            .streamMode()
+            .addParameter("maxSampleSize", 50_000)
+            .yields();
+
+        runQueryWithRowConsumer(query, row -> {
+            assertBoundsExactValues(row.getNumber("globalTriangles").doubleValue(),
+                row.getNumber("globalTrianglesLowerBound").doubleValue(),
+                row.getNumber("globalTrianglesUpperBound").doubleValue()
+            );
+            assertEquals(50_000L, row.getNumber("sampleSize"));
+            assertEquals(0.95, row.getNumber("confidence").doubleValue());
+        });
+    }
+
+    @Test
+    void testStats() {
+        String query = GdsCypher
+            .call()
+            .loadEverything(Orientation.UNDIRECTED)
+            .algo("gds", "alpha", "triangleCount", "estimate")
+            .statsMode()
+            .addParameter("maxSampleSize", 50_000)
+            .addParameter("confidence", 0.99)
+            .yields();
+
+        runQueryWithRowConsumer(query, row -> {
+            assertBoundsExactValues(row.getNumber("globalTriangles").doubleValue(),
+                row.getNumber("globalTrianglesLowerBound").doubleValue(),
+                row.getNumber("globalTrianglesUpperBound").doubleValue()
+            );
+            assertEquals(9L, row.getNumber("nodeCount"));
+            assertEquals(50_000L, row.getNumber("sampleSize"));
+            assertEquals(0.99, row.getNumber("confidence").doubleValue());
+            assertTrue(row.getNumber("createMillis").longValue() >= 0);
+            assertTrue(row.getNumber("computeMillis").longValue() >= 0);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> configuration = (Map<String, Object>) row.get("configuration");
+            assertEquals(50_000L, configuration.get("maxSampleSize"));
+            assertEquals(0.01, configuration.get("relativeError"));
+        });
+    }
+
+    @Test
+    void shouldRequireUndirectedGraph() {
+        String query = GdsCypher
+            .call()
+            .loadEverything(Orientation.NATURAL)
+            .algo("gds", "alpha", "triangleCount", "estimate")
+            .statsMode()
+            .yields();
+
+        assertError(query, "Procedure requires relationship projections to be UNDIRECTED.");
+    }
+
+    // there are three triangles
+    private static void assertBoundsExactValues(double triangles, double lowerBound, double upperBound) {
+        assertEquals(3.0, triangles, 0.5);
+        assertTrue(lowerBound <= 3.0);
+        assertTrue(upperBound >= 3.0);
+    }
+}
@@ -41,6 +41,8 @@ public interface GraphCreateConfig extends BaseConfig {
     String IMPLICIT_GRAPH_NAME = "";
     String NODECOUNT_KEY = "nodeCount";
     String RELCOUNT_KEY = "relationshipCount";
+    String MAX_ADJACENCY_BUFFER_MEMORY_KEY = "maxAdjacencyBufferMemory";
+    long UNLIMITED_ADJACENCY_BUFFER_MEMORY = -1L;
 
     @Configuration.Parameter
     String graphName();
@@ -77,6 +79,19 @@ public interface GraphCreateConfig extends BaseConfig {
         return false;
     }
 
+    /**
+     * Upper bound in bytes for the relationships that are buffered in memory during a native import.
+     * Relationships exceeding the bound are sorted and spilled to temporary files,
+     * which are merged into the final adjacency lists once the scan is complete.
+     * A negative value buffers all relationships in memory.
+     * Only native projections support the bound.
+     */
+    @Value.Default
+    @Value.Parameter(false)
+    default long maxAdjacencyBufferMemory() {
+        return UNLIMITED_ADJACENCY_BUFFER_MEMORY;
+    }
+
     @Value.Default
     @Value.Parameter(false)
     default boolean isCypher() {
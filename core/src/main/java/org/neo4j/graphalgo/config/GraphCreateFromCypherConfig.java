@@ -75,6 +75,16 @@ public interface GraphCreateFromCypherConfig extends GraphCreateConfig {
         return true;
     }
 
+    @Value.Check
+    default void validateMaxAdjacencyBufferMemory() {
+        if (maxAdjacencyBufferMemory() != UNLIMITED_ADJACENCY_BUFFER_MEMORY) {
+            throw new IllegalArgumentException(String.format(
+                "The parameter '%s' is only supported by native projections.",
+                MAX_ADJACENCY_BUFFER_MEMORY_KEY
+            ));
+        }
+    }
+
     static GraphCreateFromCypherConfig of(
         String userName,
         String graphName,
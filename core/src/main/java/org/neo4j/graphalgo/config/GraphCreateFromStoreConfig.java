@@ -66,6 +66,17 @@ public interface GraphCreateFromStoreConfig extends GraphCreateConfig {
         return PropertyMappings.of();
     }
 
+    /**
+     * Read node properties with a sequential scan over the property store
+     * instead of following the property chain of each node.
+     * Pays off when many nodes are loaded with properties from a store that is not cached.
+     */
+    @Value.Default
+    @Value.Parameter(false)
+    default boolean scanPropertyStore() {
+        return false;
+    }
+
     @Value.Check
     default void validateProjectionsAreNotEmpty() {
         if (nodeProjections().isEmpty()) {
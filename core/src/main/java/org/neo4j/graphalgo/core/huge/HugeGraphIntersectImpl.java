@@ -60,8 +60,8 @@ class HugeGraphIntersectImpl implements RelationshipIntersect {
             return;
         }
 
-        AdjacencyList.DecompressingCursor lead, follow, decompressingCursorA = cacheA, decompressingCursorB = cacheB;
-        long nodeIdC, currentA, s, t;
+        AdjacencyList.DecompressingCursor decompressingCursorA = cacheA, decompressingCursorB = cacheB;
+        long nodeIdC, currentA;
         boolean hasNext = true;
 
         while (hasNext) {
@@ -71,23 +71,26 @@ class HugeGraphIntersectImpl implements RelationshipIntersect {
                 decompressingCursorA.copyFrom(mainDecompressingCursor);
                 currentA = decompressingCursorA.advance(nodeIdC);
 
-                if (currentA == nodeIdC) {
-                    consumer.accept(nodeIdA, nodeIdB, nodeIdC);
-                }
-
-                if (decompressingCursorA.remaining() <= decompressingCursorB.remaining()) {
-                    lead = decompressingCursorA;
-                    follow = decompressingCursorB;
-                } else {
-                    lead = decompressingCursorB;
-                    follow = decompressingCursorA;
-                }
-
-                while (lead.hasNextVLong() && follow.hasNextVLong()) {
-                    s = lead.nextVLong();
-                    t = follow.advance(s);
-                    if (t == s) {
-                        consumer.accept(nodeIdA, nodeIdB, s);
+                // advance() consumes the id it returns, so the current id of both cursors
+                // has to be kept until it has been compared against the other cursor
+                while (true) {
+                    if (currentA == nodeIdC) {
+                        consumer.accept(nodeIdA, nodeIdB, nodeIdC);
+                        if (!decompressingCursorA.hasNextVLong() || !decompressingCursorB.hasNextVLong()) {
+                            break;
+                        }
+                        currentA = decompressingCursorA.nextVLong();
+                        nodeIdC = decompressingCursorB.nextVLong();
+                    } else if (currentA < nodeIdC) {
+                        if (!decompressingCursorA.hasNextVLong()) {
+                            break;
+                        }
+                        currentA = decompressingCursorA.advance(nodeIdC);
+                    } else {
+                        if (!decompressingCursorB.hasNextVLong()) {
+                            break;
+                        }
+                        nodeIdC = decompressingCursorB.advance(currentA);
                     }
                 }
             }
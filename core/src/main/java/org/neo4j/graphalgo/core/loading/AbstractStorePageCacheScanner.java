@@ -22,10 +22,12 @@ package org.neo4j.graphalgo.core.loading;
 import org.neo4j.graphalgo.compat.GraphDatabaseApiProxy;
 import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.paged.PaddedAtomicLong;
+import org.neo4j.exceptions.UnsatisfiedDependencyException;
 import org.neo4j.graphdb.GraphDatabaseService;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.RecordStore;
 import org.neo4j.kernel.impl.store.format.RecordFormat;
@@ -36,6 +38,8 @@ import org.neo4j.kernel.impl.store.record.RecordLoad;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 
 import static org.neo4j.kernel.impl.store.RecordPageLocationCalculator.offsetForId;
 
@@ -44,6 +48,11 @@ public class AbstractStorePageCacheScanner<Record extends AbstractBaseRecord> {
 
     public static final int DEFAULT_PREFETCH_SIZE = 100;
 
+    // the adaptive prefetch window stays within this factor of the configured prefetch size
+    private static final int PREFETCH_ADAPTION_FACTOR = 8;
+    // relative drop in throughput that reverses the direction of the window adaption
+    private static final double THROUGHPUT_TOLERANCE = 0.05;
+
     public interface Access<Record extends AbstractBaseRecord> {
         /**
          * Return the store to use.
@@ -76,8 +85,7 @@ public class AbstractStorePageCacheScanner<Record extends AbstractBaseRecord> {
 
     public final class Cursor implements AutoCloseable {
 
-        // last page to contain a value of interest, inclusive, but we mostly
-        // treat is as exclusive since we want to special-case the last page
+        // last page to contain a value of interest, inclusive
         private final long lastPage;
         // end offset of the last page, exclusive (first offset to be out-of-range)
         private final int lastOffset;
@@ -87,28 +95,47 @@ public class AbstractStorePageCacheScanner<Record extends AbstractBaseRecord> {
         // thread-local record instance
         private Record record;
 
-        // the current record id -
+        // set to -1 once the cursor is exhausted
         private long recordId;
-        // the current page
+        // the next page to read
         private long currentPage;
-        // the last page that has already been fetched - exclusive
-        private long fetchedUntilPage;
-        // the current offset into the page
-        private int offset;
+        // the end of the currently claimed window of pages, exclusive
+        private long windowEnd;
+
+        // number of pages to claim for the next window, adapted to the measured throughput
+        private int windowSize;
+        // whether the last adaption grew the window
+        private boolean growWindow;
+        // pages per second of the previous window
+        private double previousThroughput;
+        // pages read and time spent in the current window
+        private long windowPages;
+        private long windowNanos;
 
         Cursor(PageCursor pageCursor, Record record) {
             this.lastOffset = offsetForId(maxId, pageSize, recordSize);
             this.lastPage = calculateLastPageId(maxId, recordsPerPage, lastOffset);
             this.pageCursor = pageCursor;
             this.record = record;
-            this.offset = pageSize; // trigger page load as first action
-            this.currentPage = -1;
+            this.windowSize = prefetchSize;
+            this.growWindow = true;
         }
 
+        /**
+         * The maximum number of records passed to the consumer in a single call to {@link #bulkNext(RecordConsumer)}.
+         * Independent of the adaptive window size, at most {@code prefetchSize} pages are read per call.
+         */
         int bulkSize() {
             return prefetchSize * recordsPerPage;
         }
 
+        /**
+         * The number of pages that are claimed for the next window.
+         */
+        int windowSize() {
+            return windowSize;
+        }
+
         private long calculateLastPageId(long maxId, long recordsPerPage, int lastPageOffset) {
             long lastPageId = BitUtil.ceilDiv(maxId, recordsPerPage) - 1L;
             lastPageId = Math.max(lastPageId, 0L);
@@ -131,37 +158,32 @@ public class AbstractStorePageCacheScanner<Record extends AbstractBaseRecord> {
                 return false;
             }
 
-            int endOffset;
-            long page;
-            long endPage;
-            if (currentPage < lastPage) {
-                preFetchPages();
-            }
-            if (currentPage == lastPage) {
-                page = lastPage;
-                endOffset = lastOffset;
-                endPage = 1L + page;
-            } else if (currentPage > lastPage) {
+            long startNanos = nanoClock.getAsLong();
+            if (currentPage >= windowEnd && !nextWindow()) {
                 this.recordId = -1L;
                 return false;
-            } else {
-                page = currentPage;
-                endPage = fetchedUntilPage;
-                endOffset = AbstractStorePageCacheScanner.this.pageSize;
             }
 
-            int offset = this.offset;
-            long recordId = page * (long) recordsPerPage;
+            long page = currentPage;
+            long endPage = Math.min(windowEnd, page + prefetchSize);
             int recordSize = AbstractStorePageCacheScanner.this.recordSize;
             PageCursor pageCursor = this.pageCursor;
             Record record = this.record;
+            long pinNanos = 0L;
 
             while (page < endPage) {
-                if (!pageCursor.next(page++)) {
+                long pinStart = System.nanoTime();
+                boolean pinned = pageCursor.next(page);
+                pinNanos += System.nanoTime() - pinStart;
+                if (!pinned) {
+                    // the page is beyond the end of the file, the remainder of the window is empty
+                    windowEnd = page;
                     break;
                 }
-                offset = 0;
 
+                long recordId = page * (long) recordsPerPage;
+                int endOffset = page == lastPage ? lastOffset : AbstractStorePageCacheScanner.this.pageSize;
+                int offset = 0;
                 while (offset < endOffset) {
                     record.setId(recordId++); // do we need this setId command here?
                     loadAtOffset(offset);
@@ -170,20 +192,36 @@ public class AbstractStorePageCacheScanner<Record extends AbstractBaseRecord> {
                         consumer.offer(record);
                     }
                 }
+                page++;
             }
 
+            long pagesRead = page - currentPage;
+            long tookNanos = nanoClock.getAsLong() - startNanos;
             currentPage = page;
-            this.offset = offset;
-            this.recordId = recordId;
+            windowPages += pagesRead;
+            windowNanos += tookNanos;
+            metrics.pagesRead.add(pagesRead);
+            metrics.pinNanos.add(pinNanos);
+            metrics.scanNanos.add(tookNanos);
 
             return true;
         }
 
-        private void preFetchPages() throws IOException {
+        /**
+         * Claims the next window of pages and pins each of its pages once,
+         * so that the page cache can load them before the records are read.
+         */
+        private boolean nextWindow() throws IOException {
+            adaptWindowSize();
+
+            long startPage = nextPageId.getAndAdd(windowSize);
+            if (startPage > lastPage) {
+                return false;
+            }
+            long endPage = Math.min(lastPage + 1L, startPage + windowSize);
+
             PageCursor pageCursor = this.pageCursor;
-            long prefetchSize = AbstractStorePageCacheScanner.this.prefetchSize;
-            long startPage = nextPageId.getAndAdd(prefetchSize);
-            long endPage = Math.min(lastPage, startPage + prefetchSize);
+            long pinStart = System.nanoTime();
             long preFetchedPage = startPage;
             while (preFetchedPage < endPage) {
                 if (!pageCursor.next(preFetchedPage)) {
@@ -191,8 +229,33 @@ public class AbstractStorePageCacheScanner<Record extends AbstractBaseRecord> {
                 }
                 ++preFetchedPage;
             }
+            metrics.pinNanos.add(System.nanoTime() - pinStart);
+            metrics.windows.increment();
+
             this.currentPage = startPage;
-            this.fetchedUntilPage = preFetchedPage;
+            this.windowEnd = preFetchedPage;
+            return true;
+        }
+
+        /**
+         * Hill climbing on the throughput of the previous window: keep growing (or shrinking) the
+         * window as long as the throughput does not drop, otherwise reverse the direction.
+         * Large windows keep slow disks busy, small windows reduce pinning when pages are already cached.
+         */
+        private void adaptWindowSize() {
+            if (windowPages == 0L || windowNanos == 0L) {
+                return;
+            }
+            double throughput = (double) windowPages / windowNanos;
+            if (throughput < previousThroughput * (1.0 - THROUGHPUT_TOLERANCE)) {
+                growWindow = !growWindow;
+            }
+            windowSize = growWindow
+                ? Math.min(maxPrefetchSize, windowSize << 1)
+                : Math.max(minPrefetchSize, windowSize >>> 1);
+            previousThroughput = throughput;
+            windowPages = 0L;
+            windowNanos = 0L;
         }
 
         private void loadAtOffset(int offset) throws IOException {
@@ -226,6 +289,8 @@ public class AbstractStorePageCacheScanner<Record extends AbstractBaseRecord> {
 
     // fetch this many pages at once
     private final int prefetchSize;
+    private final int minPrefetchSize;
+    private final int maxPrefetchSize;
     // global pointer which block of pages need to be fetched next
     private final AtomicLong nextPageId;
     // global cursor pool to return this one to
@@ -242,12 +307,24 @@ public class AbstractStorePageCacheScanner<Record extends AbstractBaseRecord> {
     private final RecordFormat<Record> recordFormat;
     private final RecordStore<Record> store;
     private final PagedFile pagedFile;
+    private final ScanMetrics metrics;
+    // measures the time spent per window, which drives the window adaption
+    private final LongSupplier nanoClock;
 
     AbstractStorePageCacheScanner(
         int prefetchSize,
         GraphDatabaseService api,
         Access<Record> access
     ) {
+        this(prefetchSize, api, access, System::nanoTime);
+    }
+
+    AbstractStorePageCacheScanner(
+        int prefetchSize,
+        GraphDatabaseService api,
+        Access<Record> access,
+        LongSupplier nanoClock
+    ) {
 
         NeoStores neoStores = GraphDatabaseApiProxy.neoStores(api);
 
@@ -272,6 +349,8 @@ public class AbstractStorePageCacheScanner<Record extends AbstractBaseRecord> {
         }
 
         this.prefetchSize = prefetchSize;
+        this.minPrefetchSize = Math.max(1, prefetchSize / PREFETCH_ADAPTION_FACTOR);
+        this.maxPrefetchSize = prefetchSize * PREFETCH_ADAPTION_FACTOR;
         this.nextPageId = new PaddedAtomicLong();
         this.cursors = new ThreadLocal<>();
         this.recordSize = recordSize;
@@ -281,6 +360,8 @@ public class AbstractStorePageCacheScanner<Record extends AbstractBaseRecord> {
         this.recordFormat = access.recordFormat(neoStores.getRecordFormats());
         this.store = store;
         this.pagedFile = pagedFile;
+        this.metrics = new ScanMetrics(pageCacheTracer(api));
+        this.nanoClock = nanoClock;
     }
 
     public final Cursor getCursor() {
@@ -322,4 +403,64 @@ public class AbstractStorePageCacheScanner<Record extends AbstractBaseRecord> {
     RecordStore<Record> store() {
         return store;
     }
+
+    ScanMetrics metrics() {
+        return metrics;
+    }
+
+    private static PageCacheTracer pageCacheTracer(GraphDatabaseService api) {
+        try {
+            return GraphDatabaseApiProxy.resolveDependency(api, PageCacheTracer.class);
+        } catch (UnsatisfiedDependencyException e) {
+            return PageCacheTracer.NULL;
+        }
+    }
+
+    /**
+     * Counters that are shared by all cursors of a scanner.
+     * Page faults are taken from the page cache tracer and include the faults of all concurrent page cache users.
+     */
+    static final class ScanMetrics {
+        private final LongAdder pagesRead;
+        private final LongAdder windows;
+        private final LongAdder pinNanos;
+        private final LongAdder scanNanos;
+        private final PageCacheTracer pageCacheTracer;
+        private final long initialFaults;
+
+        private ScanMetrics(PageCacheTracer pageCacheTracer) {
+            this.pagesRead = new LongAdder();
+            this.windows = new LongAdder();
+            this.pinNanos = new LongAdder();
+            this.scanNanos = new LongAdder();
+            this.pageCacheTracer = pageCacheTracer;
+            this.initialFaults = pageCacheTracer.faults();
+        }
+
+        long pagesRead() {
+            return pagesRead.sum();
+        }
+
+        long windows() {
+            return windows.sum();
+        }
+
+        long pageFaults() {
+            return pageCacheTracer.faults() - initialFaults;
+        }
+
+        /**
+         * Time spent pinning pages, summed over all threads.
+         */
+        long pinNanos() {
+            return pinNanos.sum();
+        }
+
+        /**
+         * Time spent reading pages and records, summed over all threads.
+         */
+        long scanNanos() {
+            return scanNanos.sum();
+        }
+    }
 }
@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.core.loading;
 
 import org.apache.lucene.util.LongsRef;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.huge.AdjacencyOffsets;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
@@ -54,14 +55,42 @@ public abstract class AdjacencyBuilder {
             int[] propertyKeyIds,
             double[] defaultValues,
             Aggregation[] aggregations
+    ) {
+        return compressing(
+            globalBuilder,
+            numPages,
+            pageSize,
+            tracker,
+            relationshipCounter,
+            propertyKeyIds,
+            defaultValues,
+            aggregations,
+            GraphCreateConfig.UNLIMITED_ADJACENCY_BUFFER_MEMORY
+        );
+    }
+
+    /**
+     * Creates an adjacency builder that keeps at most {@code maxBufferMemory} bytes
+     * of intermediate adjacency data in memory. Pages that exceed their share of the
+     * limit are spilled to temporary files and merged into the final adjacency list on flush.
+     * A negative limit keeps all intermediate data in memory.
+     */
+    public static AdjacencyBuilder compressing(
+            RelationshipsBuilder globalBuilder,
+            int numPages,
+            int pageSize,
+            AllocationTracker tracker,
+            LongAdder relationshipCounter,
+            int[] propertyKeyIds,
+            double[] defaultValues,
+            Aggregation[] aggregations,
+            long maxBufferMemory
     ) {
         if (globalBuilder == null) {
             return NoAdjacency.INSTANCE;
         }
         tracker.add(sizeOfObjectArray(numPages) << 2);
         ThreadLocalRelationshipsBuilder[] localBuilders = new ThreadLocalRelationshipsBuilder[numPages];
-        final CompressedLongArray[][] compressedAdjacencyLists = new CompressedLongArray[numPages][];
-        LongsRef[] buffers = new LongsRef[numPages];
         long[][] globalAdjacencyOffsets = new long[numPages][];
 
         long[][][] globalWeightOffsets = new long[propertyKeyIds.length][][];
@@ -71,25 +100,41 @@ public abstract class AdjacencyBuilder {
                 .stream(propertyKeyIds)
                 .anyMatch(keyId -> keyId != NO_SUCH_PROPERTY_KEY);
 
-        CompressingPagedAdjacency compressingPagedAdjacency = new CompressingPagedAdjacency(
-            globalBuilder,
-            localBuilders,
-            compressedAdjacencyLists,
-            buffers,
-            globalAdjacencyOffsets,
-            globalWeightOffsets,
-            pageSize,
-            relationshipCounter,
-            propertyKeyIds,
-            defaultValues,
-            aggregations,
-            atLeastOnePropertyToLoad
-        );
+        PagedAdjacency pagedAdjacency;
+        if (maxBufferMemory < 0) {
+            pagedAdjacency = new CompressingPagedAdjacency(
+                globalBuilder,
+                localBuilders,
+                globalAdjacencyOffsets,
+                globalWeightOffsets,
+                pageSize,
+                relationshipCounter,
+                propertyKeyIds,
+                defaultValues,
+                aggregations,
+                atLeastOnePropertyToLoad
+            );
+        } else {
+            int bufferCapacity = AdjacencySpillBuffer.capacity(maxBufferMemory / numPages, propertyKeyIds.length);
+            pagedAdjacency = new SpillingPagedAdjacency(
+                globalBuilder,
+                localBuilders,
+                globalAdjacencyOffsets,
+                globalWeightOffsets,
+                pageSize,
+                bufferCapacity,
+                relationshipCounter,
+                propertyKeyIds,
+                defaultValues,
+                aggregations,
+                atLeastOnePropertyToLoad
+            );
+        }
         for (int idx = 0; idx < numPages; idx++) {
-            compressingPagedAdjacency.addAdjacencyImporter(tracker, idx);
+            pagedAdjacency.addAdjacencyImporter(tracker, idx);
         }
-        compressingPagedAdjacency.finishPreparation();
-        return compressingPagedAdjacency;
+        pagedAdjacency.finishPreparation();
+        return pagedAdjacency;
     }
 
     abstract int[] getPropertyKeyIds();
@@ -100,30 +145,26 @@ public abstract class AdjacencyBuilder {
 
     abstract boolean atLeastOnePropertyToLoad();
 
-    private static final class CompressingPagedAdjacency extends AdjacencyBuilder {
+    private abstract static class PagedAdjacency extends AdjacencyBuilder {
 
         private final RelationshipsBuilder globalBuilder;
-        private final ThreadLocalRelationshipsBuilder[] localBuilders;
-        private final CompressedLongArray[][] compressedAdjacencyLists;
-        private final LongsRef[] buffers;
+        final ThreadLocalRelationshipsBuilder[] localBuilders;
         private final long[][] globalAdjacencyOffsets;
         private final long[][][] globalWeightOffsets;
-        private final int pageSize;
+        final int pageSize;
         private final int pageShift;
         private final long pageMask;
-        private final long sizeOfLongPage;
-        private final long sizeOfObjectPage;
-        private final LongAdder relationshipCounter;
+        final long sizeOfLongPage;
+        final long sizeOfObjectPage;
+        final LongAdder relationshipCounter;
         private final int[] propertyKeyIds;
         private final double[] defaultValues;
         private final Aggregation[] aggregations;
         private final boolean atLeastOnePropertyToLoad;
 
-        private CompressingPagedAdjacency(
+        PagedAdjacency(
             RelationshipsBuilder globalBuilder,
             ThreadLocalRelationshipsBuilder[] localBuilders,
-            CompressedLongArray[][] compressedAdjacencyLists,
-            LongsRef[] buffers,
             long[][] globalAdjacencyOffsets,
             long[][][] globalWeightOffsets,
             int pageSize,
@@ -135,8 +176,6 @@ public abstract class AdjacencyBuilder {
         ) {
             this.globalBuilder = globalBuilder;
             this.localBuilders = localBuilders;
-            this.compressedAdjacencyLists = compressedAdjacencyLists;
-            this.buffers = buffers;
             this.globalAdjacencyOffsets = globalAdjacencyOffsets;
             this.globalWeightOffsets = globalWeightOffsets;
             this.pageSize = pageSize;
@@ -151,12 +190,21 @@ public abstract class AdjacencyBuilder {
             this.atLeastOnePropertyToLoad = atLeastOnePropertyToLoad;
         }
 
+        abstract void preparePage(AllocationTracker tracker, int pageIndex);
+
+        abstract void addTargets(
+            int pageIndex,
+            int localId,
+            long[] targets,
+            long[][] propertyValues,
+            int startOffset,
+            int endOffset,
+            AllocationTracker tracker
+        );
+
         void addAdjacencyImporter(AllocationTracker tracker, int pageIndex) {
-            tracker.add(sizeOfObjectPage);
-            tracker.add(sizeOfObjectPage);
             tracker.add(sizeOfLongPage);
-            compressedAdjacencyLists[pageIndex] = new CompressedLongArray[pageSize];
-            buffers[pageIndex] = new LongsRef();
+            preparePage(tracker, pageIndex);
             long[] localAdjacencyOffsets = globalAdjacencyOffsets[pageIndex] = new long[pageSize];
 
             long[][] localWeightOffsets = new long[globalWeightOffsets.length][];
@@ -223,17 +271,7 @@ public abstract class AdjacencyBuilder {
 
                     int localId = (int) (source & pageMask);
 
-                    CompressedLongArray compressedTargets = this.compressedAdjacencyLists[pageIndex][localId];
-                    if (compressedTargets == null) {
-                        compressedTargets = new CompressedLongArray(tracker, propertyValues == null ? 0 : propertyValues.length);
-                        this.compressedAdjacencyLists[pageIndex][localId] = compressedTargets;
-                    }
-
-                    if (propertyValues == null) {
-                        compressedTargets.add(targets, startOffset, endOffset);
-                    } else {
-                        compressedTargets.add(targets, propertyValues, startOffset, endOffset);
-                    }
+                    addTargets(pageIndex, localId, targets, propertyValues, startOffset, endOffset, tracker);
 
                     startOffset = endOffset;
                 }
@@ -244,6 +282,92 @@ public abstract class AdjacencyBuilder {
             }
         }
 
+        @Override
+        int[] getPropertyKeyIds() {
+            return propertyKeyIds;
+        }
+
+        @Override
+        double[] getDefaultValues() {
+            return defaultValues;
+        }
+
+        @Override
+        Aggregation[] getAggregations() {
+            return aggregations;
+        }
+
+        @Override
+        boolean atLeastOnePropertyToLoad() {
+            return atLeastOnePropertyToLoad;
+        }
+    }
+
+    private static final class CompressingPagedAdjacency extends PagedAdjacency {
+
+        private final CompressedLongArray[][] compressedAdjacencyLists;
+        private final LongsRef[] buffers;
+
+        private CompressingPagedAdjacency(
+            RelationshipsBuilder globalBuilder,
+            ThreadLocalRelationshipsBuilder[] localBuilders,
+            long[][] globalAdjacencyOffsets,
+            long[][][] globalWeightOffsets,
+            int pageSize,
+            LongAdder relationshipCounter,
+            int[] propertyKeyIds,
+            double[] defaultValues,
+            Aggregation[] aggregations,
+            boolean atLeastOnePropertyToLoad
+        ) {
+            super(
+                globalBuilder,
+                localBuilders,
+                globalAdjacencyOffsets,
+                globalWeightOffsets,
+                pageSize,
+                relationshipCounter,
+                propertyKeyIds,
+                defaultValues,
+                aggregations,
+                atLeastOnePropertyToLoad
+            );
+            int numPages = localBuilders.length;
+            this.compressedAdjacencyLists = new CompressedLongArray[numPages][];
+            this.buffers = new LongsRef[numPages];
+        }
+
+        @Override
+        void preparePage(AllocationTracker tracker, int pageIndex) {
+            tracker.add(sizeOfObjectPage);
+            tracker.add(sizeOfObjectPage);
+            compressedAdjacencyLists[pageIndex] = new CompressedLongArray[pageSize];
+            buffers[pageIndex] = new LongsRef();
+        }
+
+        @Override
+        void addTargets(
+            int pageIndex,
+            int localId,
+            long[] targets,
+            long[][] propertyValues,
+            int startOffset,
+            int endOffset,
+            AllocationTracker tracker
+        ) {
+            CompressedLongArray compressedTargets = this.compressedAdjacencyLists[pageIndex][localId];
+            if (compressedTargets == null) {
+                compressedTargets = new CompressedLongArray(tracker, propertyValues == null ? 0 : propertyValues.length);
+                this.compressedAdjacencyLists[pageIndex][localId] = compressedTargets;
+            }
+
+            if (propertyValues == null) {
+                compressedTargets.add(targets, startOffset, endOffset);
+            } else {
+                compressedTargets.add(targets, propertyValues, startOffset, endOffset);
+            }
+        }
+
         @Override
         Collection<Runnable> flushTasks() {
             Runnable[] runnables = new Runnable[localBuilders.length];
@@ -267,25 +391,69 @@ public abstract class AdjacencyBuilder {
             });
             return Arrays.asList(runnables);
         }
+    }
 
-        @Override
-        int[] getPropertyKeyIds() {
-            return propertyKeyIds;
+    private static final class SpillingPagedAdjacency extends PagedAdjacency {
+
+        private final AdjacencySpillBuffer[] spillBuffers;
+        private final int bufferCapacity;
+
+        private SpillingPagedAdjacency(
+            RelationshipsBuilder globalBuilder,
+            ThreadLocalRelationshipsBuilder[] localBuilders,
+            long[][] globalAdjacencyOffsets,
+            long[][][] globalWeightOffsets,
+            int pageSize,
+            int bufferCapacity,
+            LongAdder relationshipCounter,
+            int[] propertyKeyIds,
+            double[] defaultValues,
+            Aggregation[] aggregations,
+            boolean atLeastOnePropertyToLoad
+        ) {
+            super(
+                globalBuilder,
+                localBuilders,
+                globalAdjacencyOffsets,
+                globalWeightOffsets,
+                pageSize,
+                relationshipCounter,
+                propertyKeyIds,
+                defaultValues,
+                aggregations,
+                atLeastOnePropertyToLoad
+            );
+            this.spillBuffers = new AdjacencySpillBuffer[localBuilders.length];
+            this.bufferCapacity = bufferCapacity;
         }
 
         @Override
-        double[] getDefaultValues() {
-            return defaultValues;
+        void preparePage(AllocationTracker tracker, int pageIndex) {
+            spillBuffers[pageIndex] = new AdjacencySpillBuffer(pageSize, bufferCapacity, tracker);
         }
 
         @Override
-        Aggregation[] getAggregations() {
-            return aggregations;
+        void addTargets(
+            int pageIndex,
+            int localId,
+            long[] targets,
+            long[][] propertyValues,
+            int startOffset,
+            int endOffset,
+            AllocationTracker tracker
+        ) {
+            spillBuffers[pageIndex].add(localId, targets, propertyValues, startOffset, endOffset);
         }
 
         @Override
-        boolean atLeastOnePropertyToLoad() {
-            return atLeastOnePropertyToLoad;
+        Collection<Runnable> flushTasks() {
+            Runnable[] runnables = new Runnable[localBuilders.length];
+            Arrays.setAll(runnables, index -> () -> {
+                long importedRelationships = spillBuffers[index].flush(localBuilders[index]);
+                spillBuffers[index] = null;
+                relationshipCounter.add(importedRelationships);
+            });
+            return Arrays.asList(runnables);
         }
     }
 
@@ -22,14 +22,23 @@ package org.neo4j.graphalgo.core.loading;
 import com.carrotsearch.hppc.sorting.IndirectSort;
 import org.apache.lucene.util.LongsRef;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.AscendingLongComparator;
+import org.neo4j.graphalgo.core.utils.BitUtil;
 
 import java.util.Arrays;
+import java.util.stream.IntStream;
 
 import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodeVLongs;
+import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodedVLongSize;
 
 final class AdjacencyCompression {
 
+    /**
+     * Adjacency lists of at least this many relationships are sorted and compressed in parallel.
+     */
+    static final int PARALLEL_COMPRESSION_THRESHOLD = 1 << 20;
+
     private static long[] growWithDestroy(long[] values, int newLength) {
         if (values.length < newLength) {
             // give leeway in case of nodes with a reference to themselves
@@ -53,6 +62,17 @@ final class AdjacencyCompression {
         return data.length = applyDelta(data.longs, data.length, aggregation);
     }
 
+    static int applyDeltaEncoding(LongsRef data, Aggregation aggregation, int concurrency) {
+        if (!useParallelCompression(data.length, concurrency)) {
+            return applyDeltaEncoding(data, aggregation);
+        }
+        long[] copy = new long[data.length];
+        RadixSort.parallelRadixSort(data.longs, copy, null, null, data.length, concurrency);
+        data.length = applyDeltaInParallel(data.longs, copy, data.length, aggregation, concurrency);
+        System.arraycopy(copy, 0, data.longs, 0, data.length);
+        return data.length;
+    }
+
     // TODO: requires lots of additional memory ... inline indirect sort to make reuse of - to be created - buffers
     static int applyDeltaEncoding(LongsRef data, long[][] weights, Aggregation[] aggregations, boolean noAggregation) {
         int[] order = IndirectSort.mergesort(0, data.length, new AscendingLongComparator(data.longs));
@@ -80,6 +100,53 @@ final class AdjacencyCompression {
         return data.length;
     }
 
+    static int applyDeltaEncoding(
+        LongsRef data,
+        long[][] weights,
+        Aggregation[] aggregations,
+        boolean noAggregation,
+        int concurrency
+    ) {
+        if (!useParallelCompression(data.length, concurrency)) {
+            return applyDeltaEncoding(data, weights, aggregations, noAggregation);
+        }
+        int length = data.length;
+        long[] sortedValues = Arrays.copyOf(data.longs, length);
+        int[] order = new int[length];
+        Arrays.setAll(order, i -> i);
+        RadixSort.parallelRadixSort(sortedValues, new long[length], order, new int[length], length, concurrency);
+
+        long[][] sortedWeights = new long[weights.length][length];
+        // the sorted values are no longer required once the order is known and are reused as output
+        data.length = applyDelta(
+            order,
+            data.longs,
+            sortedValues,
+            weights,
+            sortedWeights,
+            length,
+            aggregations,
+            noAggregation
+        );
+
+        System.arraycopy(sortedValues, 0, data.longs, 0, data.length);
+        for (int i = 0; i < sortedWeights.length; i++) {
+            System.arraycopy(sortedWeights[i], 0, weights[i], 0, data.length);
+        }
+        return data.length;
+    }
+
+    /**
+     * Number of bytes required to compress the delta encoded {@code data}.
+     */
+    static int compressedSize(LongsRef data) {
+        int requiredBytes = 0;
+        for (int i = 0; i < data.length; i++) {
+            requiredBytes += encodedVLongSize(data.longs[i]);
+        }
+        return requiredBytes;
+    }
+
     static int compress(LongsRef data, byte[] out) {
         return compress(data.longs, out, data.length);
     }
@@ -88,6 +155,38 @@ final class AdjacencyCompression {
         return encodeVLongs(data, length, out, 0);
     }
 
+    /**
+     * Compresses chunks of {@code data} concurrently.
+     * The output offset of every chunk is the sum of the encoded sizes of its preceding chunks.
+     */
+    static int compress(LongsRef data, byte[] out, int concurrency) {
+        if (!useParallelCompression(data.length, concurrency)) {
+            return compress(data, out);
+        }
+        long[] values = data.longs;
+        int length = data.length;
+        int chunkSize = (int) BitUtil.ceilDiv(length, concurrency);
+        int chunks = (int) BitUtil.ceilDiv(length, chunkSize);
+
+        int[] offsets = new int[chunks + 1];
+        ParallelUtil.parallelStreamConsume(IntStream.range(0, chunks), concurrency, stream -> stream.forEach(chunk -> {
+            int requiredBytes = 0;
+            for (int i = chunk * chunkSize, end = Math.min(length, i + chunkSize); i < end; i++) {
+                requiredBytes += encodedVLongSize(values[i]);
+            }
+            offsets[chunk + 1] = requiredBytes;
+        }));
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            offsets[chunk + 1] += offsets[chunk];
+        }
+
+        ParallelUtil.parallelStreamConsume(IntStream.range(0, chunks), concurrency, stream -> stream.forEach(chunk -> {
+            int start = chunk * chunkSize;
+            encodeVLongs(values, start, Math.min(length, start + chunkSize), out, offsets[chunk]);
+        }));
+        return offsets[chunks];
+    }
+
     //@formatter:off
     static int writeDegree(byte[] out, int offset, int degree) {
         out[    offset] = (byte) (degree);
@@ -111,6 +210,51 @@ final class AdjacencyCompression {
         return out;
     }
 
+    private static boolean useParallelCompression(int length, int concurrency) {
+        return concurrency > 1 && length >= PARALLEL_COMPRESSION_THRESHOLD;
+    }
+
+    /**
+     * Parallel version of {@link #applyDelta(long[], int, Aggregation)} for sorted {@code values}.
+     * Every chunk first counts the values it keeps, so that all chunks can write their deltas
+     * to {@code out} concurrently, starting at the number of values kept by the preceding chunks.
+     */
+    private static int applyDeltaInParallel(long[] values, long[] out, int length, Aggregation aggregation, int concurrency) {
+        int chunkSize = (int) BitUtil.ceilDiv(length, concurrency);
+        int chunks = (int) BitUtil.ceilDiv(length, chunkSize);
+        boolean keepAll = aggregation == Aggregation.NONE;
+
+        int[] offsets = new int[chunks + 1];
+        ParallelUtil.parallelStreamConsume(IntStream.range(0, chunks), concurrency, stream -> stream.forEach(chunk -> {
+            int start = chunk * chunkSize;
+            int end = Math.min(length, start + chunkSize);
+            int kept = 0;
+            for (int i = start; i < end; i++) {
+                if (i == 0 || keepAll || values[i] != values[i - 1]) {
+                    kept++;
+                }
+            }
+            offsets[chunk + 1] = kept;
+        }));
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            offsets[chunk + 1] += offsets[chunk];
+        }
+
+        ParallelUtil.parallelStreamConsume(IntStream.range(0, chunks), concurrency, stream -> stream.forEach(chunk -> {
+            int start = chunk * chunkSize;
+            int end = Math.min(length, start + chunkSize);
+            int position = offsets[chunk];
+            for (int i = start; i < end; i++) {
+                if (i == 0) {
+                    out[position++] = values[0];
+                } else if (keepAll || values[i] != values[i - 1]) {
+                    out[position++] = values[i] - values[i - 1];
+                }
+            }
+        }));
+        return offsets[chunks];
+    }
+
     /**
      * Applies delta encoding to the given {@code values}.
      * Weights are not encoded.
@@ -0,0 +1,552 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.LongsRef;
+import org.jetbrains.annotations.TestOnly;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfIntArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+
+/**
+ * Buffers the relationships of a single import page up to a fixed number of entries.
+ * Whenever the buffer is full, its content is sorted by source node and written to
+ * a temporary file as a sorted run. During flush, all runs and the remaining in-memory
+ * entries are k-way merged by source node and handed to the {@link ThreadLocalRelationshipsBuilder}.
+ * At most {@link #MAX_FAN_IN} runs are opened at the same time, more runs are first merged
+ * into larger runs in intermediate passes.
+ *
+ * The peak memory of a page is thereby bounded by the buffer capacity,
+ * independent of the number of relationships that are imported into it.
+ */
+final class AdjacencySpillBuffer {
+
+    /**
+     * Minimum number of relationships in a run, so that a very small memory limit
+     * does not degrade into one temporary file per relationship.
+     */
+    static final int MIN_CAPACITY = 1 << 14;
+
+    /**
+     * Maximum number of runs that are merged at once, which bounds the number of open files.
+     */
+    static final int MAX_FAN_IN = 64;
+
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+    private static final int NO_MORE_NODES = Integer.MAX_VALUE;
+    private static final Comparator<SortedRun> RUN_ORDER = Comparator
+        .comparingInt(SortedRun::localId)
+        .thenComparingInt(SortedRun::order);
+
+    // only lowered by tests, so that small graphs are spilled as well
+    private static volatile int minCapacity = MIN_CAPACITY;
+    // number of runs written by all buffers, so that tests can verify that a graph has been spilled
+    private static final LongAdder WRITTEN_RUNS = new LongAdder();
+
+    private final int pageSize;
+    private final int capacity;
+    private final AllocationTracker tracker;
+    private final List<Path> runs;
+
+    private int[] localIds;
+    private long[] targets;
+    private long[][] properties;
+    private int length;
+
+    AdjacencySpillBuffer(int pageSize, int capacity, AllocationTracker tracker) {
+        this.pageSize = pageSize;
+        this.capacity = capacity;
+        this.tracker = tracker;
+        this.runs = new ArrayList<>();
+    }
+
+    /**
+     * Number of relationships that fit into a buffer with the given memory limit.
+     * Accounts for the local id, target and properties of an entry as well as its slot in the sort order.
+     * The capacity is never smaller than {@link #MIN_CAPACITY}.
+     */
+    static int capacity(long maxMemoryInBytes, int numberOfProperties) {
+        long bytesPerEntry = 2L * Integer.BYTES + (1L + numberOfProperties) * Long.BYTES;
+        return (int) Math.max(minCapacity, Math.min(ArrayUtil.MAX_ARRAY_LENGTH, maxMemoryInBytes / bytesPerEntry));
+    }
+
+    /**
+     * Replaces {@link #MIN_CAPACITY} until it is reset with {@code MIN_CAPACITY}.
+     */
+    @TestOnly
+    static void setMinCapacity(int capacity) {
+        minCapacity = capacity;
+    }
+
+    /**
+     * Number of runs that have been spilled to temporary files by all buffers, excluding intermediate merges.
+     */
+    @TestOnly
+    static long writtenRuns() {
+        return WRITTEN_RUNS.sum();
+    }
+
+    void add(int localId, long[] values, long[][] propertyValues, int start, int end) {
+        if (localIds == null) {
+            allocate(propertyValues == null ? 0 : propertyValues.length);
+        }
+        while (start < end) {
+            if (length == capacity) {
+                spill();
+            }
+            int count = Math.min(end - start, capacity - length);
+            ensureCapacity(length + count);
+            Arrays.fill(localIds, length, length + count, localId);
+            System.arraycopy(values, start, targets, length, count);
+            for (int i = 0; i < properties.length; i++) {
+                System.arraycopy(propertyValues[i], start, properties[i], length, count);
+            }
+            length += count;
+            start += count;
+        }
+    }
+
+    /**
+     * Merges all spilled runs and the in-memory remainder and compresses
+     * the adjacency list of every source node in ascending local id order.
+     *
+     * @return the number of imported relationships
+     */
+    long flush(ThreadLocalRelationshipsBuilder builder) {
+        BytesRef storage = new BytesRef();
+        return flush((localId, targets, propertyValues) -> builder.applyVariableDeltaEncoding(
+            targets,
+            propertyValues,
+            storage,
+            localId
+        ));
+    }
+
+    /**
+     * Merges all spilled runs and the in-memory remainder and hands the adjacency list
+     * of every source node to the consumer in ascending local id order.
+     *
+     * @return the sum of the values returned by the consumer
+     */
+    long flush(ChunkConsumer consumer) {
+        if (localIds == null) {
+            return 0L;
+        }
+
+        List<SortedRun> sortedRuns = new ArrayList<>(MAX_FAN_IN);
+        try {
+            // leave one slot for the in-memory remainder
+            while (runs.size() >= MAX_FAN_IN) {
+                mergeRuns();
+            }
+            for (Path run : runs) {
+                sortedRuns.add(new FileRun(run, properties.length, sortedRuns.size()));
+            }
+            sortedRuns.add(sortInMemory(sortedRuns.size()));
+
+            return merge(sortedRuns, consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            for (SortedRun sortedRun : sortedRuns) {
+                sortedRun.close();
+            }
+            release();
+        }
+    }
+
+    /**
+     * Number of runs that have been spilled to temporary files since the last flush.
+     */
+    int spilledRuns() {
+        return runs.size();
+    }
+
+    /**
+     * One intermediate pass that merges consecutive groups of up to {@link #MAX_FAN_IN} runs into a single run each.
+     * Groups are merged in order, so that chunks of the same node are still concatenated in the order they were added.
+     */
+    private void mergeRuns() throws IOException {
+        List<Path> mergedRuns = new ArrayList<>();
+        try {
+            mergeRunGroups(mergedRuns);
+        } catch (IOException | RuntimeException e) {
+            mergedRuns.forEach(AdjacencySpillBuffer::deleteQuietly);
+            throw e;
+        }
+        runs.clear();
+        runs.addAll(mergedRuns);
+    }
+
+    private void mergeRunGroups(List<Path> mergedRuns) throws IOException {
+        for (int groupStart = 0; groupStart < runs.size(); groupStart += MAX_FAN_IN) {
+            List<Path> group = runs.subList(groupStart, Math.min(runs.size(), groupStart + MAX_FAN_IN));
+            if (group.size() == 1) {
+                mergedRuns.add(group.get(0));
+                continue;
+            }
+
+            Path mergedRun = Files.createTempFile("gds-adjacency-", ".run");
+            mergedRuns.add(mergedRun);
+            List<SortedRun> sortedRuns = new ArrayList<>(group.size());
+            try (DataOutputStream out = newRunOutput(mergedRun)) {
+                for (Path run : group) {
+                    sortedRuns.add(new FileRun(run, properties.length, sortedRuns.size()));
+                }
+                merge(sortedRuns, (localId, targets, propertyValues) -> {
+                    writeChunk(out, localId, targets.longs, propertyValues, targets.length);
+                    return targets.length;
+                });
+                out.writeInt(NO_MORE_NODES);
+            } finally {
+                for (SortedRun sortedRun : sortedRuns) {
+                    sortedRun.close();
+                }
+                for (Path run : group) {
+                    deleteQuietly(run);
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges the given runs by local id and hands the concatenated chunks of every local id to the consumer.
+     * The runs are kept in a priority queue, chunks of the same local id are concatenated in run order.
+     */
+    private long merge(List<SortedRun> sortedRuns, ChunkConsumer consumer) throws IOException {
+        PriorityQueue<SortedRun> queue = new PriorityQueue<>(sortedRuns.size(), RUN_ORDER);
+        for (SortedRun sortedRun : sortedRuns) {
+            if (sortedRun.localId() != NO_MORE_NODES) {
+                queue.add(sortedRun);
+            }
+        }
+
+        LongsRef targetBuffer = new LongsRef();
+        long[][] propertyBuffer = new long[properties.length][0];
+
+        long mergedRelationships = 0L;
+        while (!queue.isEmpty()) {
+            int localId = queue.peek().localId();
+            targetBuffer.length = 0;
+            while (!queue.isEmpty() && queue.peek().localId() == localId) {
+                SortedRun sortedRun = queue.poll();
+                propertyBuffer = sortedRun.readInto(targetBuffer, propertyBuffer);
+                if (sortedRun.localId() != NO_MORE_NODES) {
+                    queue.add(sortedRun);
+                }
+            }
+            mergedRelationships += consumer.accept(localId, targetBuffer, propertyBuffer);
+        }
+        return mergedRelationships;
+    }
+
+    private void allocate(int numberOfProperties) {
+        int initialSize = Math.min(capacity, ArrayUtil.oversize(64, Long.BYTES));
+        localIds = new int[initialSize];
+        targets = new long[initialSize];
+        properties = new long[numberOfProperties][initialSize];
+        tracker.add(sizeOfIntArray(initialSize) + (1L + numberOfProperties) * sizeOfLongArray(initialSize));
+    }
+
+    private void ensureCapacity(int required) {
+        if (targets.length < required) {
+            int oldLength = targets.length;
+            int newLength = Math.min(capacity, ArrayUtil.oversize(required, Long.BYTES));
+            localIds = Arrays.copyOf(localIds, newLength);
+            targets = Arrays.copyOf(targets, newLength);
+            for (int i = 0; i < properties.length; i++) {
+                properties[i] = Arrays.copyOf(properties[i], newLength);
+            }
+            tracker.remove(sizeOfIntArray(oldLength) + (1L + properties.length) * sizeOfLongArray(oldLength));
+            tracker.add(sizeOfIntArray(newLength) + (1L + properties.length) * sizeOfLongArray(newLength));
+        }
+    }
+
+    private void release() {
+        if (localIds != null) {
+            tracker.remove(sizeOfIntArray(localIds.length) + (1L + properties.length) * sizeOfLongArray(targets.length));
+        }
+        localIds = null;
+        targets = null;
+        properties = null;
+        length = 0;
+        for (Path run : runs) {
+            deleteQuietly(run);
+        }
+        runs.clear();
+    }
+
+    /**
+     * Counting sort of the buffered entries by local id.
+     * Returns the start offset of every local id, the entries are written into {@code order}.
+     */
+    private int[] sortByLocalId(int[] order) {
+        int[] offsets = new int[pageSize + 1];
+        for (int i = 0; i < length; i++) {
+            offsets[localIds[i] + 1]++;
+        }
+        for (int i = 0; i < pageSize; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] positions = Arrays.copyOf(offsets, pageSize);
+        for (int i = 0; i < length; i++) {
+            order[positions[localIds[i]]++] = i;
+        }
+        return offsets;
+    }
+
+    private void spill() {
+        int[] order = new int[length];
+        int[] offsets = sortByLocalId(order);
+        try {
+            Path run = Files.createTempFile("gds-adjacency-", ".run");
+            runs.add(run);
+            try (DataOutputStream out = newRunOutput(run)) {
+                for (int localId = 0; localId < pageSize; localId++) {
+                    int start = offsets[localId];
+                    int end = offsets[localId + 1];
+                    if (end > start) {
+                        out.writeInt(localId);
+                        out.writeInt(end - start);
+                        for (int i = start; i < end; i++) {
+                            out.writeLong(targets[order[i]]);
+                        }
+                        for (long[] property : properties) {
+                            for (int i = start; i < end; i++) {
+                                out.writeLong(property[order[i]]);
+                            }
+                        }
+                    }
+                }
+                out.writeInt(NO_MORE_NODES);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        WRITTEN_RUNS.increment();
+        length = 0;
+    }
+
+    private static DataOutputStream newRunOutput(Path run) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), IO_BUFFER_SIZE));
+    }
+
+    private static void writeChunk(
+        DataOutputStream out,
+        int localId,
+        long[] targets,
+        long[][] properties,
+        int count
+    ) throws IOException {
+        out.writeInt(localId);
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeLong(targets[i]);
+        }
+        for (long[] property : properties) {
+            for (int i = 0; i < count; i++) {
+                out.writeLong(property[i]);
+            }
+        }
+    }
+
+    private SortedRun sortInMemory(int runOrder) {
+        int[] order = new int[length];
+        int[] offsets = sortByLocalId(order);
+        return new MemoryRun(order, offsets, runOrder);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static long[] grow(long[] array, int minSize) {
+        return array.length < minSize ? ArrayUtil.grow(array, minSize) : array;
+    }
+
+    @FunctionalInterface
+    interface ChunkConsumer {
+        /**
+         * Consumes all targets and properties of a single source node.
+         * The buffers are reused for the next node and must not be retained.
+         */
+        long accept(int localId, LongsRef targets, long[][] properties) throws IOException;
+    }
+
+    private interface SortedRun {
+
+        /**
+         * The local id of the next chunk or {@link #NO_MORE_NODES} if the run is exhausted.
+         */
+        int localId();
+
+        /**
+         * The position of the run among all merged runs, chunks of earlier runs are read first.
+         */
+        int order();
+
+        /**
+         * Appends the current chunk to the given buffers and advances to the next chunk.
+         */
+        long[][] readInto(LongsRef targets, long[][] properties) throws IOException;
+
+        void close();
+    }
+
+    private final class MemoryRun implements SortedRun {
+
+        private final int[] order;
+        private final int[] offsets;
+        private final int runOrder;
+        private int localId;
+
+        MemoryRun(int[] order, int[] offsets, int runOrder) {
+            this.order = order;
+            this.offsets = offsets;
+            this.runOrder = runOrder;
+            this.localId = -1;
+            advance();
+        }
+
+        @Override
+        public int localId() {
+            return localId;
+        }
+
+        @Override
+        public int order() {
+            return runOrder;
+        }
+
+        @Override
+        public long[][] readInto(LongsRef targetBuffer, long[][] propertyBuffer) {
+            int start = offsets[localId];
+            int end = offsets[localId + 1];
+            int offset = targetBuffer.length;
+            int newLength = offset + end - start;
+            targetBuffer.longs = grow(targetBuffer.longs, newLength);
+            for (int i = start; i < end; i++) {
+                targetBuffer.longs[offset + i - start] = targets[order[i]];
+            }
+            for (int p = 0; p < propertyBuffer.length; p++) {
+                long[] buffer = propertyBuffer[p] = grow(propertyBuffer[p], newLength);
+                long[] property = properties[p];
+                for (int i = start; i < end; i++) {
+                    buffer[offset + i - start] = property[order[i]];
+                }
+            }
+            targetBuffer.length = newLength;
+            advance();
+            return propertyBuffer;
+        }
+
+        private void advance() {
+            do {
+                localId++;
+            } while (localId < pageSize && offsets[localId + 1] == offsets[localId]);
+            if (localId >= pageSize) {
+                localId = NO_MORE_NODES;
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class FileRun implements SortedRun {
+
+        private final DataInputStream in;
+        private final int numberOfProperties;
+        private final int runOrder;
+        private int localId;
+        private int count;
+
+        FileRun(Path run, int numberOfProperties, int runOrder) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), IO_BUFFER_SIZE));
+            this.numberOfProperties = numberOfProperties;
+            this.runOrder = runOrder;
+            advance();
+        }
+
+        @Override
+        public int localId() {
+            return localId;
+        }
+
+        @Override
+        public int order() {
+            return runOrder;
+        }
+
+        @Override
+        public long[][] readInto(LongsRef targetBuffer, long[][] propertyBuffer) throws IOException {
+            int offset = targetBuffer.length;
+            int newLength = offset + count;
+            long[] targets = targetBuffer.longs = grow(targetBuffer.longs, newLength);
+            for (int i = offset; i < newLength; i++) {
+                targets[i] = in.readLong();
+            }
+            for (int p = 0; p < numberOfProperties; p++) {
+                long[] buffer = propertyBuffer[p] = grow(propertyBuffer[p], newLength);
+                for (int i = offset; i < newLength; i++) {
+                    buffer[i] = in.readLong();
+                }
+            }
+            targetBuffer.length = newLength;
+            advance();
+            return propertyBuffer;
+        }
+
+        private void advance() throws IOException {
+            localId = in.readInt();
+            count = localId == NO_MORE_NODES ? 0 : in.readInt();
+        }
+
+        @Override
+        public void close() {
+            try {
+                in.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
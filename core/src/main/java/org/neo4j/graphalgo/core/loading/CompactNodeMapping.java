@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeCursor;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+/**
+ * A {@link NodeMapping} for sparse original ids, which requires memory in the order of
+ * one bit per possible original id instead of one long as {@link SparseNodeMapping} does.
+ *
+ * Original ids are stored in a bit vector. The rank of an original id, i.e. the number of mapped
+ * ids that are smaller than it, is computed from the number of set bits before each block of
+ * {@link #BLOCK_WORDS} words plus the bits set in the preceding words of the block.
+ * If the internal ids were assigned in ascending order of the original ids, the rank is the internal id.
+ * Otherwise, an additional array maps ranks to internal ids.
+ */
+public final class CompactNodeMapping implements NodeMapping {
+
+    private static final long NOT_FOUND = -1L;
+    private static final int BLOCK_SHIFT = 3;
+    private static final int BLOCK_WORDS = 1 << BLOCK_SHIFT;
+
+    private final long capacity;
+    private final HugeLongArray bits;
+    private final HugeLongArray blockRanks;
+    @Nullable
+    private final HugeLongArray rankToMappedId;
+
+    private CompactNodeMapping(
+        long capacity,
+        HugeLongArray bits,
+        HugeLongArray blockRanks,
+        @Nullable HugeLongArray rankToMappedId
+    ) {
+        this.capacity = capacity;
+        this.bits = bits;
+        this.blockRanks = blockRanks;
+        this.rankToMappedId = rankToMappedId;
+    }
+
+    /**
+     * @param maxId highest id that we need to represent
+     * @param maxEntries number of identifiers we need to store
+     */
+    public static MemoryRange memoryEstimation(long maxId, long maxEntries) {
+        long words = BitUtil.ceilDiv(Math.max(1L, maxId), Long.SIZE);
+        long blocks = BitUtil.ceilDiv(words, BLOCK_WORDS);
+        long classSize = MemoryUsage.sizeOfInstance(CompactNodeMapping.class);
+        long bitsSize = HugeLongArray.memoryEstimation(words);
+        long ranksSize = HugeLongArray.memoryEstimation(blocks);
+        // ids that are imported in ascending order don't need a mapping from rank to internal id
+        return MemoryRange
+            .of(classSize + bitsSize + ranksSize)
+            .add(MemoryRange.of(0L, HugeLongArray.memoryEstimation(maxEntries)));
+    }
+
+    /**
+     * Builds the mapping from the first {@code nodeCount} original ids in {@code graphIds}, indexed by their internal id.
+     */
+    public static CompactNodeMapping of(
+        HugeLongArray graphIds,
+        long nodeCount,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        long maxId = -1L;
+        boolean ascending = true;
+        try (HugeCursor<long[]> cursor = graphIds.initCursor(graphIds.newCursor(), 0L, nodeCount)) {
+            while (cursor.next()) {
+                long[] array = cursor.array;
+                for (int i = cursor.offset; i < cursor.limit; ++i) {
+                    ascending &= array[i] > maxId;
+                    maxId = Math.max(maxId, array[i]);
+                }
+            }
+        }
+
+        long capacity = maxId + 1L;
+        long words = BitUtil.ceilDiv(Math.max(1L, capacity), Long.SIZE);
+        HugeLongArray bits = HugeLongArray.newArray(words, tracker);
+        try (HugeCursor<long[]> cursor = graphIds.initCursor(graphIds.newCursor(), 0L, nodeCount)) {
+            while (cursor.next()) {
+                long[] array = cursor.array;
+                for (int i = cursor.offset; i < cursor.limit; ++i) {
+                    bits.or(array[i] >>> 6, 1L << array[i]);
+                }
+            }
+        }
+
+        long blocks = BitUtil.ceilDiv(words, BLOCK_WORDS);
+        HugeLongArray blockRanks = HugeLongArray.newArray(blocks, tracker);
+        long rank = 0L;
+        for (long word = 0L; word < words; word++) {
+            if ((word & (BLOCK_WORDS - 1)) == 0L) {
+                blockRanks.set(word >>> BLOCK_SHIFT, rank);
+            }
+            rank += Long.bitCount(bits.get(word));
+        }
+
+        if (ascending) {
+            return new CompactNodeMapping(capacity, bits, blockRanks, null);
+        }
+
+        HugeLongArray rankToMappedId = HugeLongArray.newArray(nodeCount, tracker);
+        CompactNodeMapping ranks = new CompactNodeMapping(capacity, bits, blockRanks, null);
+        ParallelUtil.readParallel(concurrency, nodeCount, Pools.DEFAULT, (start, end) -> {
+            for (long mappedId = start; mappedId < end; mappedId++) {
+                rankToMappedId.set(ranks.get(graphIds.get(mappedId)), mappedId);
+            }
+        });
+        return new CompactNodeMapping(capacity, bits, blockRanks, rankToMappedId);
+    }
+
+    @Override
+    public long get(long originalId) {
+        if (originalId < 0L || originalId >= capacity) {
+            return NOT_FOUND;
+        }
+        long word = originalId >>> 6;
+        long bitsInWord = bits.get(word);
+        long bit = 1L << originalId;
+        if ((bitsInWord & bit) == 0L) {
+            return NOT_FOUND;
+        }
+
+        long rank = blockRanks.get(word >>> BLOCK_SHIFT) + Long.bitCount(bitsInWord & (bit - 1L));
+        for (long precedingWord = word & -BLOCK_WORDS; precedingWord < word; precedingWord++) {
+            rank += Long.bitCount(bits.get(precedingWord));
+        }
+        return rankToMappedId == null ? rank : rankToMappedId.get(rank);
+    }
+
+    @Override
+    public boolean contains(long originalId) {
+        return originalId >= 0L
+               && originalId < capacity
+               && (bits.get(originalId >>> 6) & (1L << originalId)) != 0L;
+    }
+
+    @Override
+    public long getCapacity() {
+        return capacity;
+    }
+}
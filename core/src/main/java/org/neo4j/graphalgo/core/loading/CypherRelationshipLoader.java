@@ -253,7 +253,11 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
                 .properties(propertyMappings)
                 .build();
 
-            RelationshipsBuilder builder = new RelationshipsBuilder(projection, loadingContext.tracker());
+            RelationshipsBuilder builder = new RelationshipsBuilder(
+                projection,
+                loadingContext.tracker(),
+                cypherConfig.readConcurrency()
+            );
 
             allBuilders.put(relationshipType, builder);
 
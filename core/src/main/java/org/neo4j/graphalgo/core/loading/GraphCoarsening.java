@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.LongsRef;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipProjection;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.huge.AdjacencyOffsets;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.utils.collection.SparseLongDoubleAccumulator;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongUnaryOperator;
+
+import static org.neo4j.graphalgo.core.loading.HugeGraphUtil.DUMMY_PROPERTY;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+
+/**
+ * Builds the community graph of a partitioned graph, as used by multilevel algorithms
+ * such as Louvain. Every community becomes a node and all relationships between two
+ * communities are merged into a single relationship that carries the sum of their weights.
+ * Relationships within a community become a self-loop.
+ * Relationships without a weight are counted with a weight of {@code 1.0}.
+ *
+ * The members of every community are grouped first. Communities are then split into
+ * import pages which are processed in parallel: each thread sums up the weights of
+ * a community in a primitive hash map and compresses the result directly into the
+ * adjacency list, without going through the relationship importer.
+ */
+public final class GraphCoarsening {
+
+    private final Graph graph;
+    private final LongUnaryOperator communityFunction;
+    private final long maxCommunityId;
+    private final Orientation orientation;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+
+    // start of the members of every community within all members, indexed by the mapped community id
+    private HugeLongArray memberOffsets;
+
+    /**
+     * @param communityFunction maps an internal node id of {@code graph} to its community id
+     * @param maxCommunityId    upper bound (inclusive) of the community ids
+     * @param orientation       orientation of the resulting graph
+     */
+    public static HugeGraph coarsen(
+        Graph graph,
+        LongUnaryOperator communityFunction,
+        long maxCommunityId,
+        Orientation orientation,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        return new GraphCoarsening(
+            graph,
+            communityFunction,
+            maxCommunityId,
+            orientation,
+            concurrency,
+            executor,
+            tracker
+        ).coarsen();
+    }
+
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(GraphCoarsening.class)
+            .perNode("community offsets", HugeAtomicLongArray::memoryEstimation)
+            .perNode("node communities", HugeLongArray::memoryEstimation)
+            .perNode("community members", HugeLongArray::memoryEstimation)
+            .build();
+    }
+
+    private GraphCoarsening(
+        Graph graph,
+        LongUnaryOperator communityFunction,
+        long maxCommunityId,
+        Orientation orientation,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.communityFunction = communityFunction;
+        this.maxCommunityId = maxCommunityId;
+        this.orientation = orientation;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.tracker = tracker;
+    }
+
+    private HugeGraph coarsen() {
+        long nodeCount = graph.nodeCount();
+
+        // community sizes, later turned into the offsets of each community within `members`
+        HugeAtomicLongArray offsets = HugeAtomicLongArray.newArray(maxCommunityId + 1, tracker);
+        ParallelUtil.parallelForEachNode(graph, concurrency, nodeId ->
+            offsets.getAndAdd(communityFunction.applyAsLong(nodeId), 1L)
+        );
+
+        IdMap idMap = buildIdMap(offsets);
+        long communityCount = idMap.nodeCount();
+
+        HugeLongArray nodeCommunities = HugeLongArray.newArray(nodeCount, tracker);
+        HugeLongArray members = HugeLongArray.newArray(nodeCount, tracker);
+        ParallelUtil.parallelForEachNode(graph, concurrency, nodeId -> {
+            long community = communityFunction.applyAsLong(nodeId);
+            nodeCommunities.set(nodeId, idMap.toMappedNodeId(community));
+            members.set(offsets.getAndAdd(community, 1L), nodeId);
+        });
+        tracker.remove(offsets.release());
+
+        HugeGraph.Relationships relationships = buildRelationships(
+            communityCount,
+            memberOffsets,
+            members,
+            nodeCommunities
+        );
+
+        tracker.remove(memberOffsets.release() + members.release() + nodeCommunities.release());
+        memberOffsets = null;
+
+        return HugeGraphUtil.create(idMap, relationships, tracker);
+    }
+
+    /**
+     * Assigns consecutive ids to all non-empty communities in ascending order of their community id
+     * and computes the offsets of their members, see {@link #memberOffsets}.
+     * The community sizes are replaced by the offsets of the communities within the members.
+     *
+     * Both are prefix sums over the community ids, which are computed in two parallel passes:
+     * the first one counts the communities and members per partition of community ids,
+     * the second one assigns the ids and offsets of each partition, starting from the totals of the previous partitions.
+     */
+    private IdMap buildIdMap(HugeAtomicLongArray communitySizes) {
+        long communityIdCount = maxCommunityId + 1;
+        long partitionSize = ParallelUtil.threadCount(concurrency, communityIdCount);
+        int partitionCount = Math.toIntExact(ParallelUtil.threadCount(partitionSize, communityIdCount));
+        long[] partitionCommunities = new long[partitionCount + 1];
+        long[] partitionMembers = new long[partitionCount + 1];
+
+        ParallelUtil.readParallel(concurrency, communityIdCount, executor, (start, end) -> {
+            int partition = Math.toIntExact(start / partitionSize);
+            long communities = 0L;
+            long members = 0L;
+            for (long community = start; community < end; community++) {
+                long size = communitySizes.get(community);
+                if (size > 0) {
+                    communities++;
+                    members += size;
+                }
+            }
+            partitionCommunities[partition + 1] = communities;
+            partitionMembers[partition + 1] = members;
+        });
+        Arrays.parallelPrefix(partitionCommunities, Long::sum);
+        Arrays.parallelPrefix(partitionMembers, Long::sum);
+
+        long communityCount = partitionCommunities[partitionCount];
+        SparseNodeMapping.Builder communityToMapped = SparseNodeMapping.Builder.create(communityIdCount, tracker);
+        HugeLongArray mappedToCommunity = HugeLongArray.newArray(communityCount, tracker);
+        HugeLongArray memberOffsets = HugeLongArray.newArray(communityCount + 1, tracker);
+
+        ParallelUtil.readParallel(concurrency, communityIdCount, executor, (start, end) -> {
+            int partition = Math.toIntExact(start / partitionSize);
+            long mappedId = partitionCommunities[partition];
+            long offset = partitionMembers[partition];
+            for (long community = start; community < end; community++) {
+                long size = communitySizes.get(community);
+                if (size > 0) {
+                    communityToMapped.set(community, mappedId);
+                    mappedToCommunity.set(mappedId, community);
+                    memberOffsets.set(mappedId, offset);
+                    communitySizes.set(community, offset);
+                    offset += size;
+                    mappedId++;
+                }
+            }
+        });
+        memberOffsets.set(communityCount, partitionMembers[partitionCount]);
+        this.memberOffsets = memberOffsets;
+
+        return new IdMap(mappedToCommunity, communityToMapped.build(), communityCount);
+    }
+
+    private HugeGraph.Relationships buildRelationships(
+        long communityCount,
+        HugeLongArray memberOffsets,
+        HugeLongArray members,
+        HugeLongArray nodeCommunities
+    ) {
+        ImportSizing importSizing = ImportSizing.of(concurrency, communityCount);
+        int pageSize = importSizing.pageSize();
+        int numberOfPages = importSizing.numberOfPages();
+
+        RelationshipProjection projection = RelationshipProjection.builder()
+            .type("*")
+            .orientation(orientation)
+            .addProperty(DUMMY_PROPERTY, DUMMY_PROPERTY, Double.NaN, Aggregation.SUM)
+            .build();
+        RelationshipsBuilder relationshipsBuilder = new RelationshipsBuilder(projection, tracker);
+        Aggregation[] aggregations = {Aggregation.SUM};
+
+        long[][] adjacencyOffsets = new long[numberOfPages][];
+        long[][] propertyOffsets = new long[numberOfPages][];
+        LongAdder relationshipCount = new LongAdder();
+
+        List<Runnable> tasks = new ArrayList<>(numberOfPages);
+        for (int pageIndex = 0; pageIndex < numberOfPages; pageIndex++) {
+            adjacencyOffsets[pageIndex] = new long[pageSize];
+            propertyOffsets[pageIndex] = new long[pageSize];
+            tracker.add(2 * sizeOfLongArray(pageSize));
+
+            ThreadLocalRelationshipsBuilder builder = relationshipsBuilder.threadLocalRelationshipsBuilder(
+                adjacencyOffsets[pageIndex],
+                new long[][]{propertyOffsets[pageIndex]},
+                aggregations
+            );
+            long startCommunity = (long) pageIndex * pageSize;
+            long endCommunity = Math.min(communityCount, startCommunity + pageSize);
+            tasks.add(new CoarsenTask(
+                graph.concurrentCopy(),
+                builder,
+                startCommunity,
+                endCommunity,
+                memberOffsets,
+                members,
+                nodeCommunities,
+                relationshipCount
+            ));
+        }
+
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+
+        return HugeGraph.Relationships.of(
+            relationshipCount.sum(),
+            orientation,
+            relationshipsBuilder.adjacencyList(),
+            AdjacencyOffsets.of(adjacencyOffsets, pageSize),
+            relationshipsBuilder.properties(),
+            AdjacencyOffsets.of(propertyOffsets, pageSize),
+            Double.NaN
+        );
+    }
+
+    private static final class CoarsenTask implements Runnable {
+
+        private final RelationshipIterator graph;
+        private final ThreadLocalRelationshipsBuilder builder;
+        private final long startCommunity;
+        private final long endCommunity;
+        private final HugeLongArray memberOffsets;
+        private final HugeLongArray members;
+        private final HugeLongArray nodeCommunities;
+        private final LongAdder relationshipCount;
+
+        private final SparseLongDoubleAccumulator weights;
+
+        CoarsenTask(
+            RelationshipIterator graph,
+            ThreadLocalRelationshipsBuilder builder,
+            long startCommunity,
+            long endCommunity,
+            HugeLongArray memberOffsets,
+            HugeLongArray members,
+            HugeLongArray nodeCommunities,
+            LongAdder relationshipCount
+        ) {
+            this.graph = graph;
+            this.builder = builder;
+            this.startCommunity = startCommunity;
+            this.endCommunity = endCommunity;
+            this.memberOffsets = memberOffsets;
+            this.members = members;
+            this.nodeCommunities = nodeCommunities;
+            this.relationshipCount = relationshipCount;
+            this.weights = new SparseLongDoubleAccumulator();
+        }
+
+        @Override
+        public void run() {
+            builder.prepare();
+
+            LongsRef targets = new LongsRef();
+            long[][] properties = {new long[0]};
+            BytesRef storage = new BytesRef();
+
+            long importedRelationships = 0L;
+            for (long community = startCommunity; community < endCommunity; community++) {
+                weights.clear();
+                long end = memberOffsets.get(community + 1);
+                for (long i = memberOffsets.get(community); i < end; i++) {
+                    graph.forEachRelationship(members.get(i), 1.0, (source, target, weight) -> {
+                        weights.add(nodeCommunities.get(target), weight);
+                        return true;
+                    });
+                }
+
+                int degree = weights.size();
+                if (degree == 0) {
+                    continue;
+                }
+
+                targets.longs = ArrayUtil.grow(targets.longs, degree);
+                if (properties[0].length < degree) {
+                    properties[0] = new long[targets.longs.length];
+                }
+                for (int index = 0; index < degree; index++) {
+                    targets.longs[index] = weights.keyAt(index);
+                    properties[0][index] = Double.doubleToLongBits(weights.valueAt(index));
+                }
+                targets.offset = 0;
+                targets.length = degree;
+
+                int localId = (int) (community - startCommunity);
+                importedRelationships += builder.applyVariableDeltaEncoding(targets, properties, storage, localId);
+            }
+            relationshipCount.add(importedRelationships);
+        }
+    }
+}
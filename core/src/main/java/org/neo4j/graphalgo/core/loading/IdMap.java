@@ -55,10 +55,7 @@ public class IdMap implements IdMapping, NodeIterator, BatchNodeIterable {
         .perNode("Neo4j identifiers", HugeLongArray::memoryEstimation)
         .rangePerGraphDimension(
             "Mapping from Neo4j identifiers to internal identifiers",
-            (dimensions, concurrency) -> SparseNodeMapping.memoryEstimation(
-                dimensions.highestNeoId(),
-                dimensions.nodeCount()
-            )
+            (dimensions, concurrency) -> IdMapBuilder.nodeMappingEstimation(dimensions.highestNeoId(), dimensions.nodeCount())
         )
         .perGraphDimension(
             "Node Label BitSets",
@@ -72,20 +69,20 @@ public class IdMap implements IdMapping, NodeIterator, BatchNodeIterable {
     final Optional<Map<NodeLabel, BitSet>> maybeLabelInformation;
 
     private HugeLongArray graphIds;
-    private SparseNodeMapping nodeToGraphIds;
+    private NodeMapping nodeToGraphIds;
 
     public static MemoryEstimation memoryEstimation() {
         return ESTIMATION;
     }
 
-    public IdMap(HugeLongArray graphIds, SparseNodeMapping nodeToGraphIds, long nodeCount) {
+    public IdMap(HugeLongArray graphIds, NodeMapping nodeToGraphIds, long nodeCount) {
         this(graphIds, nodeToGraphIds, Optional.empty(), nodeCount);
     }
 
     /**
      * initialize the map with pre-built sub arrays
      */
-    public IdMap(HugeLongArray graphIds, SparseNodeMapping nodeToGraphIds, Optional<Map<NodeLabel, BitSet>> maybeLabelInformation, long nodeCount) {
+    public IdMap(HugeLongArray graphIds, NodeMapping nodeToGraphIds, Optional<Map<NodeLabel, BitSet>> maybeLabelInformation, long nodeCount) {
         this.graphIds = graphIds;
         this.nodeToGraphIds = nodeToGraphIds;
         this.maybeLabelInformation = maybeLabelInformation;
@@ -149,8 +146,9 @@ public class IdMap implements IdMapping, NodeIterator, BatchNodeIterable {
             cursor++;
         }
 
-        SparseNodeMapping newNodeToGraphIds = IdMapBuilder.buildSparseNodeMapping(
+        NodeMapping newNodeToGraphIds = IdMapBuilder.buildNodeMapping(
             newGraphIds,
+            newNodeCount,
             nodeToGraphIds.getCapacity(),
             concurrency,
             AllocationTracker.EMPTY
@@ -24,6 +24,7 @@ import org.jetbrains.annotations.NotNull;
 import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeCursor;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
@@ -34,6 +35,12 @@ import java.util.Optional;
 
 public final class IdMapBuilder {
 
+    /**
+     * Below this ratio of node count to highest original id, original ids are mapped with a {@link CompactNodeMapping}
+     * if it requires less memory than a {@link SparseNodeMapping}.
+     */
+    static final double COMPACT_NODE_MAPPING_DENSITY = 0.25;
+
     public static IdMap build(
         HugeLongArrayBuilder idMapBuilder,
         Map<NodeLabel, BitSet> elementIdentifierLabelMapping,
@@ -46,10 +53,41 @@ public final class IdMapBuilder {
             : Optional.of(elementIdentifierLabelMapping);
         HugeLongArray graphIds = idMapBuilder.build();
 
-        SparseNodeMapping nodeToGraphIds = buildSparseNodeMapping(graphIds, highestNodeId, concurrency, tracker);
+        NodeMapping nodeToGraphIds = buildNodeMapping(graphIds, idMapBuilder.size(), highestNodeId, concurrency, tracker);
         return new IdMap(graphIds, nodeToGraphIds, maybeLabelInformation, idMapBuilder.size());
     }
 
+    static boolean useCompactNodeMapping(long nodeCount, long highestNodeId) {
+        return highestNodeId > 0 && (double) nodeCount / highestNodeId < COMPACT_NODE_MAPPING_DENSITY;
+    }
+
+    static MemoryRange nodeMappingEstimation(long highestNodeId, long nodeCount) {
+        MemoryRange sparse = SparseNodeMapping.memoryEstimation(highestNodeId, nodeCount);
+        if (!useCompactNodeMapping(nodeCount, highestNodeId)) {
+            return sparse;
+        }
+        // the cheaper mapping is chosen when building the id map
+        MemoryRange compact = CompactNodeMapping.memoryEstimation(highestNodeId, nodeCount);
+        return MemoryRange.of(Math.min(sparse.min, compact.min), Math.min(sparse.max, compact.max));
+    }
+
+    static NodeMapping buildNodeMapping(
+        HugeLongArray graphIds,
+        long nodeCount,
+        long highestNodeId,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        if (useCompactNodeMapping(nodeCount, highestNodeId)) {
+            long sparseMemory = SparseNodeMapping.memoryUsage(graphIds, nodeCount, highestNodeId);
+            long compactMemory = CompactNodeMapping.memoryEstimation(highestNodeId, nodeCount).max;
+            if (compactMemory < sparseMemory) {
+                return CompactNodeMapping.of(graphIds, nodeCount, concurrency, tracker);
+            }
+        }
+        return buildSparseNodeMapping(graphIds, highestNodeId, concurrency, tracker);
+    }
+
     @NotNull
     static SparseNodeMapping buildSparseNodeMapping(
         HugeLongArray graphIds,
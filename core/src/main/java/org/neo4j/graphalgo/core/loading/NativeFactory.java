@@ -180,7 +180,8 @@ public final class NativeFactory extends GraphStoreFactory<GraphCreateFromStoreC
             loadingContext.terminationFlag(),
             threadPool,
             concurrency,
-            propertyMappingsByNodeLabel
+            propertyMappingsByNodeLabel,
+            loadingContext.log()
         ).call(loadingContext.log());
     }
 
@@ -196,7 +197,7 @@ public final class NativeFactory extends GraphStoreFactory<GraphCreateFromStoreC
             .stream()
             .collect(Collectors.toMap(
                 Map.Entry::getKey,
-                projectionEntry -> new RelationshipsBuilder(projectionEntry.getValue(), tracker)
+                projectionEntry -> new RelationshipsBuilder(projectionEntry.getValue(), tracker, concurrency)
             ));
 
         ObjectLongMap<RelationshipType> relationshipCounts = new ScanningRelationshipsImporter(
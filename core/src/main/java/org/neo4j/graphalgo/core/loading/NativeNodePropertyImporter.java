@@ -19,9 +19,11 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.IntObjectHashMap;
 import com.carrotsearch.hppc.IntObjectMap;
 import com.carrotsearch.hppc.procedures.IntObjectProcedure;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.PropertyMappings;
@@ -48,6 +50,7 @@ public final class NativeNodePropertyImporter {
 
     private final Map<NodeLabel, Map<PropertyMapping, NodePropertiesBuilder>> buildersByNodeLabel;
     private final IntObjectMap<IntObjectMap<List<NodePropertiesBuilder>>> buildersByLabelTokenAndPropertyToken;
+    private final IntObjectMap<Map<NodeLabel, List<NodePropertiesBuilder>>> buildersByPropertyTokenAndNodeLabel;
     private final boolean containsAnyLabelProjection;
 
     public static Builder builder() {
@@ -61,6 +64,7 @@ public final class NativeNodePropertyImporter {
     ) {
         this.buildersByNodeLabel = buildersByNodeLabel;
         this.buildersByLabelTokenAndPropertyToken = buildersByLabelTokenAndPropertyToken;
+        this.buildersByPropertyTokenAndNodeLabel = buildersByPropertyTokenAndNodeLabel(buildersByNodeLabel);
         this.containsAnyLabelProjection = containsAnyLabelProjection;
     }
 
@@ -82,6 +86,32 @@ public final class NativeNodePropertyImporter {
         }
     }
 
+    boolean importsPropertyKey(int propertyToken) {
+        return buildersByPropertyTokenAndNodeLabel.containsKey(propertyToken);
+    }
+
+    /**
+     * Imports a property value that has been read independently of the node record, e.g. by scanning the property store.
+     * The node labels are resolved using the label bit sets produced by the node import;
+     * {@code null} label information means that the node is part of every node label projection.
+     */
+    int importProperty(long nodeId, int propertyToken, double value, @Nullable Map<NodeLabel, BitSet> labelInformation) {
+        Map<NodeLabel, List<NodePropertiesBuilder>> buildersByNodeLabel = buildersByPropertyTokenAndNodeLabel.get(propertyToken);
+        if (buildersByNodeLabel == null) {
+            return 0;
+        }
+        int propertiesImported = 0;
+        for (Map.Entry<NodeLabel, List<NodePropertiesBuilder>> entry : buildersByNodeLabel.entrySet()) {
+            if (labelInformation == null || labelInformation.get(entry.getKey()).get(nodeId)) {
+                for (NodePropertiesBuilder builder : entry.getValue()) {
+                    builder.set(nodeId, value);
+                    propertiesImported++;
+                }
+            }
+        }
+        return propertiesImported;
+    }
+
     public Map<NodeLabel, Map<PropertyMapping, NodeProperties>> result() {
         return buildersByNodeLabel
             .entrySet()
@@ -152,6 +182,21 @@ public final class NativeNodePropertyImporter {
         return propertiesImported;
     }
 
+    private static IntObjectMap<Map<NodeLabel, List<NodePropertiesBuilder>>> buildersByPropertyTokenAndNodeLabel(
+        Map<NodeLabel, Map<PropertyMapping, NodePropertiesBuilder>> buildersByNodeLabel
+    ) {
+        IntObjectMap<Map<NodeLabel, List<NodePropertiesBuilder>>> buildersByPropertyToken = new IntObjectHashMap<>();
+        buildersByNodeLabel.forEach((nodeLabel, builders) -> builders.values().forEach(builder -> {
+            Map<NodeLabel, List<NodePropertiesBuilder>> buildersByLabel = buildersByPropertyToken.get(builder.propertyId());
+            if (buildersByLabel == null) {
+                buildersByLabel = new HashMap<>();
+                buildersByPropertyToken.put(builder.propertyId(), buildersByLabel);
+            }
+            buildersByLabel.computeIfAbsent(nodeLabel, ignore -> new ArrayList<>()).add(builder);
+        }));
+        return buildersByPropertyToken;
+    }
+
     public static final class Builder {
         private long nodeCount;
         private Map<NodeLabel, PropertyMappings> propertyMappingsByLabel;
@@ -24,6 +24,7 @@ import com.carrotsearch.hppc.IntObjectMap;
 import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.core.utils.RawValues;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArrayBuilder;
 import org.neo4j.internal.kernel.api.CursorFactory;
 import org.neo4j.internal.kernel.api.Read;
@@ -69,6 +70,18 @@ public class NodeImporter {
         });
     }
 
+    /**
+     * Imports the nodes without reading their properties.
+     * Instead, the head of each node's property chain is recorded in {@code propertyChainHeads}
+     * to be resolved by a later scan over the property store.
+     */
+    long importNodes(NodesBatchBuffer buffer, HugeLongArray propertyChainHeads) {
+        return importNodes(buffer, (nodeReference, labelIds, propertiesReference, internalId) -> {
+            propertyChainHeads.set(internalId, propertiesReference);
+            return 0;
+        });
+    }
+
     long importCypherNodes(NodesBatchBuffer buffer, List<Map<String, Number>> cypherNodeProperties, CypherNodePropertyImporter propertyImporter) {
         return importNodes(buffer, (nodeReference, labelIds, propertiesReference, internalId) -> {
             if (propertyImporter != null) {
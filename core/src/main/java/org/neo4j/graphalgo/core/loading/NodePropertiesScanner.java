@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.core.utils.StatementAction;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.PropertyType;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.values.storable.NumberValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scans the property store sequentially and buffers the values of all projected property keys.
+ * Property records do not know the node they belong to, so every scanned record also stores its
+ * successor in {@code propertyLinks}, which is used to resolve the owners once the scan is complete.
+ *
+ * Each buffered property is an entry of four longs: {@code [propertyRecordId, propertyKeyToken, value, type]}.
+ * The value contains the bits of the double value for numeric properties; for unsupported types
+ * the type slot contains the ordinal of the {@link PropertyType} instead of {@link #NUMERIC_PROPERTY}.
+ */
+final class NodePropertiesScanner extends StatementAction implements RecordScanner {
+
+    static final int ENTRY_SIZE = 4;
+    static final long NUMERIC_PROPERTY = -1L;
+    private static final int BATCH_SIZE = RecordsBatchBuffer.DEFAULT_BUFFER_SIZE * ENTRY_SIZE;
+
+    private final TerminationFlag terminationFlag;
+    private final AbstractStorePageCacheScanner<PropertyRecord> scanner;
+    private final PropertyStore propertyStore;
+    private final NativeNodePropertyImporter nodePropertyImporter;
+    private final HugeLongArray propertyLinks;
+    private final int scannerIndex;
+
+    private final List<long[]> batches;
+    private long[] batch;
+    private int batchLength;
+
+    private long recordsImported;
+    private long propertiesImported;
+
+    NodePropertiesScanner(
+        GraphDatabaseAPI api,
+        TerminationFlag terminationFlag,
+        AbstractStorePageCacheScanner<PropertyRecord> scanner,
+        PropertyStore propertyStore,
+        NativeNodePropertyImporter nodePropertyImporter,
+        HugeLongArray propertyLinks,
+        int threadIndex
+    ) {
+        super(api);
+        this.terminationFlag = terminationFlag;
+        this.scanner = scanner;
+        this.propertyStore = propertyStore;
+        this.nodePropertyImporter = nodePropertyImporter;
+        this.propertyLinks = propertyLinks;
+        this.scannerIndex = threadIndex;
+        this.batches = new ArrayList<>();
+    }
+
+    @Override
+    public String threadName() {
+        return "property-store-scan-" + scannerIndex;
+    }
+
+    @Override
+    public void accept(KernelTransaction transaction) {
+        try (AbstractStorePageCacheScanner<PropertyRecord>.Cursor cursor = scanner.getCursor()) {
+            while (cursor.bulkNext(this::offer)) {
+                terminationFlag.assertRunning();
+            }
+        }
+    }
+
+    private void offer(PropertyRecord record) {
+        long recordId = record.getId();
+        propertyLinks.set(recordId, record.getNextProp());
+        recordsImported++;
+        for (PropertyBlock block : record) {
+            int propertyKey = block.getKeyIndexId();
+            if (nodePropertyImporter.importsPropertyKey(propertyKey)) {
+                PropertyType type = block.getType();
+                if (isNumeric(type)) {
+                    double value = ((NumberValue) block.newPropertyValue(propertyStore)).doubleValue();
+                    add(recordId, propertyKey, Double.doubleToRawLongBits(value), NUMERIC_PROPERTY);
+                    propertiesImported++;
+                } else {
+                    add(recordId, propertyKey, 0L, type.ordinal());
+                }
+            }
+        }
+    }
+
+    private void add(long recordId, int propertyKey, long value, long type) {
+        if (batch == null || batchLength == batch.length) {
+            batch = new long[BATCH_SIZE];
+            batchLength = 0;
+            batches.add(batch);
+        }
+        batch[batchLength++] = recordId;
+        batch[batchLength++] = propertyKey;
+        batch[batchLength++] = value;
+        batch[batchLength++] = type;
+    }
+
+    /**
+     * The buffered entries; only the last batch may be filled partially, up to {@link #lastBatchLength()}.
+     */
+    List<long[]> batches() {
+        return batches;
+    }
+
+    int lastBatchLength() {
+        return batchLength;
+    }
+
+    @Override
+    public long recordsImported() {
+        return recordsImported;
+    }
+
+    @Override
+    public long propertiesImported() {
+        return propertiesImported;
+    }
+
+    private static boolean isNumeric(PropertyType type) {
+        switch (type) {
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.RawValues;
 import org.neo4j.graphalgo.core.utils.StatementAction;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.internal.kernel.api.CursorFactory;
 import org.neo4j.internal.kernel.api.Read;
 import org.neo4j.kernel.api.KernelTransaction;
@@ -45,6 +46,22 @@ final class NodesScanner extends StatementAction implements RecordScanner {
         NodeImporter importer,
         @Nullable NativeNodePropertyImporter nodePropertyImporter,
         TerminationFlag terminationFlag) {
+        return of(api, scanner, labels, progressLogger, importer, nodePropertyImporter, null, terminationFlag);
+    }
+
+    /**
+     * If {@code propertyChainHeads} is given, node properties are not read during the scan.
+     * Instead, the first property record of every node is recorded for a subsequent property store scan.
+     */
+    static InternalImporter.CreateScanner of(
+        GraphDatabaseAPI api,
+        AbstractStorePageCacheScanner<NodeRecord> scanner,
+        LongSet labels,
+        ProgressLogger progressLogger,
+        NodeImporter importer,
+        @Nullable NativeNodePropertyImporter nodePropertyImporter,
+        @Nullable HugeLongArray propertyChainHeads,
+        TerminationFlag terminationFlag) {
         return new NodesScanner.Creator(
                 api,
                 scanner,
@@ -52,6 +69,7 @@ final class NodesScanner extends StatementAction implements RecordScanner {
                 progressLogger,
                 importer,
                 nodePropertyImporter,
+                propertyChainHeads,
                 terminationFlag);
     }
 
@@ -62,6 +80,7 @@ final class NodesScanner extends StatementAction implements RecordScanner {
         private final ProgressLogger progressLogger;
         private final NodeImporter importer;
         private final NativeNodePropertyImporter nodePropertyImporter;
+        private final HugeLongArray propertyChainHeads;
         private final TerminationFlag terminationFlag;
 
         Creator(
@@ -71,6 +90,7 @@ final class NodesScanner extends StatementAction implements RecordScanner {
             ProgressLogger progressLogger,
             NodeImporter importer,
             @Nullable NativeNodePropertyImporter nodePropertyImporter,
+            @Nullable HugeLongArray propertyChainHeads,
             TerminationFlag terminationFlag
         ) {
             this.api = api;
@@ -79,6 +99,7 @@ final class NodesScanner extends StatementAction implements RecordScanner {
             this.progressLogger = progressLogger;
             this.importer = importer;
             this.nodePropertyImporter = nodePropertyImporter;
+            this.propertyChainHeads = propertyChainHeads;
             this.terminationFlag = terminationFlag;
         }
 
@@ -92,7 +113,8 @@ final class NodesScanner extends StatementAction implements RecordScanner {
                     index,
                     progressLogger,
                     importer,
-                    nodePropertyImporter
+                    nodePropertyImporter,
+                    propertyChainHeads
             );
         }
 
@@ -111,6 +133,7 @@ final class NodesScanner extends StatementAction implements RecordScanner {
     private final ProgressLogger progressLogger;
     private final NodeImporter importer;
     private final NativeNodePropertyImporter nodePropertyImporter;
+    private final HugeLongArray propertyChainHeads;
     private long propertiesImported;
     private long nodesImported;
 
@@ -122,7 +145,8 @@ final class NodesScanner extends StatementAction implements RecordScanner {
         int threadIndex,
         ProgressLogger progressLogger,
         NodeImporter importer,
-        @Nullable NativeNodePropertyImporter nodePropertyImporter
+        @Nullable NativeNodePropertyImporter nodePropertyImporter,
+        @Nullable HugeLongArray propertyChainHeads
     ) {
         super(api);
         this.terminationFlag = terminationFlag;
@@ -133,6 +157,7 @@ final class NodesScanner extends StatementAction implements RecordScanner {
         this.progressLogger = progressLogger;
         this.importer = importer;
         this.nodePropertyImporter = nodePropertyImporter;
+        this.propertyChainHeads = propertyChainHeads;
     }
 
     @Override
@@ -150,11 +175,13 @@ final class NodesScanner extends StatementAction implements RecordScanner {
                 .nodeLabelIds(labels)
                 .capacity(cursor.bulkSize())
                 .hasLabelInformation(!labels.isEmpty())
-                .readProperty(nodePropertyImporter != null)
+                .readProperty(nodePropertyImporter != null || propertyChainHeads != null)
                 .build();
             while (batches.scan(cursor)) {
                 terminationFlag.assertRunning();
-                long imported = importer.importNodes(batches, read, cursors, nodePropertyImporter);
+                long imported = propertyChainHeads != null
+                    ? importer.importNodes(batches, propertyChainHeads)
+                    : importer.importNodes(batches, read, cursors, nodePropertyImporter);
                 int batchImportedNodes = RawValues.getHead(imported);
                 int batchImportedProperties = RawValues.getTail(imported);
                 progressLogger.logProgress(batchImportedNodes);
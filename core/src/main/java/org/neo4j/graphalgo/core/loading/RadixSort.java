@@ -19,7 +19,12 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+
 import java.util.Arrays;
+import java.util.stream.IntStream;
 
 public final class RadixSort {
 
@@ -113,4 +118,96 @@ public final class RadixSort {
         System.arraycopy(copy, 0, data, 0, dlen);
         radixSort(data, copy, histogram, length, shift + RADIX);
     }
+
+    /**
+     * Sorts the first {@code length} values of {@code data} in ascending order with a parallel LSD radix sort.
+     * Every pass computes one histogram per chunk of the input, so that the chunks can be scattered
+     * concurrently into {@code copy}. Digits that are zero for all values are skipped.
+     * If {@code order} is not {@code null}, it is permuted alongside the values, which allows to reorder
+     * data associated with the values. The sort is stable and requires all values to be non-negative.
+     *
+     * @param copy Scratch space of at least {@code length} values.
+     * @param orderCopy Scratch space of at least {@code length} values, if {@code order} is not {@code null}.
+     */
+    public static void parallelRadixSort(
+        long[] data,
+        long[] copy,
+        @Nullable int[] order,
+        @Nullable int[] orderCopy,
+        int length,
+        int concurrency
+    ) {
+        if (length == 0) {
+            return;
+        }
+        int chunkSize = (int) BitUtil.ceilDiv(length, concurrency);
+        int chunks = (int) BitUtil.ceilDiv(length, chunkSize);
+
+        long[] chunkBits = new long[chunks];
+        ParallelUtil.parallelStreamConsume(IntStream.range(0, chunks), concurrency, stream -> stream.forEach(chunk -> {
+            long bits = 0L;
+            for (int i = chunk * chunkSize, end = Math.min(length, i + chunkSize); i < end; i++) {
+                bits |= data[i];
+            }
+            chunkBits[chunk] = bits;
+        }));
+        long allBits = 0L;
+        for (long bits : chunkBits) {
+            allBits |= bits;
+        }
+
+        int[][] histograms = new int[chunks][HIST_SIZE];
+        long[] in = data, out = copy;
+        int[] orderIn = order, orderOut = orderCopy;
+
+        for (int shift = 0; shift < Long.SIZE && (allBits >>> shift) != 0L; shift += RADIX) {
+            if (((allBits >>> shift) & 0xFFL) == 0L) {
+                continue;
+            }
+            int digitShift = shift;
+            long[] source = in, target = out;
+            int[] orderSource = orderIn, orderTarget = orderOut;
+
+            ParallelUtil.parallelStreamConsume(IntStream.range(0, chunks), concurrency, stream -> stream.forEach(chunk -> {
+                int[] histogram = histograms[chunk];
+                Arrays.fill(histogram, 0);
+                for (int i = chunk * chunkSize, end = Math.min(length, i + chunkSize); i < end; i++) {
+                    histogram[(int) ((source[i] >>> digitShift) & 0xFFL)]++;
+                }
+            }));
+
+            // turn the counts into the first output position of each digit in each chunk
+            int offset = 0;
+            for (int digit = 0; digit < HIST_SIZE; digit++) {
+                for (int chunk = 0; chunk < chunks; chunk++) {
+                    int count = histograms[chunk][digit];
+                    histograms[chunk][digit] = offset;
+                    offset += count;
+                }
+            }
+
+            ParallelUtil.parallelStreamConsume(IntStream.range(0, chunks), concurrency, stream -> stream.forEach(chunk -> {
+                int[] positions = histograms[chunk];
+                for (int i = chunk * chunkSize, end = Math.min(length, i + chunkSize); i < end; i++) {
+                    int position = positions[(int) ((source[i] >>> digitShift) & 0xFFL)]++;
+                    target[position] = source[i];
+                    if (orderSource != null) {
+                        orderTarget[position] = orderSource[i];
+                    }
+                }
+            }));
+
+            in = target;
+            out = source;
+            orderIn = orderTarget;
+            orderOut = orderSource;
+        }
+
+        if (in != data) {
+            System.arraycopy(in, 0, data, 0, length);
+            if (order != null) {
+                System.arraycopy(orderIn, 0, order, 0, length);
+            }
+        }
+    }
 }
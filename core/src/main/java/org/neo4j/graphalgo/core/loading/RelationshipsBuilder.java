@@ -36,14 +36,28 @@ public class RelationshipsBuilder {
     final AdjacencyListBuilder adjacencyListBuilder;
     final AdjacencyListBuilder[] propertyBuilders;
 
+    private final int concurrency;
+
     AdjacencyOffsets globalAdjacencyOffsets;
     AdjacencyOffsets[] globalPropertyOffsets;
 
     public RelationshipsBuilder(
         RelationshipProjection projection,
         AllocationTracker tracker
+    ) {
+        this(projection, tracker, 1);
+    }
+
+    /**
+     * @param concurrency Number of threads that may be used to sort and compress the adjacency list of a single high-degree node.
+     */
+    public RelationshipsBuilder(
+        RelationshipProjection projection,
+        AllocationTracker tracker,
+        int concurrency
     ) {
         this.projection = projection;
+        this.concurrency = concurrency;
 
         adjacencyListBuilder = AdjacencyListBuilder.newBuilder(tracker);
 
@@ -67,7 +81,8 @@ public class RelationshipsBuilder {
                 .toArray(AdjacencyListBuilder.Allocator[]::new),
             adjacencyOffsets,
             propertyOffsets,
-            aggregations
+            aggregations,
+            concurrency
         );
     }
 
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.BitSet;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.api.IdMapping;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.PropertyType;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.Record;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import static org.neo4j.graphalgo.core.loading.NodePropertiesScanner.ENTRY_SIZE;
+import static org.neo4j.graphalgo.core.loading.NodePropertiesScanner.NUMERIC_PROPERTY;
+
+/**
+ * Imports node properties with a sequential scan over the property store instead of
+ * following the property chain of every node with a random access per record.
+ *
+ * The node import records the first property record of every imported node.
+ * After the scan, the owners of all property records are resolved by walking the chains
+ * in memory, the buffered values are sorted by their owning node and then written
+ * to the node properties.
+ */
+final class ScanningNodePropertiesImporter extends ScanningRecordsImporter<PropertyRecord, Map<NodeLabel, Map<PropertyMapping, NodeProperties>>> {
+
+    private static final long NO_NEXT_PROPERTY = Record.NO_NEXT_PROPERTY.longValue();
+
+    private final NativeNodePropertyImporter nodePropertyImporter;
+    private final HugeLongArray propertyChainHeads;
+    private final IdMapping idMap;
+    private final Map<NodeLabel, BitSet> nodeLabelBitSetMapping;
+    private final AllocationTracker tracker;
+    private final TerminationFlag terminationFlag;
+
+    private HugeLongArray propertyLinks;
+    private List<NodePropertiesScanner> scanners;
+
+    ScanningNodePropertiesImporter(
+        GraphDatabaseAPI api,
+        GraphDimensions dimensions,
+        NativeNodePropertyImporter nodePropertyImporter,
+        HugeLongArray propertyChainHeads,
+        IdMapping idMap,
+        @Nullable Map<NodeLabel, BitSet> nodeLabelBitSetMapping,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker,
+        TerminationFlag terminationFlag,
+        ExecutorService threadPool,
+        int concurrency
+    ) {
+        super(PropertyStoreScanner.PROPERTY_ACCESS, "Property", api, dimensions, progressLogger, threadPool, concurrency);
+        this.nodePropertyImporter = nodePropertyImporter;
+        this.propertyChainHeads = propertyChainHeads;
+        this.idMap = idMap;
+        this.nodeLabelBitSetMapping = nodeLabelBitSetMapping;
+        this.tracker = tracker;
+        this.terminationFlag = terminationFlag;
+    }
+
+    @Override
+    InternalImporter.CreateScanner creator(
+        long nodeCount,
+        ImportSizing sizing,
+        AbstractStorePageCacheScanner<PropertyRecord> scanner
+    ) {
+        PropertyStore propertyStore = (PropertyStore) scanner.store();
+        propertyLinks = HugeLongArray.newArray(1L + propertyStore.getHighestPossibleIdInUse(), tracker);
+        propertyLinks.fill(NO_NEXT_PROPERTY);
+        scanners = Collections.synchronizedList(new ArrayList<>(sizing.numberOfThreads()));
+
+        return new InternalImporter.CreateScanner() {
+            @Override
+            public RecordScanner create(int index) {
+                NodePropertiesScanner propertiesScanner = new NodePropertiesScanner(
+                    api,
+                    terminationFlag,
+                    scanner,
+                    propertyStore,
+                    nodePropertyImporter,
+                    propertyLinks,
+                    index
+                );
+                scanners.add(propertiesScanner);
+                return propertiesScanner;
+            }
+
+            @Override
+            public Collection<Runnable> flushTasks() {
+                return Collections.emptyList();
+            }
+        };
+    }
+
+    @Override
+    Map<NodeLabel, Map<PropertyMapping, NodeProperties>> build() {
+        resolveOwners();
+
+        Collection<Runnable> tasks = new ArrayList<>();
+        for (NodePropertiesScanner scanner : scanners) {
+            List<long[]> batches = scanner.batches();
+            for (int i = 0; i < batches.size(); i++) {
+                long[] batch = batches.get(i);
+                int length = i == batches.size() - 1 ? scanner.lastBatchLength() : batch.length;
+                tasks.add(() -> importBatch(batch, length));
+            }
+        }
+        ParallelUtil.run(tasks, threadPool);
+
+        propertyLinks.release();
+        return nodePropertyImporter.result();
+    }
+
+    /**
+     * Walks the property chain of every imported node and replaces the link of each
+     * visited property record with the encoded id of its owner.
+     * Chains are disjoint, so the nodes can be processed in parallel.
+     */
+    private void resolveOwners() {
+        HugeLongArray propertyLinks = this.propertyLinks;
+        ParallelUtil.readParallel(concurrency, propertyChainHeads.size(), threadPool, (start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                long owner = encodeOwner(nodeId);
+                long recordId = propertyChainHeads.get(nodeId);
+                while (recordId != NO_NEXT_PROPERTY) {
+                    long next = propertyLinks.get(recordId);
+                    propertyLinks.set(recordId, owner);
+                    recordId = next;
+                }
+            }
+            terminationFlag.assertRunning();
+        });
+    }
+
+    private void importBatch(long[] batch, int length) {
+        int ownedLength = 0;
+        for (int i = 0; i < length; i += ENTRY_SIZE) {
+            long link = propertyLinks.get(batch[i]);
+            // properties of relationships or of nodes that are not projected
+            if (!isOwner(link)) {
+                continue;
+            }
+            batch[ownedLength] = decodeOwner(link);
+            batch[ownedLength + 1] = batch[i + 1];
+            batch[ownedLength + 2] = batch[i + 2];
+            batch[ownedLength + 3] = batch[i + 3];
+            ownedLength += ENTRY_SIZE;
+        }
+
+        // sorting by node improves the locality of the writes into the property maps
+        RadixSort.radixSort(batch, new long[ownedLength], RadixSort.newHistogram(ownedLength), ownedLength);
+
+        for (int i = 0; i < ownedLength; i += ENTRY_SIZE) {
+            long nodeId = batch[i];
+            int propertyKey = (int) batch[i + 1];
+            long type = batch[i + 3];
+            if (type != NUMERIC_PROPERTY) {
+                throw new IllegalArgumentException(String.format(
+                    "Unsupported type [%s] of property `%s` on node %d. Please use a numeric property.",
+                    PropertyType.values()[(int) type],
+                    propertyKeyName(propertyKey),
+                    idMap.toOriginalNodeId(nodeId)
+                ));
+            }
+            nodePropertyImporter.importProperty(
+                nodeId,
+                propertyKey,
+                Double.longBitsToDouble(batch[i + 2]),
+                nodeLabelBitSetMapping
+            );
+        }
+        terminationFlag.assertRunning();
+    }
+
+    private String propertyKeyName(int propertyKey) {
+        return dimensions
+            .nodePropertyTokens()
+            .entrySet()
+            .stream()
+            .filter(entry -> entry.getValue() == propertyKey)
+            .map(Map.Entry::getKey)
+            .findFirst()
+            .orElse(String.valueOf(propertyKey));
+    }
+
+    private static long encodeOwner(long nodeId) {
+        return -2L - nodeId;
+    }
+
+    private static boolean isOwner(long link) {
+        return link < NO_NEXT_PROPERTY;
+    }
+
+    private static long decodeOwner(long link) {
+        return -2L - link;
+    }
+}
@@ -33,9 +33,12 @@ import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArrayBuilder;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.Record;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.logging.Log;
 
 import java.util.HashMap;
 import java.util.List;
@@ -50,13 +53,15 @@ import static org.neo4j.graphalgo.core.GraphDimensions.ANY_LABEL;
 final class ScanningNodesImporter extends ScanningRecordsImporter<NodeRecord, IdsAndProperties> {
 
     private final GraphCreateFromStoreConfig graphCreateConfig;
-    private final ProgressLogger progressLogger;
     private final AllocationTracker tracker;
     private final TerminationFlag terminationFlag;
     private final Map<NodeLabel, PropertyMappings> propertyMappingsByNodeLabel;
+    private final Log log;
 
     @Nullable
     private NativeNodePropertyImporter nodePropertyImporter;
+    @Nullable
+    private HugeLongArray propertyChainHeads;
     private HugeLongArrayBuilder idMapBuilder;
     private Map<NodeLabel, BitSet> nodeLabelBitSetMapping;
 
@@ -69,14 +74,15 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeRecord, Id
         TerminationFlag terminationFlag,
         ExecutorService threadPool,
         int concurrency,
-        Map<NodeLabel, PropertyMappings> propertyMappingsByNodeLabel
+        Map<NodeLabel, PropertyMappings> propertyMappingsByNodeLabel,
+        Log log
     ) {
-        super(NodeStoreScanner.NODE_ACCESS, "Node", api, dimensions, threadPool, concurrency);
+        super(NodeStoreScanner.NODE_ACCESS, "Node", api, dimensions, progressLogger, threadPool, concurrency);
         this.graphCreateConfig = graphCreateConfig;
-        this.progressLogger = progressLogger;
         this.tracker = tracker;
         this.terminationFlag = terminationFlag;
         this.propertyMappingsByNodeLabel = propertyMappingsByNodeLabel;
+        this.log = log;
     }
 
     @Override
@@ -95,6 +101,11 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeRecord, Id
 
         nodePropertyImporter = initializeNodePropertyImporter(nodeCount);
 
+        if (nodePropertyImporter != null && graphCreateConfig.scanPropertyStore()) {
+            propertyChainHeads = HugeLongArray.newArray(nodeCount, tracker);
+            propertyChainHeads.fill(Record.NO_NEXT_PROPERTY.longValue());
+        }
+
         return NodesScanner.of(
             api,
             scanner,
@@ -105,7 +116,8 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeRecord, Id
                 nodeLabelBitSetMapping,
                 labelTokenNodeLabelMapping
             ),
-            nodePropertyImporter,
+            propertyChainHeads == null ? nodePropertyImporter : null,
+            propertyChainHeads,
             terminationFlag
         );
     }
@@ -120,9 +132,27 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeRecord, Id
             tracker
         );
 
-        Map<NodeLabel, Map<PropertyMapping, NodeProperties>> nodeProperties = nodePropertyImporter == null
-            ? new HashMap<>()
-            : nodePropertyImporter.result();
+        Map<NodeLabel, Map<PropertyMapping, NodeProperties>> nodeProperties;
+        if (nodePropertyImporter == null) {
+            nodeProperties = new HashMap<>();
+        } else if (propertyChainHeads != null) {
+            nodeProperties = new ScanningNodePropertiesImporter(
+                api,
+                dimensions,
+                nodePropertyImporter,
+                propertyChainHeads,
+                hugeIdMap,
+                nodeLabelBitSetMapping,
+                progressLogger,
+                tracker,
+                terminationFlag,
+                threadPool,
+                concurrency
+            ).call(log);
+            propertyChainHeads.release();
+        } else {
+            nodeProperties = nodePropertyImporter.result();
+        }
 
         return IdsAndProperties.of(hugeIdMap, nodeProperties);
     }
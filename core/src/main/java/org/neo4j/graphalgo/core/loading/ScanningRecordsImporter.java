@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.core.loading;
 
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.loading.InternalImporter.ImportResult;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.logging.Log;
@@ -41,7 +42,8 @@ abstract class ScanningRecordsImporter<Record extends AbstractBaseRecord, T> {
     private final String label;
     final GraphDatabaseAPI api;
     final GraphDimensions dimensions;
-    private final ExecutorService threadPool;
+    final ProgressLogger progressLogger;
+    final ExecutorService threadPool;
     final int concurrency;
 
     ScanningRecordsImporter(
@@ -49,6 +51,7 @@ abstract class ScanningRecordsImporter<Record extends AbstractBaseRecord, T> {
         String label,
         GraphDatabaseAPI api,
         GraphDimensions dimensions,
+        ProgressLogger progressLogger,
         ExecutorService threadPool,
         int concurrency
     ) {
@@ -56,6 +59,7 @@ abstract class ScanningRecordsImporter<Record extends AbstractBaseRecord, T> {
         this.label = label;
         this.api = api;
         this.dimensions = dimensions;
+        this.progressLogger = progressLogger;
         this.threadPool = threadPool;
         this.concurrency = concurrency;
     }
@@ -97,9 +101,25 @@ abstract class ScanningRecordsImporter<Record extends AbstractBaseRecord, T> {
                 bytesPerSecond / numberOfThreads
         );
 
+        logScanMetrics(scanner.metrics(), importResult.tookNanos);
+
         return build();
     }
 
+    private void logScanMetrics(AbstractStorePageCacheScanner.ScanMetrics metrics, long tookNanos) {
+        long pagesRead = metrics.pagesRead();
+        progressLogger.logMessage(() -> String.format(
+            "%s Store Scan: Read %,d pages in %,d windows, %,.2f pages/s, %,d page faults, %.3f s pinning pages (%.3f s reading in total over all threads)",
+            label,
+            pagesRead,
+            metrics.windows(),
+            pagesRead * 1e9 / Math.max(1L, tookNanos),
+            metrics.pageFaults(),
+            metrics.pinNanos() / 1e9,
+            metrics.scanNanos() / 1e9
+        ));
+    }
+
     abstract InternalImporter.CreateScanner creator(
             long nodeCount,
             ImportSizing sizing,
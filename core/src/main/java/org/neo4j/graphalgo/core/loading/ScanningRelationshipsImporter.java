@@ -46,7 +46,6 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
 
     private final GraphCreateConfig graphCreateConfig;
     private final GraphLoadingContext loadingContext;
-    private final ProgressLogger progressLogger;
     private final AllocationTracker tracker;
     private final IdMapping idMap;
     private final Map<RelationshipType, RelationshipsBuilder> allBuilders;
@@ -69,11 +68,11 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
                 "Relationship",
                 api,
                 dimensions,
+                progressLogger,
                 threadPool,
                 concurrency);
         this.graphCreateConfig = graphCreateConfig;
         this.loadingContext = loadingContext;
-        this.progressLogger = progressLogger;
         this.tracker = tracker;
         this.idMap = idMap;
         this.allBuilders = allBuilders;
@@ -88,7 +87,7 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
 
         int pageSize = sizing.pageSize();
         int numberOfPages = sizing.numberOfPages();
-
+        long maxBufferMemory = maxBufferMemoryPerRelationshipType();
 
         List<SingleTypeRelationshipImporter.Builder> importerBuilders = allBuilders
                 .entrySet()
@@ -99,6 +98,7 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
                     return createImporterBuilder(
                         pageSize,
                         numberOfPages,
+                        maxBufferMemory,
                         relationshipType,
                         relationshipsBuilder.projection(),
                         relationshipsBuilder
@@ -123,6 +123,7 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
     private SingleTypeRelationshipImporter.Builder createImporterBuilder(
             int pageSize,
             int numberOfPages,
+            long maxBufferMemory,
             RelationshipType relationshipType,
             RelationshipProjection projection,
             RelationshipsBuilder relationshipsBuilder
@@ -151,7 +152,8 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
             relationshipCounter,
             propertyKeyIds,
             defaultValues,
-            aggregations
+            aggregations,
+            maxBufferMemory
         );
 
         RelationshipImporter importer = new RelationshipImporter(loadingContext.tracker(), adjacencyBuilder);
@@ -166,6 +168,14 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
         );
     }
 
+    private long maxBufferMemoryPerRelationshipType() {
+        long maxBufferMemory = graphCreateConfig.maxAdjacencyBufferMemory();
+        if (maxBufferMemory < 0 || allBuilders.isEmpty()) {
+            return GraphCreateConfig.UNLIMITED_ADJACENCY_BUFFER_MEMORY;
+        }
+        return maxBufferMemory / allBuilders.size();
+    }
+
     @Override
     ObjectLongMap<RelationshipType> build() {
         ObjectLongMap<RelationshipType> relationshipCounters = new ObjectLongHashMap<>(allRelationshipCounters.size());
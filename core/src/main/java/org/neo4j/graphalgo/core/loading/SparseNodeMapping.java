@@ -19,16 +19,19 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import com.carrotsearch.hppc.BitSet;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeCursor;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.paged.PageUtil;
 
 import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.ReentrantLock;
 
-public final class SparseNodeMapping {
+public final class SparseNodeMapping implements NodeMapping {
 
     private static final long NOT_FOUND = -1L;
 
@@ -66,10 +69,35 @@ public final class SparseNodeMapping {
         return MemoryRange.of(classSize + pagesSize).add(MemoryRange.of(minRequirements, maxRequirements));
     }
 
+    /**
+     * Computes the memory that a mapping of the first {@code nodeCount} ids in {@code graphIds} would require,
+     * which depends on the number of pages that are touched by these ids.
+     *
+     * @param maxId highest id that we need to represent
+     */
+    static long memoryUsage(HugeLongArray graphIds, long nodeCount, long maxId) {
+        int numPagesForSize = PageUtil.numPagesFor(maxId, PAGE_SHIFT, PAGE_MASK);
+        BitSet usedPages = new BitSet(numPagesForSize);
+        try (HugeCursor<long[]> cursor = graphIds.initCursor(graphIds.newCursor(), 0L, nodeCount)) {
+            while (cursor.next()) {
+                long[] array = cursor.array;
+                for (int i = cursor.offset; i < cursor.limit; ++i) {
+                    usedPages.set(pageIndex(array[i]));
+                }
+            }
+        }
+
+        long classSize = MemoryUsage.sizeOfInstance(SparseNodeMapping.class);
+        long pagesSize = MemoryUsage.sizeOfObjectArray(numPagesForSize);
+        return classSize + pagesSize + usedPages.cardinality() * PAGE_SIZE_IN_BYTES;
+    }
+
+    @Override
     public long getCapacity() {
         return capacity;
     }
 
+    @Override
     public long get(long index) {
         final int pageIndex = pageIndex(index);
         if (pageIndex < pages.length) {
@@ -81,6 +109,7 @@ public final class SparseNodeMapping {
         return NOT_FOUND;
     }
 
+    @Override
     public boolean contains(long index) {
         final int pageIndex = pageIndex(index);
         if (pageIndex < pages.length) {
@@ -19,6 +19,8 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.LongsRef;
 import org.neo4j.graphalgo.core.Aggregation;
 
@@ -38,13 +40,15 @@ class ThreadLocalRelationshipsBuilder {
     private final long[][] propertyOffsets;
     private final boolean noAggregation;
     private final Aggregation[] aggregations;
+    private final int concurrency;
 
     ThreadLocalRelationshipsBuilder(
         AdjacencyListBuilder.Allocator adjacencyAllocator,
         AdjacencyListBuilder.Allocator[] propertiesAllocators,
         long[] adjacencyOffsets,
         long[][] propertyOffsets,
-        Aggregation[] aggregations
+        Aggregation[] aggregations,
+        int concurrency
     ) {
 
         this.aggregations = aggregations;
@@ -55,6 +59,7 @@ class ThreadLocalRelationshipsBuilder {
         this.propertiesAllocators = propertiesAllocators;
         this.adjacencyOffsets = adjacencyOffsets;
         this.propertyOffsets = propertyOffsets;
+        this.concurrency = concurrency;
         this.lock = new ReentrantLock();
     }
 
@@ -96,8 +101,8 @@ class ThreadLocalRelationshipsBuilder {
     ) {
         byte[] storage = array.storage();
         AdjacencyCompression.copyFrom(buffer, array);
-        int degree = AdjacencyCompression.applyDeltaEncoding(buffer, aggregations[0]);
-        int requiredBytes = AdjacencyCompression.compress(buffer, storage);
+        int degree = AdjacencyCompression.applyDeltaEncoding(buffer, aggregations[0], concurrency);
+        int requiredBytes = AdjacencyCompression.compress(buffer, storage, concurrency);
         long address = copyIds(storage, requiredBytes, degree);
         adjacencyOffsets[localId] = address;
         array.release();
@@ -112,8 +117,8 @@ class ThreadLocalRelationshipsBuilder {
         byte[] storage = array.storage();
         long[][] weights = array.weights();
         AdjacencyCompression.copyFrom(buffer, array);
-        int degree = AdjacencyCompression.applyDeltaEncoding(buffer, weights, aggregations, noAggregation);
-        int requiredBytes = AdjacencyCompression.compress(buffer, storage);
+        int degree = AdjacencyCompression.applyDeltaEncoding(buffer, weights, aggregations, noAggregation, concurrency);
+        int requiredBytes = AdjacencyCompression.compress(buffer, storage, concurrency);
 
         adjacencyOffsets[localId] = copyIds(storage, requiredBytes, degree);
         copyProperties(weights, degree, localId, propertyOffsets);
@@ -122,6 +127,30 @@ class ThreadLocalRelationshipsBuilder {
         return degree;
     }
 
+    /**
+     * Compresses an adjacency list that has been fully materialized into {@code targets}.
+     * The {@code storage} is used as scratch space for the compressed ids and grown if required.
+     */
+    int applyVariableDeltaEncoding(
+        LongsRef targets,
+        long[][] weights,
+        BytesRef storage,
+        int localId
+    ) {
+        int degree = weights.length == 0
+            ? AdjacencyCompression.applyDeltaEncoding(targets, aggregations[0], concurrency)
+            : AdjacencyCompression.applyDeltaEncoding(targets, weights, aggregations, noAggregation, concurrency);
+
+        storage.bytes = ArrayUtil.grow(storage.bytes, AdjacencyCompression.compressedSize(targets));
+        int requiredBytes = AdjacencyCompression.compress(targets, storage.bytes, concurrency);
+
+        adjacencyOffsets[localId] = copyIds(storage.bytes, requiredBytes, degree);
+        if (weights.length > 0) {
+            copyProperties(weights, degree, localId, propertyOffsets);
+        }
+        return degree;
+    }
+
     private long copyIds(byte[] targets, int requiredBytes, int degree) {
         // sizeOf(degree) + compression bytes
         long address = adjacencyAllocator.allocate(Integer.BYTES + requiredBytes);
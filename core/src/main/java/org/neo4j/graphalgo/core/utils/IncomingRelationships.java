@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The relationships of a graph in inverse direction, i.e. for every node its incoming relationships.
+ * <p>
+ * Undirected graphs are their own inverse and are traversed as they are.
+ * For all other graphs, the source nodes of all incoming relationships are indexed once,
+ * grouped by target node, together with the relationship weights if the graph has any.
+ */
+public abstract class IncomingRelationships {
+
+    private static final double DEFAULT_WEIGHT = 1.0D;
+
+    private static final MemoryEstimation MEMORY_ESTIMATION = MemoryEstimations
+        .builder(IncomingRelationships.class)
+        .perNode("offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+        .perNode("insert positions", HugeAtomicLongArray::memoryEstimation)
+        .perGraphDimension("source nodes", (dimensions, concurrency) ->
+            MemoryRange.of(HugeLongArray.memoryEstimation(dimensions.maxRelCount())))
+        .perGraphDimension("weights", (dimensions, concurrency) ->
+            MemoryRange.of(0L, HugeDoubleArray.memoryEstimation(dimensions.maxRelCount())))
+        .build();
+
+    public static MemoryEstimation memoryEstimation() {
+        return MEMORY_ESTIMATION;
+    }
+
+    public static IncomingRelationships of(
+        Graph graph,
+        @Nullable ExecutorService executor,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        if (graph.isUndirected()) {
+            return new Undirected(graph);
+        }
+        return Inverse.build(graph, executor, Math.max(1, concurrency), tracker);
+    }
+
+    /**
+     * Calls the consumer for every relationship that ends in the given node,
+     * with the given node as the source and the start node of the relationship as the target,
+     * as if the relationship had been loaded in {@link org.neo4j.graphalgo.Orientation#REVERSE} orientation.
+     */
+    public abstract void forEachIncoming(long nodeId, RelationshipWithPropertyConsumer consumer);
+
+    /**
+     * @return a copy that can be used concurrently to this instance.
+     */
+    public abstract IncomingRelationships concurrentCopy();
+
+    public abstract void release();
+
+    private static final class Undirected extends IncomingRelationships {
+
+        private final Graph graph;
+        private final RelationshipIterator relationshipIterator;
+
+        private Undirected(Graph graph) {
+            this.graph = graph;
+            this.relationshipIterator = graph.concurrentCopy();
+        }
+
+        @Override
+        public void forEachIncoming(long nodeId, RelationshipWithPropertyConsumer consumer) {
+            relationshipIterator.forEachRelationship(nodeId, DEFAULT_WEIGHT, consumer);
+        }
+
+        @Override
+        public IncomingRelationships concurrentCopy() {
+            return new Undirected(graph);
+        }
+
+        @Override
+        public void release() {
+        }
+    }
+
+    private static final class Inverse extends IncomingRelationships {
+
+        private final AllocationTracker tracker;
+        private HugeLongArray offsets;
+        private HugeLongArray sourceNodes;
+        private @Nullable HugeDoubleArray weights;
+
+        static Inverse build(Graph graph, @Nullable ExecutorService executor, int concurrency, AllocationTracker tracker) {
+            long nodeCount = graph.nodeCount();
+            HugeAtomicLongArray positions = HugeAtomicLongArray.newArray(nodeCount, tracker);
+            ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+                RelationshipIterator relationshipIterator = graph.concurrentCopy();
+                for (long nodeId = start; nodeId < end; nodeId++) {
+                    relationshipIterator.forEachRelationship(nodeId, (sourceNodeId, targetNodeId) -> {
+                        positions.getAndAdd(targetNodeId, 1L);
+                        return true;
+                    });
+                }
+            });
+
+            HugeLongArray offsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+            long offset = 0L;
+            for (long nodeId = 0L; nodeId < nodeCount; nodeId++) {
+                offsets.set(nodeId, offset);
+                long degree = positions.get(nodeId);
+                positions.set(nodeId, offset);
+                offset += degree;
+            }
+            offsets.set(nodeCount, offset);
+
+            HugeLongArray sourceNodes = HugeLongArray.newArray(offset, tracker);
+            HugeDoubleArray weights = graph.hasRelationshipProperty()
+                ? HugeDoubleArray.newArray(offset, tracker)
+                : null;
+            ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+                RelationshipIterator relationshipIterator = graph.concurrentCopy();
+                for (long nodeId = start; nodeId < end; nodeId++) {
+                    relationshipIterator.forEachRelationship(nodeId, DEFAULT_WEIGHT, (sourceNodeId, targetNodeId, weight) -> {
+                        long position = positions.getAndAdd(targetNodeId, 1L);
+                        sourceNodes.set(position, sourceNodeId);
+                        if (weights != null) {
+                            weights.set(position, weight);
+                        }
+                        return true;
+                    });
+                }
+            });
+            tracker.remove(positions.release());
+
+            return new Inverse(offsets, sourceNodes, weights, tracker);
+        }
+
+        private Inverse(
+            HugeLongArray offsets,
+            HugeLongArray sourceNodes,
+            @Nullable HugeDoubleArray weights,
+            AllocationTracker tracker
+        ) {
+            this.offsets = offsets;
+            this.sourceNodes = sourceNodes;
+            this.weights = weights;
+            this.tracker = tracker;
+        }
+
+        @Override
+        public void forEachIncoming(long nodeId, RelationshipWithPropertyConsumer consumer) {
+            long start = offsets.get(nodeId);
+            long end = offsets.get(nodeId + 1);
+            for (long position = start; position < end; position++) {
+                double weight = weights == null ? DEFAULT_WEIGHT : weights.get(position);
+                if (!consumer.accept(nodeId, sourceNodes.get(position), weight)) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public IncomingRelationships concurrentCopy() {
+            return this;
+        }
+
+        @Override
+        public void release() {
+            if (offsets != null) {
+                tracker.remove(offsets.release());
+                tracker.remove(sourceNodes.release());
+                if (weights != null) {
+                    tracker.remove(weights.release());
+                }
+                offsets = null;
+                sourceNodes = null;
+                weights = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.collection;
+
+import com.carrotsearch.hppc.BitMixer;
+import com.carrotsearch.hppc.Containers;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+
+import java.util.Arrays;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfIntArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+
+/**
+ * Sums up double values per long key, e.g. the weights of the relationships of a node per neighbour community.
+ *
+ * The accumulator is meant to be reused by a single thread for many nodes.
+ * Keys are stored in an open addressing table with linear probing. The slots that
+ * are in use are recorded in a touched list, which is used to iterate the entries
+ * in insertion order. {@link #clear()} only invalidates the slots by bumping a
+ * generation counter and does not touch the table at all.
+ *
+ * The table grows if more than half of its slots are used, but it never shrinks.
+ * Once it has seen the largest neighbourhood, no further allocations happen.
+ */
+public final class SparseLongDoubleAccumulator {
+
+    public static final int DEFAULT_EXPECTED_KEYS = Containers.DEFAULT_EXPECTED_ELEMENTS;
+
+    private long[] keys;
+    private double[] values;
+    private int[] generations;
+    private int[] touched;
+    private int mask;
+    private int size;
+    private int generation;
+
+    /**
+     * The table grows up to the largest number of distinct keys per node, i.e. the largest degree.
+     * The degree is not part of the graph dimensions, so it is bounded by the number of
+     * nodes and relationships, whichever is smaller.
+     */
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(SparseLongDoubleAccumulator.class)
+            .rangePerGraphDimension("table", (dimensions, concurrency) -> {
+                long maxKeys = Math.min(dimensions.nodeCount(), dimensions.maxRelCount());
+                return MemoryRange.of(
+                    sizeOfTable(DEFAULT_EXPECTED_KEYS),
+                    sizeOfTable(Math.max(DEFAULT_EXPECTED_KEYS, maxKeys))
+                );
+            })
+            .build();
+    }
+
+    private static long sizeOfTable(long expectedKeys) {
+        long capacity = capacityFor(expectedKeys);
+        return sizeOfLongArray(capacity)
+               + sizeOfDoubleArray(capacity)
+               + sizeOfIntArray(capacity)
+               + sizeOfIntArray(capacity / 2);
+    }
+
+    public SparseLongDoubleAccumulator() {
+        this(DEFAULT_EXPECTED_KEYS);
+    }
+
+    public SparseLongDoubleAccumulator(int expectedKeys) {
+        allocate(Math.toIntExact(capacityFor(expectedKeys)));
+        this.generation = 1;
+    }
+
+    /**
+     * Adds the value to the sum of the given key.
+     */
+    public void add(long key, double value) {
+        int slot = slot(key);
+        if (generations[slot] == generation) {
+            values[slot] += value;
+            return;
+        }
+
+        if (size == touched.length) {
+            grow();
+            slot = slot(key);
+        }
+
+        generations[slot] = generation;
+        keys[slot] = key;
+        values[slot] = value;
+        touched[size++] = slot;
+    }
+
+    /**
+     * Returns the sum of the given key or {@code 0.0} if the key has not been added since the last {@link #clear()}.
+     */
+    public double get(long key) {
+        int slot = slot(key);
+        return generations[slot] == generation ? values[slot] : 0.0D;
+    }
+
+    /**
+     * Number of distinct keys since the last {@link #clear()}.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the key that has been added as the {@code index}-th distinct key.
+     */
+    public long keyAt(int index) {
+        return keys[touched[index]];
+    }
+
+    /**
+     * Returns the sum of the key that has been added as the {@code index}-th distinct key.
+     */
+    public double valueAt(int index) {
+        return values[touched[index]];
+    }
+
+    public void clear() {
+        size = 0;
+        generation++;
+        if (generation == 0) {
+            // the counter wrapped around, stale generations could become valid again
+            Arrays.fill(generations, 0);
+            generation = 1;
+        }
+    }
+
+    /**
+     * Returns either the slot that holds the key or the first free slot of its probe sequence.
+     */
+    private int slot(long key) {
+        int slot = BitMixer.mixPhi(key) & mask;
+        while (generations[slot] == generation && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        int[] oldTouched = touched;
+        int oldSize = size;
+
+        allocate(keys.length << 1);
+        generation = 1;
+        size = 0;
+
+        // re-insert in insertion order to keep the iteration order stable
+        for (int i = 0; i < oldSize; i++) {
+            int oldSlot = oldTouched[i];
+            int slot = slot(oldKeys[oldSlot]);
+            generations[slot] = generation;
+            keys[slot] = oldKeys[oldSlot];
+            values[slot] = oldValues[oldSlot];
+            touched[size++] = slot;
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new double[capacity];
+        this.generations = new int[capacity];
+        this.touched = new int[capacity / 2];
+        this.mask = capacity - 1;
+    }
+
+    private static long capacityFor(long expectedKeys) {
+        // keep the load factor at or below 0.5
+        return BitUtil.nextHighestPowerOfTwo(Math.max(4L, 2L * expectedKeys));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.neo4j.graphalgo.core.utils.BitUtil;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+
+/**
+ * A fixed-size bit set that supports concurrent updates of individual bits.
+ *
+ * The bits are stored in the words of a {@link HugeAtomicLongArray};
+ * setting or clearing a bit only retries if another thread changed a bit in the same word concurrently.
+ */
+public final class HugeAtomicBitSet {
+
+    private static final int NUM_BITS = 64;
+
+    private final HugeAtomicLongArray bits;
+    private final long numBits;
+
+    public static long memoryEstimation(long size) {
+        long wordsSize = BitUtil.ceilDiv(size, NUM_BITS);
+        return HugeAtomicLongArray.memoryEstimation(wordsSize) + sizeOfInstance(HugeAtomicBitSet.class);
+    }
+
+    public static HugeAtomicBitSet create(long size, AllocationTracker tracker) {
+        long wordsSize = BitUtil.ceilDiv(size, NUM_BITS);
+        HugeAtomicLongArray bits = HugeAtomicLongArray.newArray(wordsSize, tracker);
+        return new HugeAtomicBitSet(bits, size);
+    }
+
+    private HugeAtomicBitSet(HugeAtomicLongArray bits, long numBits) {
+        this.bits = bits;
+        this.numBits = numBits;
+    }
+
+    /**
+     * Returns the state of the bit at the given index.
+     */
+    public boolean get(long index) {
+        assert index < numBits;
+        long word = bits.get(index / NUM_BITS);
+        return (word & bitmask(index)) != 0;
+    }
+
+    /**
+     * Sets the bit at the given index to true.
+     */
+    public void set(long index) {
+        getAndSet(index);
+    }
+
+    /**
+     * Sets the bit at the given index to true.
+     *
+     * @return the previous state of the bit, i.e. {@code false} for exactly one of several concurrent callers
+     */
+    public boolean getAndSet(long index) {
+        assert index < numBits;
+        long wordIndex = index / NUM_BITS;
+        long mask = bitmask(index);
+        while (true) {
+            long word = bits.get(wordIndex);
+            if ((word & mask) != 0) {
+                return true;
+            }
+            if (bits.compareAndSet(wordIndex, word, word | mask)) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Sets the bit at the given index to false.
+     */
+    public void clear(long index) {
+        assert index < numBits;
+        long wordIndex = index / NUM_BITS;
+        long mask = bitmask(index);
+        while (true) {
+            long word = bits.get(wordIndex);
+            if ((word & mask) == 0) {
+                return;
+            }
+            if (bits.compareAndSet(wordIndex, word, word & ~mask)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of set bits. Not thread-safe with respect to concurrent updates.
+     */
+    public long cardinality() {
+        long setBits = 0L;
+        long words = bits.size();
+        for (long wordIndex = 0; wordIndex < words; wordIndex++) {
+            setBits += Long.bitCount(bits.get(wordIndex));
+        }
+        return setBits;
+    }
+
+    /**
+     * Returns the number of bits in the bit set.
+     */
+    public long size() {
+        return numBits;
+    }
+
+    /**
+     * Destroys the data, allowing the underlying storage arrays to be collected as garbage.
+     * The bit set is unusable after calling this method.
+     *
+     * @return the amount of memory freed, in bytes.
+     */
+    public long release() {
+        return bits.release();
+    }
+
+    private static long bitmask(long index) {
+        return 1L << (index % NUM_BITS);
+    }
+}
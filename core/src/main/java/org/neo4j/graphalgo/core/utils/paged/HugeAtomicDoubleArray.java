@@ -65,6 +65,22 @@ public class HugeAtomicDoubleArray {
         data.update(index, longUpdateFunction);
     }
 
+    /**
+     * Atomically adds the given delta to the element at index {@code index}.
+     * Unlike {@link #update(long, DoubleUnaryOperator)}, this does not allocate.
+     *
+     * @param index the index
+     * @param delta the value to add
+     */
+    public void add(long index, double delta) {
+        long oldLongValue;
+        long newLongValue;
+        do {
+            oldLongValue = data.get(index);
+            newLongValue = Double.doubleToLongBits(Double.longBitsToDouble(oldLongValue) + delta);
+        } while (!data.compareAndSet(index, oldLongValue, newLongValue));
+    }
+
     /**
      * Returns the length of this array.
      * <p>
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.config;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -32,6 +33,7 @@ import java.util.stream.Stream;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.graphalgo.config.GraphCreateConfig.MAX_ADJACENCY_BUFFER_MEMORY_KEY;
 import static org.neo4j.graphalgo.config.GraphCreateFromCypherConfig.ALL_NODES_QUERY;
 import static org.neo4j.graphalgo.config.GraphCreateFromCypherConfig.ALL_RELATIONSHIPS_QUERY;
 import static org.neo4j.graphalgo.config.GraphCreateFromCypherConfig.NODE_QUERY_KEY;
@@ -56,6 +58,21 @@ class GraphCreateConfigFromCypherTest {
         assertThat(ex.getMessage(), containsString("Invalid key"));
     }
 
+    @Test
+    void testThrowForMaxAdjacencyBufferMemory() {
+        CypherMapWrapper config = CypherMapWrapper.empty()
+            .withString(NODE_QUERY_KEY, ALL_NODES_QUERY)
+            .withString(RELATIONSHIP_QUERY_KEY, ALL_RELATIONSHIPS_QUERY)
+            .withNumber(MAX_ADJACENCY_BUFFER_MEMORY_KEY, 1024L);
+
+        IllegalArgumentException ex = assertThrows(
+            IllegalArgumentException.class,
+            () -> fromProcedureConfig("", config)
+        );
+
+        assertThat(ex.getMessage(), containsString("only supported by native projections"));
+    }
+
     static Stream<Arguments> invalidKeys() {
         return Stream.of(
             Arguments.of(GraphCreateFromStoreConfig.NODE_PROJECTION_KEY, NodeProjections.of()),
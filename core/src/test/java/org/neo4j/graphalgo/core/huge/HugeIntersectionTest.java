@@ -31,10 +31,15 @@ import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.RelationshipType;
 
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.PrimitiveIterator;
 import java.util.Random;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.applyInTransaction;
 
 final class HugeIntersectionTest extends AlgoTestBase {
@@ -92,5 +97,83 @@ final class HugeIntersectionTest extends AlgoTestBase {
             assertEquals(START2, b);
             assertEquals(targets.nextLong(), c);
         });
+        assertFalse(targets.hasNext());
+    }
+
+    @Test
+    void intersectWhenAdvanceOvershootsTheFirstCandidate() {
+        // the neighbours of a after b are {d}, the neighbours of b after b are {c, d}
+        // advancing the neighbours of a to c returns d, which is also a neighbour of b
+        Graph graph = loadGraph(
+            "CREATE (a), (b), (c), (d)" +
+            ", (a)-[:REL]->(b), (a)-[:REL]->(d)" +
+            ", (b)-[:REL]->(c), (b)-[:REL]->(d)"
+        );
+
+        assertEquals(bruteForceTriangles(graph), intersectTriangles(graph));
+    }
+
+    @Test
+    void intersectWhenAdvanceOvershootsWhileMerging() {
+        // after the common neighbour c, a has {x, z} and b has {z, w} left
+        // advancing the neighbours of b to x returns z, which is the next neighbour of a
+        Graph graph = loadGraph(
+            "CREATE (a), (b), (c), (x), (z), (w)" +
+            ", (a)-[:REL]->(b), (a)-[:REL]->(c), (a)-[:REL]->(x), (a)-[:REL]->(z)" +
+            ", (b)-[:REL]->(c), (b)-[:REL]->(z), (b)-[:REL]->(w)"
+        );
+
+        assertEquals(bruteForceTriangles(graph), intersectTriangles(graph));
+    }
+
+    @Test
+    void intersectAllFindsEveryTriangle() {
+        Graph graph = loadGraph(
+            "UNWIND range(0, 79) AS id CREATE (:Node {id: id}) " +
+            "WITH count(*) AS ignore " +
+            "MATCH (a:Node), (b:Node) " +
+            "WHERE a.id < b.id AND (a.id * b.id * 7 + a.id + b.id) % 5 = 0 " +
+            "CREATE (a)-[:REL]->(b)"
+        );
+
+        Set<List<Long>> expected = bruteForceTriangles(graph);
+        assertTrue(expected.size() > 0);
+        assertEquals(expected, intersectTriangles(graph));
+    }
+
+    private Graph loadGraph(String cypher) {
+        runQuery(cypher);
+        return new StoreLoaderBuilder()
+            .api(db)
+            .addRelationshipType("REL")
+            .globalOrientation(Orientation.UNDIRECTED)
+            .build()
+            .graph(NativeFactory.class);
+    }
+
+    private static Set<List<Long>> intersectTriangles(Graph graph) {
+        Set<List<Long>> triangles = new HashSet<>();
+        RelationshipIntersect intersect = graph.intersection();
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            intersect.intersectAll(nodeId, (a, b, c) -> assertTrue(triangles.add(List.of(a, b, c))));
+        }
+        return triangles;
+    }
+
+    private static Set<List<Long>> bruteForceTriangles(Graph graph) {
+        Set<List<Long>> triangles = new HashSet<>();
+        for (long a = 0; a < graph.nodeCount(); a++) {
+            for (long b = a + 1; b < graph.nodeCount(); b++) {
+                if (!graph.exists(a, b)) {
+                    continue;
+                }
+                for (long c = b + 1; c < graph.nodeCount(); c++) {
+                    if (graph.exists(a, c) && graph.exists(b, c)) {
+                        triangles.add(List.of(a, b, c));
+                    }
+                }
+            }
+        }
+        return triangles;
     }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.BaseTest;
+import org.neo4j.graphalgo.core.Settings;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+import org.neo4j.test.extension.ExtensionCallback;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AbstractStorePageCacheScannerTest extends BaseTest {
+
+    private static final int NODE_COUNT = 100_000;
+    private static final int PREFETCH_SIZE = 4;
+    private static final long NANOS_PER_RECORD = 1_000L;
+
+    @Override
+    @ExtensionCallback
+    protected void configuration(TestDatabaseManagementServiceBuilder builder) {
+        super.configuration(builder);
+        // smaller than the node store, so that pages are evicted during the scan
+        builder.setConfig(Settings.pagecacheMemory(), "1m");
+    }
+
+    @BeforeEach
+    void setUp() {
+        runQuery("UNWIND range(1, " + NODE_COUNT + ") AS id CREATE (:Node)");
+    }
+
+    @Test
+    void shouldGrowPrefetchWindowUnderSequentialAccess() {
+        // every page takes the same time, no matter how many pages are claimed at once
+        List<Integer> windowSizes = scanWithCost(windowSize -> NANOS_PER_RECORD);
+
+        for (int i = 1; i < windowSizes.size(); i++) {
+            assertTrue(windowSizes.get(i - 1) <= windowSizes.get(i));
+        }
+        assertEquals(PREFETCH_SIZE * 8, windowSizes.get(windowSizes.size() - 1));
+    }
+
+    @Test
+    void shouldShrinkPrefetchWindowUnderContendedAccess() {
+        // under contention, every additional page that is pinned up front slows down reading the others
+        List<Integer> windowSizes = scanWithCost(windowSize -> NANOS_PER_RECORD * windowSize);
+
+        assertEquals(PREFETCH_SIZE * 2, Collections.max(windowSizes));
+        assertEquals(1, windowSizes.get(windowSizes.size() - 1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 7, AbstractStorePageCacheScanner.DEFAULT_PREFETCH_SIZE})
+    void shouldReadEachRecordExactlyOnce(int prefetchSize) {
+        AbstractStorePageCacheScanner<NodeRecord> scanner =
+            new AbstractStorePageCacheScanner<>(prefetchSize, db, NodeStoreScanner.NODE_ACCESS);
+
+        ConcurrentHashMap<Long, Boolean> seen = new ConcurrentHashMap<>();
+        AtomicLong duplicates = new AtomicLong();
+        Collection<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            tasks.add(() -> {
+                try (AbstractStorePageCacheScanner<NodeRecord>.Cursor cursor = scanner.getCursor()) {
+                    while (cursor.bulkNext(record -> {
+                        if (seen.put(record.getId(), Boolean.TRUE) != null) {
+                            duplicates.incrementAndGet();
+                        }
+                    })) {
+                    }
+                }
+            });
+        }
+        ParallelUtil.run(tasks, Pools.DEFAULT);
+
+        assertEquals(0L, duplicates.get());
+        assertEquals(NODE_COUNT, seen.size());
+
+        AbstractStorePageCacheScanner.ScanMetrics metrics = scanner.metrics();
+        assertTrue(metrics.pagesRead() > 0);
+        assertTrue(metrics.windows() > 0);
+        assertTrue(metrics.windows() <= metrics.pagesRead());
+    }
+
+    /**
+     * Scans the node store with a clock that advances by the given cost for every record read
+     * and returns the window size observed during every call to {@code bulkNext}.
+     */
+    private List<Integer> scanWithCost(IntToLongFunction nanosPerRecord) {
+        AtomicLong clock = new AtomicLong();
+        AbstractStorePageCacheScanner<NodeRecord> scanner = new AbstractStorePageCacheScanner<>(
+            PREFETCH_SIZE,
+            db,
+            NodeStoreScanner.NODE_ACCESS,
+            clock::get
+        );
+
+        List<Integer> windowSizes = new ArrayList<>();
+        try (AbstractStorePageCacheScanner<NodeRecord>.Cursor cursor = scanner.getCursor()) {
+            while (cursor.bulkNext(record -> clock.addAndGet(nanosPerRecord.applyAsLong(cursor.windowSize())))) {
+                windowSizes.add(cursor.windowSize());
+            }
+        }
+
+        assertTrue(scanner.metrics().windows() > 4);
+        return windowSizes;
+    }
+}
@@ -22,13 +22,16 @@ package org.neo4j.graphalgo.core.loading;
 import org.apache.lucene.util.LongsRef;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.graphalgo.core.Aggregation;
 
 import java.util.Arrays;
+import java.util.Random;
 import java.util.stream.Stream;
 
 import static java.lang.Double.doubleToLongBits;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 
@@ -63,6 +66,45 @@ class AdjacencyCompressionTest {
         assertEquals(4L, data.longs[1]);
     }
 
+    @ParameterizedTest
+    @EnumSource(value = Aggregation.class, names = {"NONE", "SINGLE", "SUM"})
+    void shouldCompressHighDegreeAdjacencyInParallel(Aggregation aggregation) {
+        int degree = AdjacencyCompression.PARALLEL_COMPRESSION_THRESHOLD + 42;
+        Random random = new Random(42L);
+        long[] targets = new long[degree];
+        Arrays.setAll(targets, i -> random.nextInt(degree / 2));
+        long[] properties = new long[degree];
+        Arrays.setAll(properties, i -> doubleToLongBits(i));
+
+        LongsRef expected = new LongsRef(Arrays.copyOf(targets, degree), 0, degree);
+        long[][] expectedWeights = {Arrays.copyOf(properties, degree)};
+        AdjacencyCompression.applyDeltaEncoding(expected, expectedWeights, new Aggregation[]{aggregation}, aggregation == Aggregation.NONE);
+        byte[] expectedBytes = new byte[AdjacencyCompression.compressedSize(expected)];
+        int expectedLength = AdjacencyCompression.compress(expected, expectedBytes);
+
+        LongsRef actual = new LongsRef(Arrays.copyOf(targets, degree), 0, degree);
+        long[][] actualWeights = {Arrays.copyOf(properties, degree)};
+        AdjacencyCompression.applyDeltaEncoding(actual, actualWeights, new Aggregation[]{aggregation}, aggregation == Aggregation.NONE, 4);
+        byte[] actualBytes = new byte[AdjacencyCompression.compressedSize(actual)];
+        int actualLength = AdjacencyCompression.compress(actual, actualBytes, 4);
+
+        assertEquals(expected.length, actual.length);
+        assertArrayEquals(Arrays.copyOf(expectedWeights[0], expected.length), Arrays.copyOf(actualWeights[0], actual.length));
+        assertEquals(expectedLength, actualLength);
+        assertArrayEquals(expectedBytes, actualBytes);
+
+        LongsRef expectedWithoutWeights = new LongsRef(Arrays.copyOf(targets, degree), 0, degree);
+        AdjacencyCompression.applyDeltaEncoding(expectedWithoutWeights, aggregation);
+        LongsRef actualWithoutWeights = new LongsRef(Arrays.copyOf(targets, degree), 0, degree);
+        AdjacencyCompression.applyDeltaEncoding(actualWithoutWeights, aggregation, 4);
+
+        assertEquals(expectedWithoutWeights.length, actualWithoutWeights.length);
+        assertArrayEquals(
+            Arrays.copyOf(expectedWithoutWeights.longs, expectedWithoutWeights.length),
+            Arrays.copyOf(actualWithoutWeights.longs, actualWithoutWeights.length)
+        );
+    }
+
     static Stream<Arguments> aggregationsWithResults() {
         return Stream.of(
             Arguments.of(
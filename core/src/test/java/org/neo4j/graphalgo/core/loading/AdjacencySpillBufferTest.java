@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.neo4j.graphalgo.BaseTest;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.config.GraphCreateConfig.UNLIMITED_ADJACENCY_BUFFER_MEMORY;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+class AdjacencySpillBufferTest extends BaseTest {
+
+    private static final String DB_CYPHER =
+        "UNWIND range(0, 999) AS id " +
+        "CREATE (:Node {id: id})";
+
+    private static final String REL_CYPHER =
+        "MATCH (a:Node), (b:Node) " +
+        "WHERE b.id = (a.id * 7) % 1000 OR b.id = (a.id * 13 + 1) % 1000 OR b.id = (a.id + 1) % 1000 " +
+        "CREATE (a)-[:REL {weight: a.id + b.id}]->(b) " +
+        "WITH a, b WHERE a.id % 3 = 0 " +
+        "CREATE (a)-[:REL {weight: 1}]->(b)";
+
+    // a buffer of this capacity spills the ~4000 relationships of the fixture into several runs
+    private static final int SPILLING_CAPACITY = 256;
+
+    @BeforeEach
+    void setUp() {
+        runQuery(DB_CYPHER);
+        runQuery(REL_CYPHER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        AdjacencySpillBuffer.setMinCapacity(AdjacencySpillBuffer.MIN_CAPACITY);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = Orientation.class, names = {"NATURAL", "REVERSE", "UNDIRECTED"})
+    void shouldLoadSameGraphWhenSpilling(Orientation orientation) {
+        Graph expected = loadGraph(orientation, Aggregation.NONE, UNLIMITED_ADJACENCY_BUFFER_MEMORY, false);
+        Graph actual = loadSpilledGraph(orientation, Aggregation.NONE, false);
+
+        assertEquals(expected.relationshipCount(), actual.relationshipCount());
+        assertGraphEquals(expected, actual);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = Aggregation.class, names = {"NONE", "SINGLE", "SUM", "MAX"})
+    void shouldAggregatePropertiesAcrossSpilledRuns(Aggregation aggregation) {
+        Graph expected = loadGraph(Orientation.NATURAL, aggregation, UNLIMITED_ADJACENCY_BUFFER_MEMORY, true);
+        Graph actual = loadSpilledGraph(Orientation.NATURAL, aggregation, true);
+
+        assertEquals(expected.relationshipCount(), actual.relationshipCount());
+        assertGraphEquals(expected, actual);
+    }
+
+    @Test
+    void shouldNotGoBelowMinimumCapacity() {
+        assertEquals(AdjacencySpillBuffer.MIN_CAPACITY, AdjacencySpillBuffer.capacity(1L, 0));
+        assertEquals(AdjacencySpillBuffer.MIN_CAPACITY, AdjacencySpillBuffer.capacity(1024L, 2));
+    }
+
+    @Test
+    void shouldMergeMoreRunsThanFanInWithIntermediatePasses() {
+        int pageSize = 100;
+        int capacity = 2;
+        int relationshipCount = 10_000;
+        AdjacencySpillBuffer buffer = new AdjacencySpillBuffer(pageSize, capacity, AllocationTracker.EMPTY);
+
+        Map<Integer, List<Long>> expectedTargets = new HashMap<>();
+        Map<Integer, List<Long>> expectedProperties = new HashMap<>();
+        for (int i = 0; i < relationshipCount; i++) {
+            int localId = (i * 31) % pageSize;
+            long target = i;
+            long property = 2L * i;
+            buffer.add(localId, new long[]{target}, new long[][]{{property}}, 0, 1);
+            expectedTargets.computeIfAbsent(localId, ignore -> new ArrayList<>()).add(target);
+            expectedProperties.computeIfAbsent(localId, ignore -> new ArrayList<>()).add(property);
+        }
+
+        // more than MAX_FAN_IN * MAX_FAN_IN runs require two intermediate passes
+        assertTrue(buffer.spilledRuns() > AdjacencySpillBuffer.MAX_FAN_IN * AdjacencySpillBuffer.MAX_FAN_IN);
+
+        Map<Integer, List<Long>> actualTargets = new HashMap<>();
+        Map<Integer, List<Long>> actualProperties = new HashMap<>();
+        List<Integer> localIds = new ArrayList<>();
+        long mergedRelationships = buffer.flush((localId, targets, properties) -> {
+            localIds.add(localId);
+            for (int i = 0; i < targets.length; i++) {
+                actualTargets.computeIfAbsent(localId, ignore -> new ArrayList<>()).add(targets.longs[i]);
+                actualProperties.computeIfAbsent(localId, ignore -> new ArrayList<>()).add(properties[0][i]);
+            }
+            return targets.length;
+        });
+
+        assertEquals(relationshipCount, mergedRelationships);
+        assertEquals(0, buffer.spilledRuns());
+        assertEquals(pageSize, localIds.size());
+        for (int i = 1; i < localIds.size(); i++) {
+            assertTrue(localIds.get(i - 1) < localIds.get(i));
+        }
+        assertEquals(expectedTargets, actualTargets);
+        assertEquals(expectedProperties, actualProperties);
+    }
+
+    private Graph loadSpilledGraph(Orientation orientation, Aggregation aggregation, boolean loadWeights) {
+        AdjacencySpillBuffer.setMinCapacity(SPILLING_CAPACITY);
+        long writtenRunsBefore = AdjacencySpillBuffer.writtenRuns();
+        // 1 byte per page is far below the minimum capacity
+        Graph graph = loadGraph(orientation, aggregation, 1L, loadWeights);
+        assertTrue(AdjacencySpillBuffer.writtenRuns() > writtenRunsBefore, "expected the import to spill runs");
+        return graph;
+    }
+
+    private Graph loadGraph(Orientation orientation, Aggregation aggregation, long maxBufferMemory, boolean loadWeights) {
+        StoreLoaderBuilder loaderBuilder = new StoreLoaderBuilder()
+            .api(db)
+            .globalOrientation(orientation)
+            .globalAggregation(aggregation)
+            .maxAdjacencyBufferMemory(maxBufferMemory);
+        if (loadWeights) {
+            loaderBuilder.addRelationshipProperty(PropertyMapping.of("weight", 0.0));
+        }
+        return loaderBuilder.build().graph(NativeFactory.class);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class CompactNodeMappingTest {
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldMapOriginalIds(boolean shuffle) {
+        Random random = new Random(42L);
+        long[] originalIds = LongStream
+            .iterate(3L, id -> id + 1L + random.nextInt(200))
+            .limit(10_000)
+            .toArray();
+        if (shuffle) {
+            for (int i = originalIds.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                long tmp = originalIds[i];
+                originalIds[i] = originalIds[j];
+                originalIds[j] = tmp;
+            }
+        }
+
+        NodeMapping mapping = CompactNodeMapping.of(
+            HugeLongArray.of(originalIds),
+            originalIds.length,
+            4,
+            AllocationTracker.EMPTY
+        );
+
+        long maxId = Arrays.stream(originalIds).max().orElse(0L);
+        assertEquals(maxId + 1L, mapping.getCapacity());
+        for (int mappedId = 0; mappedId < originalIds.length; mappedId++) {
+            assertTrue(mapping.contains(originalIds[mappedId]));
+            assertEquals(mappedId, mapping.get(originalIds[mappedId]));
+        }
+
+        long[] sortedIds = originalIds.clone();
+        Arrays.sort(sortedIds);
+        long expectedId = 0L;
+        for (long originalId : sortedIds) {
+            for (; expectedId < originalId; expectedId++) {
+                assertFalse(mapping.contains(expectedId));
+                assertEquals(-1L, mapping.get(expectedId));
+            }
+            expectedId++;
+        }
+    }
+
+    @Test
+    void shouldNotContainIdsOutOfRange() {
+        NodeMapping mapping = CompactNodeMapping.of(
+            HugeLongArray.of(64L, 7L, 129L),
+            3,
+            1,
+            AllocationTracker.EMPTY
+        );
+
+        assertEquals(0L, mapping.get(64L));
+        assertEquals(1L, mapping.get(7L));
+        assertEquals(2L, mapping.get(129L));
+        assertFalse(mapping.contains(-1L));
+        assertFalse(mapping.contains(130L));
+        assertFalse(mapping.contains(1L << 40));
+        assertEquals(-1L, mapping.get(130L));
+    }
+
+    @Test
+    void shouldIgnoreUnusedTrailingIds() {
+        NodeMapping mapping = CompactNodeMapping.of(
+            HugeLongArray.of(5L, 10L, 0L, 0L),
+            2,
+            1,
+            AllocationTracker.EMPTY
+        );
+
+        assertEquals(11L, mapping.getCapacity());
+        assertFalse(mapping.contains(0L));
+        assertEquals(0L, mapping.get(5L));
+        assertEquals(1L, mapping.get(10L));
+    }
+
+    @Test
+    void shouldEstimateCheaperMapping() {
+        long maxId = 1L << 30;
+        long nodeCount = 1L << 20;
+        MemoryRange compact = CompactNodeMapping.memoryEstimation(maxId, nodeCount);
+        MemoryRange sparse = SparseNodeMapping.memoryEstimation(maxId, nodeCount);
+        MemoryRange estimation = IdMapBuilder.nodeMappingEstimation(maxId, nodeCount);
+
+        assertEquals(HugeLongArray.memoryEstimation(nodeCount), compact.max - compact.min);
+        assertEquals(sparse.min, estimation.min);
+        assertEquals(compact.max, estimation.max);
+        assertEquals(
+            SparseNodeMapping.memoryEstimation(nodeCount, nodeCount),
+            IdMapBuilder.nodeMappingEstimation(nodeCount, nodeCount)
+        );
+    }
+
+    @Test
+    void shouldBuildCompactMappingWhenSparsePagesAreMostlyEmpty() {
+        long[] originalIds = LongStream.range(0, 1000).map(i -> i * 4096L + 1L).toArray();
+        NodeMapping mapping = IdMapBuilder.buildNodeMapping(
+            HugeLongArray.of(originalIds),
+            originalIds.length,
+            originalIds[originalIds.length - 1] + 1L,
+            1,
+            AllocationTracker.EMPTY
+        );
+
+        assertTrue(mapping instanceof CompactNodeMapping);
+        for (int mappedId = 0; mappedId < originalIds.length; mappedId++) {
+            assertEquals(mappedId, mapping.get(originalIds[mappedId]));
+        }
+    }
+
+    @Test
+    void shouldBuildSparseMappingWhenFewPagesAreUsed() {
+        long[] originalIds = LongStream.range(0, 1000).toArray();
+        NodeMapping mapping = IdMapBuilder.buildNodeMapping(
+            HugeLongArray.of(originalIds),
+            originalIds.length,
+            10_000_000L,
+            1,
+            AllocationTracker.EMPTY
+        );
+
+        assertTrue(mapping instanceof SparseNodeMapping);
+    }
+
+    @Test
+    void shouldSelectCompactMappingForLowDensity() {
+        assertTrue(IdMapBuilder.useCompactNodeMapping(1_000L, 100_000L));
+        assertFalse(IdMapBuilder.useCompactNodeMapping(1_000L, 1_000L));
+        assertFalse(IdMapBuilder.useCompactNodeMapping(0L, 0L));
+    }
+}
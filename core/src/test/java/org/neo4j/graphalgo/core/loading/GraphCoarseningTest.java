@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.LongDoubleHashMap;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestGraph.Builder.fromGdl;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+class GraphCoarseningTest {
+
+    @Test
+    void shouldAggregateRelationshipsBetweenCommunities() {
+        Graph graph = fromGdl(
+            "(a {c: 4})-[{w: 1.0}]->(b {c: 4})" +
+            "(a)-[{w: 2.0}]->(c {c: 1})" +
+            "(b)-[{w: 3.0}]->(c)" +
+            "(b)-[{w: 4.0}]->(d {c: 1})" +
+            "(c)-[{w: 5.0}]->(a)"
+        );
+
+        Graph coarseGraph = GraphCoarsening.coarsen(
+            graph,
+            nodeId -> (long) graph.nodeProperties("c").nodeProperty(nodeId),
+            4,
+            Orientation.NATURAL,
+            1,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+
+        assertGraphEquals(
+            fromGdl("(x)-[{w: 1.0}]->(x)-[{w: 9.0}]->(y)-[{w: 5.0}]->(x)"),
+            coarseGraph
+        );
+        assertEquals(1L, coarseGraph.toMappedNodeId(4));
+        assertEquals(0L, coarseGraph.toMappedNodeId(1));
+        assertEquals(3L, coarseGraph.relationshipCount());
+    }
+
+    @Test
+    void shouldCountUnweightedRelationships() {
+        Graph graph = fromGdl("(a)-->(b)-->(c)-->(a)-->(c)");
+
+        Graph coarseGraph = GraphCoarsening.coarsen(
+            graph,
+            nodeId -> nodeId == 0 ? 0 : 1,
+            1,
+            Orientation.NATURAL,
+            1,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+
+        assertGraphEquals(
+            fromGdl("(x)-[{w: 2.0}]->(y)-[{w: 1.0}]->(y)-[{w: 1.0}]->(x)"),
+            coarseGraph
+        );
+    }
+
+    @Test
+    void shouldKeepUndirectedOrientation() {
+        Graph graph = fromGdl("(a)-[{w: 1.0}]->(b)-[{w: 2.0}]->(c)", Orientation.UNDIRECTED);
+
+        Graph coarseGraph = GraphCoarsening.coarsen(
+            graph,
+            nodeId -> nodeId == 2 ? 1 : 0,
+            1,
+            Orientation.UNDIRECTED,
+            1,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+
+        assertEquals(2L, coarseGraph.nodeCount());
+        assertEquals(2.0, coarseGraph.relationshipProperty(0, 0, Double.NaN));
+        assertEquals(2.0, coarseGraph.relationshipProperty(0, 1, Double.NaN));
+        assertEquals(2.0, coarseGraph.relationshipProperty(1, 0, Double.NaN));
+        assertFalse(coarseGraph.exists(1, 1));
+    }
+
+    @Test
+    void shouldMatchSequentialAggregationOnMultiplePages() {
+        int nodeCount = 10_000;
+        int communityCount = 3_000;
+        Random random = new Random(42);
+
+        HugeGraphUtil.IdMapBuilder idMapBuilder = HugeGraphUtil.idMapBuilder(
+            nodeCount,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+        for (int i = 0; i < nodeCount; i++) {
+            idMapBuilder.addNode(i);
+        }
+        IdMap idMap = idMapBuilder.build();
+        HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = HugeGraphUtil.createRelImporter(
+            idMap,
+            Orientation.NATURAL,
+            true,
+            Aggregation.NONE,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+        for (int i = 0; i < 5 * nodeCount; i++) {
+            relationshipsBuilder.add(random.nextInt(nodeCount), random.nextInt(nodeCount), random.nextInt(10));
+        }
+        Graph graph = HugeGraphUtil.create(idMap, relationshipsBuilder.build(), AllocationTracker.EMPTY);
+
+        long[] communities = new long[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            // leave every third community id unused
+            communities[i] = 3L * random.nextInt(communityCount);
+        }
+
+        Map<Long, LongDoubleHashMap> expected = new HashMap<>();
+        graph.forEachNode(nodeId -> {
+            LongDoubleHashMap weights = expected.computeIfAbsent(communities[(int) nodeId], c -> new LongDoubleHashMap());
+            graph.forEachRelationship(nodeId, 1.0, (source, target, weight) -> {
+                weights.addTo(communities[(int) target], weight);
+                return true;
+            });
+            return true;
+        });
+
+        Graph coarseGraph = GraphCoarsening.coarsen(
+            graph,
+            nodeId -> communities[(int) nodeId],
+            3L * communityCount,
+            Orientation.NATURAL,
+            4,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+
+        assertEquals(expected.size(), coarseGraph.nodeCount());
+        long relationshipCount = 0L;
+        for (long community = 0; community < coarseGraph.nodeCount(); community++) {
+            // ids are assigned in ascending order of the community id, across partitions of the community ids
+            if (community > 0) {
+                assertTrue(coarseGraph.toOriginalNodeId(community - 1) < coarseGraph.toOriginalNodeId(community));
+            }
+            LongDoubleHashMap weights = expected.get(coarseGraph.toOriginalNodeId(community));
+            assertEquals(weights.size(), coarseGraph.degree(community));
+            coarseGraph.forEachRelationship(community, Double.NaN, (source, target, weight) -> {
+                assertEquals(weights.get(coarseGraph.toOriginalNodeId(target)), weight, 1E-9);
+                return true;
+            });
+            relationshipCount += weights.size();
+        }
+        assertEquals(relationshipCount, coarseGraph.relationshipCount());
+    }
+}
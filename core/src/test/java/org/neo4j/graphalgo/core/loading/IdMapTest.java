@@ -53,11 +53,11 @@ class IdMapTest {
 
         dimensions = ImmutableGraphDimensions.builder().nodeCount(10_000_000L).highestNeoId(100_000_000_000L).build();
         memRec = IdMap.memoryEstimation().estimate(dimensions, 1);
-        assertEquals(MemoryRange.of(32L + 80_000_040L + 177_714_824L, 32L + 80_000_040L + 327_937_656_296L), memRec.memoryUsage());
+        assertEquals(MemoryRange.of(32L + 80_000_040L + 177_714_824L, 32L + 80_000_040L + 14_144_407_520L), memRec.memoryUsage());
 
         dimensions = ImmutableGraphDimensions.builder().nodeCount(100_000_000L).highestNeoId(100_000_000_000L).build();
         memRec = IdMap.memoryEstimation().estimate(dimensions, 1);
-        assertEquals(MemoryRange.of(32L + 800_000_040L + 898_077_656L, 32L + 800_000_040L + 800_488_297_688L), memRec.memoryUsage());
+        assertEquals(MemoryRange.of(32L + 800_000_040L + 898_077_656L, 32L + 800_000_040L + 14_864_407_520L), memRec.memoryUsage());
 
 
         IntObjectMap<List<NodeLabel>> labelTokenNodeLabelMappings = new IntObjectHashMap<List<NodeLabel>>();
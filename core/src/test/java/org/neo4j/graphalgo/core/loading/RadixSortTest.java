@@ -21,7 +21,12 @@ package org.neo4j.graphalgo.core.loading;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 final class RadixSortTest {
 
@@ -97,6 +102,29 @@ final class RadixSortTest {
         assertArrayEquals(expected, testcase);
     }
 
+    @Test
+    void parallelSortShouldSortValuesAndOrder() {
+        int length = 100_000;
+        Random random = new Random(42L);
+        long[] data = new long[length];
+        Arrays.setAll(data, i -> random.nextInt(1 << 20) | ((long) random.nextInt(4) << 40));
+        long[] expected = Arrays.copyOf(data, length);
+        Arrays.sort(expected);
+        long[] original = Arrays.copyOf(data, length);
+        int[] order = new int[length];
+        Arrays.setAll(order, i -> i);
+
+        RadixSort.parallelRadixSort(data, new long[length], order, new int[length], length, 4);
+
+        assertArrayEquals(expected, data);
+        for (int i = 0; i < length; i++) {
+            assertEquals(data[i], original[order[i]]);
+            if (i > 0 && data[i] == data[i - 1]) {
+                assertTrue(order[i] > order[i - 1], "sort is not stable");
+            }
+        }
+    }
+
     private static long[] testData() {
         //@formatter:off
         return new long[]{
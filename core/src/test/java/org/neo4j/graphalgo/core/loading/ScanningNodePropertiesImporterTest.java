@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseTest;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+class ScanningNodePropertiesImporterTest extends BaseTest {
+
+    private static final String DB_CYPHER =
+        "UNWIND range(0, 999) AS id " +
+        "CREATE (n:Node {id: id, score: id * 0.5, p1: 1, p2: 2, p3: 3, p4: 4, p5: 5, p6: 6}) " +
+        "WITH n, id WHERE id % 3 = 0 " +
+        "SET n:Other, n.other = -id " +
+        "WITH n, id WHERE id % 2 = 0 " +
+        "CREATE (n)-[:REL {score: 42}]->(:Unrelated {score: 1337})";
+
+    @BeforeEach
+    void setUp() {
+        runQuery(DB_CYPHER);
+    }
+
+    @Test
+    void shouldLoadSamePropertiesAsPropertyCursors() {
+        Graph expected = loadGraph(false, "Node");
+        Graph actual = loadGraph(true, "Node");
+
+        assertGraphEquals(expected, actual);
+    }
+
+    @Test
+    void shouldLoadPropertiesPerNodeLabel() {
+        GraphStore expected = loadGraphStore(false);
+        GraphStore actual = loadGraphStore(true);
+
+        assertEquals(expected.nodeCount(), actual.nodeCount());
+        for (String label : new String[]{"Node", "Other"}) {
+            for (String property : new String[]{"score", "other"}) {
+                NodeProperties expectedValues = expected.nodeProperty(NodeLabel.of(label), property).values();
+                NodeProperties actualValues = actual.nodeProperty(NodeLabel.of(label), property).values();
+                for (long nodeId = 0; nodeId < expected.nodeCount(); nodeId++) {
+                    assertEquals(
+                        expectedValues.nodeProperty(nodeId),
+                        actualValues.nodeProperty(nodeId),
+                        String.format("label %s, property %s, node %d", label, property, nodeId)
+                    );
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldFailOnNonNumericPropertyOfProjectedNode() {
+        runQuery("MATCH (n:Node {id: 42}) SET n.score = 'forty-two'");
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> loadGraph(true, "Node")
+        );
+        assertTrue(exception.getMessage().contains("Please use a numeric property."));
+    }
+
+    @Test
+    void shouldIgnoreNonNumericPropertyOfOtherNodes() {
+        runQuery("MATCH (n:Unrelated) SET n.score = 'unrelated'");
+
+        Graph expected = loadGraph(false, "Node");
+        Graph actual = loadGraph(true, "Node");
+
+        assertGraphEquals(expected, actual);
+    }
+
+    private Graph loadGraph(boolean scanPropertyStore, String label) {
+        return new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel(label)
+            .addNodeProperty(PropertyMapping.of("score", 0.0))
+            .addNodeProperty(PropertyMapping.of("p6", 0.0))
+            .scanPropertyStore(scanPropertyStore)
+            .build()
+            .graph(NativeFactory.class);
+    }
+
+    private GraphStore loadGraphStore(boolean scanPropertyStore) {
+        return new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .addNodeLabel("Other")
+            .addNodeProperty(PropertyMapping.of("score", 0.0))
+            .addNodeProperty(PropertyMapping.of("other", 0.0))
+            .scanPropertyStore(scanPropertyStore)
+            .build()
+            .graphStore(NativeFactory.class);
+    }
+}
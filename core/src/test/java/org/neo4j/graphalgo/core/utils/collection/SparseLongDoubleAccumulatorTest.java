@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.collection;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+final class SparseLongDoubleAccumulatorTest {
+
+    @Test
+    void shouldSumValuesPerKey() {
+        SparseLongDoubleAccumulator accumulator = new SparseLongDoubleAccumulator();
+        accumulator.add(42L, 1.0);
+        accumulator.add(1337L, 2.0);
+        accumulator.add(42L, 3.0);
+
+        assertEquals(2, accumulator.size());
+        assertEquals(4.0, accumulator.get(42L));
+        assertEquals(2.0, accumulator.get(1337L));
+        assertEquals(0.0, accumulator.get(0L));
+    }
+
+    @Test
+    void shouldIterateInInsertionOrder() {
+        SparseLongDoubleAccumulator accumulator = new SparseLongDoubleAccumulator();
+        accumulator.add(3L, 1.0);
+        accumulator.add(1L, 2.0);
+        accumulator.add(2L, 3.0);
+        accumulator.add(1L, 4.0);
+
+        assertEquals(3L, accumulator.keyAt(0));
+        assertEquals(1L, accumulator.keyAt(1));
+        assertEquals(2L, accumulator.keyAt(2));
+        assertEquals(1.0, accumulator.valueAt(0));
+        assertEquals(6.0, accumulator.valueAt(1));
+        assertEquals(3.0, accumulator.valueAt(2));
+    }
+
+    @Test
+    void shouldForgetEntriesOnClear() {
+        SparseLongDoubleAccumulator accumulator = new SparseLongDoubleAccumulator();
+        accumulator.add(42L, 1.0);
+        accumulator.clear();
+
+        assertEquals(0, accumulator.size());
+        assertEquals(0.0, accumulator.get(42L));
+
+        accumulator.add(42L, 2.0);
+        assertEquals(1, accumulator.size());
+        assertEquals(2.0, accumulator.get(42L));
+    }
+
+    @Test
+    void shouldGrowBeyondExpectedKeys() {
+        SparseLongDoubleAccumulator accumulator = new SparseLongDoubleAccumulator(2);
+        for (long key = 0; key < 1000; key++) {
+            accumulator.add(key * 31, key);
+        }
+
+        assertEquals(1000, accumulator.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i * 31L, accumulator.keyAt(i));
+            assertEquals(i, accumulator.valueAt(i));
+            assertEquals(i, accumulator.get(i * 31L));
+        }
+    }
+
+    @Test
+    void shouldBehaveLikeAMapWhenReused() {
+        Random random = new Random(42L);
+        SparseLongDoubleAccumulator accumulator = new SparseLongDoubleAccumulator(4);
+
+        for (int round = 0; round < 100; round++) {
+            accumulator.clear();
+            Map<Long, Double> expected = new LinkedHashMap<>();
+            int additions = random.nextInt(200);
+            for (int i = 0; i < additions; i++) {
+                long key = random.nextInt(100);
+                double value = random.nextDouble();
+                accumulator.add(key, value);
+                expected.merge(key, value, Double::sum);
+            }
+
+            assertEquals(expected.size(), accumulator.size());
+            int index = 0;
+            for (Map.Entry<Long, Double> entry : expected.entrySet()) {
+                assertEquals(entry.getKey(), accumulator.keyAt(index));
+                assertEquals(entry.getValue(), accumulator.valueAt(index), 1E-9);
+                index++;
+            }
+        }
+    }
+
+    @Test
+    void shouldNotAllocateWhenReused() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean);
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        SparseLongDoubleAccumulator accumulator = new SparseLongDoubleAccumulator();
+        // grow the table to the largest neighbourhood once
+        accumulateNeighbourhoods(accumulator);
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        double sum = accumulateNeighbourhoods(accumulator);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(sum > 0);
+        // leaves some room for the allocations of the measurement itself
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void shouldBoundTheEstimationByTheNumberOfRelationships() {
+        GraphDimensions withoutRelationships = ImmutableGraphDimensions.builder().nodeCount(100_000).build();
+        GraphDimensions fewRelationships = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000)
+            .maxRelCount(1_000)
+            .build();
+        GraphDimensions manyRelationships = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000)
+            .maxRelCount(1_000_000)
+            .build();
+
+        MemoryRange noKeys = estimate(withoutRelationships);
+        MemoryRange someKeys = estimate(fewRelationships);
+        MemoryRange allKeys = estimate(manyRelationships);
+
+        assertEquals(noKeys.min, noKeys.max);
+        assertEquals(noKeys.min, someKeys.min);
+        assertEquals(someKeys.min, allKeys.min);
+        assertTrue(someKeys.max > noKeys.max);
+        assertTrue(allKeys.max > someKeys.max);
+        // never more than a table for every node
+        assertEquals(allKeys, estimate(ImmutableGraphDimensions.builder().from(manyRelationships).maxRelCount(10_000_000).build()));
+    }
+
+    private static double accumulateNeighbourhoods(SparseLongDoubleAccumulator accumulator) {
+        double sum = 0.0;
+        for (int node = 0; node < 1_000; node++) {
+            accumulator.clear();
+            int degree = node % 100;
+            for (int i = 0; i < degree; i++) {
+                accumulator.add((node * 31L + i * 17L) % 50, 1.0);
+            }
+            for (int i = 0; i < accumulator.size(); i++) {
+                sum += accumulator.valueAt(i);
+            }
+        }
+        return sum;
+    }
+
+    private static MemoryRange estimate(GraphDimensions dimensions) {
+        MemoryTree tree = SparseLongDoubleAccumulator.memoryEstimation().estimate(dimensions, 1);
+        return tree.memoryUsage();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HugeAtomicBitSetTest {
+
+    @Test
+    void testGetSetClear() {
+        HugeAtomicBitSet bitSet = HugeAtomicBitSet.create(130, AllocationTracker.EMPTY);
+        assertEquals(130, bitSet.size());
+        assertFalse(bitSet.get(0));
+        assertFalse(bitSet.get(129));
+
+        bitSet.set(0);
+        bitSet.set(63);
+        bitSet.set(64);
+        bitSet.set(129);
+        assertTrue(bitSet.get(0));
+        assertTrue(bitSet.get(63));
+        assertTrue(bitSet.get(64));
+        assertTrue(bitSet.get(129));
+        assertFalse(bitSet.get(1));
+        assertFalse(bitSet.get(128));
+        assertEquals(4, bitSet.cardinality());
+
+        bitSet.clear(63);
+        bitSet.clear(62);
+        assertFalse(bitSet.get(63));
+        assertFalse(bitSet.get(62));
+        assertTrue(bitSet.get(64));
+        assertEquals(3, bitSet.cardinality());
+    }
+
+    @Test
+    void testGetAndSet() {
+        HugeAtomicBitSet bitSet = HugeAtomicBitSet.create(10, AllocationTracker.EMPTY);
+        assertFalse(bitSet.getAndSet(5));
+        assertTrue(bitSet.getAndSet(5));
+        assertTrue(bitSet.get(5));
+    }
+
+    @Test
+    void testConcurrentGetAndSet() {
+        int size = 10_000;
+        int concurrency = 4;
+        HugeAtomicBitSet bitSet = HugeAtomicBitSet.create(size, AllocationTracker.EMPTY);
+        AtomicLong firstSetters = new AtomicLong();
+
+        ParallelUtil.run(ParallelUtil.tasks(concurrency, () -> () -> {
+            for (long index = 0; index < size; index++) {
+                if (!bitSet.getAndSet(index)) {
+                    firstSetters.incrementAndGet();
+                }
+            }
+        }), Pools.DEFAULT);
+
+        assertEquals(size, firstSetters.get());
+        assertEquals(size, bitSet.cardinality());
+    }
+
+    @Test
+    void testMemoryEstimation() {
+        assertEquals(
+            HugeAtomicLongArray.memoryEstimation(2) + 24,
+            HugeAtomicBitSet.memoryEstimation(65)
+        );
+    }
+}
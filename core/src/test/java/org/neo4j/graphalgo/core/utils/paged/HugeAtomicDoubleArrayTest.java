@@ -178,6 +178,22 @@ final class HugeAtomicDoubleArrayTest {
         });
     }
 
+    /**
+     * add adds the delta to the current value
+     */
+    @Test
+    void testAdd() {
+        testArray(SIZE, aa -> {
+            for (int i = 0; i < SIZE; i++) {
+                aa.set(i, 1);
+                aa.add(i, 17);
+                assertEquals(18L, aa.get(i));
+                aa.add(i, -20);
+                assertEquals(-2L, aa.get(i));
+            }
+        });
+    }
+
     static class Counter extends CheckedRunnable {
         final HugeAtomicDoubleArray aa;
         int decs;
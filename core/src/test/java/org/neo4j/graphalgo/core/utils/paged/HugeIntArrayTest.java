@@ -27,6 +27,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 final class HugeIntArrayTest extends HugeArrayTestBase<int[], Integer, HugeIntArray> {
 
+    @Test
+    void shouldComputeMemoryEstimation() {
+        assertEquals(40, HugeIntArray.memoryEstimation(0L));
+        assertEquals(440, HugeIntArray.memoryEstimation(100L));
+        assertEquals(400_122_070_368L, HugeIntArray.memoryEstimation(100_000_000_000L));
+    }
+
     @Test
     void shouldBinaryOrValues() {
         testArray(10, array -> {
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.k1coloring;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.StatsProc;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
+import org.neo4j.internal.kernel.api.procs.ProcedureCallContext;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.beta.k1coloring.K1ColoringProc.K1_COLORING_DESCRIPTION;
+import static org.neo4j.procedure.Mode.READ;
+
+public class K1ColoringStatsProc extends StatsProc<K1Coloring, HugeLongArray, K1ColoringStatsProc.StatsResult, K1ColoringStatsConfig> {
+
+    @Procedure(value = "gds.beta.k1coloring.stats", mode = READ)
+    @Description(K1_COLORING_DESCRIPTION)
+    public Stream<StatsResult> stats(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return stats(compute(graphNameOrConfig, configuration));
+    }
+
+    @Procedure(value = "gds.beta.k1coloring.stats.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> statsEstimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
+    @Override
+    protected K1ColoringStatsConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return K1ColoringStatsConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<K1Coloring, K1ColoringStatsConfig> algorithmFactory(K1ColoringStatsConfig config) {
+        return new K1ColoringFactory<>();
+    }
+
+    @Override
+    protected AbstractResultBuilder<StatsResult> resultBuilder(ComputationResult<K1Coloring, HugeLongArray, K1ColoringStatsConfig> computeResult) {
+        StatsResult.Builder builder = new StatsResult.Builder(callContext, computeResult.tracker())
+            .withSkippedNodeVisits(computeResult.algorithm().skippedNodeVisits());
+        return K1ColoringProc.resultBuilder(builder, computeResult, callContext);
+    }
+
+    public static class StatsResult {
+
+        public final long createMillis;
+        public final long computeMillis;
+
+        public final long nodeCount;
+        public final long colorCount;
+        public final long ranIterations;
+        public final boolean didConverge;
+        public final long skippedNodeVisits;
+
+        public Map<String, Object> configuration;
+
+        StatsResult(
+            long createMillis,
+            long computeMillis,
+            long nodeCount,
+            long colorCount,
+            long ranIterations,
+            boolean didConverge,
+            long skippedNodeVisits,
+            Map<String, Object> configuration
+        ) {
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+            this.nodeCount = nodeCount;
+            this.colorCount = colorCount;
+            this.ranIterations = ranIterations;
+            this.didConverge = didConverge;
+            this.skippedNodeVisits = skippedNodeVisits;
+            this.configuration = configuration;
+        }
+
+        static class Builder extends K1ColoringProc.K1ColoringResultBuilder<StatsResult> {
+            long skippedNodeVisits;
+
+            Builder(
+                ProcedureCallContext context,
+                AllocationTracker tracker
+            ) {
+                super(context, tracker);
+            }
+
+            Builder withSkippedNodeVisits(long skippedNodeVisits) {
+                this.skippedNodeVisits = skippedNodeVisits;
+                return this;
+            }
+
+            @Override
+            protected StatsResult buildResult() {
+                return new StatsResult(
+                    createMillis,
+                    computeMillis,
+                    nodeCount,
+                    colorCount,
+                    ranIterations,
+                    didConverge,
+                    skippedNodeVisits,
+                    config.toMap()
+                );
+            }
+        }
+    }
+}
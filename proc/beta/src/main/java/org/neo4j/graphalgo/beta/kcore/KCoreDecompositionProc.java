@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.kcore;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.write.PropertyTranslator;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+
+import java.util.Collections;
+
+import static org.neo4j.graphalgo.ElementProjection.PROJECT_ALL;
+
+final class KCoreDecompositionProc {
+
+    static final String KCORE_DESCRIPTION =
+        "The k-core decomposition assigns to every node the largest k " +
+        "such that the node is part of a subgraph in which every node has at least k neighbours.";
+
+    private KCoreDecompositionProc() {}
+
+    static <CONFIG extends KCoreDecompositionBaseConfig> void validateConfigs(
+        GraphCreateConfig graphCreateConfig,
+        CONFIG config
+    ) {
+        if (!graphCreateConfig.isCypher()) {
+            GraphCreateFromStoreConfig storeConfig = (GraphCreateFromStoreConfig) graphCreateConfig;
+            storeConfig.relationshipProjections().projections().entrySet().stream()
+                .filter(entry -> config.relationshipTypes().equals(Collections.singletonList(PROJECT_ALL)) ||
+                                 config.relationshipTypes().contains(entry.getKey().name()))
+                .filter(entry -> entry.getValue().orientation() != Orientation.UNDIRECTED)
+                .forEach(entry -> {
+                    throw new IllegalArgumentException(String.format(
+                        "Procedure requires relationship projections to be UNDIRECTED. Projection for `%s` uses orientation `%s`",
+                        entry.getKey().name,
+                        entry.getValue().orientation()
+                    ));
+                });
+        }
+    }
+
+    static <PROC_RESULT, CONFIG extends KCoreDecompositionBaseConfig> AbstractResultBuilder<PROC_RESULT> resultBuilder(
+        KCoreDecompositionResultBuilder<PROC_RESULT> procResultBuilder,
+        AlgoBaseProc.ComputationResult<KCoreDecomposition, HugeIntArray, CONFIG> computeResult
+    ) {
+        if (computeResult.isGraphEmpty()) {
+            return procResultBuilder;
+        }
+        return procResultBuilder.withDegeneracy(computeResult.algorithm().degeneracy());
+    }
+
+    static PropertyTranslator<HugeIntArray> nodePropertyTranslator() {
+        return HugeIntArray.Translator.INSTANCE;
+    }
+
+    abstract static class KCoreDecompositionResultBuilder<PROC_RESULT> extends AbstractResultBuilder<PROC_RESULT> {
+
+        long degeneracy;
+
+        KCoreDecompositionResultBuilder<PROC_RESULT> withDegeneracy(long degeneracy) {
+            this.degeneracy = degeneracy;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.quality;
+
+import org.HdrHistogram.DoubleHistogram;
+import org.HdrHistogram.Histogram;
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.compat.MapUtil;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+
+import java.util.Map;
+
+final class CommunityQualityProc {
+
+    static final String COMMUNITY_QUALITY_DESCRIPTION =
+        "Evaluates the communities given by a node property, " +
+        "computing their modularity, conductance and the relationships within and between them.";
+
+    private CommunityQualityProc() {}
+
+    static <CONFIG extends CommunityQualityBaseConfig> AlgorithmFactory<CommunityQuality, CONFIG> algorithmFactory() {
+        return new CommunityQualityFactory<>();
+    }
+
+    static <PROC_RESULT, CONFIG extends CommunityQualityBaseConfig> AbstractResultBuilder<PROC_RESULT> resultBuilder(
+        CommunityQualityResultBuilder<PROC_RESULT> procResultBuilder,
+        AlgoBaseProc.ComputationResult<CommunityQuality, CommunityQuality, CONFIG> computeResult
+    ) {
+        if (computeResult.isGraphEmpty()) {
+            return procResultBuilder;
+        }
+
+        CommunityQuality quality = computeResult.result();
+        try (ProgressTimer ignored = ProgressTimer.start(procResultBuilder::withPostProcessingMillis)) {
+            Histogram sizes = new Histogram(5);
+            DoubleHistogram conductances = new DoubleHistogram(5);
+            for (long community = 0; community < quality.communityCount(); community++) {
+                sizes.recordValue(quality.size(community));
+                conductances.recordValue(quality.conductance(community));
+            }
+            procResultBuilder
+                .withModularity(quality.modularity())
+                .withCommunityCount(quality.communityCount())
+                .withInternalRelationshipCount(quality.internalRelationshipCount())
+                .withExternalRelationshipCount(quality.externalRelationshipCount())
+                .withCommunityDistribution(sizes)
+                .withConductanceDistribution(conductances);
+        }
+        return procResultBuilder;
+    }
+
+    abstract static class CommunityQualityResultBuilder<PROC_RESULT> extends AbstractResultBuilder<PROC_RESULT> {
+
+        long postProcessingMillis = -1L;
+        double modularity;
+        long communityCount;
+        long internalRelationshipCount;
+        long externalRelationshipCount;
+        Map<String, Object> communityDistribution;
+        Map<String, Object> conductanceDistribution;
+
+        void withPostProcessingMillis(long postProcessingMillis) {
+            this.postProcessingMillis = postProcessingMillis;
+        }
+
+        CommunityQualityResultBuilder<PROC_RESULT> withModularity(double modularity) {
+            this.modularity = modularity;
+            return this;
+        }
+
+        CommunityQualityResultBuilder<PROC_RESULT> withCommunityCount(long communityCount) {
+            this.communityCount = communityCount;
+            return this;
+        }
+
+        CommunityQualityResultBuilder<PROC_RESULT> withInternalRelationshipCount(long internalRelationshipCount) {
+            this.internalRelationshipCount = internalRelationshipCount;
+            return this;
+        }
+
+        CommunityQualityResultBuilder<PROC_RESULT> withExternalRelationshipCount(long externalRelationshipCount) {
+            this.externalRelationshipCount = externalRelationshipCount;
+            return this;
+        }
+
+        CommunityQualityResultBuilder<PROC_RESULT> withCommunityDistribution(Histogram histogram) {
+            this.communityDistribution = MapUtil.map(
+                "min", histogram.getMinValue(),
+                "mean", histogram.getMean(),
+                "max", histogram.getMaxValue(),
+                "p50", histogram.getValueAtPercentile(50),
+                "p75", histogram.getValueAtPercentile(75),
+                "p90", histogram.getValueAtPercentile(90),
+                "p95", histogram.getValueAtPercentile(95),
+                "p99", histogram.getValueAtPercentile(99),
+                "p999", histogram.getValueAtPercentile(99.9)
+            );
+            return this;
+        }
+
+        CommunityQualityResultBuilder<PROC_RESULT> withConductanceDistribution(DoubleHistogram histogram) {
+            this.conductanceDistribution = MapUtil.map(
+                "min", histogram.getMinValue(),
+                "mean", histogram.getMean(),
+                "max", histogram.getMaxValue(),
+                "p50", histogram.getValueAtPercentile(50),
+                "p75", histogram.getValueAtPercentile(75),
+                "p90", histogram.getValueAtPercentile(90),
+                "p95", histogram.getValueAtPercentile(95),
+                "p99", histogram.getValueAtPercentile(99),
+                "p999", histogram.getValueAtPercentile(99.9)
+            );
+            return this;
+        }
+    }
+}
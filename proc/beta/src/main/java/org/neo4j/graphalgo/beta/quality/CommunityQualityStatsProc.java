@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.quality;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.StatsProc;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.beta.quality.CommunityQualityProc.COMMUNITY_QUALITY_DESCRIPTION;
+import static org.neo4j.procedure.Mode.READ;
+
+public class CommunityQualityStatsProc extends StatsProc<CommunityQuality, CommunityQuality, CommunityQualityStatsProc.StatsResult, CommunityQualityStatsConfig> {
+
+    @Procedure(value = "gds.beta.communityQuality.stats", mode = READ)
+    @Description(COMMUNITY_QUALITY_DESCRIPTION)
+    public Stream<StatsResult> stats(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return stats(compute(graphNameOrConfig, configuration));
+    }
+
+    @Procedure(value = "gds.beta.communityQuality.stats.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> estimateStats(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
+    @Override
+    protected CommunityQualityStatsConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return CommunityQualityStatsConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<CommunityQuality, CommunityQualityStatsConfig> algorithmFactory(
+        CommunityQualityStatsConfig config
+    ) {
+        return CommunityQualityProc.algorithmFactory();
+    }
+
+    @Override
+    protected AbstractResultBuilder<StatsResult> resultBuilder(
+        ComputationResult<CommunityQuality, CommunityQuality, CommunityQualityStatsConfig> computeResult
+    ) {
+        return CommunityQualityProc.resultBuilder(new StatsResult.Builder(), computeResult);
+    }
+
+    public static class StatsResult {
+
+        public final double modularity;
+        public final long communityCount;
+        public final long internalRelationshipCount;
+        public final long externalRelationshipCount;
+        public final Map<String, Object> communityDistribution;
+        public final Map<String, Object> conductanceDistribution;
+        public final long createMillis;
+        public final long computeMillis;
+        public final long postProcessingMillis;
+        public final Map<String, Object> configuration;
+
+        StatsResult(
+            double modularity,
+            long communityCount,
+            long internalRelationshipCount,
+            long externalRelationshipCount,
+            Map<String, Object> communityDistribution,
+            Map<String, Object> conductanceDistribution,
+            long createMillis,
+            long computeMillis,
+            long postProcessingMillis,
+            Map<String, Object> configuration
+        ) {
+            this.modularity = modularity;
+            this.communityCount = communityCount;
+            this.internalRelationshipCount = internalRelationshipCount;
+            this.externalRelationshipCount = externalRelationshipCount;
+            this.communityDistribution = communityDistribution;
+            this.conductanceDistribution = conductanceDistribution;
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+            this.postProcessingMillis = postProcessingMillis;
+            this.configuration = configuration;
+        }
+
+        static class Builder extends CommunityQualityProc.CommunityQualityResultBuilder<StatsResult> {
+
+            @Override
+            public StatsResult build() {
+                return new StatsResult(
+                    modularity,
+                    communityCount,
+                    internalRelationshipCount,
+                    externalRelationshipCount,
+                    communityDistribution,
+                    conductanceDistribution,
+                    createMillis,
+                    computeMillis,
+                    postProcessingMillis,
+                    config.toMap()
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.quality;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.StreamProc;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.beta.quality.CommunityQualityProc.COMMUNITY_QUALITY_DESCRIPTION;
+import static org.neo4j.procedure.Mode.READ;
+
+public class CommunityQualityStreamProc extends StreamProc<
+    CommunityQuality,
+    CommunityQuality,
+    CommunityQualityStreamProc.StreamResult,
+    CommunityQualityStreamConfig> {
+
+    @Procedure(value = "gds.beta.communityQuality.stream", mode = READ)
+    @Description(COMMUNITY_QUALITY_DESCRIPTION)
+    public Stream<StreamResult> stream(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<CommunityQuality, CommunityQuality, CommunityQualityStreamConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+
+        if (computationResult.isGraphEmpty()) {
+            return Stream.empty();
+        }
+
+        CommunityQuality quality = computationResult.result();
+        return LongStream
+            .range(0, quality.communityCount())
+            .mapToObj(community -> new StreamResult(
+                quality.communityId(community),
+                quality.size(community),
+                quality.internalRelationshipCount(community),
+                quality.externalRelationshipCount(community),
+                quality.conductance(community)
+            ));
+    }
+
+    @Procedure(value = "gds.beta.communityQuality.stream.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> streamEstimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
+    @Override
+    protected CommunityQualityStreamConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return CommunityQualityStreamConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<CommunityQuality, CommunityQualityStreamConfig> algorithmFactory(
+        CommunityQualityStreamConfig config
+    ) {
+        return CommunityQualityProc.algorithmFactory();
+    }
+
+    @Override
+    protected StreamResult streamResult(long originalNodeId, double value) {
+        throw new UnsupportedOperationException("CommunityQuality handles result building individually.");
+    }
+
+    public static class StreamResult {
+
+        public final long communityId;
+
+        public final long nodeCount;
+
+        public final long internalRelationshipCount;
+
+        public final long externalRelationshipCount;
+
+        public final double conductance;
+
+        public StreamResult(
+            long communityId,
+            long nodeCount,
+            long internalRelationshipCount,
+            long externalRelationshipCount,
+            double conductance
+        ) {
+            this.communityId = communityId;
+            this.nodeCount = nodeCount;
+            this.internalRelationshipCount = internalRelationshipCount;
+            this.externalRelationshipCount = externalRelationshipCount;
+            this.conductance = conductance;
+        }
+    }
+}
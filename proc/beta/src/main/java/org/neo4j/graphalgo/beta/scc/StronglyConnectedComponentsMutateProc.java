@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.scc;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.MutateProc;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.write.PropertyTranslator;
+import org.neo4j.graphalgo.result.AbstractCommunityResultBuilder;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
+import org.neo4j.internal.kernel.api.procs.ProcedureCallContext;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.beta.scc.StronglyConnectedComponentsProc.SCC_DESCRIPTION;
+import static org.neo4j.procedure.Mode.READ;
+
+public class StronglyConnectedComponentsMutateProc extends MutateProc<StronglyConnectedComponents, HugeAtomicLongArray, StronglyConnectedComponentsMutateProc.MutateResult, StronglyConnectedComponentsMutateConfig> {
+
+    @Procedure(value = "gds.beta.scc.mutate", mode = READ)
+    @Description(SCC_DESCRIPTION)
+    public Stream<StronglyConnectedComponentsMutateProc.MutateResult> mutate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<StronglyConnectedComponents, HugeAtomicLongArray, StronglyConnectedComponentsMutateConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+
+        return mutate(computationResult);
+    }
+
+    @Procedure(value = "gds.beta.scc.mutate.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> mutateEstimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
+    @Override
+    protected StronglyConnectedComponentsMutateConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return StronglyConnectedComponentsMutateConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<StronglyConnectedComponents, StronglyConnectedComponentsMutateConfig> algorithmFactory(StronglyConnectedComponentsMutateConfig config) {
+        return StronglyConnectedComponentsProc.algorithmFactory();
+    }
+
+    @Override
+    protected PropertyTranslator<HugeAtomicLongArray> nodePropertyTranslator(
+        ComputationResult<StronglyConnectedComponents, HugeAtomicLongArray, StronglyConnectedComponentsMutateConfig> computationResult
+    ) {
+        return StronglyConnectedComponentsProc.nodePropertyTranslator();
+    }
+
+    @Override
+    protected AbstractResultBuilder<StronglyConnectedComponentsMutateProc.MutateResult> resultBuilder(ComputationResult<StronglyConnectedComponents, HugeAtomicLongArray, StronglyConnectedComponentsMutateConfig> computeResult) {
+        return StronglyConnectedComponentsProc.resultBuilder(
+            new MutateResult.Builder(callContext, computeResult.tracker()),
+            computeResult
+        );
+    }
+
+    public static final class MutateResult {
+
+        public final long nodePropertiesWritten;
+        public final long createMillis;
+        public final long computeMillis;
+        public final long mutateMillis;
+        public final long postProcessingMillis;
+        public final long componentCount;
+        public final Map<String, Object> componentDistribution;
+        public final Map<String, Object> configuration;
+
+        MutateResult(
+            long nodePropertiesWritten,
+            long createMillis,
+            long computeMillis,
+            long mutateMillis,
+            long postProcessingMillis,
+            long componentCount,
+            Map<String, Object> componentDistribution,
+            Map<String, Object> configuration
+        ) {
+            this.nodePropertiesWritten = nodePropertiesWritten;
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+            this.mutateMillis = mutateMillis;
+            this.postProcessingMillis = postProcessingMillis;
+            this.componentCount = componentCount;
+            this.componentDistribution = componentDistribution;
+            this.configuration = configuration;
+        }
+
+        static class Builder extends AbstractCommunityResultBuilder<StronglyConnectedComponentsMutateProc.MutateResult> {
+
+            Builder(
+                ProcedureCallContext context,
+                AllocationTracker tracker
+            ) {
+                super(context, tracker);
+            }
+
+            @Override
+            protected StronglyConnectedComponentsMutateProc.MutateResult buildResult() {
+                return new StronglyConnectedComponentsMutateProc.MutateResult(
+                    nodePropertiesWritten,
+                    createMillis,
+                    computeMillis,
+                    mutateMillis,
+                    postProcessingDuration,
+                    maybeCommunityCount.orElse(-1L),
+                    communityHistogramOrNull(),
+                    config.toMap()
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.scc;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.write.PropertyTranslator;
+import org.neo4j.graphalgo.result.AbstractCommunityResultBuilder;
+
+final class StronglyConnectedComponentsProc {
+
+    static final String SCC_DESCRIPTION =
+        "The SCC algorithm finds sets of nodes in a directed graph, " +
+        "where every node in a set can reach every other node in the same set.";
+
+    private StronglyConnectedComponentsProc() {}
+
+    static <CONFIG extends StronglyConnectedComponentsBaseConfig> AlgorithmFactory<StronglyConnectedComponents, CONFIG> algorithmFactory() {
+        return new StronglyConnectedComponentsFactory<>();
+    }
+
+    static <PROC_RESULT, CONFIG extends StronglyConnectedComponentsBaseConfig> AbstractCommunityResultBuilder<PROC_RESULT> resultBuilder(
+        AbstractCommunityResultBuilder<PROC_RESULT> procResultBuilder,
+        AlgoBaseProc.ComputationResult<StronglyConnectedComponents, HugeAtomicLongArray, CONFIG> computationResult
+    ) {
+        return procResultBuilder.withCommunityFunction(!computationResult.isGraphEmpty() ? computationResult.result()::get : null);
+    }
+
+    static PropertyTranslator<HugeAtomicLongArray> nodePropertyTranslator() {
+        return HugeAtomicLongArray.Translator.INSTANCE;
+    }
+}
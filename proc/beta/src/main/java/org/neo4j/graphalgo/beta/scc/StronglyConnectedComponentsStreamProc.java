@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.scc;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.StreamProc;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.write.PropertyTranslator;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.beta.scc.StronglyConnectedComponentsProc.SCC_DESCRIPTION;
+import static org.neo4j.procedure.Mode.READ;
+
+public class StronglyConnectedComponentsStreamProc extends StreamProc<
+    StronglyConnectedComponents,
+    HugeAtomicLongArray,
+    StronglyConnectedComponentsStreamProc.StreamResult,
+    StronglyConnectedComponentsStreamConfig> {
+
+    @Procedure(value = "gds.beta.scc.stream", mode = READ)
+    @Description(SCC_DESCRIPTION)
+    public Stream<StronglyConnectedComponentsStreamProc.StreamResult> stream(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<StronglyConnectedComponents, HugeAtomicLongArray, StronglyConnectedComponentsStreamConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+        return stream(computationResult);
+    }
+
+    @Procedure(value = "gds.beta.scc.stream.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> streamEstimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
+    @Override
+    protected StronglyConnectedComponentsStreamConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return StronglyConnectedComponentsStreamConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<StronglyConnectedComponents, StronglyConnectedComponentsStreamConfig> algorithmFactory(StronglyConnectedComponentsStreamConfig config) {
+        return StronglyConnectedComponentsProc.algorithmFactory();
+    }
+
+    @Override
+    protected StreamResult streamResult(long originalNodeId, double value) {
+        return new StronglyConnectedComponentsStreamProc.StreamResult(originalNodeId, (long) value);
+    }
+
+    @Override
+    protected PropertyTranslator<HugeAtomicLongArray> nodePropertyTranslator(ComputationResult<StronglyConnectedComponents, HugeAtomicLongArray, StronglyConnectedComponentsStreamConfig> computationResult) {
+        return StronglyConnectedComponentsProc.nodePropertyTranslator();
+    }
+
+    public static class StreamResult {
+
+        public final long nodeId;
+
+        public final long componentId;
+
+        public StreamResult(long nodeId, long componentId) {
+            this.nodeId = nodeId;
+            this.componentId = componentId;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.slpa;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.StreamProc;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.beta.slpa.SpeakerListenerLabelPropagationProc.SLPA_DESCRIPTION;
+import static org.neo4j.procedure.Mode.READ;
+
+public class SpeakerListenerLabelPropagationStreamProc extends StreamProc<
+    SpeakerListenerLabelPropagation,
+    SpeakerListenerLabelPropagation,
+    SpeakerListenerLabelPropagationStreamProc.StreamResult,
+    SpeakerListenerLabelPropagationStreamConfig> {
+
+    @Procedure(value = "gds.beta.slpa.stream", mode = READ)
+    @Description(SLPA_DESCRIPTION)
+    public Stream<StreamResult> stream(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<SpeakerListenerLabelPropagation, SpeakerListenerLabelPropagation, SpeakerListenerLabelPropagationStreamConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+
+        if (computationResult.isGraphEmpty()) {
+            return Stream.empty();
+        }
+
+        Graph graph = computationResult.graph();
+        SpeakerListenerLabelPropagation slpa = computationResult.result();
+        return LongStream
+            .range(0, graph.nodeCount())
+            .boxed()
+            .flatMap(nodeId -> {
+                long originalNodeId = graph.toOriginalNodeId(nodeId);
+                long[] communities = slpa.communities(nodeId);
+                double[] strengths = slpa.strengths(nodeId);
+                return IntStream
+                    .range(0, communities.length)
+                    .mapToObj(i -> new StreamResult(originalNodeId, communities[i], strengths[i]));
+            });
+    }
+
+    @Procedure(value = "gds.beta.slpa.stream.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> streamEstimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
+    @Override
+    protected SpeakerListenerLabelPropagationStreamConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return SpeakerListenerLabelPropagationStreamConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<SpeakerListenerLabelPropagation, SpeakerListenerLabelPropagationStreamConfig> algorithmFactory(
+        SpeakerListenerLabelPropagationStreamConfig config
+    ) {
+        return SpeakerListenerLabelPropagationProc.algorithmFactory();
+    }
+
+    @Override
+    protected StreamResult streamResult(long originalNodeId, double value) {
+        throw new UnsupportedOperationException("SLPA handles result building individually.");
+    }
+
+    public static class StreamResult {
+
+        public final long nodeId;
+
+        public final long communityId;
+
+        public final double strength;
+
+        public StreamResult(long nodeId, long communityId, double strength) {
+            this.nodeId = nodeId;
+            this.communityId = communityId;
+            this.strength = strength;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.slpa;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.WriteProc;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.write.PropertyTranslator;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.beta.slpa.SpeakerListenerLabelPropagationProc.SLPA_DESCRIPTION;
+import static org.neo4j.procedure.Mode.READ;
+import static org.neo4j.procedure.Mode.WRITE;
+
+public class SpeakerListenerLabelPropagationWriteProc extends WriteProc<
+    SpeakerListenerLabelPropagation,
+    SpeakerListenerLabelPropagation,
+    SpeakerListenerLabelPropagationWriteProc.WriteResult,
+    SpeakerListenerLabelPropagationWriteConfig> {
+
+    @Procedure(value = "gds.beta.slpa.write", mode = WRITE)
+    @Description(SLPA_DESCRIPTION)
+    public Stream<WriteResult> write(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return write(compute(graphNameOrConfig, configuration));
+    }
+
+    @Procedure(value = "gds.beta.slpa.write.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> writeEstimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
+    @Override
+    protected SpeakerListenerLabelPropagationWriteConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return SpeakerListenerLabelPropagationWriteConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<SpeakerListenerLabelPropagation, SpeakerListenerLabelPropagationWriteConfig> algorithmFactory(
+        SpeakerListenerLabelPropagationWriteConfig config
+    ) {
+        return SpeakerListenerLabelPropagationProc.algorithmFactory();
+    }
+
+    @Override
+    protected PropertyTranslator<SpeakerListenerLabelPropagation> nodePropertyTranslator(
+        ComputationResult<SpeakerListenerLabelPropagation, SpeakerListenerLabelPropagation, SpeakerListenerLabelPropagationWriteConfig> computationResult
+    ) {
+        return CommunitiesTranslator.INSTANCE;
+    }
+
+    @Override
+    protected AbstractResultBuilder<WriteResult> resultBuilder(
+        ComputationResult<SpeakerListenerLabelPropagation, SpeakerListenerLabelPropagation, SpeakerListenerLabelPropagationWriteConfig> computeResult
+    ) {
+        WriteResult.Builder builder = new WriteResult.Builder();
+        if (!computeResult.isGraphEmpty()) {
+            SpeakerListenerLabelPropagation slpa = computeResult.result();
+            builder
+                .withRanIterations(slpa.ranIterations())
+                .withCommunityCount(slpa.communityCount());
+        }
+        return builder;
+    }
+
+    static final class CommunitiesTranslator implements PropertyTranslator.OfLongArray<SpeakerListenerLabelPropagation> {
+        public static final CommunitiesTranslator INSTANCE = new CommunitiesTranslator();
+
+        @Override
+        public long[] toLongArray(SpeakerListenerLabelPropagation slpa, long nodeId) {
+            return slpa.communities(nodeId);
+        }
+    }
+
+    public static final class WriteResult {
+
+        public final long nodePropertiesWritten;
+        public final long createMillis;
+        public final long computeMillis;
+        public final long writeMillis;
+        public final long ranIterations;
+        public final long communityCount;
+        public final Map<String, Object> configuration;
+
+        WriteResult(
+            long nodePropertiesWritten,
+            long createMillis,
+            long computeMillis,
+            long writeMillis,
+            long ranIterations,
+            long communityCount,
+            Map<String, Object> configuration
+        ) {
+            this.nodePropertiesWritten = nodePropertiesWritten;
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+            this.writeMillis = writeMillis;
+            this.ranIterations = ranIterations;
+            this.communityCount = communityCount;
+            this.configuration = configuration;
+        }
+
+        static class Builder extends AbstractResultBuilder<WriteResult> {
+
+            private long ranIterations;
+            private long communityCount;
+
+            Builder withRanIterations(long ranIterations) {
+                this.ranIterations = ranIterations;
+                return this;
+            }
+
+            Builder withCommunityCount(long communityCount) {
+                this.communityCount = communityCount;
+                return this;
+            }
+
+            @Override
+            public WriteResult build() {
+                return new WriteResult(
+                    nodePropertiesWritten,
+                    createMillis,
+                    computeMillis,
+                    writeMillis,
+                    ranIterations,
+                    communityCount,
+                    config.toMap()
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.k1coloring;
+
+import org.intellij.lang.annotations.Language;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.GdsCypher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class K1ColoringStatsProcTest extends K1ColoringProcBaseTest {
+
+    @Override
+    void registerProcs() throws Exception {
+        registerProcedures(K1ColoringStatsProc.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void testStats(boolean largestDegreeFirst) {
+        @Language("Cypher")
+        String query = algoBuildStage()
+            .statsMode()
+            .addParameter("largestDegreeFirst", largestDegreeFirst)
+            .yields("nodeCount", "colorCount", "ranIterations", "didConverge", "skippedNodeVisits");
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(4L, row.getNumber("nodeCount").longValue());
+            assertEquals(2L, row.getNumber("colorCount").longValue());
+            long ranIterations = row.getNumber("ranIterations").longValue();
+            assertTrue(ranIterations >= 1L);
+            assertTrue(row.getBoolean("didConverge"));
+            long skippedNodeVisits = row.getNumber("skippedNodeVisits").longValue();
+            if (largestDegreeFirst) {
+                // the first iteration visits all nodes, the later ones only those in the worklist
+                assertTrue(skippedNodeVisits >= 0L);
+                assertTrue(skippedNodeVisits <= (ranIterations - 1) * 4L);
+            } else {
+                assertEquals(0L, skippedNodeVisits);
+            }
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void testStatsEstimate(boolean largestDegreeFirst) {
+        @Language("Cypher")
+        String query = algoBuildStage()
+            .estimationMode(GdsCypher.ExecutionModes.STATS)
+            .addParameter("largestDegreeFirst", largestDegreeFirst)
+            .yields("bytesMin", "bytesMax");
+
+        runQueryWithRowConsumer(query, row -> {
+            assertTrue(row.getNumber("bytesMin").longValue() > 0);
+            assertTrue(row.getNumber("bytesMax").longValue() > 0);
+        });
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.kcore;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.catalog.GraphWriteNodePropertiesProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.functions.GetNodeFunc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KCoreDecompositionProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {name: 'a'})" +
+        ", (b:Node {name: 'b'})" +
+        ", (c:Node {name: 'c'})" +
+        ", (d:Node {name: 'd'})" +
+        ", (e:Node {name: 'e'})" +
+        ", (f:Node {name: 'f'})" +
+        ", (a)-[:REL]->(b)" +
+        ", (a)-[:REL]->(c)" +
+        ", (a)-[:REL]->(d)" +
+        ", (b)-[:REL]->(c)" +
+        ", (b)-[:REL]->(d)" +
+        ", (c)-[:REL]->(d)" +
+        ", (d)-[:REL]->(e)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(
+            GraphCreateProc.class,
+            GraphWriteNodePropertiesProc.class,
+            KCoreDecompositionStreamProc.class,
+            KCoreDecompositionStatsProc.class,
+            KCoreDecompositionWriteProc.class,
+            KCoreDecompositionMutateProc.class
+        );
+        registerFunctions(GetNodeFunc.class);
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('g', 'Node', {REL: {orientation: 'UNDIRECTED'}})");
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void testStream() {
+        Map<String, Long> coreValues = new HashMap<>();
+        runQueryWithRowConsumer(
+            "CALL gds.beta.kcore.stream('g') YIELD nodeId, coreValue " +
+            "RETURN gds.util.asNode(nodeId).name AS name, coreValue",
+            row -> coreValues.put(row.getString("name"), row.getNumber("coreValue").longValue())
+        );
+
+        assertEquals(Map.of("a", 3L, "b", 3L, "c", 3L, "d", 3L, "e", 1L, "f", 0L), coreValues);
+    }
+
+    @Test
+    void testStats() {
+        runQueryWithRowConsumer("CALL gds.beta.kcore.stats('g')", row -> {
+            assertEquals(3L, row.getNumber("degeneracy"));
+            assertEquals(6L, row.getNumber("nodeCount"));
+        });
+    }
+
+    @Test
+    void testWrite() {
+        runQueryWithRowConsumer("CALL gds.beta.kcore.write('g', {writeProperty: 'core'})", row -> {
+            assertEquals(3L, row.getNumber("degeneracy"));
+            assertEquals(6L, row.getNumber("nodePropertiesWritten"));
+        });
+
+        runQueryWithRowConsumer(
+            "MATCH (n:Node) WHERE n.name IN ['a', 'e', 'f'] RETURN n.name AS name, n.core AS core ORDER BY name",
+            row -> {
+                String name = row.getString("name");
+                long expected = name.equals("a") ? 3L : name.equals("e") ? 1L : 0L;
+                assertEquals(expected, row.getNumber("core").longValue());
+            }
+        );
+    }
+
+    @Test
+    void testMutate() {
+        runQueryWithRowConsumer("CALL gds.beta.kcore.mutate('g', {mutateProperty: 'core'})", row -> {
+            assertEquals(3L, row.getNumber("degeneracy"));
+            assertEquals(6L, row.getNumber("nodePropertiesWritten"));
+        });
+
+        runQuery("CALL gds.graph.writeNodeProperties('g', ['core'])");
+        runQueryWithRowConsumer(
+            "MATCH (n:Node {name: 'a'}) RETURN n.core AS core",
+            row -> assertEquals(3L, row.getNumber("core").longValue())
+        );
+    }
+
+    @Test
+    void testEstimate() {
+        runQueryWithRowConsumer("CALL gds.beta.kcore.stream.estimate('g', {})", row -> {
+            assertTrue(row.getNumber("bytesMin").longValue() > 0);
+            assertEquals(row.getNumber("bytesMin"), row.getNumber("bytesMax"));
+        });
+    }
+
+    @Test
+    void shouldFailOnDirectedProjection() {
+        runQuery("CALL gds.graph.create('directed', 'Node', 'REL')");
+
+        assertError("CALL gds.beta.kcore.stream('directed')", "Procedure requires relationship projections to be UNDIRECTED");
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.leiden;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.catalog.GraphWriteNodePropertiesProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.functions.GetNodeFunc;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeidenProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {name: 'a'})" +
+        ", (b:Node {name: 'b'})" +
+        ", (c:Node {name: 'c'})" +
+        ", (d:Node {name: 'd'})" +
+        ", (e:Node {name: 'e'})" +
+        ", (f:Node {name: 'f'})" +
+        ", (g:Node {name: 'g'})" +
+        ", (h:Node {name: 'h'})" +
+        ", (a)-[:TYPE]->(b)" +
+        ", (a)-[:TYPE]->(c)" +
+        ", (a)-[:TYPE]->(d)" +
+        ", (b)-[:TYPE]->(c)" +
+        ", (b)-[:TYPE]->(d)" +
+        ", (c)-[:TYPE]->(d)" +
+        ", (d)-[:TYPE]->(e)" +
+        ", (e)-[:TYPE]->(f)" +
+        ", (e)-[:TYPE]->(g)" +
+        ", (e)-[:TYPE]->(h)" +
+        ", (f)-[:TYPE]->(g)" +
+        ", (f)-[:TYPE]->(h)" +
+        ", (g)-[:TYPE]->(h)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(
+            GraphCreateProc.class,
+            GraphWriteNodePropertiesProc.class,
+            LeidenStreamProc.class,
+            LeidenStatsProc.class,
+            LeidenWriteProc.class,
+            LeidenMutateProc.class
+        );
+        registerFunctions(GetNodeFunc.class);
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('g', 'Node', {TYPE: {orientation: 'UNDIRECTED'}})");
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void testStream() {
+        Map<String, Long> communities = new HashMap<>();
+        runQueryWithRowConsumer(
+            "CALL gds.beta.leiden.stream('g') YIELD nodeId, communityId " +
+            "RETURN gds.util.asNode(nodeId).name AS name, communityId",
+            row -> communities.put(row.getString("name"), row.getNumber("communityId").longValue())
+        );
+
+        assertEquals(8, communities.size());
+        assertEquals(communities.get("a"), communities.get("b"));
+        assertEquals(communities.get("a"), communities.get("c"));
+        assertEquals(communities.get("a"), communities.get("d"));
+        assertEquals(communities.get("e"), communities.get("f"));
+        assertEquals(communities.get("e"), communities.get("g"));
+        assertEquals(communities.get("e"), communities.get("h"));
+        assertNotEquals(communities.get("a"), communities.get("e"));
+    }
+
+    @Test
+    void testStreamWithIntermediateCommunities() {
+        runQueryWithRowConsumer(
+            "CALL gds.beta.leiden.stream('g', {includeIntermediateCommunities: true}) " +
+            "YIELD communityId, intermediateCommunityIds",
+            row -> {
+                List<Object> intermediateCommunityIds = (List<Object>) row.get("intermediateCommunityIds");
+                assertEquals(
+                    row.getNumber("communityId").longValue(),
+                    ((Number) intermediateCommunityIds.get(intermediateCommunityIds.size() - 1)).longValue()
+                );
+            }
+        );
+    }
+
+    @Test
+    void testStats() {
+        runQueryWithRowConsumer("CALL gds.beta.leiden.stats('g')", row -> {
+            assertEquals(2L, row.getNumber("communityCount"));
+            assertTrue(row.getNumber("ranLevels").longValue() > 0);
+            assertTrue(row.getNumber("modularity").doubleValue() > 0);
+            assertEquals(4L, ((Map) row.get("communityDistribution")).get("max"));
+        });
+    }
+
+    @Test
+    void testWrite() {
+        runQueryWithRowConsumer("CALL gds.beta.leiden.write('g', {writeProperty: 'leiden'})", row -> {
+            assertEquals(2L, row.getNumber("communityCount"));
+            assertEquals(8L, row.getNumber("nodePropertiesWritten"));
+        });
+
+        runQueryWithRowConsumer(
+            "MATCH (n:Node) RETURN count(DISTINCT n.leiden) AS communities",
+            row -> assertEquals(2L, row.getNumber("communities"))
+        );
+    }
+
+    @Test
+    void testWriteWithConsecutiveIds() {
+        runQuery("CALL gds.beta.leiden.write('g', {writeProperty: 'leiden', consecutiveIds: true})");
+
+        runQueryWithRowConsumer(
+            "MATCH (n:Node) RETURN min(n.leiden) AS min, max(n.leiden) AS max",
+            row -> {
+                assertEquals(0L, row.getNumber("min"));
+                assertEquals(1L, row.getNumber("max"));
+            }
+        );
+    }
+
+    @Test
+    void testMutate() {
+        runQueryWithRowConsumer(
+            "CALL gds.beta.leiden.mutate('g', {mutateProperty: 'leiden'})",
+            row -> assertEquals(2L, row.getNumber("communityCount"))
+        );
+
+        runQuery("CALL gds.graph.writeNodeProperties('g', ['leiden'])");
+        runQueryWithRowConsumer(
+            "MATCH (n:Node) RETURN count(DISTINCT n.leiden) AS communities",
+            row -> assertEquals(2L, row.getNumber("communities"))
+        );
+    }
+
+    @Test
+    void testEstimate() {
+        runQueryWithRowConsumer("CALL gds.beta.leiden.stream.estimate('g', {})", row -> {
+            assertTrue(row.getNumber("bytesMin").longValue() > 0);
+        });
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.quality;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationMutateProc;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommunityQualityProcTest extends BaseProcTest {
+
+    // two triangles that are connected by a single relationship
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {community: 0})" +
+        ", (b:Node {community: 0})" +
+        ", (c:Node {community: 0})" +
+        ", (d:Node {community: 1})" +
+        ", (e:Node {community: 1})" +
+        ", (f:Node {community: 1})" +
+        ", (a)-[:TYPE]->(b)" +
+        ", (b)-[:TYPE]->(c)" +
+        ", (c)-[:TYPE]->(a)" +
+        ", (d)-[:TYPE]->(e)" +
+        ", (e)-[:TYPE]->(f)" +
+        ", (f)-[:TYPE]->(d)" +
+        ", (c)-[:TYPE]->(d)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(
+            GraphCreateProc.class,
+            CommunityQualityStatsProc.class,
+            CommunityQualityStreamProc.class,
+            ModularityOptimizationMutateProc.class
+        );
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('g', {Node: {properties: 'community'}}, {TYPE: {orientation: 'UNDIRECTED'}})");
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void testStream() {
+        AtomicLong rows = new AtomicLong();
+        runQueryWithRowConsumer(
+            "CALL gds.beta.communityQuality.stream('g', {communityProperty: 'community'}) " +
+            "YIELD communityId, nodeCount, internalRelationshipCount, externalRelationshipCount, conductance",
+            row -> {
+                rows.incrementAndGet();
+                assertEquals(3L, row.getNumber("nodeCount"));
+                assertEquals(3L, row.getNumber("internalRelationshipCount"));
+                assertEquals(1L, row.getNumber("externalRelationshipCount"));
+                assertEquals(1.0 / 7.0, row.getNumber("conductance").doubleValue(), 1e-9);
+            }
+        );
+        assertEquals(2L, rows.get());
+    }
+
+    @Test
+    void testStats() {
+        runQueryWithRowConsumer(
+            "CALL gds.beta.communityQuality.stats('g', {communityProperty: 'community'})",
+            row -> {
+                assertEquals(5.0 / 14.0, row.getNumber("modularity").doubleValue(), 1e-9);
+                assertEquals(2L, row.getNumber("communityCount"));
+                assertEquals(6L, row.getNumber("internalRelationshipCount"));
+                assertEquals(1L, row.getNumber("externalRelationshipCount"));
+                assertTrue(row.getNumber("computeMillis").longValue() >= 0);
+
+                Map<String, Object> communityDistribution = (Map<String, Object>) row.get("communityDistribution");
+                assertEquals(3L, communityDistribution.get("min"));
+                assertEquals(3L, communityDistribution.get("max"));
+
+                Map<String, Object> conductanceDistribution = (Map<String, Object>) row.get("conductanceDistribution");
+                assertEquals(1.0 / 7.0, (double) conductanceDistribution.get("mean"), 1e-3);
+            }
+        );
+    }
+
+    @Test
+    void testStatsOnMutatedCommunities() {
+        AtomicLong communityCount = new AtomicLong();
+        double[] modularity = new double[1];
+        runQueryWithRowConsumer(
+            "CALL gds.beta.modularityOptimization.mutate('g', {mutateProperty: 'modularityCommunity'}) " +
+            "YIELD communityCount, modularity",
+            row -> {
+                communityCount.set(row.getNumber("communityCount").longValue());
+                modularity[0] = row.getNumber("modularity").doubleValue();
+            }
+        );
+
+        runQueryWithRowConsumer(
+            "CALL gds.beta.communityQuality.stats('g', {communityProperty: 'modularityCommunity'}) " +
+            "YIELD communityCount, modularity",
+            row -> {
+                assertEquals(communityCount.get(), row.getNumber("communityCount").longValue());
+                assertEquals(modularity[0], row.getNumber("modularity").doubleValue(), 1e-3);
+            }
+        );
+    }
+
+    @Test
+    void testFailOnMissingCommunityProperty() {
+        assertError(
+            "CALL gds.beta.communityQuality.stats('g', {communityProperty: 'foo'})",
+            "Community property `foo` not found"
+        );
+    }
+
+    @Test
+    void testEstimate() {
+        runQueryWithRowConsumer(
+            "CALL gds.beta.communityQuality.stream.estimate('g', {communityProperty: 'community'}) YIELD bytesMin, bytesMax",
+            row -> {
+                long bytesMin = row.getNumber("bytesMin").longValue();
+                assertTrue(bytesMin > 0);
+                // incoming weights are only tracked for directed graphs
+                assertTrue(bytesMin < row.getNumber("bytesMax").longValue());
+            }
+        );
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.scc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.catalog.GraphWriteNodePropertiesProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.functions.GetNodeFunc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StronglyConnectedComponentsProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {name: 'a'})" +
+        ", (b:Node {name: 'b'})" +
+        ", (c:Node {name: 'c'})" +
+        ", (d:Node {name: 'd'})" +
+        ", (e:Node {name: 'e'})" +
+        ", (f:Node {name: 'f'})" +
+        ", (g:Node {name: 'g'})" +
+        ", (a)-[:REL]->(b)" +
+        ", (b)-[:REL]->(c)" +
+        ", (c)-[:REL]->(a)" +
+        ", (c)-[:REL]->(d)" +
+        ", (d)-[:REL]->(e)" +
+        ", (e)-[:REL]->(f)" +
+        ", (f)-[:REL]->(d)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(
+            GraphCreateProc.class,
+            GraphWriteNodePropertiesProc.class,
+            StronglyConnectedComponentsStreamProc.class,
+            StronglyConnectedComponentsStatsProc.class,
+            StronglyConnectedComponentsWriteProc.class,
+            StronglyConnectedComponentsMutateProc.class
+        );
+        registerFunctions(GetNodeFunc.class);
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('g', 'Node', 'REL')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void testStream() {
+        Map<String, Long> components = new HashMap<>();
+        runQueryWithRowConsumer(
+            "CALL gds.beta.scc.stream('g') YIELD nodeId, componentId " +
+            "RETURN gds.util.asNode(nodeId).name AS name, componentId",
+            row -> components.put(row.getString("name"), row.getNumber("componentId").longValue())
+        );
+
+        assertEquals(7, components.size());
+        assertEquals(components.get("a"), components.get("b"));
+        assertEquals(components.get("a"), components.get("c"));
+        assertEquals(components.get("d"), components.get("e"));
+        assertEquals(components.get("d"), components.get("f"));
+        assertNotEquals(components.get("a"), components.get("d"));
+        assertNotEquals(components.get("a"), components.get("g"));
+        assertNotEquals(components.get("d"), components.get("g"));
+    }
+
+    @Test
+    void testStats() {
+        runQueryWithRowConsumer("CALL gds.beta.scc.stats('g')", row -> {
+            assertEquals(3L, row.getNumber("componentCount"));
+            assertEquals(3L, ((Map) row.get("componentDistribution")).get("max"));
+        });
+    }
+
+    @Test
+    void testWrite() {
+        runQueryWithRowConsumer("CALL gds.beta.scc.write('g', {writeProperty: 'scc'})", row -> {
+            assertEquals(3L, row.getNumber("componentCount"));
+            assertEquals(7L, row.getNumber("nodePropertiesWritten"));
+        });
+
+        runQueryWithRowConsumer(
+            "MATCH (n:Node) RETURN count(DISTINCT n.scc) AS components",
+            row -> assertEquals(3L, row.getNumber("components"))
+        );
+    }
+
+    @Test
+    void testMutate() {
+        runQueryWithRowConsumer("CALL gds.beta.scc.mutate('g', {mutateProperty: 'scc'})", row -> {
+            assertEquals(3L, row.getNumber("componentCount"));
+            assertEquals(7L, row.getNumber("nodePropertiesWritten"));
+        });
+
+        runQuery("CALL gds.graph.writeNodeProperties('g', ['scc'])");
+        runQueryWithRowConsumer(
+            "MATCH (n:Node) RETURN count(DISTINCT n.scc) AS components",
+            row -> assertEquals(3L, row.getNumber("components"))
+        );
+    }
+
+    @Test
+    void testEstimate() {
+        runQueryWithRowConsumer("CALL gds.beta.scc.stream.estimate('g', {})", row -> {
+            assertTrue(row.getNumber("bytesMin").longValue() > 0);
+        });
+    }
+}
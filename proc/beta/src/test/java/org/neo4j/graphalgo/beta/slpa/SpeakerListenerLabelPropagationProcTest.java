@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.slpa;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.functions.GetNodeFunc;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpeakerListenerLabelPropagationProcTest extends BaseProcTest {
+
+    // two cliques, x is connected to both of them
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {name: 'a'})" +
+        ", (b:Node {name: 'b'})" +
+        ", (c:Node {name: 'c'})" +
+        ", (d:Node {name: 'd'})" +
+        ", (e:Node {name: 'e'})" +
+        ", (f:Node {name: 'f'})" +
+        ", (g:Node {name: 'g'})" +
+        ", (h:Node {name: 'h'})" +
+        ", (i:Node {name: 'i'})" +
+        ", (j:Node {name: 'j'})" +
+        ", (x:Node {name: 'x'})" +
+        ", (a)-[:TYPE]->(b), (a)-[:TYPE]->(c), (a)-[:TYPE]->(d), (a)-[:TYPE]->(e)" +
+        ", (b)-[:TYPE]->(c), (b)-[:TYPE]->(d), (b)-[:TYPE]->(e)" +
+        ", (c)-[:TYPE]->(d), (c)-[:TYPE]->(e)" +
+        ", (d)-[:TYPE]->(e)" +
+        ", (f)-[:TYPE]->(g), (f)-[:TYPE]->(h), (f)-[:TYPE]->(i), (f)-[:TYPE]->(j)" +
+        ", (g)-[:TYPE]->(h), (g)-[:TYPE]->(i), (g)-[:TYPE]->(j)" +
+        ", (h)-[:TYPE]->(i), (h)-[:TYPE]->(j)" +
+        ", (i)-[:TYPE]->(j)" +
+        ", (x)-[:TYPE]->(a), (x)-[:TYPE]->(b), (x)-[:TYPE]->(f), (x)-[:TYPE]->(g)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(
+            GraphCreateProc.class,
+            SpeakerListenerLabelPropagationStreamProc.class,
+            SpeakerListenerLabelPropagationWriteProc.class
+        );
+        registerFunctions(GetNodeFunc.class);
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('g', 'Node', {TYPE: {orientation: 'UNDIRECTED'}})");
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void testStream() {
+        Map<String, Set<Long>> communities = new HashMap<>();
+        runQueryWithRowConsumer(
+            "CALL gds.beta.slpa.stream('g') YIELD nodeId, communityId, strength " +
+            "RETURN gds.util.asNode(nodeId).name AS name, communityId, strength",
+            row -> {
+                double strength = row.getNumber("strength").doubleValue();
+                assertTrue(strength > 0 && strength <= 1);
+                communities
+                    .computeIfAbsent(row.getString("name"), ignore -> new TreeSet<>())
+                    .add(row.getNumber("communityId").longValue());
+            }
+        );
+
+        assertEquals(11, communities.size());
+        for (String name : new String[]{"b", "c", "d", "e"}) {
+            assertEquals(communities.get("a"), communities.get(name));
+        }
+        for (String name : new String[]{"g", "h", "i", "j"}) {
+            assertEquals(communities.get("f"), communities.get(name));
+        }
+        assertEquals(1, communities.get("a").size());
+        assertEquals(1, communities.get("f").size());
+        assertNotEquals(communities.get("a"), communities.get("f"));
+
+        Set<Long> expectedOverlap = new TreeSet<>(communities.get("a"));
+        expectedOverlap.addAll(communities.get("f"));
+        assertEquals(expectedOverlap, communities.get("x"));
+    }
+
+    @Test
+    void testWrite() {
+        runQueryWithRowConsumer("CALL gds.beta.slpa.write('g', {writeProperty: 'communities'})", row -> {
+            assertEquals(2L, row.getNumber("communityCount"));
+            assertEquals(20L, row.getNumber("ranIterations"));
+            assertEquals(11L, row.getNumber("nodePropertiesWritten"));
+        });
+
+        runQueryWithRowConsumer(
+            "MATCH (a:Node {name: 'a'}), (f:Node {name: 'f'}), (x:Node {name: 'x'}) " +
+            "RETURN a.communities AS a, f.communities AS f, x.communities AS x",
+            row -> {
+                long[] a = (long[]) row.get("a");
+                long[] f = (long[]) row.get("f");
+                long[] x = (long[]) row.get("x");
+                assertEquals(1, a.length);
+                assertEquals(1, f.length);
+                long[] expected = a[0] < f[0] ? new long[]{a[0], f[0]} : new long[]{f[0], a[0]};
+                assertArrayEquals(expected, x);
+            }
+        );
+    }
+
+    @Test
+    void shouldFailForTooManyIterations() {
+        assertError(
+            "CALL gds.beta.slpa.stream('g', {maxIterations: 1001})",
+            "Value for `maxIterations` must be between 1 and 1000, but got 1001"
+        );
+    }
+
+    @Test
+    void testEstimate() {
+        runQueryWithRowConsumer(
+            "CALL gds.beta.slpa.stream.estimate('g', {}) YIELD bytesMin, bytesMax",
+            row -> {
+                long bytesMin = row.getNumber("bytesMin").longValue();
+                assertTrue(bytesMin > 0);
+                assertTrue(row.getNumber("bytesMax").longValue() >= bytesMin);
+            }
+        );
+
+        runQueryWithRowConsumer(
+            "CALL gds.beta.slpa.stream.estimate('g', {maxIterations: 100}) YIELD bytesMin",
+            row -> assertTrue(row.getNumber("bytesMin").longValue() > 11 * 100 * Long.BYTES)
+        );
+    }
+}
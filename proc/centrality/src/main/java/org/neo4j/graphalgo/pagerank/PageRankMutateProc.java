@@ -94,6 +94,7 @@ public class PageRankMutateProc extends MutateProc<PageRank, PageRank, PageRankM
         public long mutateMillis;
         public long ranIterations;
         public boolean didConverge;
+        public long estimatedIterationsSaved;
         public Map<String, Object> configuration;
 
         MutateResult(
@@ -103,6 +104,7 @@ public class PageRankMutateProc extends MutateProc<PageRank, PageRank, PageRankM
             long mutateMillis,
             long ranIterations,
             boolean didConverge,
+            long estimatedIterationsSaved,
             Map<String, Object> configuration
         ) {
             this.nodePropertiesWritten = nodePropertiesWritten;
@@ -111,6 +113,7 @@ public class PageRankMutateProc extends MutateProc<PageRank, PageRank, PageRankM
             this.mutateMillis = mutateMillis;
             this.ranIterations = ranIterations;
             this.didConverge = didConverge;
+            this.estimatedIterationsSaved = estimatedIterationsSaved;
             this.configuration = configuration;
         }
 
@@ -125,6 +128,7 @@ public class PageRankMutateProc extends MutateProc<PageRank, PageRank, PageRankM
                     mutateMillis,
                     ranIterations,
                     didConverge,
+                    estimatedIterationsSaved,
                     config.toMap()
                 );
             }
@@ -44,7 +44,8 @@ final class PageRankProc {
     ) {
         return procResultBuilder
             .withDidConverge(!computeResult.isGraphEmpty() && computeResult.result().didConverge())
-            .withRanIterations(!computeResult.isGraphEmpty() ? computeResult.result().iterations() : 0);
+            .withRanIterations(!computeResult.isGraphEmpty() ? computeResult.result().iterations() : 0)
+            .withEstimatedIterationsSaved(!computeResult.isGraphEmpty() ? computeResult.result().estimatedIterationsSaved() : 0);
     }
 
     abstract static class PageRankResultBuilder<PROC_RESULT> extends AbstractResultBuilder<PROC_RESULT> {
@@ -53,6 +54,8 @@ final class PageRankProc {
 
         protected boolean didConverge;
 
+        protected long estimatedIterationsSaved;
+
         PageRankResultBuilder<PROC_RESULT> withRanIterations(long ranIterations) {
             this.ranIterations = ranIterations;
             return this;
@@ -62,6 +65,11 @@ final class PageRankProc {
             this.didConverge = didConverge;
             return this;
         }
+
+        PageRankResultBuilder<PROC_RESULT> withEstimatedIterationsSaved(long estimatedIterationsSaved) {
+            this.estimatedIterationsSaved = estimatedIterationsSaved;
+            return this;
+        }
     }
 
     static final class ScoresTranslator implements PropertyTranslator.OfDouble<PageRank> {
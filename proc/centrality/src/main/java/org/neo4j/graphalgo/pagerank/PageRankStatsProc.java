@@ -85,6 +85,7 @@ public class PageRankStatsProc extends StatsProc<PageRank, PageRank, PageRankSta
         public long computeMillis;
         public long ranIterations;
         public boolean didConverge;
+        public long estimatedIterationsSaved;
         public Map<String, Object> configuration;
 
         StatsResult(
@@ -92,12 +93,14 @@ public class PageRankStatsProc extends StatsProc<PageRank, PageRank, PageRankSta
             long computeMillis,
             long ranIterations,
             boolean didConverge,
+            long estimatedIterationsSaved,
             Map<String, Object> configuration
         ) {
             this.createMillis = createMillis;
             this.computeMillis = computeMillis;
             this.ranIterations = ranIterations;
             this.didConverge = didConverge;
+            this.estimatedIterationsSaved = estimatedIterationsSaved;
             this.configuration = configuration;
         }
 
@@ -110,6 +113,7 @@ public class PageRankStatsProc extends StatsProc<PageRank, PageRank, PageRankSta
                     computeMillis,
                     ranIterations,
                     didConverge,
+                    estimatedIterationsSaved,
                     config.toMap()
                 );
             }
@@ -95,6 +95,7 @@ public class PageRankWriteProc extends WriteProc<PageRank, PageRank, PageRankWri
         public long writeMillis;
         public long ranIterations;
         public boolean didConverge;
+        public long estimatedIterationsSaved;
         public Map<String, Object> configuration;
 
         WriteResult(
@@ -104,6 +105,7 @@ public class PageRankWriteProc extends WriteProc<PageRank, PageRank, PageRankWri
             long writeMillis,
             long ranIterations,
             boolean didConverge,
+            long estimatedIterationsSaved,
             Map<String, Object> configuration
         ) {
             this.nodePropertiesWritten = nodePropertiesWritten;
@@ -112,6 +114,7 @@ public class PageRankWriteProc extends WriteProc<PageRank, PageRank, PageRankWri
             this.writeMillis = writeMillis;
             this.ranIterations = ranIterations;
             this.didConverge = didConverge;
+            this.estimatedIterationsSaved = estimatedIterationsSaved;
             this.configuration = configuration;
         }
 
@@ -126,6 +129,7 @@ public class PageRankWriteProc extends WriteProc<PageRank, PageRank, PageRankWri
                     writeMillis,
                     ranIterations,
                     didConverge,
+                    estimatedIterationsSaved,
                     config.toMap()
                 );
             }
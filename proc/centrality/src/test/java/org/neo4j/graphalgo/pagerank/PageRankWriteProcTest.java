@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.pagerank;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.graphalgo.AlgoBaseProc;
@@ -153,6 +154,42 @@ class PageRankWriteProcTest extends PageRankProcTest<PageRankWriteConfig> implem
 
     }
 
+    @Test
+    void testWarmStartYieldsEstimatedIterationsSaved() {
+        String coldQuery = GdsCypher.call()
+            .withAnyLabel()
+            .withAnyRelationshipType()
+            .algo("gds.pageRank")
+            .writeMode()
+            .addParameter("writeProperty", "pagerank")
+            .addParameter("maxIterations", 100)
+            .addParameter("tolerance", 1e-4)
+            .yields("ranIterations", "estimatedIterationsSaved");
+
+        long[] coldIterations = {-1};
+        runQueryWithRowConsumer(coldQuery, row -> {
+            coldIterations[0] = row.getNumber("ranIterations").longValue();
+            assertEquals(0L, row.getNumber("estimatedIterationsSaved").longValue());
+        });
+
+        String warmQuery = GdsCypher.call()
+            .withAnyLabel()
+            .withAnyRelationshipType()
+            .withNodeProperty("pagerank")
+            .algo("gds.pageRank")
+            .writeMode()
+            .addParameter("writeProperty", "pagerank")
+            .addParameter("seedProperty", "pagerank")
+            .addParameter("maxIterations", 100)
+            .addParameter("tolerance", 1e-4)
+            .yields("ranIterations", "estimatedIterationsSaved");
+
+        runQueryWithRowConsumer(warmQuery, row -> {
+            assertTrue(row.getNumber("ranIterations").longValue() < coldIterations[0]);
+            assertTrue(row.getNumber("estimatedIterationsSaved").longValue() > 0);
+        });
+    }
+
     @Override
     public PageRankWriteConfig createConfig(CypherMapWrapper mapWrapper) {
         return PageRankWriteConfig.of(
@@ -423,8 +423,8 @@ class LabelPropagationWriteProcTest extends LabelPropagationProcTest<LabelPropag
         assertCypherResult(query, Arrays.asList(MapUtil.map(
             "nodeCount", 12L,
             "relationshipCount", 10L,
-            "bytesMin", 1656L,
-            "bytesMax", 2168L
+            "bytesMin", 1848L,
+            "bytesMax", 3960L
         )));
     }
 }
@@ -22,10 +22,14 @@ package org.neo4j.graphalgo;
 import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.centrality.AdaptiveSamplingBetweennessCentralityProc;
+import org.neo4j.graphalgo.centrality.ApproximatePersonalizedPageRankProc;
 import org.neo4j.graphalgo.centrality.ArticleRankProc;
 import org.neo4j.graphalgo.centrality.BetweennessCentralityProc;
 import org.neo4j.graphalgo.centrality.ClosenessCentralityProc;
 import org.neo4j.graphalgo.centrality.DegreeCentralityProc;
+import org.neo4j.graphalgo.centrality.HugeBetweennessCentralityProc;
+import org.neo4j.graphalgo.centrality.HyperBallCentralityProc;
 import org.neo4j.graphalgo.centrality.SampledBetweennessCentralityProc;
 import org.neo4j.graphalgo.centrality.eigenvector.EigenvectorCentralityProc;
 import org.neo4j.graphalgo.compat.MapUtil;
@@ -49,6 +53,7 @@ import org.neo4j.graphalgo.spanningtree.KSpanningTreeProc;
 import org.neo4j.graphalgo.spanningtree.SpanningTreeProc;
 import org.neo4j.graphalgo.traverse.TraverseProc;
 import org.neo4j.graphalgo.triangle.TriangleProc;
+import org.neo4j.graphalgo.triangle.WedgeSamplingTriangleCountProc;
 import org.neo4j.graphalgo.walking.RandomWalkProc;
 
 import java.util.Collection;
@@ -73,12 +78,20 @@ class AlphaListProcTest extends BaseProcTest {
         "gds.alpha.betweenness.stream",
         "gds.alpha.betweenness.sampled.write",
         "gds.alpha.betweenness.sampled.stream",
+        "gds.alpha.betweenness.adaptive.write",
+        "gds.alpha.betweenness.adaptive.stream",
+        "gds.alpha.betweenness.huge.write",
+        "gds.alpha.betweenness.huge.stream",
         "gds.alpha.bfs.stream",
         "gds.alpha.closeness.write",
         "gds.alpha.closeness.stream",
+        "gds.alpha.closeness.approximate.write",
+        "gds.alpha.closeness.approximate.stream",
         "gds.alpha.degree.write",
         "gds.alpha.degree.stream",
         "gds.alpha.dfs.stream",
+        "gds.alpha.personalizedPageRank.write",
+        "gds.alpha.personalizedPageRank.stream",
         "gds.alpha.scc.write",
         "gds.alpha.scc.stream",
         "gds.alpha.shortestPath.deltaStepping.write",
@@ -102,6 +115,8 @@ class AlphaListProcTest extends BaseProcTest {
         "gds.alpha.spanningTree.maximum.write",
         "gds.alpha.spanningTree.minimum.write",
         "gds.alpha.triangle.stream",
+        "gds.alpha.triangleCount.estimate.stream",
+        "gds.alpha.triangleCount.estimate.stats",
         "gds.alpha.eigenvector.write",
         "gds.alpha.eigenvector.stream",
         "gds.alpha.kShortestPaths.write",
@@ -139,14 +154,18 @@ class AlphaListProcTest extends BaseProcTest {
     @BeforeEach
     void setUp() throws Exception {
         registerProcedures(
+            AdaptiveSamplingBetweennessCentralityProc.class,
             AllShortestPathsProc.class,
             ApproxNearestNeighborsProc.class,
+            ApproximatePersonalizedPageRankProc.class,
             ArticleRankProc.class,
             BetweennessCentralityProc.class,
             ClosenessCentralityProc.class,
             DegreeCentralityProc.class,
             DijkstraProc.class,
             EigenvectorCentralityProc.class,
+            HugeBetweennessCentralityProc.class,
+            HyperBallCentralityProc.class,
             IsFiniteFunc.class,
             KShortestPathsProc.class,
             KSpanningTreeProc.class,
@@ -165,7 +184,8 @@ class AlphaListProcTest extends BaseProcTest {
             SimilaritiesFunc.class,
             SccProc.class,
             TraverseProc.class,
-            TriangleProc.class
+            TriangleProc.class,
+            WedgeSamplingTriangleCountProc.class
         );
         registerFunctions(
             LinkPredictionFunc.class,
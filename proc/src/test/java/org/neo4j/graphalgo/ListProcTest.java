@@ -23,11 +23,28 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.beta.generator.GraphGenerateProc;
 import org.neo4j.graphalgo.beta.k1coloring.K1ColoringMutateProc;
+import org.neo4j.graphalgo.beta.k1coloring.K1ColoringStatsProc;
 import org.neo4j.graphalgo.beta.k1coloring.K1ColoringStreamProc;
 import org.neo4j.graphalgo.beta.k1coloring.K1ColoringWriteProc;
+import org.neo4j.graphalgo.beta.kcore.KCoreDecompositionMutateProc;
+import org.neo4j.graphalgo.beta.kcore.KCoreDecompositionStatsProc;
+import org.neo4j.graphalgo.beta.kcore.KCoreDecompositionStreamProc;
+import org.neo4j.graphalgo.beta.kcore.KCoreDecompositionWriteProc;
+import org.neo4j.graphalgo.beta.leiden.LeidenMutateProc;
+import org.neo4j.graphalgo.beta.leiden.LeidenStatsProc;
+import org.neo4j.graphalgo.beta.leiden.LeidenStreamProc;
+import org.neo4j.graphalgo.beta.leiden.LeidenWriteProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationMutateProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationStreamProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationWriteProc;
+import org.neo4j.graphalgo.beta.quality.CommunityQualityStatsProc;
+import org.neo4j.graphalgo.beta.quality.CommunityQualityStreamProc;
+import org.neo4j.graphalgo.beta.scc.StronglyConnectedComponentsMutateProc;
+import org.neo4j.graphalgo.beta.scc.StronglyConnectedComponentsStatsProc;
+import org.neo4j.graphalgo.beta.scc.StronglyConnectedComponentsStreamProc;
+import org.neo4j.graphalgo.beta.scc.StronglyConnectedComponentsWriteProc;
+import org.neo4j.graphalgo.beta.slpa.SpeakerListenerLabelPropagationStreamProc;
+import org.neo4j.graphalgo.beta.slpa.SpeakerListenerLabelPropagationWriteProc;
 import org.neo4j.graphalgo.catalog.GraphCreateProc;
 import org.neo4j.graphalgo.catalog.GraphDeleteRelationshipProc;
 import org.neo4j.graphalgo.catalog.GraphDropProc;
@@ -72,15 +89,40 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 class ListProcTest extends BaseProcTest {
 
     private static final List<String> PROCEDURES = asList(
+        "gds.beta.communityQuality.stats",
+        "gds.beta.communityQuality.stats.estimate",
+        "gds.beta.communityQuality.stream",
+        "gds.beta.communityQuality.stream.estimate",
+
         "gds.beta.graph.generate",
 
         "gds.beta.k1coloring.mutate",
         "gds.beta.k1coloring.mutate.estimate",
+        "gds.beta.k1coloring.stats",
+        "gds.beta.k1coloring.stats.estimate",
         "gds.beta.k1coloring.stream",
         "gds.beta.k1coloring.stream.estimate",
         "gds.beta.k1coloring.write",
         "gds.beta.k1coloring.write.estimate",
 
+        "gds.beta.kcore.mutate",
+        "gds.beta.kcore.mutate.estimate",
+        "gds.beta.kcore.stats",
+        "gds.beta.kcore.stats.estimate",
+        "gds.beta.kcore.stream",
+        "gds.beta.kcore.stream.estimate",
+        "gds.beta.kcore.write",
+        "gds.beta.kcore.write.estimate",
+
+        "gds.beta.leiden.mutate",
+        "gds.beta.leiden.mutate.estimate",
+        "gds.beta.leiden.stats",
+        "gds.beta.leiden.stats.estimate",
+        "gds.beta.leiden.stream",
+        "gds.beta.leiden.stream.estimate",
+        "gds.beta.leiden.write",
+        "gds.beta.leiden.write.estimate",
+
         "gds.beta.modularityOptimization.mutate",
         "gds.beta.modularityOptimization.mutate.estimate",
         "gds.beta.modularityOptimization.stream",
@@ -88,6 +130,20 @@ class ListProcTest extends BaseProcTest {
         "gds.beta.modularityOptimization.write",
         "gds.beta.modularityOptimization.write.estimate",
 
+        "gds.beta.scc.mutate",
+        "gds.beta.scc.mutate.estimate",
+        "gds.beta.scc.stats",
+        "gds.beta.scc.stats.estimate",
+        "gds.beta.scc.stream",
+        "gds.beta.scc.stream.estimate",
+        "gds.beta.scc.write",
+        "gds.beta.scc.write.estimate",
+
+        "gds.beta.slpa.stream",
+        "gds.beta.slpa.stream.estimate",
+        "gds.beta.slpa.write",
+        "gds.beta.slpa.write.estimate",
+
         "gds.graph.create",
         "gds.graph.create.cypher",
         "gds.graph.create.cypher.estimate",
@@ -183,9 +239,26 @@ class ListProcTest extends BaseProcTest {
             GraphListProc.class,
             GraphGenerateProc.class,
             GraphDeleteRelationshipProc.class,
+            CommunityQualityStatsProc.class,
+            CommunityQualityStreamProc.class,
             K1ColoringMutateProc.class,
+            K1ColoringStatsProc.class,
             K1ColoringWriteProc.class,
             K1ColoringStreamProc.class,
+            KCoreDecompositionMutateProc.class,
+            KCoreDecompositionStatsProc.class,
+            KCoreDecompositionStreamProc.class,
+            KCoreDecompositionWriteProc.class,
+            LeidenMutateProc.class,
+            LeidenStatsProc.class,
+            LeidenStreamProc.class,
+            LeidenWriteProc.class,
+            StronglyConnectedComponentsMutateProc.class,
+            StronglyConnectedComponentsStatsProc.class,
+            StronglyConnectedComponentsStreamProc.class,
+            StronglyConnectedComponentsWriteProc.class,
+            SpeakerListenerLabelPropagationStreamProc.class,
+            SpeakerListenerLabelPropagationWriteProc.class,
             LabelPropagationWriteProc.class,
             LabelPropagationStreamProc.class,
             LabelPropagationStatsProc.class,
@@ -23,6 +23,7 @@ package org.neo4j.graphalgo;
 import org.immutables.builder.Builder;
 import org.immutables.value.Value;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
 import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
 import org.neo4j.graphalgo.config.ImmutableGraphCreateFromCypherConfig;
@@ -64,7 +65,9 @@ final class GraphCreateConfigBuilders {
         Optional<Integer> concurrency,
         Optional<Orientation> globalProjection,
         Optional<Aggregation> globalAggregation,
-        Optional<Boolean> validateRelationships
+        Optional<Boolean> validateRelationships,
+        Optional<Long> maxAdjacencyBufferMemory,
+        Optional<Boolean> scanPropertyStore
     ) {
         // Node projections
         Map<String, NodeProjection> tempNP = new LinkedHashMap<>();
@@ -120,6 +123,8 @@ final class GraphCreateConfigBuilders {
             .relationshipProperties(relationshipPropertyMappings)
             .readConcurrency(concurrency.orElse(AlgoBaseConfig.DEFAULT_CONCURRENCY))
             .validateRelationships(validateRelationships.orElse(false))
+            .maxAdjacencyBufferMemory(maxAdjacencyBufferMemory.orElse(GraphCreateConfig.UNLIMITED_ADJACENCY_BUFFER_MEMORY))
+            .scanPropertyStore(scanPropertyStore.orElse(false))
             .build()
             .withNormalizedPropertyMappings();
     }
@@ -73,7 +73,9 @@ final class GraphLoaderBuilders {
         Optional<Integer> concurrency,
         Optional<Orientation> globalOrientation,
         Optional<Aggregation> globalAggregation,
-        Optional<Boolean> validateRelationships
+        Optional<Boolean> validateRelationships,
+        Optional<Long> maxAdjacencyBufferMemory,
+        Optional<Boolean> scanPropertyStore
         ) {
 
         GraphCreateFromStoreConfig graphCreateConfig = GraphCreateConfigBuilders.storeConfig(
@@ -90,7 +92,9 @@ final class GraphLoaderBuilders {
             concurrency,
             globalOrientation,
             globalAggregation,
-            validateRelationships
+            validateRelationships,
+            maxAdjacencyBufferMemory,
+            scanPropertyStore
         );
 
         return createGraphLoader(api, executorService, tracker, terminationFlag, log, userName, graphCreateConfig);